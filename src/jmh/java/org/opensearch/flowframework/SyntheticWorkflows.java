@@ -0,0 +1,144 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework;
+
+import org.opensearch.Version;
+import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.model.StepExecution;
+import org.opensearch.flowframework.model.Template;
+import org.opensearch.flowframework.model.Workflow;
+import org.opensearch.flowframework.model.WorkflowEdge;
+import org.opensearch.flowframework.model.WorkflowNode;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.workflow.NoOpStep;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW;
+
+/**
+ * Generates the synthetic templates and workflow states the benchmarks run against.
+ * <p>
+ * Workflows are layered graphs of {@link NoOpStep} nodes, {@link #LAYER_WIDTH} nodes wide, in which each node depends on two nodes of
+ * the layer before it and carries user inputs shaped like those of the ML and ingest steps, including substitution placeholders.
+ */
+public final class SyntheticWorkflows {
+
+    /** The number of nodes in each layer of the generated workflows */
+    public static final int LAYER_WIDTH = 10;
+
+    private static final Instant START_TIME = Instant.ofEpochMilli(1_700_000_000_000L);
+
+    private SyntheticWorkflows() {}
+
+    /**
+     * Gets the id of a generated node
+     * @param index the index of the node
+     * @return the node id
+     */
+    public static String nodeId(int index) {
+        return "step_" + index;
+    }
+
+    /**
+     * Generates the user inputs of a node, referencing the output of its first predecessor
+     * @param index the index of the node
+     * @return the user inputs
+     */
+    public static Map<String, Object> userInputs(int index) {
+        Map<String, Object> userInputs = new HashMap<>();
+        userInputs.put("name", "resource " + index);
+        userInputs.put("description", "Synthetic resource created by " + nodeId(index));
+        userInputs.put("model_group_id", index < LAYER_WIDTH ? "group_" + index : "${{ " + nodeId(index - LAYER_WIDTH) + ".model_id }}");
+        userInputs.put("parameters", Map.of("endpoint", "api.example.com", "model", "model_" + index, "temperature", "0.5"));
+        userInputs.put("field_map", List.of(Map.of("input", "passage_" + index), Map.of("output", "embedding_" + index)));
+        return userInputs;
+    }
+
+    /**
+     * Generates a layered workflow
+     * @param nodeCount the number of nodes
+     * @return the workflow
+     */
+    public static Workflow workflow(int nodeCount) {
+        List<WorkflowNode> nodes = new ArrayList<>(nodeCount);
+        List<WorkflowEdge> edges = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            Map<String, String> previousNodeInputs = new HashMap<>();
+            if (i >= LAYER_WIDTH) {
+                int layerStart = (i / LAYER_WIDTH - 1) * LAYER_WIDTH;
+                previousNodeInputs.put(nodeId(i - LAYER_WIDTH), "model_id");
+                edges.add(new WorkflowEdge(nodeId(i - LAYER_WIDTH), nodeId(i)));
+                int secondPredecessor = layerStart + (i + 1) % LAYER_WIDTH;
+                edges.add(new WorkflowEdge(nodeId(secondPredecessor), nodeId(i)));
+            }
+            nodes.add(new WorkflowNode(nodeId(i), NoOpStep.NAME, previousNodeInputs, userInputs(i)));
+        }
+        return new Workflow(Map.of("created_by", "benchmark"), nodes, edges);
+    }
+
+    /**
+     * Generates a template with a layered provision workflow
+     * @param nodeCount the number of nodes
+     * @return the template
+     */
+    public static Template template(int nodeCount) {
+        return Template.builder()
+            .name("synthetic-" + nodeCount)
+            .description("Synthetic template of " + nodeCount + " nodes")
+            .useCase("BENCHMARK")
+            .templateVersion(Version.fromString("1.0.0"))
+            .compatibilityVersion(List.of(Version.fromString("2.12.0"), Version.fromString("3.0.0")))
+            .workflows(Map.of(PROVISION_WORKFLOW, workflow(nodeCount)))
+            .createdTime(START_TIME)
+            .lastUpdatedTime(START_TIME)
+            .build();
+    }
+
+    /**
+     * Generates the state of a completed provisioning of a template generated by {@link #template(int)}
+     * @param nodeCount the number of nodes
+     * @return the workflow state
+     */
+    public static WorkflowState workflowState(int nodeCount) {
+        List<ResourceCreated> resources = new ArrayList<>(nodeCount);
+        List<StepExecution> stepExecutions = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            Instant startTime = START_TIME.plusMillis(i / LAYER_WIDTH * 100L);
+            resources.add(new ResourceCreated(NoOpStep.NAME, nodeId(i), "model_id", "model_" + i));
+            stepExecutions.add(
+                new StepExecution(
+                    nodeId(i),
+                    NoOpStep.NAME,
+                    "COMPLETED",
+                    startTime,
+                    startTime.plusMillis(90),
+                    5,
+                    1,
+                    i < LAYER_WIDTH ? List.of() : List.of(nodeId(i - LAYER_WIDTH)),
+                    startTime.plusMillis(10),
+                    startTime.plusMillis(80)
+                )
+            );
+        }
+        return WorkflowState.builder()
+            .workflowId("synthetic-" + nodeCount)
+            .state("COMPLETED")
+            .provisioningProgress("DONE")
+            .provisionStartTime(START_TIME)
+            .provisionEndTime(START_TIME.plusMillis(nodeCount * 10L))
+            .resourcesCreated(resources)
+            .stepExecutions(stepExecutions)
+            .build();
+    }
+}
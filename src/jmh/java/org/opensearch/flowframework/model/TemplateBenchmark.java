@@ -0,0 +1,93 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.flowframework.SyntheticWorkflows;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing and serializing templates, which happens on every create, update, get and provision request
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+
+    @Param({ "10", "100", "500" })
+    private int nodeCount;
+
+    private Template template;
+    private String json;
+
+    /**
+     * Generates the template and its JSON representation
+     */
+    @Setup
+    public void setup() {
+        template = SyntheticWorkflows.template(nodeCount);
+        json = template.toJson();
+    }
+
+    /**
+     * Parses a template from JSON
+     * @return the template
+     * @throws IOException on a parsing failure
+     */
+    @Benchmark
+    public Template parse() throws IOException {
+        return Template.parse(json);
+    }
+
+    /**
+     * Serializes a template to XContent, as when indexing it
+     * @return the serialized template
+     * @throws IOException on a serialization failure
+     */
+    @Benchmark
+    public BytesReference toXContent() throws IOException {
+        return BytesReference.bytes(template.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+    }
+
+    /**
+     * Serializes a template to a JSON string
+     * @return the JSON string
+     */
+    @Benchmark
+    public String toJson() {
+        return template.toJson();
+    }
+
+    /**
+     * Serializes a template to a YAML string
+     * @return the YAML string
+     */
+    @Benchmark
+    public String toYaml() {
+        return template.toYaml();
+    }
+}
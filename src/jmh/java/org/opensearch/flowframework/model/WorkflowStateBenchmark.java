@@ -0,0 +1,65 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.flowframework.SyntheticWorkflows;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing workflow states, which happens on every get status request and state index update
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class WorkflowStateBenchmark {
+
+    @Param({ "10", "100", "500" })
+    private int nodeCount;
+
+    private String json;
+
+    /**
+     * Generates the JSON representation of a workflow state with a resource and step execution per node
+     * @throws IOException on a serialization failure
+     */
+    @Setup
+    public void setup() throws IOException {
+        WorkflowState workflowState = SyntheticWorkflows.workflowState(nodeCount);
+        json = BytesReference.bytes(workflowState.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)).utf8ToString();
+    }
+
+    /**
+     * Parses a workflow state from JSON
+     * @return the workflow state
+     * @throws IOException on a parsing failure
+     */
+    @Benchmark
+    public WorkflowState parse() throws IOException {
+        return WorkflowState.parse(json);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks encrypting and decrypting a credential, which happens for every credential of a connector when a template is created,
+ * updated or provisioned
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class EncryptorUtilsBenchmark {
+
+    private static final String CREDENTIAL = "sk-0123456789abcdefghijklmnopqrstuvwxyz0123456789ab";
+
+    private EncryptorUtils encryptorUtils;
+    private String encryptedCredential;
+
+    /**
+     * Creates the encryptor with a generated master key, so no config index is read
+     */
+    @Setup
+    public void setup() {
+        encryptorUtils = new EncryptorUtils(null, null, null, null);
+        encryptorUtils.setMasterKey(null, encryptorUtils.generateMasterKey());
+        encryptedCredential = encryptorUtils.encrypt(CREDENTIAL, null);
+    }
+
+    /**
+     * Encrypts a credential
+     * @return the encrypted credential
+     */
+    @Benchmark
+    public String encrypt() {
+        return encryptorUtils.encrypt(CREDENTIAL, null);
+    }
+
+    /**
+     * Decrypts a credential
+     * @return the decrypted credential
+     */
+    @Benchmark
+    public String decrypt() {
+        return encryptorUtils.decrypt(encryptedCredential, null);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.flowframework.SyntheticWorkflows;
+import org.opensearch.flowframework.workflow.WorkflowData;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks resolving step inputs from previous step outputs, which happens for every step of every provisioning, and comparing
+ * user inputs, which happens for every node of an updated template
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ParseUtilsBenchmark {
+
+    private static final Set<String> REQUIRED_INPUTS = Set.of("name", "model_group_id");
+    private static final Set<String> OPTIONAL_INPUTS = Set.of("description", "parameters", "field_map", "model_id");
+
+    /** The number of steps which completed before the benchmarked step, whose outputs are searched for inputs */
+    @Param({ "10", "100", "500" })
+    private int previousStepCount;
+
+    private WorkflowData currentNodeInputs;
+    private Map<String, WorkflowData> outputs;
+    private Map<String, String> previousNodeInputs;
+    private Map<String, String> params;
+    private String placeholder;
+    private Map<String, Object> originalInputs;
+    private Map<String, Object> updatedInputs;
+
+    /**
+     * Generates the outputs of the previous steps and the inputs of the benchmarked step
+     */
+    @Setup
+    public void setup() {
+        outputs = new HashMap<>();
+        for (int i = 0; i < previousStepCount; i++) {
+            outputs.put(SyntheticWorkflows.nodeId(i), new WorkflowData(Map.of("model_id", "model_" + i), "synthetic", null));
+        }
+        int index = previousStepCount - 1 + SyntheticWorkflows.LAYER_WIDTH;
+        Map<String, Object> userInputs = SyntheticWorkflows.userInputs(index);
+        currentNodeInputs = new WorkflowData(userInputs, "synthetic", SyntheticWorkflows.nodeId(index));
+        previousNodeInputs = Map.of(SyntheticWorkflows.nodeId(previousStepCount - 1), "model_id");
+        params = Map.of("endpoint", "api.example.com");
+        placeholder = userInputs.get("model_group_id") + " at ${{ endpoint }}";
+        originalInputs = userInputs;
+        updatedInputs = new HashMap<>(userInputs);
+    }
+
+    /**
+     * Resolves the inputs of a step
+     * @return the inputs
+     */
+    @Benchmark
+    public Map<String, Object> getInputsFromPreviousSteps() {
+        return ParseUtils.getInputsFromPreviousSteps(
+            REQUIRED_INPUTS,
+            OPTIONAL_INPUTS,
+            currentNodeInputs,
+            outputs,
+            previousNodeInputs,
+            params
+        );
+    }
+
+    /**
+     * Substitutes a previous step output and a parameter in a value
+     * @return the substituted value
+     */
+    @Benchmark
+    public Object conditionallySubstitute() {
+        return ParseUtils.conditionallySubstitute(placeholder, outputs, params);
+    }
+
+    /**
+     * Compares equal user inputs
+     * @return whether the inputs are equal
+     * @throws Exception on a comparison failure
+     */
+    @Benchmark
+    public boolean userInputsEquals() throws Exception {
+        return ParseUtils.userInputsEquals(originalInputs, updatedInputs);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.flowframework.SyntheticWorkflows;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.model.Workflow;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks sorting and validating the workflow graph, which happens on every provision request without a cached provision plan
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class WorkflowProcessSorterBenchmark {
+
+    @Param({ "10", "100", "500" })
+    private int nodeCount;
+
+    private WorkflowProcessSorter workflowProcessSorter;
+    private Workflow workflow;
+    private List<ProcessNode> processNodes;
+
+    /**
+     * Creates the sorter and generates the workflow
+     */
+    @Setup
+    public void setup() {
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.getMaxWorkflowSteps()).thenReturn(Integer.MAX_VALUE);
+        // The generated workflows only use the no-op step, so the steps need no clients
+        WorkflowStepFactory workflowStepFactory = new WorkflowStepFactory(null, null, null, flowFrameworkSettings, null);
+        workflowProcessSorter = new WorkflowProcessSorter(workflowStepFactory, null, flowFrameworkSettings);
+        workflow = SyntheticWorkflows.workflow(nodeCount);
+        processNodes = workflowProcessSorter.sortProcessNodes(workflow, "synthetic-" + nodeCount, Collections.emptyMap(), null);
+    }
+
+    /**
+     * Sorts a workflow into process nodes
+     * @return the sorted process nodes
+     */
+    @Benchmark
+    public List<ProcessNode> sortProcessNodes() {
+        return workflowProcessSorter.sortProcessNodes(workflow, "synthetic-" + nodeCount, Collections.emptyMap(), null);
+    }
+
+    /**
+     * Validates the inputs of sorted process nodes against their predecessors' outputs
+     * @return the validated process nodes
+     * @throws Exception on a validation failure
+     */
+    @Benchmark
+    public List<ProcessNode> validateGraph() throws Exception {
+        workflowProcessSorter.validateGraph(processNodes);
+        return processNodes;
+    }
+}
@@ -9,6 +9,7 @@
 package org.opensearch.flowframework;
 
 import org.opensearch.action.ActionRequest;
+import org.opensearch.action.support.ActionFilter;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.cluster.service.ClusterService;
@@ -25,22 +26,29 @@ import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.env.Environment;
 import org.opensearch.env.NodeEnvironment;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.common.UseCaseTemplateRegistry;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.rest.RestCreateWorkflowAction;
 import org.opensearch.flowframework.rest.RestDeleteWorkflowAction;
 import org.opensearch.flowframework.rest.RestDeprovisionWorkflowAction;
+import org.opensearch.flowframework.rest.RestFlowFrameworkStatsAction;
 import org.opensearch.flowframework.rest.RestGetWorkflowAction;
 import org.opensearch.flowframework.rest.RestGetWorkflowStateAction;
 import org.opensearch.flowframework.rest.RestGetWorkflowStepAction;
+import org.opensearch.flowframework.rest.RestGetWorkflowTraceAction;
 import org.opensearch.flowframework.rest.RestProvisionWorkflowAction;
 import org.opensearch.flowframework.rest.RestSearchWorkflowAction;
 import org.opensearch.flowframework.rest.RestSearchWorkflowStateAction;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
+import org.opensearch.flowframework.stats.FlowFrameworkStatsActionFilter;
 import org.opensearch.flowframework.transport.CreateWorkflowAction;
 import org.opensearch.flowframework.transport.CreateWorkflowTransportAction;
 import org.opensearch.flowframework.transport.DeleteWorkflowAction;
 import org.opensearch.flowframework.transport.DeleteWorkflowTransportAction;
 import org.opensearch.flowframework.transport.DeprovisionWorkflowAction;
 import org.opensearch.flowframework.transport.DeprovisionWorkflowTransportAction;
+import org.opensearch.flowframework.transport.FlowFrameworkStatsAction;
+import org.opensearch.flowframework.transport.FlowFrameworkStatsTransportAction;
 import org.opensearch.flowframework.transport.GetWorkflowAction;
 import org.opensearch.flowframework.transport.GetWorkflowStateAction;
 import org.opensearch.flowframework.transport.GetWorkflowStateTransportAction;
@@ -57,8 +65,12 @@ import org.opensearch.flowframework.transport.SearchWorkflowStateTransportAction
 import org.opensearch.flowframework.transport.SearchWorkflowTransportAction;
 import org.opensearch.flowframework.transport.handler.SearchHandler;
 import org.opensearch.flowframework.util.EncryptorUtils;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
+import org.opensearch.flowframework.workflow.WorkflowJobQueue;
 import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
+import org.opensearch.flowframework.workflow.WorkflowStateReconciler;
 import org.opensearch.flowframework.workflow.WorkflowStepFactory;
+import org.opensearch.flowframework.workflow.WorkflowTask;
 import org.opensearch.indices.SystemIndexDescriptor;
 import org.opensearch.ml.client.MachineLearningNodeClient;
 import org.opensearch.plugins.ActionPlugin;
@@ -70,12 +82,14 @@ import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestHandler;
 import org.opensearch.script.ScriptService;
+import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ExecutorBuilder;
 import org.opensearch.threadpool.ScalingExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
 import org.opensearch.watcher.ResourceWatcherService;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -88,22 +102,34 @@ import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THR
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.CommonValue.TENANT_ID_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_JOBS_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_RESOURCES_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.DEPROVISION_THREAD_POOL_SIZE;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_ENABLED;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_MULTI_TENANCY_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.JOB_QUEUE_ENABLED;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_ACTIVE_DEPROVISIONS_PER_TENANT;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_ACTIVE_PROVISIONS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_ACTIVE_PROVISIONS_PER_TENANT;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_CONCURRENT_DEPROVISION_STEPS;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_QUEUED_PROVISIONS_PER_TENANT;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_RUNNING_JOBS_PER_NODE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WAIT_FOR_CHANGE_REQUESTS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOWS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOW_STEPS;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.PROVISION_TENANT_WEIGHTS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.PROVISION_THREAD_POOL_SIZE;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_ENDPOINT;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_REGION;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_SERVICE_NAME;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_TYPE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.RESOURCE_DOCUMENTS_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.RESUME_ORPHANED_PROVISIONING;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.TASK_REQUEST_RETRY_DURATION;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.WAIT_FOR_CHANGE_POLL_INTERVAL;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.WORKFLOW_REQUEST_TIMEOUT;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.WORKFLOW_THREAD_POOL_SIZE;
 import static org.opensearch.remote.metadata.common.CommonValue.REMOTE_METADATA_ENDPOINT_KEY;
@@ -119,6 +145,10 @@ import static org.opensearch.remote.metadata.common.CommonValue.TENANT_ID_FIELD_
 public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemIndexPlugin {
 
     private FlowFrameworkSettings flowFrameworkSettings;
+    private UseCaseTemplateRegistry useCaseTemplateRegistry;
+    private WorkflowJobQueue workflowJobQueue;
+    private WorkflowStateReconciler workflowStateReconciler;
+    private final FlowFrameworkStats flowFrameworkStats = new FlowFrameworkStats();
 
     /**
      * Instantiate this plugin.
@@ -141,6 +171,7 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
     ) {
         Settings settings = environment.settings();
         flowFrameworkSettings = new FlowFrameworkSettings(clusterService, settings);
+        useCaseTemplateRegistry = new UseCaseTemplateRegistry();
         MachineLearningNodeClient mlClient = new MachineLearningNodeClient(client);
         SdkClient sdkClient = SdkClientFactory.createSdkClient(
             client,
@@ -161,11 +192,14 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
             client.threadPool().executor(ThreadPool.Names.GENERIC)
         );
         EncryptorUtils encryptorUtils = new EncryptorUtils(clusterService, client, sdkClient, xContentRegistry);
+        WorkflowExecutionRegistry workflowExecutionRegistry = new WorkflowExecutionRegistry();
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler = new FlowFrameworkIndicesHandler(
             client,
             sdkClient,
             clusterService,
             encryptorUtils,
+            flowFrameworkSettings,
+            workflowExecutionRegistry,
             xContentRegistry
         );
         WorkflowStepFactory workflowStepFactory = new WorkflowStepFactory(
@@ -176,6 +210,25 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
             client
         );
         WorkflowProcessSorter workflowProcessSorter = new WorkflowProcessSorter(workflowStepFactory, threadPool, flowFrameworkSettings);
+        workflowJobQueue = new WorkflowJobQueue(
+            client,
+            sdkClient,
+            threadPool,
+            clusterService,
+            flowFrameworkIndicesHandler,
+            flowFrameworkSettings,
+            workflowExecutionRegistry
+        );
+        workflowStateReconciler = new WorkflowStateReconciler(
+            client,
+            sdkClient,
+            threadPool,
+            clusterService,
+            flowFrameworkIndicesHandler,
+            flowFrameworkSettings,
+            workflowExecutionRegistry,
+            flowFrameworkStats
+        );
 
         SearchHandler searchHandler = new SearchHandler(
             settings,
@@ -188,6 +241,10 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
         return List.of(
             workflowStepFactory,
             workflowProcessSorter,
+            workflowExecutionRegistry,
+            workflowJobQueue,
+            workflowStateReconciler,
+            flowFrameworkStats,
             encryptorUtils,
             flowFrameworkIndicesHandler,
             searchHandler,
@@ -207,15 +264,17 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
         Supplier<DiscoveryNodes> nodesInCluster
     ) {
         return List.of(
-            new RestCreateWorkflowAction(flowFrameworkSettings),
+            new RestCreateWorkflowAction(flowFrameworkSettings, useCaseTemplateRegistry),
             new RestDeleteWorkflowAction(flowFrameworkSettings),
             new RestProvisionWorkflowAction(flowFrameworkSettings),
             new RestDeprovisionWorkflowAction(flowFrameworkSettings),
             new RestSearchWorkflowAction(flowFrameworkSettings),
             new RestGetWorkflowStateAction(flowFrameworkSettings),
+            new RestGetWorkflowTraceAction(flowFrameworkSettings),
             new RestGetWorkflowAction(flowFrameworkSettings),
             new RestGetWorkflowStepAction(flowFrameworkSettings),
-            new RestSearchWorkflowStateAction(flowFrameworkSettings)
+            new RestSearchWorkflowStateAction(flowFrameworkSettings),
+            new RestFlowFrameworkStatsAction(flowFrameworkSettings)
         );
     }
 
@@ -231,10 +290,16 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
             new ActionHandler<>(GetWorkflowAction.INSTANCE, GetWorkflowTransportAction.class),
             new ActionHandler<>(GetWorkflowStepAction.INSTANCE, GetWorkflowStepTransportAction.class),
             new ActionHandler<>(SearchWorkflowStateAction.INSTANCE, SearchWorkflowStateTransportAction.class),
-            new ActionHandler<>(ReprovisionWorkflowAction.INSTANCE, ReprovisionWorkflowTransportAction.class)
+            new ActionHandler<>(ReprovisionWorkflowAction.INSTANCE, ReprovisionWorkflowTransportAction.class),
+            new ActionHandler<>(FlowFrameworkStatsAction.INSTANCE, FlowFrameworkStatsTransportAction.class)
         );
     }
 
+    @Override
+    public List<ActionFilter> getActionFilters() {
+        return List.of(new FlowFrameworkStatsActionFilter(flowFrameworkStats));
+    }
+
     @Override
     public List<Setting<?>> getSettings() {
         return List.of(
@@ -248,8 +313,18 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
             WORKFLOW_THREAD_POOL_SIZE,
             PROVISION_THREAD_POOL_SIZE,
             MAX_ACTIVE_PROVISIONS_PER_TENANT,
+            MAX_ACTIVE_PROVISIONS,
+            MAX_QUEUED_PROVISIONS_PER_TENANT,
+            PROVISION_TENANT_WEIGHTS,
             DEPROVISION_THREAD_POOL_SIZE,
             MAX_ACTIVE_DEPROVISIONS_PER_TENANT,
+            MAX_CONCURRENT_DEPROVISION_STEPS,
+            RESOURCE_DOCUMENTS_ENABLED,
+            JOB_QUEUE_ENABLED,
+            MAX_RUNNING_JOBS_PER_NODE,
+            RESUME_ORPHANED_PROVISIONING,
+            WAIT_FOR_CHANGE_POLL_INTERVAL,
+            MAX_WAIT_FOR_CHANGE_REQUESTS,
             REMOTE_METADATA_TYPE,
             REMOTE_METADATA_ENDPOINT,
             REMOTE_METADATA_REGION,
@@ -257,6 +332,12 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
         );
     }
 
+    @Override
+    public List<NamedWriteableRegistry.Entry> getNamedWriteables() {
+        // The status of workflow run tasks, returned by the tasks API
+        return List.of(new NamedWriteableRegistry.Entry(Task.Status.class, WorkflowTask.Status.NAME, WorkflowTask.Status::new));
+    }
+
     @Override
     public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
         int maxSizeFromAllocatedProcessors = OpenSearchExecutors.allocatedProcessors(settings) - 1;
@@ -290,8 +371,21 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
         return List.of(
             new SystemIndexDescriptor(CONFIG_INDEX, "Flow Framework Config index"),
             new SystemIndexDescriptor(GLOBAL_CONTEXT_INDEX, "Flow Framework Global Context index"),
-            new SystemIndexDescriptor(WORKFLOW_STATE_INDEX, "Flow Framework Workflow State index")
+            new SystemIndexDescriptor(WORKFLOW_STATE_INDEX, "Flow Framework Workflow State index"),
+            new SystemIndexDescriptor(WORKFLOW_RESOURCES_INDEX, "Flow Framework Workflow Resources index"),
+            new SystemIndexDescriptor(WORKFLOW_JOBS_INDEX, "Flow Framework Workflow Jobs index")
         );
     }
 
+    @Override
+    public void close() throws IOException {
+        // Stop the periodic tasks of the node
+        if (workflowJobQueue != null) {
+            workflowJobQueue.close();
+        }
+        if (workflowStateReconciler != null) {
+            workflowStateReconciler.close();
+        }
+    }
+
 }
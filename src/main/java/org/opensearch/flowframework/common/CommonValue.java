@@ -37,7 +37,19 @@ public class CommonValue {
     /** Workflow State index mapping file path */
     public static final String WORKFLOW_STATE_INDEX_MAPPING = "mappings/workflow-state.json";
     /** Workflow State index mapping version */
-    public static final Integer WORKFLOW_STATE_INDEX_VERSION = 1;
+    public static final Integer WORKFLOW_STATE_INDEX_VERSION = 7;
+    /** Workflow Resources Index Name */
+    public static final String WORKFLOW_RESOURCES_INDEX = ".plugins-flow-framework-resources";
+    /** Workflow Resources index mapping file path */
+    public static final String WORKFLOW_RESOURCES_INDEX_MAPPING = "mappings/workflow-resources.json";
+    /** Workflow Resources index mapping version */
+    public static final Integer WORKFLOW_RESOURCES_INDEX_VERSION = 1;
+    /** Workflow Jobs Index Name */
+    public static final String WORKFLOW_JOBS_INDEX = ".plugins-flow-framework-jobs";
+    /** Workflow Jobs index mapping file path */
+    public static final String WORKFLOW_JOBS_INDEX_MAPPING = "mappings/workflow-jobs.json";
+    /** Workflow Jobs index mapping version */
+    public static final Integer WORKFLOW_JOBS_INDEX_VERSION = 1;
     /** Config Index Name */
     public static final String CONFIG_INDEX = ".plugins-flow-framework-config";
     /** Config index mapping file path */
@@ -78,12 +90,16 @@ public class CommonValue {
     public static final String UPDATE_WORKFLOW_FIELDS = "update_fields";
     /** The param name for specifying the timeout duration in seconds to wait for workflow completion */
     public static final String WAIT_FOR_COMPLETION_TIMEOUT = "wait_for_completion_timeout";
+    /** The param name for specifying the timeout duration to wait for a change of the workflow state */
+    public static final String WAIT_FOR_CHANGE_TIMEOUT = "wait_for_change_timeout";
     /** The field name for workflow steps. This field represents the name of the workflow steps to be fetched. */
     public static final String WORKFLOW_STEP = "workflow_step";
     /** The param name for default use case, used by the create workflow API */
     public static final String USE_CASE = "use_case";
     /** The param name for reprovisioning, used by the create workflow API */
     public static final String REPROVISION_WORKFLOW = "reprovision";
+    /** The param name for resuming a failed provisioning, used by the provision workflow API */
+    public static final String RESUME_PROVISION = "resume";
     /** The REST header containing the tenant id */
     public static final String TENANT_ID_HEADER = "x-tenant-id";
     /** The field name containing the tenant id */
@@ -209,22 +225,64 @@ public class CommonValue {
     public static final String PROVISION_START_TIME_FIELD = "provision_start_time";
     /** The template field name for the workflow provisioning end time **/
     public static final String PROVISION_END_TIME_FIELD = "provision_end_time";
+    /** The template field name for the id of the node executing the workflow provisioning **/
+    public static final String PROVISIONING_NODE_FIELD = "provisioning_node";
+    /** The template field name for the last time the node executing the workflow provisioning reported it was still executing **/
+    public static final String LAST_HEARTBEAT_TIME_FIELD = "last_heartbeat_time";
     /** The template field name for the workflow ui metadata **/
     public static final String UI_METADATA_FIELD = "ui_metadata";
     /** The template field name for template user outputs */
     public static final String USER_OUTPUTS_FIELD = "user_outputs";
     /** The template field name for template resources created */
     public static final String RESOURCES_CREATED_FIELD = "resources_created";
+    /** The template field name for the execution of each workflow step */
+    public static final String STEP_EXECUTIONS_FIELD = "step_executions";
     /** The parameter to clear workflow state when deleting template */
     public static final String CLEAR_STATUS = "clear_status";
     /** The field name for the step name where a resource is created */
     public static final String WORKFLOW_STEP_NAME = "workflow_step_name";
     /** The field name for the step ID where a resource is created */
     public static final String WORKFLOW_STEP_ID = "workflow_step_id";
+    /** The field name for the terminal status of a workflow step execution */
+    public static final String STEP_STATUS_FIELD = "status";
+    /** The field name for the time a workflow step started executing */
+    public static final String STEP_START_TIME_FIELD = "start_time";
+    /** The field name for the time a workflow step finished executing */
+    public static final String STEP_END_TIME_FIELD = "end_time";
+    /** The field name for the time a workflow step waited for a thread once its inputs were available */
+    public static final String STEP_QUEUE_TIME_FIELD = "queue_time_in_millis";
+    /** The field name for the number of times a workflow step was executed */
+    public static final String STEP_ATTEMPTS_FIELD = "attempts";
+    /** The field name for the predecessors of a step execution */
+    public static final String STEP_PREDECESSORS_FIELD = "predecessors";
+    /** The field name for the time a step returned from issuing its downstream calls */
+    public static final String STEP_INVOKE_END_TIME_FIELD = "invoke_end_time";
+    /** The field name for the time a step started recording its resource in the state index */
+    public static final String STEP_STATE_WRITE_START_TIME_FIELD = "state_write_start_time";
     /** The field name for the resource type */
     public static final String RESOURCE_TYPE = "resource_type";
     /** The field name for the resource id */
     public static final String RESOURCE_ID = "resource_id";
+    /** The field name for the ID of a provisioning job */
+    public static final String JOB_ID = "job_id";
+    /** The field name for the type of a provisioning job */
+    public static final String JOB_TYPE_FIELD = "job_type";
+    /** The field name for the status of a provisioning job */
+    public static final String JOB_STATUS_FIELD = "status";
+    /** The field name for the request parameters of a provisioning job */
+    public static final String JOB_PARAMS_FIELD = "params";
+    /** The field name for the node holding the lease of a provisioning job */
+    public static final String JOB_OWNER_NODE_FIELD = "owner_node";
+    /** The field name for the time the lease of a provisioning job expires */
+    public static final String JOB_LEASE_EXPIRY_TIME_FIELD = "lease_expiry_time";
+    /** The field name for the number of times a provisioning job was claimed */
+    public static final String JOB_ATTEMPTS_FIELD = "attempts";
+    /** The field name for the number of steps of a workflow run task */
+    public static final String TOTAL_STEPS_FIELD = "total_steps";
+    /** The field name for the number of finished steps of a workflow run task */
+    public static final String COMPLETED_STEPS_FIELD = "completed_steps";
+    /** The field name for the steps a workflow run task is currently executing */
+    public static final String CURRENT_STEPS_FIELD = "current_steps";
     /** The field name for the opensearch-ml plugin */
     public static final String OPENSEARCH_ML = "opensearch-ml";
 
@@ -253,4 +311,6 @@ public class CommonValue {
      */
     /** Version 2.19.0 */
     public static final Version VERSION_2_19_0 = Version.fromString("2.19.0");
+    /** Version 3.1.0 */
+    public static final Version VERSION_3_1_0 = Version.fromString("3.1.0");
 }
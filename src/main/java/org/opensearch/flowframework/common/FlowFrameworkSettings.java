@@ -39,10 +39,30 @@ public class FlowFrameworkSettings {
     private volatile Integer provisionThreadPoolSize;
     /** Max simultaneous provision requests */
     private volatile Integer maxActiveProvisionsPerTenant;
+    /** Max simultaneous provision requests of all tenants */
+    private volatile Integer maxActiveProvisions;
+    /** Max provision requests of a tenant waiting to start */
+    private volatile Integer maxQueuedProvisionsPerTenant;
+    /** Share of the provision slots given to each tenant, by tenant id */
+    private volatile Settings provisionTenantWeights;
     /** Size of the threadpool for deprovisioning */
     private volatile Integer deprovisionThreadPoolSize;
     /** Max simultaneous deprovision requests */
     private volatile Integer maxActiveDeprovisionsPerTenant;
+    /** Max resources deleted simultaneously when deprovisioning a workflow */
+    private volatile Integer maxConcurrentDeprovisionSteps;
+    /** Whether created resources are stored as individual documents in the workflow resources index */
+    private volatile Boolean resourceDocumentsEnabled;
+    /** Whether provision and deprovision requests are queued as jobs in the workflow jobs index */
+    private volatile Boolean jobQueueEnabled;
+    /** Max jobs of the workflow jobs index executed simultaneously by a node */
+    private volatile Integer maxRunningJobsPerNode;
+    /** Whether provisioning interrupted by the loss of the node executing it is resumed by another node */
+    private volatile Boolean resumeOrphanedProvisioning;
+    /** Initial interval at which the state of a workflow executing on another node is read while waiting for a change */
+    private volatile TimeValue waitForChangePollInterval;
+    /** Max get workflow state requests waiting for a change simultaneously on a node */
+    private volatile Integer maxWaitForChangeRequests;
 
     /** The upper limit of max workflows that can be created  */
     public static final int MAX_WORKFLOWS_LIMIT = 10000;
@@ -167,6 +187,34 @@ public class FlowFrameworkSettings {
         Setting.Property.Dynamic
     );
 
+    /** This setting sets max workflows that can be simultaneously provisioned, or reprovisioned by all tenants of a node */
+    public static final Setting<Integer> MAX_ACTIVE_PROVISIONS = Setting.intSetting(
+        "plugins.flow_framework.max_active_provisions",
+        20,
+        1,
+        800,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /** This setting sets max provision or reprovision requests of the same tenant waiting for an active provision to finish */
+    public static final Setting<Integer> MAX_QUEUED_PROVISIONS_PER_TENANT = Setting.intSetting(
+        "plugins.flow_framework.max_queued_provisions_per_tenant",
+        10,
+        0,
+        1000,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /** This setting sets the weight of a tenant, keyed by tenant id, when starting queued provisions of several tenants */
+    public static final Setting<Settings> PROVISION_TENANT_WEIGHTS = Setting.groupSetting(
+        "plugins.flow_framework.provision_tenant_weights.",
+        FlowFrameworkSettings::validateProvisionTenantWeights,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
     /** This setting sets the max size of the deprovision thread pool */
     public static final Setting<Integer> DEPROVISION_THREAD_POOL_SIZE = Setting.intSetting(
         "plugins.flow_framework.deprovision_thread_pool_size",
@@ -185,6 +233,69 @@ public class FlowFrameworkSettings {
         Setting.Property.NodeScope,
         Setting.Property.Dynamic
     );
+
+    /** This setting sets max resources of a single workflow which can be deleted simultaneously when deprovisioning */
+    public static final Setting<Integer> MAX_CONCURRENT_DEPROVISION_STEPS = Setting.intSetting(
+        "plugins.flow_framework.max_concurrent_deprovision_steps",
+        4,
+        1,
+        100,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /** This setting enables storing each created resource as its own document instead of in the workflow state document */
+    public static final Setting<Boolean> RESOURCE_DOCUMENTS_ENABLED = Setting.boolSetting(
+        "plugins.flow_framework.resource_documents_enabled",
+        false,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /** This setting enables queueing provision and deprovision requests as jobs executed by any node of the cluster */
+    public static final Setting<Boolean> JOB_QUEUE_ENABLED = Setting.boolSetting(
+        "plugins.flow_framework.job_queue_enabled",
+        false,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /** This setting sets max jobs of the workflow jobs index a single node executes simultaneously */
+    public static final Setting<Integer> MAX_RUNNING_JOBS_PER_NODE = Setting.intSetting(
+        "plugins.flow_framework.max_running_jobs_per_node",
+        4,
+        1,
+        100,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /** This setting enables resuming the provisioning of workflows whose executing node left the cluster or stopped reporting it */
+    public static final Setting<Boolean> RESUME_ORPHANED_PROVISIONING = Setting.boolSetting(
+        "plugins.flow_framework.resume_orphaned_provisioning",
+        false,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /** This setting sets the initial interval at which the state index is read while waiting for a change of a workflow state */
+    public static final Setting<TimeValue> WAIT_FOR_CHANGE_POLL_INTERVAL = Setting.positiveTimeSetting(
+        "plugins.flow_framework.wait_for_change_poll_interval",
+        TimeValue.timeValueSeconds(1),
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /** This setting sets max get workflow state requests a single node holds while waiting for a change of a workflow state */
+    public static final Setting<Integer> MAX_WAIT_FOR_CHANGE_REQUESTS = Setting.intSetting(
+        "plugins.flow_framework.max_wait_for_change_requests",
+        100,
+        1,
+        10000,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
     /** This setting sets the remote metadata type */
     public static final Setting<String> REMOTE_METADATA_TYPE = Setting.simpleString(
         "plugins.flow_framework." + REMOTE_METADATA_TYPE_KEY,
@@ -231,8 +342,18 @@ public class FlowFrameworkSettings {
         this.workflowThreadPoolSize = WORKFLOW_THREAD_POOL_SIZE.get(settings);
         this.provisionThreadPoolSize = PROVISION_THREAD_POOL_SIZE.get(settings);
         this.maxActiveProvisionsPerTenant = MAX_ACTIVE_PROVISIONS_PER_TENANT.get(settings);
+        this.maxActiveProvisions = MAX_ACTIVE_PROVISIONS.get(settings);
+        this.maxQueuedProvisionsPerTenant = MAX_QUEUED_PROVISIONS_PER_TENANT.get(settings);
+        this.provisionTenantWeights = PROVISION_TENANT_WEIGHTS.get(settings);
         this.deprovisionThreadPoolSize = DEPROVISION_THREAD_POOL_SIZE.get(settings);
         this.maxActiveDeprovisionsPerTenant = MAX_ACTIVE_DEPROVISIONS_PER_TENANT.get(settings);
+        this.maxConcurrentDeprovisionSteps = MAX_CONCURRENT_DEPROVISION_STEPS.get(settings);
+        this.resourceDocumentsEnabled = RESOURCE_DOCUMENTS_ENABLED.get(settings);
+        this.jobQueueEnabled = JOB_QUEUE_ENABLED.get(settings);
+        this.maxRunningJobsPerNode = MAX_RUNNING_JOBS_PER_NODE.get(settings);
+        this.resumeOrphanedProvisioning = RESUME_ORPHANED_PROVISIONING.get(settings);
+        this.waitForChangePollInterval = WAIT_FOR_CHANGE_POLL_INTERVAL.get(settings);
+        this.maxWaitForChangeRequests = MAX_WAIT_FOR_CHANGE_REQUESTS.get(settings);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(FLOW_FRAMEWORK_ENABLED, it -> isFlowFrameworkEnabled = it);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(TASK_REQUEST_RETRY_DURATION, it -> retryDuration = it);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(MAX_WORKFLOW_STEPS, it -> maxWorkflowSteps = it);
@@ -240,8 +361,22 @@ public class FlowFrameworkSettings {
         clusterService.getClusterSettings().addSettingsUpdateConsumer(WORKFLOW_REQUEST_TIMEOUT, it -> requestTimeout = it);
         clusterService.getClusterSettings()
             .addSettingsUpdateConsumer(MAX_ACTIVE_PROVISIONS_PER_TENANT, it -> maxActiveProvisionsPerTenant = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(MAX_ACTIVE_PROVISIONS, it -> maxActiveProvisions = it);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(MAX_QUEUED_PROVISIONS_PER_TENANT, it -> maxQueuedProvisionsPerTenant = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(PROVISION_TENANT_WEIGHTS, it -> provisionTenantWeights = it);
         clusterService.getClusterSettings()
             .addSettingsUpdateConsumer(MAX_ACTIVE_DEPROVISIONS_PER_TENANT, it -> maxActiveDeprovisionsPerTenant = it);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(MAX_CONCURRENT_DEPROVISION_STEPS, it -> maxConcurrentDeprovisionSteps = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(RESOURCE_DOCUMENTS_ENABLED, it -> resourceDocumentsEnabled = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(JOB_QUEUE_ENABLED, it -> jobQueueEnabled = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(MAX_RUNNING_JOBS_PER_NODE, it -> maxRunningJobsPerNode = it);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(RESUME_ORPHANED_PROVISIONING, it -> resumeOrphanedProvisioning = it);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(WAIT_FOR_CHANGE_POLL_INTERVAL, it -> waitForChangePollInterval = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(MAX_WAIT_FOR_CHANGE_REQUESTS, it -> maxWaitForChangeRequests = it);
     }
 
     /**
@@ -316,6 +451,31 @@ public class FlowFrameworkSettings {
         return maxActiveProvisionsPerTenant;
     }
 
+    /**
+     * Getter for max active provisions of all tenants
+     * @return max active provisions of all tenants
+     */
+    public Integer getMaxActiveProvisions() {
+        return maxActiveProvisions;
+    }
+
+    /**
+     * Getter for max queued provisions per tenant
+     * @return max provisions of a tenant waiting to start
+     */
+    public Integer getMaxQueuedProvisionsPerTenant() {
+        return maxQueuedProvisionsPerTenant;
+    }
+
+    /**
+     * Getter for the provision weight of a tenant
+     * @param tenantId the tenant id
+     * @return the configured weight of the tenant, or 1 if none is configured
+     */
+    public int getProvisionTenantWeight(String tenantId) {
+        return tenantId == null ? 1 : provisionTenantWeights.getAsInt(tenantId, 1);
+    }
+
     /**
      * Getter for deprovision thread pool max size
      * @return deprovision thread pool max
@@ -331,4 +491,74 @@ public class FlowFrameworkSettings {
     public Integer getMaxActiveDeprovisionsPerTenant() {
         return maxActiveDeprovisionsPerTenant;
     }
+
+    /**
+     * Getter for max concurrent deprovision steps
+     * @return max resources of a workflow deleted simultaneously
+     */
+    public Integer getMaxConcurrentDeprovisionSteps() {
+        return maxConcurrentDeprovisionSteps;
+    }
+
+    /**
+     * Whether created resources are stored as individual documents in the workflow resources index
+     * @return whether resource documents are enabled
+     */
+    public boolean isResourceDocumentsEnabled() {
+        return resourceDocumentsEnabled;
+    }
+
+    /**
+     * Whether provision and deprovision requests are queued as jobs in the workflow jobs index
+     * @return whether the job queue is enabled
+     */
+    public boolean isJobQueueEnabled() {
+        return jobQueueEnabled;
+    }
+
+    /**
+     * Getter for max running jobs per node
+     * @return max jobs of the workflow jobs index executed simultaneously by a node
+     */
+    public Integer getMaxRunningJobsPerNode() {
+        return maxRunningJobsPerNode;
+    }
+
+    /**
+     * Whether provisioning interrupted by the loss of the node executing it is resumed by another node rather than only failed
+     * @return whether orphaned provisioning is resumed
+     */
+    public boolean isResumeOrphanedProvisioningEnabled() {
+        return resumeOrphanedProvisioning;
+    }
+
+    /**
+     * Getter for the initial interval at which the state index is read while waiting for a change of a workflow state
+     * @return the initial poll interval
+     */
+    public TimeValue getWaitForChangePollInterval() {
+        return waitForChangePollInterval;
+    }
+
+    /**
+     * Getter for max get workflow state requests waiting for a change simultaneously on a node
+     * @return the max waiting requests
+     */
+    public Integer getMaxWaitForChangeRequests() {
+        return maxWaitForChangeRequests;
+    }
+
+    private static void validateProvisionTenantWeights(Settings weights) {
+        for (String tenantId : weights.keySet()) {
+            int weight;
+            try {
+                weight = Integer.parseInt(weights.get(tenantId));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Provision weight of tenant [" + tenantId + "] must be an integer", e);
+            }
+            if (weight < 1) {
+                throw new IllegalArgumentException("Provision weight of tenant [" + tenantId + "] must be at least 1");
+            }
+        }
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.common;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.util.ParseUtils;
+import org.opensearch.flowframework.util.SubstitutionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the {@link DefaultUseCases}, with each use case's defaults file parsed and substitution ready template compiled once
+ * when the registry is created.
+ */
+public class UseCaseTemplateRegistry {
+
+    private static final Logger logger = LogManager.getLogger(UseCaseTemplateRegistry.class);
+
+    private final Map<String, UseCaseTemplate> useCaseTemplates = new HashMap<>();
+
+    /**
+     * Instantiate this class, loading all default use cases
+     * @throws FlowFrameworkException if a use case file can not be loaded
+     */
+    public UseCaseTemplateRegistry() {
+        // Use cases may share a substitution ready template, only compile it once
+        Map<String, SubstitutionTemplate> compiledTemplates = new HashMap<>();
+        for (DefaultUseCases useCase : DefaultUseCases.values()) {
+            try {
+                SubstitutionTemplate template = compiledTemplates.get(useCase.getSubstitutionReadyFile());
+                if (template == null) {
+                    template = SubstitutionTemplate.compile(ParseUtils.resourceToString("/" + useCase.getSubstitutionReadyFile()));
+                    compiledTemplates.put(useCase.getSubstitutionReadyFile(), template);
+                }
+                Map<String, String> defaults = ParseUtils.parseJsonFileToStringToStringMap("/" + useCase.getDefaultsFile());
+                useCaseTemplates.put(useCase.getUseCaseName(), new UseCaseTemplate(useCase, template, defaults));
+            } catch (Exception e) {
+                String errorMessage = "Failed to load default use case " + useCase.getUseCaseName();
+                logger.error(errorMessage, e);
+                throw new FlowFrameworkException(errorMessage, RestStatus.INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+
+    /**
+     * Gets the loaded template of a use case
+     * @param useCaseName name of the given use case
+     * @return the use case template
+     * @throws FlowFrameworkException if the use case doesn't exist
+     */
+    public UseCaseTemplate getUseCaseTemplate(String useCaseName) throws FlowFrameworkException {
+        UseCaseTemplate useCaseTemplate = useCaseName == null ? null : useCaseTemplates.get(useCaseName);
+        if (useCaseTemplate == null) {
+            logger.error("Unable to find substitution ready file for use case: {}", useCaseName);
+            throw new FlowFrameworkException("Unable to find substitution ready file for use case: " + useCaseName, RestStatus.BAD_REQUEST);
+        }
+        return useCaseTemplate;
+    }
+
+    /**
+     * A default use case with its parsed defaults and compiled substitution ready template
+     */
+    public static class UseCaseTemplate {
+        private final DefaultUseCases useCase;
+        private final SubstitutionTemplate template;
+        private final Map<String, String> defaults;
+
+        private UseCaseTemplate(DefaultUseCases useCase, SubstitutionTemplate template, Map<String, String> defaults) {
+            this.useCase = useCase;
+            this.template = template;
+            this.defaults = defaults;
+        }
+
+        /**
+         * Returns a mutable copy of the default params of this use case
+         * @return the default params
+         */
+        public Map<String, String> getDefaults() {
+            return new HashMap<>(defaults);
+        }
+
+        /**
+         * Returns a mutable copy of the required params of this use case
+         * @return the required params
+         */
+        public List<String> getRequiredParams() {
+            return new ArrayList<>(useCase.getRequiredParams());
+        }
+
+        /**
+         * Substitutes params into the substitution ready template of this use case
+         * @param params the params to substitute
+         * @return the template in string format
+         */
+        public String render(Map<String, String> params) {
+            return template.render(null, params);
+        }
+    }
+}
@@ -16,6 +16,10 @@ import static org.opensearch.flowframework.common.CommonValue.CONFIG_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.CONFIG_INDEX_VERSION;
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX_VERSION;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_JOBS_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_JOBS_INDEX_VERSION;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_RESOURCES_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_RESOURCES_INDEX_VERSION;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX_VERSION;
 
@@ -39,6 +43,22 @@ public enum FlowFrameworkIndex {
         ThrowingSupplierWrapper.throwingSupplierWrapper(FlowFrameworkIndicesHandler::getWorkflowStateMappings),
         WORKFLOW_STATE_INDEX_VERSION
     ),
+    /**
+     * Workflow Resources Index
+     */
+    WORKFLOW_RESOURCES(
+        WORKFLOW_RESOURCES_INDEX,
+        ThrowingSupplierWrapper.throwingSupplierWrapper(FlowFrameworkIndicesHandler::getWorkflowResourcesMappings),
+        WORKFLOW_RESOURCES_INDEX_VERSION
+    ),
+    /**
+     * Workflow Jobs Index
+     */
+    WORKFLOW_JOBS(
+        WORKFLOW_JOBS_INDEX,
+        ThrowingSupplierWrapper.throwingSupplierWrapper(FlowFrameworkIndicesHandler::getWorkflowJobsMappings),
+        WORKFLOW_JOBS_INDEX_VERSION
+    ),
     /**
      * Config Index
      */
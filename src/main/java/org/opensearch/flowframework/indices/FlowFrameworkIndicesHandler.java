@@ -14,6 +14,7 @@ import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.DocWriteRequest.OpType;
+import org.opensearch.action.DocWriteResponse;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
@@ -21,6 +22,8 @@ import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.WriteRequest.RefreshPolicy;
 import org.opensearch.action.update.UpdateResponse;
 import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.service.ClusterService;
@@ -32,7 +35,9 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.model.ProvisioningProgress;
 import org.opensearch.flowframework.model.ResourceCreated;
@@ -42,35 +47,56 @@ import org.opensearch.flowframework.model.WorkflowState;
 import org.opensearch.flowframework.util.EncryptorUtils;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
 import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.remote.metadata.client.DeleteDataObjectRequest;
 import org.opensearch.remote.metadata.client.GetDataObjectRequest;
 import org.opensearch.remote.metadata.client.PutDataObjectRequest;
 import org.opensearch.remote.metadata.client.SdkClient;
+import org.opensearch.remote.metadata.client.SearchDataObjectRequest;
 import org.opensearch.remote.metadata.client.UpdateDataObjectRequest;
 import org.opensearch.remote.metadata.common.SdkClientUtils;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.transport.client.Client;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.opensearch.core.rest.RestStatus.INTERNAL_SERVER_ERROR;
 import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
 import static org.opensearch.flowframework.common.CommonValue.CONFIG_INDEX_MAPPING;
+import static org.opensearch.flowframework.common.CommonValue.CREATE_TIME;
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX_MAPPING;
 import static org.opensearch.flowframework.common.CommonValue.META;
 import static org.opensearch.flowframework.common.CommonValue.NO_SCHEMA_VERSION;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCE_ID;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCE_TYPE;
 import static org.opensearch.flowframework.common.CommonValue.SCHEMA_VERSION_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.TENANT_ID_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_JOBS_INDEX_MAPPING;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_RESOURCES_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_RESOURCES_INDEX_MAPPING;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX_MAPPING;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STEP_ID;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STEP_NAME;
 import static org.opensearch.flowframework.common.WorkflowResources.getResourceByWorkflowStep;
 
 /**
@@ -83,11 +109,17 @@ public class FlowFrameworkIndicesHandler {
     private final SdkClient sdkClient;
     private final ClusterService clusterService;
     private final EncryptorUtils encryptorUtils;
+    private final FlowFrameworkSettings flowFrameworkSettings;
+    private final WorkflowExecutionRegistry workflowExecutionRegistry;
     private static final Map<String, AtomicBoolean> indexMappingUpdated = new HashMap<>();
     private static final Map<String, Object> indexSettings = Map.of("index.auto_expand_replicas", "0-1");
     private final NamedXContentRegistry xContentRegistry;
     // Retries in case of simultaneous updates
     private static final int RETRIES = 5;
+    // Page size when assembling a workflow's resources from the workflow resources index
+    private static final int RESOURCE_PAGE_SIZE = 1000;
+    // Resource updates buffered per workflow id while an update of that workflow's state document is in flight
+    private final Map<String, ResourceUpdateQueue> resourceUpdateQueues = new HashMap<>();
 
     /**
      * constructor
@@ -95,6 +127,8 @@ public class FlowFrameworkIndicesHandler {
      * @param sdkClient the remote metadata client
      * @param clusterService ClusterService
      * @param encryptorUtils encryption utility
+     * @param flowFrameworkSettings the plugin settings
+     * @param workflowExecutionRegistry the registry of workflow executions running on this node
      * @param xContentRegistry contentRegister to parse any response
      */
     public FlowFrameworkIndicesHandler(
@@ -102,12 +136,16 @@ public class FlowFrameworkIndicesHandler {
         SdkClient sdkClient,
         ClusterService clusterService,
         EncryptorUtils encryptorUtils,
+        FlowFrameworkSettings flowFrameworkSettings,
+        WorkflowExecutionRegistry workflowExecutionRegistry,
         NamedXContentRegistry xContentRegistry
     ) {
         this.client = client;
         this.sdkClient = sdkClient;
         this.clusterService = clusterService;
         this.encryptorUtils = encryptorUtils;
+        this.flowFrameworkSettings = flowFrameworkSettings;
+        this.workflowExecutionRegistry = workflowExecutionRegistry;
         for (FlowFrameworkIndex mlIndex : FlowFrameworkIndex.values()) {
             indexMappingUpdated.put(mlIndex.getIndexName(), new AtomicBoolean(false));
         }
@@ -138,6 +176,24 @@ public class FlowFrameworkIndicesHandler {
         return getIndexMappings(WORKFLOW_STATE_INDEX_MAPPING);
     }
 
+    /**
+     * Get workflow-resources index mapping
+     * @return workflow-resources index mapping
+     * @throws IOException if mapping file cannot be read correctly
+     */
+    public static String getWorkflowResourcesMappings() throws IOException {
+        return getIndexMappings(WORKFLOW_RESOURCES_INDEX_MAPPING);
+    }
+
+    /**
+     * Get workflow-jobs index mapping
+     * @return workflow-jobs index mapping
+     * @throws IOException if mapping file cannot be read correctly
+     */
+    public static String getWorkflowJobsMappings() throws IOException {
+        return getIndexMappings(WORKFLOW_JOBS_INDEX_MAPPING);
+    }
+
     /**
      * Get config index mapping
      * @return config index mapping
@@ -163,6 +219,22 @@ public class FlowFrameworkIndicesHandler {
         initFlowFrameworkIndexIfAbsent(FlowFrameworkIndex.WORKFLOW_STATE, listener);
     }
 
+    /**
+     * Create workflow resources index if it's absent
+     * @param listener The action listener
+     */
+    public void initWorkflowResourcesIndexIfAbsent(ActionListener<Boolean> listener) {
+        initFlowFrameworkIndexIfAbsent(FlowFrameworkIndex.WORKFLOW_RESOURCES, listener);
+    }
+
+    /**
+     * Create workflow jobs index if it's absent
+     * @param listener The action listener
+     */
+    public void initWorkflowJobsIndexIfAbsent(ActionListener<Boolean> listener) {
+        initFlowFrameworkIndexIfAbsent(FlowFrameworkIndex.WORKFLOW_JOBS, listener);
+    }
+
     /**
      * Create config index if it's absent
      * @param listener The action listener
@@ -344,32 +416,39 @@ public class FlowFrameworkIndicesHandler {
     }
 
     private void putOrReplaceTemplateInGlobalContextIndex(String documentId, Template template, ActionListener<IndexResponse> listener) {
-        PutDataObjectRequest request = PutDataObjectRequest.builder()
-            .index(GLOBAL_CONTEXT_INDEX)
-            .id(documentId)
-            .tenantId(template.getTenantId())
-            .dataObject(encryptorUtils.encryptTemplateCredentials(template))
-            .build();
-        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-            sdkClient.putDataObjectAsync(request).whenComplete((r, throwable) -> {
-                context.restore();
-                if (throwable == null) {
-                    try {
-                        IndexResponse indexResponse = IndexResponse.fromXContent(r.parser());
-                        listener.onResponse(indexResponse);
-                    } catch (IOException e) {
-                        String errorMessage = "Failed to parse index response";
-                        logger.error(errorMessage, e);
-                        listener.onFailure(new FlowFrameworkException(errorMessage, INTERNAL_SERVER_ERROR));
+        // Credentials are encrypted once the tenant's master key is available, without blocking this thread
+        encryptorUtils.encryptTemplateCredentials(template, ActionListener.wrap(encryptedTemplate -> {
+            PutDataObjectRequest request = PutDataObjectRequest.builder()
+                .index(GLOBAL_CONTEXT_INDEX)
+                .id(documentId)
+                .tenantId(template.getTenantId())
+                .dataObject(encryptedTemplate)
+                .build();
+            try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+                sdkClient.putDataObjectAsync(request).whenComplete((r, throwable) -> {
+                    context.restore();
+                    if (throwable == null) {
+                        try {
+                            IndexResponse indexResponse = IndexResponse.fromXContent(r.parser());
+                            listener.onResponse(indexResponse);
+                        } catch (IOException e) {
+                            String errorMessage = "Failed to parse index response";
+                            logger.error(errorMessage, e);
+                            listener.onFailure(new FlowFrameworkException(errorMessage, INTERNAL_SERVER_ERROR));
+                        }
+                    } else {
+                        Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                        String errorMessage = "Failed to index template in global context index";
+                        logger.error(errorMessage, exception);
+                        listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
                     }
-                } else {
-                    Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
-                    String errorMessage = "Failed to index template in global context index";
-                    logger.error(errorMessage, exception);
-                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-                }
-            });
-        }
+                });
+            }
+        }, e -> {
+            String errorMessage = "Failed to encrypt template credentials";
+            logger.error(errorMessage, e);
+            listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+        }));
     }
 
     /**
@@ -564,6 +643,53 @@ public class FlowFrameworkIndicesHandler {
         });
     }
 
+    /**
+     * Get the document of a workflow state from the state index, with the sequence number and primary term to update it only if it
+     * did not change since it was read. The resources stored as separate documents are not included.
+     *
+     * @param workflowId workflow id
+     * @param tenantId tenant id
+     * @param listener action listener
+     * @param context the thread context
+     */
+    public void getWorkflowStateDocument(String workflowId, String tenantId, ActionListener<GetResponse> listener, StoredContext context) {
+        GetDataObjectRequest getRequest = GetDataObjectRequest.builder()
+            .index(WORKFLOW_STATE_INDEX)
+            .id(workflowId)
+            .tenantId(tenantId)
+            .build();
+        sdkClient.getDataObjectAsync(getRequest).whenComplete((r, throwable) -> {
+            context.restore();
+            if (throwable == null) {
+                try {
+                    GetResponse getResponse = GetResponse.fromXContent(r.parser());
+                    if (getResponse != null && getResponse.isExists()) {
+                        listener.onResponse(getResponse);
+                    } else {
+                        listener.onFailure(
+                            new FlowFrameworkException("Fail to find workflow status of " + workflowId, RestStatus.NOT_FOUND)
+                        );
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to parse get response", e);
+                    listener.onFailure(new FlowFrameworkException("Failed to parse get response", INTERNAL_SERVER_ERROR));
+                }
+            } else {
+                Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                if (exception instanceof IndexNotFoundException) {
+                    listener.onFailure(new FlowFrameworkException("Fail to find workflow status of " + workflowId, RestStatus.NOT_FOUND));
+                } else {
+                    String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                        "Failed to get workflow status of: {}",
+                        workflowId
+                    ).getFormattedMessage();
+                    logger.error(errorMessage, exception);
+                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                }
+            }
+        });
+    }
+
     /**
      * Get a workflow state from the state index
      *
@@ -584,6 +710,7 @@ public class FlowFrameworkIndicesHandler {
                 try {
                     GetResponse getResponse = GetResponse.fromXContent(r.parser());
                     if (getResponse != null && getResponse.isExists()) {
+                        WorkflowState workflowState;
                         try (
                             XContentParser parser = ParseUtils.createXContentParserFromRegistry(
                                 xContentRegistry,
@@ -591,8 +718,7 @@ public class FlowFrameworkIndicesHandler {
                             )
                         ) {
                             ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
-                            WorkflowState workflowState = WorkflowState.parse(parser);
-                            listener.onResponse(workflowState);
+                            workflowState = WorkflowState.parse(parser);
                         } catch (Exception e) {
                             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
                                 "Failed to parse workflowState: {}",
@@ -600,7 +726,9 @@ public class FlowFrameworkIndicesHandler {
                             ).getFormattedMessage();
                             logger.error(errorMessage, e);
                             listener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.INTERNAL_SERVER_ERROR));
+                            return;
                         }
+                        addResourceDocuments(workflowId, tenantId, workflowState, listener);
                     } else {
                         listener.onFailure(
                             new FlowFrameworkException("Fail to find workflow status of " + workflowId, RestStatus.NOT_FOUND)
@@ -626,6 +754,112 @@ public class FlowFrameworkIndicesHandler {
         });
     }
 
+    /**
+     * Adds the resources stored as individual documents to the resources created in the workflow state document.
+     * Lets a caller that already read the state document complete it without reading it again.
+     * @param workflowId workflow id
+     * @param tenantId tenant id
+     * @param workflowState the workflow state parsed from the state document
+     * @param listener action listener
+     */
+    public void addResourceDocuments(
+        String workflowId,
+        String tenantId,
+        WorkflowState workflowState,
+        ActionListener<WorkflowState> listener
+    ) {
+        if (!doesIndexExist(WORKFLOW_RESOURCES_INDEX)) {
+            listener.onResponse(workflowState);
+            return;
+        }
+        getResourceDocuments(workflowId, tenantId, ActionListener.wrap(resourceDocuments -> {
+            if (resourceDocuments.isEmpty()) {
+                listener.onResponse(workflowState);
+                return;
+            }
+            // Reprovisioning and partial deprovisioning write the full list back to the state document, skip those duplicates
+            List<ResourceCreated> resourcesCreated = new ArrayList<>(workflowState.resourcesCreated());
+            Set<Map<String, String>> existingResources = new HashSet<>();
+            for (ResourceCreated resource : resourcesCreated) {
+                existingResources.add(resource.resourceMap());
+            }
+            for (ResourceCreated resource : resourceDocuments) {
+                if (existingResources.add(resource.resourceMap())) {
+                    resourcesCreated.add(resource);
+                }
+            }
+            listener.onResponse(WorkflowState.builder(workflowState).resourcesCreated(resourcesCreated).build());
+        }, listener::onFailure));
+    }
+
+    /**
+     * Gets the resources of a workflow stored as individual documents in the workflow resources index, in creation order.
+     * Documents are fetched a page at a time so the number of resources is not limited by the search result window.
+     * @param workflowId workflow id
+     * @param tenantId tenant id
+     * @param listener action listener, completed with an empty list if the workflow resources index does not exist
+     */
+    public void getResourceDocuments(String workflowId, String tenantId, ActionListener<List<ResourceCreated>> listener) {
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            searchResourceDocuments(workflowId, tenantId, null, new ArrayList<>(), ActionListener.runBefore(listener, context::restore));
+        }
+    }
+
+    private void searchResourceDocuments(
+        String workflowId,
+        String tenantId,
+        Object[] searchAfter,
+        List<ResourceCreated> resources,
+        ActionListener<List<ResourceCreated>> listener
+    ) {
+        // Step id and resource type break ties in create time, making the sort unique within a workflow
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(QueryBuilders.termQuery(WORKFLOW_ID, workflowId))
+            .size(RESOURCE_PAGE_SIZE)
+            .sort(CREATE_TIME, SortOrder.ASC)
+            .sort(WORKFLOW_STEP_ID, SortOrder.ASC)
+            .sort(RESOURCE_TYPE, SortOrder.ASC);
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+        SearchDataObjectRequest searchRequest = SearchDataObjectRequest.builder()
+            .indices(WORKFLOW_RESOURCES_INDEX)
+            .tenantId(tenantId)
+            .searchSourceBuilder(searchSourceBuilder)
+            .build();
+        sdkClient.searchDataObjectAsync(searchRequest).whenComplete((r, throwable) -> {
+            if (throwable != null) {
+                Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                if (exception instanceof IndexNotFoundException) {
+                    listener.onResponse(resources);
+                    return;
+                }
+                String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                    "Failed to get resources created by workflow {}",
+                    workflowId
+                ).getFormattedMessage();
+                logger.error(errorMessage, exception);
+                listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                return;
+            }
+            SearchHit[] hits;
+            try {
+                hits = SearchResponse.fromXContent(r.parser()).getHits().getHits();
+                for (SearchHit hit : hits) {
+                    resources.add(ResourceDocument.parseResource(hit.getSourceAsMap()));
+                }
+            } catch (Exception e) {
+                logger.error("Failed to parse search response", e);
+                listener.onFailure(new FlowFrameworkException("Failed to parse search response", INTERNAL_SERVER_ERROR));
+                return;
+            }
+            if (hits.length < RESOURCE_PAGE_SIZE) {
+                listener.onResponse(resources);
+            } else {
+                searchResourceDocuments(workflowId, tenantId, hits[hits.length - 1].getSortValues(), resources, listener);
+            }
+        });
+    }
+
     /**
      * Check workflow provisioning state and executes the consumer
      *
@@ -768,6 +1002,26 @@ public class FlowFrameworkIndicesHandler {
         String tenantId,
         Map<String, Object> updatedFields,
         ActionListener<UpdateResponse> listener
+    ) {
+        updateFlowFrameworkSystemIndexDoc(documentId, tenantId, updatedFields, null, null, listener);
+    }
+
+    /**
+     * Updates a partial document in the workflow state index if it was not updated since it was read
+     * @param documentId the document ID
+     * @param tenantId the tenant ID
+     * @param updatedFields the fields to update the global state index with
+     * @param ifSeqNo the sequence number of the document when it was read, or null to update it regardless
+     * @param ifPrimaryTerm the primary term of the document when it was read, or null to update it regardless
+     * @param listener action listener, failed with a conflict if the document was updated since it was read
+     */
+    public void updateFlowFrameworkSystemIndexDoc(
+        String documentId,
+        String tenantId,
+        Map<String, Object> updatedFields,
+        Long ifSeqNo,
+        Long ifPrimaryTerm,
+        ActionListener<UpdateResponse> listener
     ) {
         if (!doesIndexExist(WORKFLOW_STATE_INDEX)) {
             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
@@ -780,13 +1034,18 @@ public class FlowFrameworkIndicesHandler {
         } else {
             try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
                 Map<String, Object> updatedContent = new HashMap<>(updatedFields);
-                UpdateDataObjectRequest updateRequest = UpdateDataObjectRequest.builder()
+                UpdateDataObjectRequest.Builder updateRequestBuilder = UpdateDataObjectRequest.builder()
                     .index(WORKFLOW_STATE_INDEX)
                     .id(documentId)
                     .tenantId(tenantId)
-                    .dataObject(updatedContent)
-                    .retryOnConflict(RETRIES)
-                    .build();
+                    .dataObject(updatedContent);
+                // A conditional update fails on conflict rather than being retried
+                if (ifSeqNo != null && ifPrimaryTerm != null) {
+                    updateRequestBuilder.ifSeqNo(ifSeqNo).ifPrimaryTerm(ifPrimaryTerm);
+                } else {
+                    updateRequestBuilder.retryOnConflict(RETRIES);
+                }
+                UpdateDataObjectRequest updateRequest = updateRequestBuilder.build();
                 // TODO: decide what condition can be considered as an update conflict and add retry strategy
                 sdkClient.updateDataObjectAsync(updateRequest).whenComplete((r, throwable) -> {
                     context.restore();
@@ -825,7 +1084,7 @@ public class FlowFrameworkIndicesHandler {
     }
 
     /**
-     * Deletes a document in the workflow state index
+     * Deletes a document in the workflow state index, and the documents of the resources created by the workflow
      * @param documentId the document ID
      * @param tenantId the tenant Id
      * @param listener action listener
@@ -852,7 +1111,7 @@ public class FlowFrameworkIndicesHandler {
                         try {
                             DeleteResponse response = DeleteResponse.fromXContent(r.parser());
                             logger.info("Deleted workflow state doc: {}", documentId);
-                            listener.onResponse(response);
+                            deleteResourceDocuments(documentId, tenantId, () -> listener.onResponse(response));
                         } catch (Exception e) {
                             logger.error("Failed to parse delete response", e);
                             listener.onFailure(
@@ -874,6 +1133,72 @@ public class FlowFrameworkIndicesHandler {
         }
     }
 
+    /**
+     * Deletes the documents of the resources created by a workflow whose state document was deleted. A failure is logged rather than
+     * failing the deletion of the state, which already succeeded.
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     * @param onComplete runs once the documents are deleted or the deletion failed
+     */
+    private void deleteResourceDocuments(String workflowId, String tenantId, Runnable onComplete) {
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<Void> deleteListener = ActionListener.runAfter(
+                ActionListener.wrap(
+                    r -> logger.info("Deleted the resource documents of workflow {}", workflowId),
+                    e -> logger.error("Failed to delete the resource documents of workflow {}", workflowId, e)
+                ),
+                () -> {
+                    context.restore();
+                    onComplete.run();
+                }
+            );
+            // Read and delete through the SDK client like the documents are written, so a remote metadata store is cleaned up too
+            searchResourceDocuments(
+                workflowId,
+                tenantId,
+                null,
+                new ArrayList<>(),
+                ActionListener.wrap(
+                    resources -> deleteNextResourceDocument(workflowId, tenantId, resources.iterator(), deleteListener),
+                    deleteListener::onFailure
+                )
+            );
+        }
+    }
+
+    /**
+     * Deletes the remaining resource documents of a workflow one at a time, refreshing the index after the last one
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     * @param resources the resources whose documents remain to be deleted
+     * @param listener the listener to complete once all documents are deleted, or one failed to be deleted
+     */
+    private void deleteNextResourceDocument(
+        String workflowId,
+        String tenantId,
+        Iterator<ResourceCreated> resources,
+        ActionListener<Void> listener
+    ) {
+        if (!resources.hasNext()) {
+            listener.onResponse(null);
+            return;
+        }
+        ResourceCreated resource = resources.next();
+        DeleteDataObjectRequest deleteRequest = DeleteDataObjectRequest.builder()
+            .index(WORKFLOW_RESOURCES_INDEX)
+            .id(resourceDocumentId(workflowId, resource))
+            .tenantId(tenantId)
+            .refreshPolicy(resources.hasNext() ? RefreshPolicy.NONE : RefreshPolicy.IMMEDIATE)
+            .build();
+        sdkClient.deleteDataObjectAsync(deleteRequest).whenComplete((r, throwable) -> {
+            if (throwable != null) {
+                listener.onFailure(SdkClientUtils.unwrapAndConvertToException(throwable));
+                return;
+            }
+            deleteNextResourceDocument(workflowId, tenantId, resources, listener);
+        });
+    }
+
     /**
      * Adds a resource to the state index, including common exception handling
      * @param currentNodeInputs Inputs to the current node
@@ -897,15 +1222,17 @@ public class FlowFrameworkIndicesHandler {
         }
         String resourceName = getResourceByWorkflowStep(workflowStepName);
         ResourceCreated newResource = new ResourceCreated(workflowStepName, nodeId, resourceName, resourceId);
+        Instant stateWriteStartTime = Instant.now();
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-            getAndUpdateResourceInStateDocumentWithRetries(
-                workflowId,
-                tenantId,
-                newResource,
-                OpType.INDEX,
-                RETRIES,
-                ActionListener.runBefore(listener, context::restore)
-            );
+            ActionListener<WorkflowData> restoringListener = ActionListener.runBefore(ActionListener.wrap(workflowData -> {
+                workflowExecutionRegistry.addResource(workflowId, newResource, stateWriteStartTime);
+                listener.onResponse(workflowData);
+            }, listener::onFailure), context::restore);
+            if (flowFrameworkSettings.isResourceDocumentsEnabled()) {
+                putResourceDocument(workflowId, tenantId, newResource, restoringListener);
+            } else {
+                enqueueResourceUpdate(workflowId, tenantId, new ResourceUpdate(newResource, OpType.INDEX, restoringListener));
+            }
         }
     }
 
@@ -926,17 +1253,134 @@ public class FlowFrameworkIndicesHandler {
             return;
         }
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-            getAndUpdateResourceInStateDocumentWithRetries(
-                workflowId,
-                tenantId,
-                resourceToDelete,
-                OpType.DELETE,
-                RETRIES,
-                ActionListener.runBefore(listener, context::restore)
-            );
+            ActionListener<WorkflowData> restoringListener = ActionListener.runBefore(listener, context::restore);
+            // The resource may have its own document regardless of the current setting, if it was added while it was enabled
+            if (doesIndexExist(WORKFLOW_RESOURCES_INDEX)) {
+                deleteResourceDocument(workflowId, tenantId, resourceToDelete, restoringListener);
+            } else {
+                enqueueResourceUpdate(workflowId, tenantId, new ResourceUpdate(resourceToDelete, OpType.DELETE, restoringListener));
+            }
         }
     }
 
+    /**
+     * Writes a single document for a resource to the workflow resources index, creating the index if needed
+     * @param workflowId The workflow id
+     * @param tenantId The tenant id
+     * @param resource The resource to add
+     * @param listener the ActionListener to complete after the document is written
+     */
+    private void putResourceDocument(String workflowId, String tenantId, ResourceCreated resource, ActionListener<WorkflowData> listener) {
+        initWorkflowResourcesIndexIfAbsent(ActionListener.wrap(indexCreated -> {
+            if (!indexCreated) {
+                listener.onFailure(
+                    new FlowFrameworkException("No response to create " + WORKFLOW_RESOURCES_INDEX + " index", INTERNAL_SERVER_ERROR)
+                );
+                return;
+            }
+            PutDataObjectRequest request = PutDataObjectRequest.builder()
+                .index(WORKFLOW_RESOURCES_INDEX)
+                .id(resourceDocumentId(workflowId, resource))
+                .tenantId(tenantId)
+                .dataObject(new ResourceDocument(workflowId, tenantId, resource, Instant.now()))
+                // Resource documents are read back by search, so a resource must be visible as soon as its step completes
+                .refreshPolicy(RefreshPolicy.IMMEDIATE)
+                .build();
+            sdkClient.putDataObjectAsync(request).whenComplete((r, throwable) -> {
+                if (throwable == null) {
+                    logger.info(
+                        "Added resource {} {} created by {} on step {}",
+                        resource.resourceType(),
+                        resource.resourceId(),
+                        workflowId,
+                        resource.workflowStepId()
+                    );
+                    listener.onResponse(
+                        new WorkflowData(Map.of(resource.resourceType(), resource.resourceId()), workflowId, resource.workflowStepId())
+                    );
+                } else {
+                    Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                    String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                        "Failed to add resource {} created by {} to {}",
+                        resource.resourceId(),
+                        workflowId,
+                        WORKFLOW_RESOURCES_INDEX
+                    ).getFormattedMessage();
+                    logger.error(errorMessage, exception);
+                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                }
+            });
+        }, listener::onFailure));
+    }
+
+    /**
+     * Deletes the document of a resource from the workflow resources index. If the resource has no document, it is removed from the
+     * resources created in the workflow state document instead.
+     * @param workflowId The workflow id
+     * @param tenantId The tenant id
+     * @param resource The resource to delete
+     * @param listener the ActionListener to complete after the resource is removed
+     */
+    private void deleteResourceDocument(
+        String workflowId,
+        String tenantId,
+        ResourceCreated resource,
+        ActionListener<WorkflowData> listener
+    ) {
+        DeleteDataObjectRequest deleteRequest = DeleteDataObjectRequest.builder()
+            .index(WORKFLOW_RESOURCES_INDEX)
+            .id(resourceDocumentId(workflowId, resource))
+            .tenantId(tenantId)
+            .refreshPolicy(RefreshPolicy.IMMEDIATE)
+            .build();
+        sdkClient.deleteDataObjectAsync(deleteRequest).whenComplete((r, throwable) -> {
+            if (throwable != null) {
+                Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                    "Failed to delete resource {} created by {} from {}",
+                    resource.resourceId(),
+                    workflowId,
+                    WORKFLOW_RESOURCES_INDEX
+                ).getFormattedMessage();
+                logger.error(errorMessage, exception);
+                listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                return;
+            }
+            DeleteResponse deleteResponse;
+            try {
+                deleteResponse = DeleteResponse.fromXContent(r.parser());
+            } catch (Exception e) {
+                logger.error("Failed to parse delete response", e);
+                listener.onFailure(new FlowFrameworkException("Failed to parse delete response", INTERNAL_SERVER_ERROR));
+                return;
+            }
+            if (deleteResponse.getResult() == DocWriteResponse.Result.DELETED) {
+                logger.info(
+                    "Deleted resource {} {} created by {} on step {}",
+                    resource.resourceType(),
+                    resource.resourceId(),
+                    workflowId,
+                    resource.workflowStepId()
+                );
+                listener.onResponse(
+                    new WorkflowData(Map.of(resource.resourceType(), resource.resourceId()), workflowId, resource.workflowStepId())
+                );
+            } else {
+                enqueueResourceUpdate(workflowId, tenantId, new ResourceUpdate(resource, OpType.DELETE, listener));
+            }
+        });
+    }
+
+    /**
+     * Gets the id of a resource's document in the workflow resources index. A step may create resources of several types.
+     * @param workflowId The workflow id
+     * @param resource The resource
+     * @return the document id
+     */
+    static String resourceDocumentId(String workflowId, ResourceCreated resource) {
+        return String.join(":", workflowId, resource.workflowStepId(), resource.resourceType());
+    }
+
     private boolean validateStateIndexExists(String workflowId, ActionListener<WorkflowData> listener) {
         if (!doesIndexExist(WORKFLOW_STATE_INDEX)) {
             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
@@ -952,21 +1396,63 @@ public class FlowFrameworkIndicesHandler {
     }
 
     /**
-     * Performs a get and update of a State Index document adding or removing a resource with strong consistency and retries
+     * Buffers a resource update for a workflow. If no update of this workflow's state document is in flight the buffer is written
+     * immediately, otherwise it is written as a single update once the in flight update completes.
      * @param workflowId The document id to update
-     * @param tenantId
-     * @param resource The resource to add or remove from the resources created list
-     * @param operation The operation to perform on the resource (INDEX to append to the list or DELETE to remove)
+     * @param tenantId The tenant id
+     * @param update The resource update and the listener to complete after it is written
+     */
+    private void enqueueResourceUpdate(String workflowId, String tenantId, ResourceUpdate update) {
+        ResourceUpdateQueue queue;
+        boolean startWrite;
+        synchronized (resourceUpdateQueues) {
+            queue = resourceUpdateQueues.computeIfAbsent(workflowId, k -> new ResourceUpdateQueue(tenantId));
+            queue.pending.add(update);
+            startWrite = !queue.writing;
+            queue.writing = true;
+        }
+        if (startWrite) {
+            writeResourceUpdates(workflowId, queue);
+        }
+    }
+
+    private void writeResourceUpdates(String workflowId, ResourceUpdateQueue queue) {
+        List<ResourceUpdate> updates;
+        synchronized (resourceUpdateQueues) {
+            updates = new ArrayList<>(queue.pending);
+            queue.pending.clear();
+        }
+        if (updates.size() > 1) {
+            logger.debug("Coalescing {} resource updates for workflow {}", updates.size(), workflowId);
+        }
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            getAndUpdateResourceInStateDocumentWithRetries(workflowId, queue.tenantId, updates, RETRIES, () -> {
+                synchronized (resourceUpdateQueues) {
+                    if (queue.pending.isEmpty()) {
+                        queue.writing = false;
+                        resourceUpdateQueues.remove(workflowId, queue);
+                        return;
+                    }
+                }
+                writeResourceUpdates(workflowId, queue);
+            });
+        }
+    }
+
+    /**
+     * Performs a get and update of a State Index document adding or removing resources with strong consistency and retries
+     * @param workflowId The document id to update
+     * @param tenantId The tenant id
+     * @param updates The resources to add or remove from the resources created list, in order, with the listeners to complete
      * @param retries The number of retries on update version conflicts
-     * @param listener The listener to complete on success or failure
+     * @param onComplete Runs after all listeners have been completed
      */
     private void getAndUpdateResourceInStateDocumentWithRetries(
         String workflowId,
         String tenantId,
-        ResourceCreated resource,
-        OpType operation,
+        List<ResourceUpdate> updates,
         int retries,
-        ActionListener<WorkflowData> listener
+        Runnable onComplete
     ) {
         GetDataObjectRequest getRequest = GetDataObjectRequest.builder()
             .index(WORKFLOW_STATE_INDEX)
@@ -977,14 +1463,18 @@ public class FlowFrameworkIndicesHandler {
             if (throwable == null) {
                 try {
                     GetResponse getResponse = GetResponse.fromXContent(r.parser());
-                    handleStateGetResponse(workflowId, tenantId, resource, operation, retries, listener, getResponse);
+                    handleStateGetResponse(workflowId, tenantId, updates, retries, onComplete, getResponse);
                 } catch (Exception e) {
                     logger.error("Failed to parse get response", e);
-                    listener.onFailure(new FlowFrameworkException("Failed to parse get response", INTERNAL_SERVER_ERROR));
+                    failResourceUpdates(
+                        updates,
+                        onComplete,
+                        u -> new FlowFrameworkException("Failed to parse get response", INTERNAL_SERVER_ERROR)
+                    );
                 }
             } else {
                 Exception ex = SdkClientUtils.unwrapAndConvertToException(throwable);
-                handleStateUpdateException(workflowId, tenantId, resource, operation, 0, listener, ex);
+                handleStateUpdateException(workflowId, tenantId, updates, 0, onComplete, ex);
             }
         });
     }
@@ -992,23 +1482,28 @@ public class FlowFrameworkIndicesHandler {
     private void handleStateGetResponse(
         String workflowId,
         String tenantId,
-        ResourceCreated resource,
-        OpType operation,
+        List<ResourceUpdate> updates,
         int retries,
-        ActionListener<WorkflowData> listener,
+        Runnable onComplete,
         GetResponse getResponse
     ) {
         if (!getResponse.isExists()) {
-            listener.onFailure(new FlowFrameworkException("Workflow state not found for " + workflowId, RestStatus.NOT_FOUND));
+            failResourceUpdates(
+                updates,
+                onComplete,
+                u -> new FlowFrameworkException("Workflow state not found for " + workflowId, RestStatus.NOT_FOUND)
+            );
             return;
         }
         try {
-            WorkflowState currentState = WorkflowState.parse(getResponse.getSourceAsString());
+            WorkflowState currentState = WorkflowState.parse(getResponse.getSourceAsBytesRef());
             List<ResourceCreated> resourcesCreated = new ArrayList<>(currentState.resourcesCreated());
-            if (operation == OpType.DELETE) {
-                resourcesCreated.removeIf(r -> r.resourceMap().equals(resource.resourceMap()));
-            } else {
-                resourcesCreated.add(resource);
+            for (ResourceUpdate update : updates) {
+                if (update.operation == OpType.DELETE) {
+                    resourcesCreated.removeIf(r -> r.resourceMap().equals(update.resource.resourceMap()));
+                } else {
+                    resourcesCreated.add(update.resource);
+                }
             }
             WorkflowState newState = WorkflowState.builder(currentState).resourcesCreated(resourcesCreated).build();
             UpdateDataObjectRequest updateRequest = UpdateDataObjectRequest.builder()
@@ -1021,10 +1516,10 @@ public class FlowFrameworkIndicesHandler {
                 .build();
             sdkClient.updateDataObjectAsync(updateRequest).whenComplete((r, throwable) -> {
                 if (throwable == null) {
-                    handleStateUpdateSuccess(workflowId, resource, operation, listener);
+                    handleStateUpdateSuccess(workflowId, updates, onComplete);
                 } else {
                     Exception e = SdkClientUtils.unwrapAndConvertToException(throwable);
-                    handleStateUpdateException(workflowId, tenantId, resource, operation, retries, listener, e);
+                    handleStateUpdateException(workflowId, tenantId, updates, retries, onComplete, e);
                 }
             });
         } catch (Exception e) {
@@ -1033,53 +1528,137 @@ public class FlowFrameworkIndicesHandler {
                 workflowId
             ).getFormattedMessage();
             logger.error(errorMessage, e);
-            listener.onFailure(new FlowFrameworkException(errorMessage, INTERNAL_SERVER_ERROR));
+            failResourceUpdates(updates, onComplete, u -> new FlowFrameworkException(errorMessage, INTERNAL_SERVER_ERROR));
         }
     }
 
-    private void handleStateUpdateSuccess(
-        String workflowId,
-        ResourceCreated newResource,
-        OpType operation,
-        ActionListener<WorkflowData> listener
-    ) {
-        String resourceName = newResource.resourceType();
-        String resourceId = newResource.resourceId();
-        String nodeId = newResource.workflowStepId();
-        logger.info(
-            "Updated resources created for {} on step {} to {} resource {} {}",
-            workflowId,
-            nodeId,
-            operation.equals(OpType.DELETE) ? "delete" : "add",
-            resourceName,
-            resourceId
-        );
-        listener.onResponse(new WorkflowData(Map.of(resourceName, resourceId), workflowId, nodeId));
+    private void handleStateUpdateSuccess(String workflowId, List<ResourceUpdate> updates, Runnable onComplete) {
+        try {
+            for (ResourceUpdate update : updates) {
+                String resourceName = update.resource.resourceType();
+                String resourceId = update.resource.resourceId();
+                String nodeId = update.resource.workflowStepId();
+                logger.info(
+                    "Updated resources created for {} on step {} to {} resource {} {}",
+                    workflowId,
+                    nodeId,
+                    update.operation.equals(OpType.DELETE) ? "delete" : "add",
+                    resourceName,
+                    resourceId
+                );
+                update.listener.onResponse(new WorkflowData(Map.of(resourceName, resourceId), workflowId, nodeId));
+            }
+        } finally {
+            onComplete.run();
+        }
     }
 
     private void handleStateUpdateException(
         String workflowId,
         String tenantId,
-        ResourceCreated newResource,
-        OpType operation,
+        List<ResourceUpdate> updates,
         int retries,
-        ActionListener<WorkflowData> listener,
+        Runnable onComplete,
         Exception e
     ) {
         if (e instanceof OpenSearchStatusException && ((OpenSearchStatusException) e).status() == RestStatus.CONFLICT && retries > 0) {
             // Retry if we haven't exhausted retries
-            getAndUpdateResourceInStateDocumentWithRetries(workflowId, tenantId, newResource, operation, retries - 1, listener);
+            getAndUpdateResourceInStateDocumentWithRetries(workflowId, tenantId, updates, retries - 1, onComplete);
             return;
         }
-        String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
-            "Failed to update workflow state for {} on step {} to {} resource {} {}",
-            workflowId,
-            newResource.workflowStepId(),
-            operation.equals(OpType.DELETE) ? "delete" : "add",
-            newResource.resourceType(),
-            newResource.resourceId()
-        ).getFormattedMessage();
-        logger.error(errorMessage, e);
-        listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+        failResourceUpdates(updates, onComplete, update -> {
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                "Failed to update workflow state for {} on step {} to {} resource {} {}",
+                workflowId,
+                update.resource.workflowStepId(),
+                update.operation.equals(OpType.DELETE) ? "delete" : "add",
+                update.resource.resourceType(),
+                update.resource.resourceId()
+            ).getFormattedMessage();
+            logger.error(errorMessage, e);
+            return new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e));
+        });
+    }
+
+    private void failResourceUpdates(
+        List<ResourceUpdate> updates,
+        Runnable onComplete,
+        Function<ResourceUpdate, FlowFrameworkException> exceptionFunction
+    ) {
+        try {
+            for (ResourceUpdate update : updates) {
+                update.listener.onFailure(exceptionFunction.apply(update));
+            }
+        } finally {
+            onComplete.run();
+        }
+    }
+
+    /**
+     * A resource to add to or remove from a workflow's resources created, and the listener to complete once written
+     */
+    private static class ResourceUpdate {
+        private final ResourceCreated resource;
+        private final OpType operation;
+        private final ActionListener<WorkflowData> listener;
+
+        ResourceUpdate(ResourceCreated resource, OpType operation, ActionListener<WorkflowData> listener) {
+            this.resource = resource;
+            this.operation = operation;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Resource updates for a single workflow waiting for the in flight update of its state document to complete
+     */
+    private static class ResourceUpdateQueue {
+        private final String tenantId;
+        private final List<ResourceUpdate> pending = new ArrayList<>();
+        private boolean writing = false;
+
+        ResourceUpdateQueue(String tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+
+    /**
+     * A resource stored as its own document in the workflow resources index
+     */
+    private static class ResourceDocument implements ToXContentObject {
+        private final String workflowId;
+        private final String tenantId;
+        private final ResourceCreated resource;
+        private final Instant createTime;
+
+        ResourceDocument(String workflowId, String tenantId, ResourceCreated resource, Instant createTime) {
+            this.workflowId = workflowId;
+            this.tenantId = tenantId;
+            this.resource = resource;
+            this.createTime = createTime;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field(WORKFLOW_ID, workflowId);
+            for (Map.Entry<String, String> field : resource.resourceMap().entrySet()) {
+                builder.field(field.getKey(), field.getValue());
+            }
+            builder.field(CREATE_TIME, createTime.toEpochMilli());
+            if (tenantId != null) {
+                builder.field(TENANT_ID_FIELD, tenantId);
+            }
+            return builder.endObject();
+        }
+
+        static ResourceCreated parseResource(Map<String, Object> source) {
+            return new ResourceCreated(
+                (String) source.get(WORKFLOW_STEP_NAME),
+                (String) source.get(WORKFLOW_STEP_ID),
+                (String) source.get(RESOURCE_TYPE),
+                (String) source.get(RESOURCE_ID)
+            );
+        }
     }
 }
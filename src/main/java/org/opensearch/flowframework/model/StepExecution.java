@@ -0,0 +1,373 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.model;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.util.ParseUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
+import static org.opensearch.flowframework.common.CommonValue.STEP_ATTEMPTS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_END_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_INVOKE_END_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_PREDECESSORS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_QUEUE_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_START_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_STATE_WRITE_START_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_STATUS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STEP_ID;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STEP_NAME;
+
+/**
+ * This represents the timing and outcome of the execution of a workflow step in the WorkflowState {@link WorkflowState}.
+ */
+public class StepExecution implements ToXContentObject, Writeable {
+
+    private final String workflowStepId;
+    private final String workflowStepName;
+    private final String status;
+    private final Instant startTime;
+    private final Instant endTime;
+    private final long queueTimeInMillis;
+    private final int attempts;
+    private final List<String> predecessors;
+    private final Instant invokeEndTime;
+    private final Instant stateWriteStartTime;
+
+    /**
+     * Create this step execution object without predecessors or phase timings
+     * @param workflowStepId The workflow step ID
+     * @param workflowStepName The workflow step name
+     * @param status The status of the step, {@link State#COMPLETED} or {@link State#FAILED} once it finished executing
+     * @param startTime The time the step started executing
+     * @param endTime The time the step finished executing, null if it is still executing
+     * @param queueTimeInMillis The time the step waited for a thread once its predecessors completed
+     * @param attempts The number of times the step was executed
+     */
+    public StepExecution(
+        String workflowStepId,
+        String workflowStepName,
+        String status,
+        Instant startTime,
+        Instant endTime,
+        long queueTimeInMillis,
+        int attempts
+    ) {
+        this(
+            workflowStepId,
+            workflowStepName,
+            status,
+            startTime,
+            endTime,
+            queueTimeInMillis,
+            attempts,
+            Collections.emptyList(),
+            null,
+            null
+        );
+    }
+
+    /**
+     * Create this step execution object
+     * @param workflowStepId The workflow step ID
+     * @param workflowStepName The workflow step name
+     * @param status The status of the step, {@link State#COMPLETED} or {@link State#FAILED} once it finished executing
+     * @param startTime The time the step started executing
+     * @param endTime The time the step finished executing, null if it is still executing
+     * @param queueTimeInMillis The time the step waited for a thread once its predecessors completed
+     * @param attempts The number of times the step was executed
+     * @param predecessors The IDs of the steps this step waited on
+     * @param invokeEndTime The time the step returned from issuing its downstream calls, null if it did not return
+     * @param stateWriteStartTime The time the downstream calls returned and the step started recording its resource in the state index,
+     *     null if it did not record a resource
+     */
+    public StepExecution(
+        String workflowStepId,
+        String workflowStepName,
+        String status,
+        Instant startTime,
+        Instant endTime,
+        long queueTimeInMillis,
+        int attempts,
+        List<String> predecessors,
+        Instant invokeEndTime,
+        Instant stateWriteStartTime
+    ) {
+        this.workflowStepId = workflowStepId;
+        this.workflowStepName = workflowStepName;
+        this.status = status;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.queueTimeInMillis = queueTimeInMillis;
+        this.attempts = attempts;
+        this.predecessors = predecessors;
+        this.invokeEndTime = invokeEndTime;
+        this.stateWriteStartTime = stateWriteStartTime;
+    }
+
+    /**
+     * Create this step execution object with an StreamInput
+     * @param input the input stream to read from
+     * @throws IOException if failed to read input stream
+     */
+    public StepExecution(StreamInput input) throws IOException {
+        this.workflowStepId = input.readString();
+        this.workflowStepName = input.readOptionalString();
+        this.status = input.readOptionalString();
+        this.startTime = input.readOptionalInstant();
+        this.endTime = input.readOptionalInstant();
+        this.queueTimeInMillis = input.readVLong();
+        this.attempts = input.readVInt();
+        this.predecessors = input.readStringList();
+        this.invokeEndTime = input.readOptionalInstant();
+        this.stateWriteStartTime = input.readOptionalInstant();
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        XContentBuilder xContentBuilder = builder.startObject();
+        xContentBuilder.field(WORKFLOW_STEP_ID, workflowStepId);
+        if (workflowStepName != null) {
+            xContentBuilder.field(WORKFLOW_STEP_NAME, workflowStepName);
+        }
+        if (status != null) {
+            xContentBuilder.field(STEP_STATUS_FIELD, status);
+        }
+        if (startTime != null) {
+            xContentBuilder.field(STEP_START_TIME_FIELD, startTime.toEpochMilli());
+        }
+        if (endTime != null) {
+            xContentBuilder.field(STEP_END_TIME_FIELD, endTime.toEpochMilli());
+        }
+        xContentBuilder.field(STEP_QUEUE_TIME_FIELD, queueTimeInMillis);
+        xContentBuilder.field(STEP_ATTEMPTS_FIELD, attempts);
+        if (!predecessors.isEmpty()) {
+            xContentBuilder.field(STEP_PREDECESSORS_FIELD, predecessors);
+        }
+        if (invokeEndTime != null) {
+            xContentBuilder.field(STEP_INVOKE_END_TIME_FIELD, invokeEndTime.toEpochMilli());
+        }
+        if (stateWriteStartTime != null) {
+            xContentBuilder.field(STEP_STATE_WRITE_START_TIME_FIELD, stateWriteStartTime.toEpochMilli());
+        }
+        return xContentBuilder.endObject();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(workflowStepId);
+        out.writeOptionalString(workflowStepName);
+        out.writeOptionalString(status);
+        out.writeOptionalInstant(startTime);
+        out.writeOptionalInstant(endTime);
+        out.writeVLong(queueTimeInMillis);
+        out.writeVInt(attempts);
+        out.writeStringCollection(predecessors);
+        out.writeOptionalInstant(invokeEndTime);
+        out.writeOptionalInstant(stateWriteStartTime);
+    }
+
+    /**
+     * Parse raw JSON content into a StepExecution instance.
+     *
+     * @param parser JSON based content parser
+     * @return the parsed StepExecution instance
+     * @throws IOException if content can't be parsed correctly
+     */
+    public static StepExecution parse(XContentParser parser) throws IOException {
+        String workflowStepId = null;
+        String workflowStepName = null;
+        String status = null;
+        Instant startTime = null;
+        Instant endTime = null;
+        long queueTimeInMillis = 0;
+        int attempts = 0;
+        List<String> predecessors = new ArrayList<>();
+        Instant invokeEndTime = null;
+        Instant stateWriteStartTime = null;
+
+        ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
+        while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case WORKFLOW_STEP_ID:
+                    workflowStepId = parser.text();
+                    break;
+                case WORKFLOW_STEP_NAME:
+                    workflowStepName = parser.text();
+                    break;
+                case STEP_STATUS_FIELD:
+                    status = parser.text();
+                    break;
+                case STEP_START_TIME_FIELD:
+                    startTime = ParseUtils.parseInstant(parser);
+                    break;
+                case STEP_END_TIME_FIELD:
+                    endTime = ParseUtils.parseInstant(parser);
+                    break;
+                case STEP_QUEUE_TIME_FIELD:
+                    queueTimeInMillis = parser.longValue();
+                    break;
+                case STEP_ATTEMPTS_FIELD:
+                    attempts = parser.intValue();
+                    break;
+                case STEP_PREDECESSORS_FIELD:
+                    ensureExpectedToken(XContentParser.Token.START_ARRAY, parser.currentToken(), parser);
+                    while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+                        predecessors.add(parser.text());
+                    }
+                    break;
+                case STEP_INVOKE_END_TIME_FIELD:
+                    invokeEndTime = ParseUtils.parseInstant(parser);
+                    break;
+                case STEP_STATE_WRITE_START_TIME_FIELD:
+                    stateWriteStartTime = ParseUtils.parseInstant(parser);
+                    break;
+                default:
+                    throw new FlowFrameworkException(
+                        "Unable to parse field [" + fieldName + "] in a step execution object.",
+                        RestStatus.BAD_REQUEST
+                    );
+            }
+        }
+        if (workflowStepId == null) {
+            throw new FlowFrameworkException("A step execution requires a " + WORKFLOW_STEP_ID + ".", RestStatus.BAD_REQUEST);
+        }
+        return new StepExecution(
+            workflowStepId,
+            workflowStepName,
+            status,
+            startTime,
+            endTime,
+            queueTimeInMillis,
+            attempts,
+            predecessors,
+            invokeEndTime,
+            stateWriteStartTime
+        );
+    }
+
+    /**
+     * Gets the workflow step id
+     * @return the workflowStepId
+     */
+    public String workflowStepId() {
+        return workflowStepId;
+    }
+
+    /**
+     * Gets the workflow step name
+     * @return the workflowStepName
+     */
+    public String workflowStepName() {
+        return workflowStepName;
+    }
+
+    /**
+     * Gets the status of the step
+     * @return the status, or null if the step has not finished executing
+     */
+    public String status() {
+        return status;
+    }
+
+    /**
+     * Gets the time the step started executing
+     * @return the start time
+     */
+    public Instant startTime() {
+        return startTime;
+    }
+
+    /**
+     * Gets the time the step finished executing
+     * @return the end time, or null if the step has not finished executing
+     */
+    public Instant endTime() {
+        return endTime;
+    }
+
+    /**
+     * Gets the time the step waited for a thread once its predecessors completed
+     * @return the queue time in milliseconds
+     */
+    public long queueTimeInMillis() {
+        return queueTimeInMillis;
+    }
+
+    /**
+     * Gets the number of times the step was executed
+     * @return the number of attempts
+     */
+    public int attempts() {
+        return attempts;
+    }
+
+    /**
+     * Gets the IDs of the steps this step waited on
+     * @return the predecessor step IDs
+     */
+    public List<String> predecessors() {
+        return predecessors;
+    }
+
+    /**
+     * Gets the time the step returned from issuing its downstream calls
+     * @return the invoke end time, or null if the step did not return
+     */
+    public Instant invokeEndTime() {
+        return invokeEndTime;
+    }
+
+    /**
+     * Gets the time the downstream calls of the step returned and it started recording its resource in the state index
+     * @return the state write start time, or null if the step did not record a resource
+     */
+    public Instant stateWriteStartTime() {
+        return stateWriteStartTime;
+    }
+
+    @Override
+    public String toString() {
+        return "StepExecution [workflowStepId="
+            + workflowStepId
+            + ", workflowStepName="
+            + workflowStepName
+            + ", status="
+            + status
+            + ", startTime="
+            + startTime
+            + ", endTime="
+            + endTime
+            + ", queueTimeInMillis="
+            + queueTimeInMillis
+            + ", attempts="
+            + attempts
+            + ", predecessors="
+            + predecessors
+            + ", invokeEndTime="
+            + invokeEndTime
+            + ", stateWriteStartTime="
+            + stateWriteStartTime
+            + "]";
+    }
+}
@@ -14,6 +14,7 @@ import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.common.xcontent.yaml.YamlXContent;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.common.Strings;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContentObject;
@@ -569,6 +570,20 @@ public class Template implements ToXContentObject {
         }
     }
 
+    /**
+     * Parse a JSON use case template directly from the source of a document, without first copying it into a String
+     *
+     * @param source The bytes of a JSON representation of a use case template
+     * @return A {@link Template} represented by the JSON.
+     * @throws IOException on failure to parse
+     */
+    public static Template parse(BytesReference source) throws IOException {
+        try (XContentParser parser = ParseUtils.createXContentParserFromRegistry(NamedXContentRegistry.EMPTY, source)) {
+            ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
+            return parse(parser);
+        }
+    }
+
     /**
      * Creates an empty template with the given tenant ID
      *
@@ -0,0 +1,462 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.model;
+
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.util.ParseUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
+import static org.opensearch.flowframework.common.CommonValue.CREATE_TIME;
+import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.JOB_ATTEMPTS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.JOB_LEASE_EXPIRY_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.JOB_OWNER_NODE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.JOB_PARAMS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.JOB_STATUS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.JOB_TYPE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.LAST_UPDATED_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.TENANT_ID_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.USER_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID_FIELD;
+import static org.opensearch.flowframework.util.ParseUtils.parseStringToStringMap;
+
+/**
+ * A provisioning job stored in the jobs index, waiting for or holding a lease of a node which executes it
+ */
+public class WorkflowJob implements ToXContentObject {
+
+    /**
+     * The type of workflow execution a job runs
+     */
+    public enum Type {
+        /** Provision the workflow */
+        PROVISION,
+        /** Deprovision the workflow */
+        DEPROVISION
+    }
+
+    /**
+     * The lifecycle of a job
+     */
+    public enum Status {
+        /** Waiting for a node to claim it, or claimed by a node whose lease has expired */
+        QUEUED,
+        /** Claimed by a node holding an unexpired lease */
+        RUNNING,
+        /** Executed successfully */
+        COMPLETED,
+        /** Failed to execute, or exceeded the maximum number of attempts */
+        FAILED
+    }
+
+    private final Type jobType;
+    private final String workflowId;
+    private final String tenantId;
+    private final Status status;
+    private final Map<String, String> params;
+    private final User user;
+    private final String ownerNode;
+    private final Instant leaseExpiryTime;
+    private final int attempts;
+    private final Instant createTime;
+    private final Instant lastUpdatedTime;
+    private final String error;
+
+    /**
+     * Create a queued job which was never claimed
+     * @param jobType The type of workflow execution to run
+     * @param workflowId The workflow ID
+     * @param tenantId The tenant ID
+     * @param params The parameters of the provision or deprovision request
+     * @param user The user who queued the request, or null if security is disabled
+     * @param createTime The time the job was queued
+     */
+    public WorkflowJob(Type jobType, String workflowId, String tenantId, Map<String, String> params, User user, Instant createTime) {
+        this(jobType, workflowId, tenantId, Status.QUEUED, params, user, null, null, 0, createTime, createTime, null);
+    }
+
+    /**
+     * Create a job
+     * @param jobType The type of workflow execution to run
+     * @param workflowId The workflow ID
+     * @param tenantId The tenant ID
+     * @param status The status of the job
+     * @param params The parameters of the provision or deprovision request
+     * @param user The user who queued the request, or null if security is disabled
+     * @param ownerNode The ID of the node which last claimed the job, null if it was never claimed
+     * @param leaseExpiryTime The time the lease of the owner node expires, null if it was never claimed
+     * @param attempts The number of times the job was claimed
+     * @param createTime The time the job was queued
+     * @param lastUpdatedTime The time the job was last updated
+     * @param error The error of a failed job
+     */
+    public WorkflowJob(
+        Type jobType,
+        String workflowId,
+        String tenantId,
+        Status status,
+        Map<String, String> params,
+        User user,
+        String ownerNode,
+        Instant leaseExpiryTime,
+        int attempts,
+        Instant createTime,
+        Instant lastUpdatedTime,
+        String error
+    ) {
+        this.jobType = jobType;
+        this.workflowId = workflowId;
+        this.tenantId = tenantId;
+        this.status = status;
+        this.params = params == null ? Collections.emptyMap() : params;
+        this.user = user;
+        this.ownerNode = ownerNode;
+        this.leaseExpiryTime = leaseExpiryTime;
+        this.attempts = attempts;
+        this.createTime = createTime;
+        this.lastUpdatedTime = lastUpdatedTime;
+        this.error = error;
+    }
+
+    /**
+     * Create a copy of this job claimed by a node
+     * @param nodeId The ID of the claiming node
+     * @param leaseExpiryTime The time the lease of the claiming node expires
+     * @param now The time of the claim
+     * @return the claimed job
+     */
+    public WorkflowJob claim(String nodeId, Instant leaseExpiryTime, Instant now) {
+        return new WorkflowJob(
+            jobType,
+            workflowId,
+            tenantId,
+            Status.RUNNING,
+            params,
+            user,
+            nodeId,
+            leaseExpiryTime,
+            attempts + 1,
+            createTime,
+            now,
+            null
+        );
+    }
+
+    /**
+     * Create a copy of this job with its lease renewed by its owner node
+     * @param leaseExpiryTime The new time the lease expires
+     * @param now The time of the renewal
+     * @return the renewed job
+     */
+    public WorkflowJob renew(Instant leaseExpiryTime, Instant now) {
+        return new WorkflowJob(
+            jobType,
+            workflowId,
+            tenantId,
+            status,
+            params,
+            user,
+            ownerNode,
+            leaseExpiryTime,
+            attempts,
+            createTime,
+            now,
+            error
+        );
+    }
+
+    /**
+     * Create a copy of this job with a new status, releasing its lease
+     * @param newStatus The new status
+     * @param newError The error of a failed job, or null
+     * @param now The time of the update
+     * @return the updated job
+     */
+    public WorkflowJob withStatus(Status newStatus, String newError, Instant now) {
+        return new WorkflowJob(
+            jobType,
+            workflowId,
+            tenantId,
+            newStatus,
+            params,
+            user,
+            ownerNode,
+            null,
+            attempts,
+            createTime,
+            now,
+            newError
+        );
+    }
+
+    /**
+     * Create a copy of this job queued again without counting the current claim as an attempt, for a job its owner node could not
+     * start yet
+     * @param now The time of the update
+     * @return the queued job
+     */
+    public WorkflowJob requeue(Instant now) {
+        return new WorkflowJob(
+            jobType,
+            workflowId,
+            tenantId,
+            Status.QUEUED,
+            params,
+            user,
+            ownerNode,
+            null,
+            Math.max(0, attempts - 1),
+            createTime,
+            now,
+            null
+        );
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        XContentBuilder xContentBuilder = builder.startObject();
+        xContentBuilder.field(JOB_TYPE_FIELD, jobType.name());
+        xContentBuilder.field(WORKFLOW_ID_FIELD, workflowId);
+        if (tenantId != null) {
+            xContentBuilder.field(TENANT_ID_FIELD, tenantId);
+        }
+        xContentBuilder.field(JOB_STATUS_FIELD, status.name());
+        xContentBuilder.field(JOB_PARAMS_FIELD, this.params);
+        if (user != null) {
+            xContentBuilder.field(USER_FIELD, user);
+        }
+        if (ownerNode != null) {
+            xContentBuilder.field(JOB_OWNER_NODE_FIELD, ownerNode);
+        }
+        if (leaseExpiryTime != null) {
+            xContentBuilder.field(JOB_LEASE_EXPIRY_TIME_FIELD, leaseExpiryTime.toEpochMilli());
+        }
+        xContentBuilder.field(JOB_ATTEMPTS_FIELD, attempts);
+        if (createTime != null) {
+            xContentBuilder.field(CREATE_TIME, createTime.toEpochMilli());
+        }
+        if (lastUpdatedTime != null) {
+            xContentBuilder.field(LAST_UPDATED_TIME_FIELD, lastUpdatedTime.toEpochMilli());
+        }
+        if (error != null) {
+            xContentBuilder.field(ERROR_FIELD, error);
+        }
+        return xContentBuilder.endObject();
+    }
+
+    /**
+     * Parse raw JSON content into a WorkflowJob instance.
+     *
+     * @param parser JSON based content parser
+     * @return the parsed WorkflowJob instance
+     * @throws IOException if content can't be parsed correctly
+     */
+    public static WorkflowJob parse(XContentParser parser) throws IOException {
+        Type jobType = null;
+        String workflowId = null;
+        String tenantId = null;
+        Status status = null;
+        Map<String, String> params = Collections.emptyMap();
+        User user = null;
+        String ownerNode = null;
+        Instant leaseExpiryTime = null;
+        int attempts = 0;
+        Instant createTime = null;
+        Instant lastUpdatedTime = null;
+        String error = null;
+
+        ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
+        while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case JOB_TYPE_FIELD:
+                    jobType = Type.valueOf(parser.text().toUpperCase(Locale.ROOT));
+                    break;
+                case WORKFLOW_ID_FIELD:
+                    workflowId = parser.text();
+                    break;
+                case TENANT_ID_FIELD:
+                    tenantId = parser.textOrNull();
+                    break;
+                case JOB_STATUS_FIELD:
+                    status = Status.valueOf(parser.text().toUpperCase(Locale.ROOT));
+                    break;
+                case JOB_PARAMS_FIELD:
+                    params = parseStringToStringMap(parser);
+                    break;
+                case USER_FIELD:
+                    user = User.parse(parser);
+                    break;
+                case JOB_OWNER_NODE_FIELD:
+                    ownerNode = parser.text();
+                    break;
+                case JOB_LEASE_EXPIRY_TIME_FIELD:
+                    leaseExpiryTime = ParseUtils.parseInstant(parser);
+                    break;
+                case JOB_ATTEMPTS_FIELD:
+                    attempts = parser.intValue();
+                    break;
+                case CREATE_TIME:
+                    createTime = ParseUtils.parseInstant(parser);
+                    break;
+                case LAST_UPDATED_TIME_FIELD:
+                    lastUpdatedTime = ParseUtils.parseInstant(parser);
+                    break;
+                case ERROR_FIELD:
+                    error = parser.text();
+                    break;
+                default:
+                    throw new FlowFrameworkException("Unable to parse field [" + fieldName + "] in a job object.", RestStatus.BAD_REQUEST);
+            }
+        }
+        if (jobType == null || workflowId == null || status == null) {
+            throw new FlowFrameworkException(
+                "A job requires a " + JOB_TYPE_FIELD + ", a " + WORKFLOW_ID_FIELD + " and a " + JOB_STATUS_FIELD + ".",
+                RestStatus.BAD_REQUEST
+            );
+        }
+        return new WorkflowJob(
+            jobType,
+            workflowId,
+            tenantId,
+            status,
+            params,
+            user,
+            ownerNode,
+            leaseExpiryTime,
+            attempts,
+            createTime,
+            lastUpdatedTime,
+            error
+        );
+    }
+
+    /**
+     * Parse a JSON job directly from the source of a document
+     * @param source The bytes of a JSON representation of a job
+     * @return A {@link WorkflowJob} represented by the JSON
+     * @throws IOException on failure to parse
+     */
+    public static WorkflowJob parse(BytesReference source) throws IOException {
+        try (XContentParser parser = ParseUtils.createXContentParserFromRegistry(NamedXContentRegistry.EMPTY, source)) {
+            ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
+            return parse(parser);
+        }
+    }
+
+    /**
+     * The type of workflow execution the job runs
+     * @return the job type
+     */
+    public Type getJobType() {
+        return jobType;
+    }
+
+    /**
+     * The ID of the workflow to provision or deprovision
+     * @return the workflow ID
+     */
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    /**
+     * The ID of the tenant of the workflow
+     * @return the tenant ID
+     */
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    /**
+     * The status of the job
+     * @return the status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * The parameters of the provision or deprovision request
+     * @return the parameters
+     */
+    public Map<String, String> getParams() {
+        return params;
+    }
+
+    /**
+     * The user who queued the request, whose permissions the job executes with
+     * @return the user, or null if security is disabled
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * The ID of the node which last claimed the job
+     * @return the owner node ID, or null if the job was never claimed
+     */
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    /**
+     * The time the lease of the owner node expires
+     * @return the lease expiry time, or null if the job holds no lease
+     */
+    public Instant getLeaseExpiryTime() {
+        return leaseExpiryTime;
+    }
+
+    /**
+     * The number of times the job was claimed
+     * @return the number of attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * The time the job was queued
+     * @return the create time
+     */
+    public Instant getCreateTime() {
+        return createTime;
+    }
+
+    /**
+     * The time the job was last updated
+     * @return the last updated time
+     */
+    public Instant getLastUpdatedTime() {
+        return lastUpdatedTime;
+    }
+
+    /**
+     * The error of a failed job
+     * @return the error, or null
+     */
+    public String getError() {
+        return error;
+    }
+}
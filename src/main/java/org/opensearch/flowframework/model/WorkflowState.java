@@ -12,6 +12,7 @@ import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.common.ParsingException;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.common.io.stream.Writeable;
@@ -34,11 +35,14 @@ import java.util.Map;
 
 import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
 import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.LAST_HEARTBEAT_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_NODE_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_PROGRESS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_END_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_START_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.RESOURCES_CREATED_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_EXECUTIONS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.TENANT_ID_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.USER_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.USER_OUTPUTS_FIELD;
@@ -60,6 +64,9 @@ public class WorkflowState implements ToXContentObject, Writeable {
     private User user;
     private Map<String, Object> userOutputs;
     private List<ResourceCreated> resourcesCreated;
+    private List<StepExecution> stepExecutions;
+    private String provisioningNode;
+    private Instant lastHeartbeatTime;
     private String tenantId;
 
     /**
@@ -125,6 +132,13 @@ public class WorkflowState implements ToXContentObject, Writeable {
         if (input.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             this.tenantId = input.readOptionalString();
         }
+        if (input.getVersion().onOrAfter(CommonValue.VERSION_3_1_0)) {
+            if (input.readBoolean()) {
+                this.stepExecutions = input.readList(StepExecution::new);
+            }
+            this.provisioningNode = input.readOptionalString();
+            this.lastHeartbeatTime = input.readOptionalInstant();
+        }
     }
 
     /**
@@ -157,6 +171,9 @@ public class WorkflowState implements ToXContentObject, Writeable {
         private User user = null;
         private Map<String, Object> userOutputs = null;
         private List<ResourceCreated> resourcesCreated = null;
+        private List<StepExecution> stepExecutions = null;
+        private String provisioningNode = null;
+        private Instant lastHeartbeatTime = null;
         private String tenantId = null;
 
         /**
@@ -178,6 +195,9 @@ public class WorkflowState implements ToXContentObject, Writeable {
             this.user = existingState.getUser();
             this.userOutputs = existingState.userOutputs();
             this.resourcesCreated = existingState.resourcesCreated();
+            this.stepExecutions = existingState.stepExecutions();
+            this.provisioningNode = existingState.getProvisioningNode();
+            this.lastHeartbeatTime = existingState.getLastHeartbeatTime();
             this.tenantId = existingState.getTenantId();
         }
 
@@ -271,6 +291,36 @@ public class WorkflowState implements ToXContentObject, Writeable {
             return this;
         }
 
+        /**
+         * Builder method for adding stepExecutions
+         * @param stepExecutions stepExecutions
+         * @return the Builder object
+         */
+        public Builder stepExecutions(List<StepExecution> stepExecutions) {
+            this.stepExecutions = stepExecutions;
+            return this;
+        }
+
+        /**
+         * Builder method for adding the provisioning node
+         * @param provisioningNode the id of the node executing the provisioning
+         * @return the Builder object
+         */
+        public Builder provisioningNode(String provisioningNode) {
+            this.provisioningNode = provisioningNode;
+            return this;
+        }
+
+        /**
+         * Builder method for adding the last heartbeat time
+         * @param lastHeartbeatTime the last time the provisioning node reported it was still executing the provisioning
+         * @return the Builder object
+         */
+        public Builder lastHeartbeatTime(Instant lastHeartbeatTime) {
+            this.lastHeartbeatTime = lastHeartbeatTime;
+            return this;
+        }
+
         /**
          * Builder method for adding tenant id
          * @param tenantId tenant id
@@ -296,6 +346,9 @@ public class WorkflowState implements ToXContentObject, Writeable {
             workflowState.user = this.user;
             workflowState.userOutputs = this.userOutputs;
             workflowState.resourcesCreated = this.resourcesCreated;
+            workflowState.stepExecutions = this.stepExecutions;
+            workflowState.provisioningNode = this.provisioningNode;
+            workflowState.lastHeartbeatTime = this.lastHeartbeatTime;
             workflowState.tenantId = this.tenantId;
             return workflowState;
         }
@@ -336,6 +389,15 @@ public class WorkflowState implements ToXContentObject, Writeable {
         if (stateWithNewFields.resourcesCreated() != null) {
             builder.resourcesCreated(stateWithNewFields.resourcesCreated());
         }
+        if (stateWithNewFields.stepExecutions() != null) {
+            builder.stepExecutions(stateWithNewFields.stepExecutions());
+        }
+        if (stateWithNewFields.getProvisioningNode() != null) {
+            builder.provisioningNode(stateWithNewFields.getProvisioningNode());
+        }
+        if (stateWithNewFields.getLastHeartbeatTime() != null) {
+            builder.lastHeartbeatTime(stateWithNewFields.getLastHeartbeatTime());
+        }
         if (stateWithNewFields.getTenantId() != null) {
             builder.tenantId(stateWithNewFields.getTenantId());
         }
@@ -372,6 +434,15 @@ public class WorkflowState implements ToXContentObject, Writeable {
         if (resourcesCreated != null && !resourcesCreated.isEmpty()) {
             xContentBuilder.field(RESOURCES_CREATED_FIELD, resourcesCreated.toArray());
         }
+        if (stepExecutions != null && !stepExecutions.isEmpty()) {
+            xContentBuilder.field(STEP_EXECUTIONS_FIELD, stepExecutions.toArray());
+        }
+        if (provisioningNode != null) {
+            xContentBuilder.field(PROVISIONING_NODE_FIELD, provisioningNode);
+        }
+        if (lastHeartbeatTime != null) {
+            xContentBuilder.field(LAST_HEARTBEAT_TIME_FIELD, lastHeartbeatTime.toEpochMilli());
+        }
         if (tenantId != null) {
             xContentBuilder.field(TENANT_ID_FIELD, tenantId);
         }
@@ -408,6 +479,16 @@ public class WorkflowState implements ToXContentObject, Writeable {
         if (output.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             output.writeOptionalString(tenantId);
         }
+        if (output.getVersion().onOrAfter(CommonValue.VERSION_3_1_0)) {
+            if (stepExecutions != null) {
+                output.writeBoolean(true);
+                output.writeList(stepExecutions);
+            } else {
+                output.writeBoolean(false);
+            }
+            output.writeOptionalString(provisioningNode);
+            output.writeOptionalInstant(lastHeartbeatTime);
+        }
     }
 
     /**
@@ -427,6 +508,9 @@ public class WorkflowState implements ToXContentObject, Writeable {
         User user = null;
         Map<String, Object> userOutputs = new HashMap<>();
         List<ResourceCreated> resourcesCreated = new ArrayList<>();
+        List<StepExecution> stepExecutions = new ArrayList<>();
+        String provisioningNode = null;
+        Instant lastHeartbeatTime = null;
         String tenantId = null;
 
         ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
@@ -487,6 +571,18 @@ public class WorkflowState implements ToXContentObject, Writeable {
                         throw e;
                     }
                     break;
+                case STEP_EXECUTIONS_FIELD:
+                    ensureExpectedToken(XContentParser.Token.START_ARRAY, parser.currentToken(), parser);
+                    while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+                        stepExecutions.add(StepExecution.parse(parser));
+                    }
+                    break;
+                case PROVISIONING_NODE_FIELD:
+                    provisioningNode = parser.text();
+                    break;
+                case LAST_HEARTBEAT_TIME_FIELD:
+                    lastHeartbeatTime = ParseUtils.parseInstant(parser);
+                    break;
                 case TENANT_ID_FIELD:
                     tenantId = parser.text();
                     break;
@@ -506,6 +602,9 @@ public class WorkflowState implements ToXContentObject, Writeable {
             .user(user)
             .userOutputs(userOutputs)
             .resourcesCreated(resourcesCreated)
+            .stepExecutions(stepExecutions)
+            .provisioningNode(provisioningNode)
+            .lastHeartbeatTime(lastHeartbeatTime)
             .tenantId(tenantId)
             .build();
     }
@@ -526,6 +625,19 @@ public class WorkflowState implements ToXContentObject, Writeable {
         return parse(parser);
     }
 
+    /**
+     * Parse a JSON workflow state directly from the source of a document, without first copying it into a String
+     * @param source The bytes of a JSON representation of a workflow state
+     * @return A {@link WorkflowState} represented by the JSON
+     * @throws IOException on failure to parse
+     */
+    public static WorkflowState parse(BytesReference source) throws IOException {
+        try (XContentParser parser = ParseUtils.createXContentParserFromRegistry(NamedXContentRegistry.EMPTY, source)) {
+            ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
+            return parse(parser);
+        }
+    }
+
     /**
      * The workflowID associated with this workflow-state
      * @return the workflowId
@@ -598,6 +710,30 @@ public class WorkflowState implements ToXContentObject, Writeable {
         return resourcesCreated;
     }
 
+    /**
+     * The timing and outcome of the execution of each workflow step
+     * @return the step executions
+     */
+    public List<StepExecution> stepExecutions() {
+        return stepExecutions;
+    }
+
+    /**
+     * The id of the node executing the provisioning of the workflow
+     * @return the provisioning node id
+     */
+    public String getProvisioningNode() {
+        return provisioningNode;
+    }
+
+    /**
+     * The last time the node executing the provisioning reported it was still executing it
+     * @return the last heartbeat time
+     */
+    public Instant getLastHeartbeatTime() {
+        return lastHeartbeatTime;
+    }
+
     /**
      * The tenant id associated with this workflow-state
      * @return the tenantId
@@ -620,6 +756,8 @@ public class WorkflowState implements ToXContentObject, Writeable {
             + userOutputs
             + ", resourcesCreated="
             + resourcesCreated
+            + ", stepExecutions="
+            + stepExecutions
             + "]";
     }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.model;
+
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The execution trace of a provisioning run, built from the step executions recorded in the {@link WorkflowState}.
+ * Renders as a Chrome trace-event JSON object, loadable by trace viewers such as chrome://tracing or Perfetto, with a track per step
+ * showing when it became ready, waited for a thread, issued its downstream calls, waited for them to return and recorded its resource
+ * in the state index. Steps on the critical path, the chain of dependencies which delayed the end of the run, are highlighted.
+ */
+public class WorkflowTrace implements ToXContentObject {
+
+    /** The category of the trace events of steps on the critical path */
+    public static final String CRITICAL_PATH_CATEGORY = "critical_path";
+
+    private static final int PROCESS_ID = 1;
+    // A color name reserved by the trace viewers
+    private static final String CRITICAL_PATH_COLOR = "terrible";
+
+    private final String workflowId;
+    private final String state;
+    private final List<StepExecution> stepExecutions;
+    private final List<String> criticalPath;
+
+    /**
+     * Create the trace of the last provisioning run of a workflow
+     * @param workflowState the state of the workflow, including its step executions
+     */
+    public WorkflowTrace(WorkflowState workflowState) {
+        this.workflowId = workflowState.getWorkflowId();
+        this.state = workflowState.getState();
+        this.stepExecutions = workflowState.stepExecutions() == null
+            ? Collections.emptyList()
+            : workflowState.stepExecutions()
+                .stream()
+                .filter(e -> e.startTime() != null)
+                .sorted(Comparator.comparing(StepExecution::startTime))
+                .collect(Collectors.toList());
+        this.criticalPath = criticalPath(this.stepExecutions);
+    }
+
+    /**
+     * Gets the critical path of the run
+     * @return the IDs of the steps on the critical path, in execution order
+     */
+    public List<String> criticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * Finds the chain of steps which delayed the end of the run, walking back from the last step to finish through the predecessor
+     * which finished last, since that is the one the step was waiting on.
+     * @param stepExecutions the step executions of the run
+     * @return the IDs of the steps on the critical path, in execution order
+     */
+    static List<String> criticalPath(List<StepExecution> stepExecutions) {
+        Map<String, StepExecution> executionMap = new LinkedHashMap<>();
+        stepExecutions.forEach(e -> executionMap.put(e.workflowStepId(), e));
+        List<String> path = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        StepExecution current = stepExecutions.stream().max(Comparator.comparing(WorkflowTrace::lastTime)).orElse(null);
+        while (current != null && visited.add(current.workflowStepId())) {
+            path.add(current.workflowStepId());
+            current = current.predecessors()
+                .stream()
+                .map(executionMap::get)
+                .filter(Objects::nonNull)
+                .max(Comparator.comparing(WorkflowTrace::lastTime))
+                .orElse(null);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.startArray("traceEvents");
+        metadataEvent(builder, "process_name", null, "workflow " + workflowId);
+        Set<String> criticalSteps = new HashSet<>(criticalPath);
+        int threadId = 0;
+        for (StepExecution execution : stepExecutions) {
+            threadId++;
+            boolean critical = criticalSteps.contains(execution.workflowStepId());
+            metadataEvent(builder, "thread_name", threadId, execution.workflowStepId() + " (" + execution.workflowStepName() + ")");
+            Instant readyTime = execution.startTime().minusMillis(execution.queueTimeInMillis());
+            Instant endTime = lastTime(execution);
+
+            // The step span encloses its phases, which the viewers nest below it
+            builder.startObject();
+            eventFields(builder, execution.workflowStepId(), threadId, critical, readyTime, endTime);
+            builder.startObject("args");
+            builder.field("workflow_step_name", execution.workflowStepName());
+            builder.field("status", execution.status());
+            builder.field("attempts", execution.attempts());
+            builder.field("predecessors", execution.predecessors());
+            builder.field(CRITICAL_PATH_CATEGORY, critical);
+            builder.endObject();
+            builder.endObject();
+
+            phaseEvent(builder, "queued", threadId, critical, readyTime, execution.startTime());
+            Instant invokeEndTime = execution.invokeEndTime() == null ? endTime : execution.invokeEndTime();
+            phaseEvent(builder, "invoke", threadId, critical, execution.startTime(), invokeEndTime);
+            if (execution.endTime() != null) {
+                Instant downstreamEndTime = execution.stateWriteStartTime() == null ? execution.endTime() : execution.stateWriteStartTime();
+                phaseEvent(builder, "await_downstream", threadId, critical, invokeEndTime, downstreamEndTime);
+                if (execution.stateWriteStartTime() != null) {
+                    phaseEvent(builder, "state_write", threadId, critical, execution.stateWriteStartTime(), execution.endTime());
+                }
+            }
+        }
+        builder.endArray();
+        builder.field("displayTimeUnit", "ms");
+        builder.startObject("otherData");
+        builder.field("workflow_id", workflowId);
+        builder.field("state", state);
+        builder.field(CRITICAL_PATH_CATEGORY, criticalPath);
+        builder.endObject();
+        return builder.endObject();
+    }
+
+    private static void metadataEvent(XContentBuilder builder, String name, Integer threadId, String value) throws IOException {
+        builder.startObject();
+        builder.field("name", name);
+        builder.field("ph", "M");
+        builder.field("pid", PROCESS_ID);
+        if (threadId != null) {
+            builder.field("tid", threadId);
+        }
+        builder.startObject("args").field("name", value).endObject();
+        builder.endObject();
+    }
+
+    private static void phaseEvent(XContentBuilder builder, String name, int threadId, boolean critical, Instant start, Instant end)
+        throws IOException {
+        builder.startObject();
+        eventFields(builder, name, threadId, critical, start, end);
+        builder.endObject();
+    }
+
+    // A complete event, with its timestamp and duration in microseconds
+    private static void eventFields(XContentBuilder builder, String name, int threadId, boolean critical, Instant start, Instant end)
+        throws IOException {
+        builder.field("name", name);
+        builder.field("cat", critical ? "step," + CRITICAL_PATH_CATEGORY : "step");
+        builder.field("ph", "X");
+        builder.field("ts", ChronoUnit.MICROS.between(Instant.EPOCH, start));
+        builder.field("dur", Math.max(0L, ChronoUnit.MICROS.between(start, end)));
+        builder.field("pid", PROCESS_ID);
+        builder.field("tid", threadId);
+        if (critical) {
+            builder.field("cname", CRITICAL_PATH_COLOR);
+        }
+    }
+
+    // The last recorded time of a step, its end time unless it has not finished
+    private static Instant lastTime(StepExecution execution) {
+        return Stream.of(execution.startTime(), execution.invokeEndTime(), execution.stateWriteStartTime(), execution.endTime())
+            .filter(Objects::nonNull)
+            .max(Comparator.naturalOrder())
+            .orElseThrow();
+    }
+}
@@ -17,8 +17,9 @@ import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
-import org.opensearch.flowframework.common.DefaultUseCases;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.common.UseCaseTemplateRegistry;
+import org.opensearch.flowframework.common.UseCaseTemplateRegistry.UseCaseTemplate;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.transport.CreateWorkflowAction;
@@ -59,13 +60,24 @@ public class RestCreateWorkflowAction extends BaseRestHandler {
     private static final String CREATE_WORKFLOW_ACTION = "create_workflow_action";
 
     private FlowFrameworkSettings flowFrameworkSettings;
+    private final UseCaseTemplateRegistry useCaseTemplateRegistry;
 
     /**
-     * Instantiates a new RestCreateWorkflowAction
+     * Instantiates a new RestCreateWorkflowAction, loading the default use case templates
      * @param flowFrameworkSettings The settings for the flow framework plugin
      */
     public RestCreateWorkflowAction(FlowFrameworkSettings flowFrameworkSettings) {
+        this(flowFrameworkSettings, new UseCaseTemplateRegistry());
+    }
+
+    /**
+     * Instantiates a new RestCreateWorkflowAction
+     * @param flowFrameworkSettings The settings for the flow framework plugin
+     * @param useCaseTemplateRegistry The preloaded default use case templates
+     */
+    public RestCreateWorkflowAction(FlowFrameworkSettings flowFrameworkSettings, UseCaseTemplateRegistry useCaseTemplateRegistry) {
         this.flowFrameworkSettings = flowFrameworkSettings;
+        this.useCaseTemplateRegistry = useCaseTemplateRegistry;
     }
 
     @Override
@@ -167,12 +179,9 @@ public class RestCreateWorkflowAction extends BaseRestHandler {
             Map<String, String> useCaseDefaultsMap = Collections.emptyMap();
             if (useCase != null) {
                 // Reconstruct the template from a substitution-ready use case
-                String useCaseTemplateFileInStringFormat = ParseUtils.resourceToString(
-                    "/" + DefaultUseCases.getSubstitutionReadyFileByUseCaseName(useCase)
-                );
-                String defaultsFilePath = DefaultUseCases.getDefaultsFileByUseCaseName(useCase);
-                useCaseDefaultsMap = ParseUtils.parseJsonFileToStringToStringMap("/" + defaultsFilePath);
-                List<String> requiredParams = DefaultUseCases.getRequiredParamsByUseCaseName(useCase);
+                UseCaseTemplate useCaseTemplate = useCaseTemplateRegistry.getUseCaseTemplate(useCase);
+                useCaseDefaultsMap = useCaseTemplate.getDefaults();
+                List<String> requiredParams = useCaseTemplate.getRequiredParams();
 
                 if (!request.hasContent()) {
                     if (!requiredParams.isEmpty()) {
@@ -218,11 +227,7 @@ public class RestCreateWorkflowAction extends BaseRestHandler {
                     }
                 }
 
-                useCaseTemplateFileInStringFormat = (String) ParseUtils.conditionallySubstitute(
-                    useCaseTemplateFileInStringFormat,
-                    null,
-                    useCaseDefaultsMap
-                );
+                String useCaseTemplateFileInStringFormat = useCaseTemplate.render(useCaseDefaultsMap);
                 XContentParser useCaseParser = ParseUtils.jsonToParser(useCaseTemplateFileInStringFormat);
                 ensureExpectedToken(XContentParser.Token.START_OBJECT, useCaseParser.currentToken(), useCaseParser);
                 template = Template.parse(useCaseParser);
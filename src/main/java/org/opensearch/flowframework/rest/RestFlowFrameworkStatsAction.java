@@ -0,0 +1,88 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.rest;
+
+import org.opensearch.core.common.Strings;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.transport.FlowFrameworkStatsAction;
+import org.opensearch.flowframework.transport.FlowFrameworkStatsRequest;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestActions;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_BASE_URI;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_ENABLED;
+
+/**
+ * Rest Action to facilitate requests to get the flow framework stats of the nodes of the cluster
+ */
+public class RestFlowFrameworkStatsAction extends BaseRestHandler {
+
+    private static final String FLOW_FRAMEWORK_STATS_ACTION = "flow_framework_stats";
+    private static final String NODE_ID = "node_id";
+    private FlowFrameworkSettings flowFrameworkSettings;
+
+    /**
+     * Instantiates a new RestFlowFrameworkStatsAction
+     * @param flowFrameworkSettings Whether this API is enabled
+     */
+    public RestFlowFrameworkStatsAction(FlowFrameworkSettings flowFrameworkSettings) {
+        this.flowFrameworkSettings = flowFrameworkSettings;
+    }
+
+    @Override
+    public String getName() {
+        return FLOW_FRAMEWORK_STATS_ACTION;
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+            new Route(RestRequest.Method.GET, String.format(Locale.ROOT, "%s/%s", FLOW_FRAMEWORK_BASE_URI, "_stats")),
+            new Route(RestRequest.Method.GET, String.format(Locale.ROOT, "%s/%s/{%s}", FLOW_FRAMEWORK_BASE_URI, "_stats", NODE_ID))
+        );
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        try {
+            if (!flowFrameworkSettings.isFlowFrameworkEnabled()) {
+                throw new FlowFrameworkException(
+                    "This API is disabled. To enable it, update the setting [" + FLOW_FRAMEWORK_ENABLED.getKey() + "] to true.",
+                    RestStatus.FORBIDDEN
+                );
+            }
+            // Always consume content to silently ignore it
+            // https://github.com/opensearch-project/flow-framework/issues/578
+            request.content();
+
+            String[] nodeIds = request.paramAsStringArray(NODE_ID, Strings.EMPTY_ARRAY);
+            FlowFrameworkStatsRequest statsRequest = new FlowFrameworkStatsRequest(nodeIds);
+            statsRequest.timeout(request.param("timeout"));
+            return channel -> client.execute(
+                FlowFrameworkStatsAction.INSTANCE,
+                statsRequest,
+                new RestActions.NodesResponseRestListener<>(channel)
+            );
+        } catch (FlowFrameworkException ex) {
+            return channel -> channel.sendResponse(
+                new BytesRestResponse(ex.getRestStatus(), ex.toXContent(channel.newErrorBuilder(), ToXContent.EMPTY_PARAMS))
+            );
+        }
+    }
+}
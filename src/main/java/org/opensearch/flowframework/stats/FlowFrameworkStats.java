@@ -0,0 +1,131 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.stats;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.model.StepExecution;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the latency of the flow framework APIs and workflow steps executed on this node, and the API requests rejected with
+ * {@link RestStatus#TOO_MANY_REQUESTS}, and the interrupted provisioning reconciled by this node
+ */
+public class FlowFrameworkStats {
+
+    private final Map<String, LatencyHistogram> apiLatencies = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> stepLatencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> apiRejections = new ConcurrentHashMap<>();
+    private final LongAdder orphanedProvisioningFailed = new LongAdder();
+    private final LongAdder orphanedProvisioningResumed = new LongAdder();
+
+    /**
+     * Instantiate this class
+     */
+    public FlowFrameworkStats() {}
+
+    /**
+     * Records the completion of an API call
+     * @param api the name of the API
+     * @param tookInMillis the time taken to respond, in milliseconds
+     * @param failure the failure the API responded with, or null if it succeeded
+     */
+    public void recordApiCall(String api, long tookInMillis, Exception failure) {
+        apiLatencies.computeIfAbsent(api, k -> new LatencyHistogram()).record(tookInMillis);
+        if (failure != null && ExceptionsHelper.status(failure) == RestStatus.TOO_MANY_REQUESTS) {
+            apiRejections.computeIfAbsent(api, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Records the latency of the completed steps of a workflow, by step type
+     * @param stepExecutions the step executions of the workflow
+     */
+    public void recordStepExecutions(List<StepExecution> stepExecutions) {
+        for (StepExecution stepExecution : stepExecutions) {
+            // Steps which never ran or are still running have no latency to record
+            if (stepExecution.startTime() != null && stepExecution.endTime() != null) {
+                stepLatencies.computeIfAbsent(stepExecution.workflowStepName(), k -> new LatencyHistogram())
+                    .record(stepExecution.endTime().toEpochMilli() - stepExecution.startTime().toEpochMilli());
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the API latency histograms
+     * @return a map of API name to latency histogram, sorted by API name
+     */
+    public Map<String, Object> apiLatencies() {
+        return snapshot(apiLatencies);
+    }
+
+    /**
+     * Returns a snapshot of the step latency histograms
+     * @return a map of step type to latency histogram, sorted by step type
+     */
+    public Map<String, Object> stepLatencies() {
+        return snapshot(stepLatencies);
+    }
+
+    /**
+     * Returns a snapshot of the count of API requests rejected with {@link RestStatus#TOO_MANY_REQUESTS}
+     * @return a map of API name to rejection count, sorted by API name
+     */
+    public Map<String, Object> apiRejections() {
+        Map<String, Object> rejections = new LinkedHashMap<>();
+        new TreeMap<>(apiRejections).forEach((api, count) -> rejections.put(api, count.sum()));
+        return rejections;
+    }
+
+    /**
+     * Gets the total count of API requests rejected with {@link RestStatus#TOO_MANY_REQUESTS}
+     * @return the total rejection count
+     */
+    public long totalApiRejections() {
+        return apiRejections.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Records an interrupted provisioning failed by the reconciliation of workflow states
+     */
+    public void recordOrphanedProvisioningFailed() {
+        orphanedProvisioningFailed.increment();
+    }
+
+    /**
+     * Records an interrupted provisioning resumed by the reconciliation of workflow states
+     */
+    public void recordOrphanedProvisioningResumed() {
+        orphanedProvisioningResumed.increment();
+    }
+
+    /**
+     * Returns a snapshot of the count of interrupted provisioning reconciled by this node
+     * @return a map of the failed and resumed provisioning counts
+     */
+    public Map<String, Object> orphanedProvisioning() {
+        Map<String, Object> orphaned = new LinkedHashMap<>();
+        orphaned.put("failed", orphanedProvisioningFailed.sum());
+        orphaned.put("resumed", orphanedProvisioningResumed.sum());
+        return orphaned;
+    }
+
+    // Copied to a LinkedHashMap so the order is kept when streamed to the coordinating node
+    private static Map<String, Object> snapshot(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        new TreeMap<>(histograms).forEach((key, histogram) -> snapshot.put(key, histogram.toMap()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.stats;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.support.ActionFilter;
+import org.opensearch.action.support.ActionFilterChain;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.tasks.Task;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.opensearch.flowframework.common.CommonValue.TRANSPORT_ACTION_NAME_PREFIX;
+
+/**
+ * Action filter recording the latency and rejections of the flow framework transport actions in {@link FlowFrameworkStats}
+ */
+public class FlowFrameworkStatsActionFilter implements ActionFilter {
+
+    private final FlowFrameworkStats flowFrameworkStats;
+
+    /**
+     * Instantiate this class
+     * @param flowFrameworkStats the stats to record the API calls in
+     */
+    public FlowFrameworkStatsActionFilter(FlowFrameworkStats flowFrameworkStats) {
+        this.flowFrameworkStats = flowFrameworkStats;
+    }
+
+    @Override
+    public int order() {
+        // Run after the other filters, so only requests reaching the action are recorded
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public <Request extends ActionRequest, Response extends ActionResponse> void apply(
+        Task task,
+        String action,
+        Request request,
+        ActionListener<Response> listener,
+        ActionFilterChain<Request, Response> chain
+    ) {
+        if (!action.startsWith(TRANSPORT_ACTION_NAME_PREFIX)) {
+            chain.proceed(task, action, request, listener);
+            return;
+        }
+        String api = action.substring(TRANSPORT_ACTION_NAME_PREFIX.length());
+        long startNanos = System.nanoTime();
+        chain.proceed(task, action, request, new ActionListener<>() {
+            @Override
+            public void onResponse(Response response) {
+                flowFrameworkStats.recordApiCall(api, tookInMillis(startNanos), null);
+                listener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                flowFrameworkStats.recordApiCall(api, tookInMillis(startNanos), e);
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    private static long tookInMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.stats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies, counting the recorded latencies in fixed buckets
+ */
+public class LatencyHistogram {
+
+    /** The upper bounds in milliseconds of each bucket, latencies above the last bound are counted in an overflow bucket */
+    static final long[] BUCKET_UPPER_BOUNDS_IN_MILLIS = { 10, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 300000 };
+
+    private static final String COUNT_FIELD = "count";
+    private static final String SUM_FIELD = "sum_in_millis";
+    private static final String MAX_FIELD = "max_in_millis";
+    private static final String BUCKETS_FIELD = "buckets";
+    private static final String OVERFLOW_BUCKET = "+Inf";
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_UPPER_BOUNDS_IN_MILLIS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Instantiate this class
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency
+     * @param latencyInMillis the latency in milliseconds, negative values are recorded as 0
+     */
+    public void record(long latencyInMillis) {
+        long latency = Math.max(0L, latencyInMillis);
+        int bucket = 0;
+        while (bucket < BUCKET_UPPER_BOUNDS_IN_MILLIS.length && latency > BUCKET_UPPER_BOUNDS_IN_MILLIS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        sum.add(latency);
+        max.accumulate(latency);
+    }
+
+    /**
+     * Gets the number of recorded latencies
+     * @return the count of recorded latencies
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Returns a snapshot of this histogram. Buckets are keyed by their upper bound in milliseconds and count the latencies greater than
+     * the previous bound, up to and including their own.
+     * @return a map of the count, sum, max and buckets of this histogram
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> bucketCounts = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_IN_MILLIS.length; i++) {
+            bucketCounts.put(Long.toString(BUCKET_UPPER_BOUNDS_IN_MILLIS[i]), buckets[i].sum());
+        }
+        bucketCounts.put(OVERFLOW_BUCKET, buckets[BUCKET_UPPER_BOUNDS_IN_MILLIS.length].sum());
+
+        Map<String, Object> histogram = new LinkedHashMap<>();
+        histogram.put(COUNT_FIELD, count.sum());
+        histogram.put(SUM_FIELD, sum.sum());
+        histogram.put(MAX_FIELD, max.get());
+        histogram.put(BUCKETS_FIELD, bucketCounts);
+        return histogram;
+    }
+}
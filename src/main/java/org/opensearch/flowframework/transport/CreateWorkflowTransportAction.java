@@ -188,7 +188,7 @@ public class CreateWorkflowTransportAction extends HandledTransportAction<Workfl
                     false,
                     isMultitenancyEnabled,
                     listener,
-                    function,
+                    fetchedDocument -> function.run(),
                     client,
                     sdkClient,
                     clusterService,
@@ -432,7 +432,7 @@ public class CreateWorkflowTransportAction extends HandledTransportAction<Workfl
         TimeValue waitForTimeCompletion,
         ActionListener<WorkflowResponse> listener
     ) throws IOException {
-        Template existingTemplate = Template.parse(getResponse.getSourceAsString());
+        Template existingTemplate = Template.parse(getResponse.getSourceAsBytesRef());
         Template template = request.isUpdateFields()
             ? Template.updateExistingTemplate(existingTemplate, templateWithUser)
             : Template.builder(templateWithUser)
@@ -442,6 +442,8 @@ public class CreateWorkflowTransportAction extends HandledTransportAction<Workfl
                 .tenantId(existingTemplate.getTenantId())
                 .build();
 
+        // Any compiled provision plan of the previous template version is obsolete
+        workflowProcessSorter.evictProvisionPlan(request.getWorkflowId());
         if (request.isReprovision()) {
             handleReprovision(request.getWorkflowId(), existingTemplate, template, waitForTimeCompletion, listener);
         } else {
@@ -27,6 +27,7 @@ import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.util.TenantAwareHelper;
+import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
 import org.opensearch.remote.metadata.client.DeleteDataObjectRequest;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.common.SdkClientUtils;
@@ -49,6 +50,7 @@ public class DeleteWorkflowTransportAction extends HandledTransportAction<Workfl
 
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
     private final FlowFrameworkSettings flowFrameworkSettings;
+    private final WorkflowProcessSorter workflowProcessSorter;
     private final Client client;
     private final SdkClient sdkClient;
     private volatile Boolean filterByEnabled;
@@ -61,6 +63,7 @@ public class DeleteWorkflowTransportAction extends HandledTransportAction<Workfl
      * @param actionFilters action filters
      * @param flowFrameworkIndicesHandler The Flow Framework indices handler
      * @param flowFrameworkSettings The Flow Framework settings
+     * @param workflowProcessSorter the workflow process sorter caching the provision plans
      * @param client the OpenSearch Client
      * @param sdkClient the Multitenant Client
      * @param clusterService the cluster service
@@ -73,6 +76,7 @@ public class DeleteWorkflowTransportAction extends HandledTransportAction<Workfl
         ActionFilters actionFilters,
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
         FlowFrameworkSettings flowFrameworkSettings,
+        WorkflowProcessSorter workflowProcessSorter,
         Client client,
         SdkClient sdkClient,
         ClusterService clusterService,
@@ -82,6 +86,7 @@ public class DeleteWorkflowTransportAction extends HandledTransportAction<Workfl
         super(DeleteWorkflowAction.NAME, transportService, actionFilters, WorkflowRequest::new);
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
         this.flowFrameworkSettings = flowFrameworkSettings;
+        this.workflowProcessSorter = workflowProcessSorter;
         this.client = client;
         this.sdkClient = sdkClient;
         filterByEnabled = FILTER_BY_BACKEND_ROLES.get(settings);
@@ -148,6 +153,7 @@ public class DeleteWorkflowTransportAction extends HandledTransportAction<Workfl
         sdkClient.deleteDataObjectAsync(deleteRequest).whenComplete((r, throwable) -> {
             context.restore();
             if (throwable == null) {
+                workflowProcessSorter.evictProvisionPlan(workflowId);
                 try {
                     DeleteResponse response = DeleteResponse.fromXContent(r.parser());
                     listener.onResponse(response);
@@ -15,7 +15,6 @@ import org.opensearch.ExceptionsHelper;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
-import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
@@ -31,11 +30,20 @@ import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.ProvisioningProgress;
 import org.opensearch.flowframework.model.ResourceCreated;
 import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.Template;
+import org.opensearch.flowframework.model.Workflow;
+import org.opensearch.flowframework.model.WorkflowJob;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.util.FetchedDocument;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.TenantAwareHelper;
+import org.opensearch.flowframework.workflow.DeprovisionPlanner;
 import org.opensearch.flowframework.workflow.ProcessNode;
 import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.flowframework.workflow.WorkflowJobQueue;
 import org.opensearch.flowframework.workflow.WorkflowStep;
 import org.opensearch.flowframework.workflow.WorkflowStepFactory;
+import org.opensearch.flowframework.workflow.WorkflowTask;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
@@ -43,20 +51,25 @@ import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.opensearch.flowframework.common.CommonValue.ALLOW_DELETE;
 import static org.opensearch.flowframework.common.CommonValue.DEPROVISION_WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_PROGRESS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_END_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW;
 import static org.opensearch.flowframework.common.CommonValue.RESOURCES_CREATED_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
@@ -77,6 +90,7 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
     private final SdkClient sdkClient;
     private final WorkflowStepFactory workflowStepFactory;
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+    private final WorkflowJobQueue workflowJobQueue;
     private final FlowFrameworkSettings flowFrameworkSettings;
     private volatile Boolean filterByEnabled;
     private final ClusterService clusterService;
@@ -91,6 +105,7 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
      * @param sdkClient the Multitenant Client
      * @param workflowStepFactory The factory instantiating workflow steps
      * @param flowFrameworkIndicesHandler Class to handle all internal system indices actions
+     * @param workflowJobQueue the queue of provision and deprovision jobs
      * @param flowFrameworkSettings The plugin settings
      * @param clusterService the cluster service
      * @param xContentRegistry contentRegister to parse get response
@@ -105,6 +120,7 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
         SdkClient sdkClient,
         WorkflowStepFactory workflowStepFactory,
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
+        WorkflowJobQueue workflowJobQueue,
         FlowFrameworkSettings flowFrameworkSettings,
         ClusterService clusterService,
         NamedXContentRegistry xContentRegistry,
@@ -116,6 +132,7 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
         this.sdkClient = sdkClient;
         this.workflowStepFactory = workflowStepFactory;
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
+        this.workflowJobQueue = workflowJobQueue;
         this.flowFrameworkSettings = flowFrameworkSettings;
         filterByEnabled = FILTER_BY_BACKEND_ROLES.get(settings);
         this.xContentRegistry = xContentRegistry;
@@ -129,6 +146,10 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
         if (!TenantAwareHelper.validateTenantId(flowFrameworkSettings.isMultiTenancyEnabled(), tenantId, workflowListener)) {
             return;
         }
+        if (workflowJobQueue.shouldQueue(request)) {
+            queueDeprovisionRequest(request, tenantId, workflowListener);
+            return;
+        }
         if (!TenantAwareHelper.tryAcquireDeprovision(
             flowFrameworkSettings.getMaxActiveDeprovisionsPerTenant(),
             tenantId,
@@ -150,7 +171,7 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
                 true,
                 flowFrameworkSettings.isMultiTenancyEnabled(),
                 listener,
-                () -> executeDeprovisionRequest(request, tenantId, listener, context, user),
+                fetchedDocument -> executeDeprovisionRequest(request, tenantId, listener, context, user, fetchedDocument),
                 client,
                 sdkClient,
                 clusterService,
@@ -164,33 +185,82 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
         }
     }
 
+    /**
+     * Queues a deprovision request as a job executed by any node with a free job slot, once access to the workflow is checked
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param listener the action listener, notified with the id of the queued job
+     */
+    private void queueDeprovisionRequest(WorkflowRequest request, String tenantId, ActionListener<WorkflowResponse> listener) {
+        String workflowId = request.getWorkflowId();
+        User user = getUserContext(client);
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            resolveUserAndExecute(
+                user,
+                workflowId,
+                tenantId,
+                filterByEnabled,
+                true,
+                flowFrameworkSettings.isMultiTenancyEnabled(),
+                listener,
+                () -> {
+                    context.restore();
+                    workflowJobQueue.enqueue(
+                        WorkflowJob.Type.DEPROVISION,
+                        workflowId,
+                        tenantId,
+                        request.getParams(),
+                        user,
+                        ActionListener.wrap(jobId -> listener.onResponse(new WorkflowResponse(workflowId, jobId)), listener::onFailure)
+                    );
+                },
+                client,
+                sdkClient,
+                clusterService,
+                xContentRegistry
+            );
+        } catch (Exception e) {
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                "Failed to queue deprovisioning of workflow {}",
+                workflowId
+            ).getFormattedMessage();
+            logger.error(errorMessage, e);
+            listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+        }
+    }
+
     private void executeDeprovisionRequest(
         WorkflowRequest request,
         String tenantId,
         ActionListener<WorkflowResponse> listener,
         ThreadContext.StoredContext context,
-        User user
+        User user,
+        FetchedDocument fetchedDocument
     ) {
         String workflowId = request.getWorkflowId();
         String allowDelete = request.getParams().get(ALLOW_DELETE);
-        GetWorkflowStateRequest getStateRequest = new GetWorkflowStateRequest(workflowId, true, tenantId);
-        logger.info("Querying state for workflow: {}", workflowId);
-        client.execute(GetWorkflowStateAction.INSTANCE, getStateRequest, ActionListener.wrap(response -> {
+        ActionListener<WorkflowState> stateListener = ActionListener.wrap(workflowState -> {
             context.restore();
 
             Set<String> deleteAllowedResources = Strings.tokenizeByCommaToSet(allowDelete);
-            // Retrieve resources from workflow state and deprovision
-            threadPool.executor(DEPROVISION_WORKFLOW_THREAD_POOL)
-                .execute(
-                    () -> executeDeprovisionSequence(
-                        workflowId,
-                        tenantId,
-                        response.getWorkflowState().resourcesCreated(),
-                        deleteAllowedResources,
-                        listener,
-                        user
+            List<ResourceCreated> resourcesCreated = workflowState.resourcesCreated();
+            // Retrieve the provision workflow graph and resources from workflow state and deprovision
+            getProvisionWorkflow(
+                workflowId,
+                tenantId,
+                provisionWorkflow -> threadPool.executor(DEPROVISION_WORKFLOW_THREAD_POOL)
+                    .execute(
+                        () -> executeDeprovisionSequence(
+                            workflowId,
+                            tenantId,
+                            resourcesCreated,
+                            provisionWorkflow,
+                            deleteAllowedResources,
+                            listener,
+                            user
+                        )
                     )
-                );
+            );
         }, exception -> {
             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
                 "Failed to get workflow state for workflow {}",
@@ -198,132 +268,343 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
             ).getFormattedMessage();
             logger.error(errorMessage, exception);
             listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-        }));
+        });
+        if (fetchedDocument != null && fetchedDocument.workflowState() != null) {
+            // The state document was already read to check access, only the resources stored as separate documents remain
+            flowFrameworkIndicesHandler.addResourceDocuments(workflowId, tenantId, fetchedDocument.workflowState(), stateListener);
+            return;
+        }
+        GetWorkflowStateRequest getStateRequest = new GetWorkflowStateRequest(workflowId, true, tenantId);
+        logger.info("Querying state for workflow: {}", workflowId);
+        client.execute(
+            GetWorkflowStateAction.INSTANCE,
+            getStateRequest,
+            ActionListener.wrap(response -> stateListener.onResponse(response.getWorkflowState()), stateListener::onFailure)
+        );
+    }
+
+    /**
+     * Retrieves the provision workflow of the template, used to determine which resources depend on each other
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     * @param workflowConsumer consumes the provision workflow, or null if the template or workflow is unavailable
+     */
+    private void getProvisionWorkflow(String workflowId, String tenantId, Consumer<Workflow> workflowConsumer) {
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            flowFrameworkIndicesHandler.getTemplate(workflowId, tenantId, ActionListener.wrap(getResponse -> {
+                Workflow provisionWorkflow = null;
+                if (getResponse.isExists()) {
+                    try {
+                        provisionWorkflow = Template.parse(getResponse.getSourceAsBytesRef()).workflows().get(PROVISION_WORKFLOW);
+                    } catch (Exception e) {
+                        logger.warn("Failed to parse template {}, deprovisioning in reverse order of creation", workflowId, e);
+                    }
+                }
+                workflowConsumer.accept(provisionWorkflow);
+            }, exception -> {
+                logger.warn("Failed to retrieve template {}, deprovisioning in reverse order of creation", workflowId, exception);
+                workflowConsumer.accept(null);
+            }), context);
+        }
     }
 
     private void executeDeprovisionSequence(
         String workflowId,
         String tenantId,
         List<ResourceCreated> resourcesCreated,
+        Workflow provisionWorkflow,
         Set<String> deleteAllowedResources,
         ActionListener<WorkflowResponse> listener,
         User user
     ) {
         List<ResourceCreated> deleteNotAllowed = new ArrayList<>();
-        // Create a list of ProcessNodes with the corresponding deprovision workflow steps
-        List<ProcessNode> deprovisionProcessSequence = new ArrayList<>();
+        // Create ProcessNodes with the corresponding deprovision workflow steps, keyed by their id
+        Map<String, ResourceCreated> deprovisionResources = new LinkedHashMap<>();
+        Map<String, ProcessNode> deprovisionNodes = new LinkedHashMap<>();
         for (ResourceCreated resource : resourcesCreated) {
-            String workflowStepId = resource.workflowStepId();
-
-            String stepName = resource.workflowStepName();
-            WorkflowStep deprovisionStep = workflowStepFactory.createStep(getDeprovisionStepByWorkflowStep(stepName));
+            WorkflowStep deprovisionStep = workflowStepFactory.createStep(getDeprovisionStepByWorkflowStep(resource.workflowStepName()));
             // Skip if the step requires allow_delete but the resourceId isn't included
             if (deprovisionStep.allowDeleteRequired() && !deleteAllowedResources.contains(resource.resourceId())) {
                 deleteNotAllowed.add(resource);
                 continue;
             }
-            // New ID is old ID with (deprovision step type) prepended
-            String deprovisionStepId = "(deprovision_" + stepName + ") " + workflowStepId;
-            deprovisionProcessSequence.add(
-                new ProcessNode(
-                    deprovisionStepId,
-                    deprovisionStep,
-                    Collections.emptyMap(),
-                    Collections.emptyMap(),
-                    new WorkflowData(Map.of(getResourceByWorkflowStep(stepName), resource.resourceId()), workflowId, deprovisionStepId),
-                    Collections.emptyList(),
-                    this.threadPool,
-                    DEPROVISION_WORKFLOW_THREAD_POOL,
-                    flowFrameworkSettings.getRequestTimeout(),
-                    tenantId
-                )
+            String deprovisionStepId = getDeprovisionStepId(resource);
+            deprovisionResources.put(deprovisionStepId, resource);
+            deprovisionNodes.put(
+                deprovisionStepId,
+                createDeprovisionNode(workflowId, tenantId, deprovisionStepId, deprovisionStep, resource)
             );
         }
 
-        // Deprovision in reverse order of provisioning to minimize risk of dependencies
-        Collections.reverse(deprovisionProcessSequence);
-        logger.info("Deprovisioning steps: {}", deprovisionProcessSequence.stream().map(ProcessNode::id).collect(Collectors.joining(", ")));
+        Map<String, Set<String>> deprovisionDependencies = getDeprovisionDependencies(provisionWorkflow, deprovisionResources);
+        logger.info("Deprovisioning steps: {}", String.join(", ", deprovisionNodes.keySet()));
+        logger.debug("Deprovisioning dependencies: {}", deprovisionDependencies);
 
-        // Repeat attempting to delete resources as long as at least one is successful
-        int resourceCount = deprovisionProcessSequence.size();
-        while (resourceCount > 0) {
-            PlainActionFuture<WorkflowData> stateUpdateFuture;
-            Iterator<ProcessNode> iter = deprovisionProcessSequence.iterator();
-            do {
-                ProcessNode deprovisionNode = iter.next();
-                ResourceCreated resource = getResourceFromDeprovisionNode(deprovisionNode, resourcesCreated);
-                String resourceNameAndId = getResourceNameAndId(resource);
-                PlainActionFuture<WorkflowData> deprovisionFuture = deprovisionNode.execute();
-                stateUpdateFuture = PlainActionFuture.newFuture();
-                try {
-                    deprovisionFuture.get();
-                    logger.info("Successful {} for {}", deprovisionNode.id(), resourceNameAndId);
-                    // Remove from state index resource list
-                    flowFrameworkIndicesHandler.deleteResourceFromStateIndex(workflowId, tenantId, resource, stateUpdateFuture);
-                    try {
-                        // Wait at most 1 second for state index update.
-                        stateUpdateFuture.actionGet(1, TimeUnit.SECONDS);
-                    } catch (Exception e) {
-                        // Ignore incremental resource removal failures (or timeouts) as we catch up at the end with remainingResources
-                    }
-                    // Remove from list so we don't try again
-                    iter.remove();
-                    // Pause briefly before next step
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                } catch (Throwable t) {
-                    // If any deprovision fails due to not found, it's a success
-                    if (t.getCause() instanceof OpenSearchStatusException
-                        && ((OpenSearchStatusException) t.getCause()).status() == RestStatus.NOT_FOUND) {
-                        logger.info("Successful (not found) {} for {}", deprovisionNode.id(), resourceNameAndId);
-                        // Remove from list so we don't try again
-                        iter.remove();
-                    } else {
-                        logger.info("Failed {} for {}", deprovisionNode.id(), resourceNameAndId);
-                    }
+        // List the run and its steps in the tasks API, and cancel them through it
+        WorkflowTask workflowTask = WorkflowTask.register(
+            taskManager,
+            clusterService.localNode().getId(),
+            DeprovisionWorkflowAction.NAME,
+            workflowId
+        );
+        executeDeprovisionPasses(
+            workflowId,
+            tenantId,
+            workflowTask,
+            deprovisionNodes,
+            deprovisionResources,
+            deprovisionDependencies,
+            new HashSet<>(),
+            deprovisioned -> {
+                workflowTask.unregister();
+                // Get corresponding resources, in reverse order of provisioning
+                List<ResourceCreated> remainingResources = deprovisionResources.entrySet()
+                    .stream()
+                    .filter(e -> !deprovisioned.contains(e.getKey()))
+                    .map(Map.Entry::getValue)
+                    .collect(Collectors.toList());
+                Collections.reverse(remainingResources);
+                logger.info("Resources remaining: {}.", remainingResources);
+                if (!deleteNotAllowed.isEmpty()) {
+                    logger.info("Resources requiring allow_delete: {}.", deleteNotAllowed);
                 }
-            } while (iter.hasNext());
-            if (deprovisionProcessSequence.size() < resourceCount) {
-                // If we've deleted something, decrement and try again if not zero
-                resourceCount = deprovisionProcessSequence.size();
-                deprovisionProcessSequence = deprovisionProcessSequence.stream().map(pn -> {
-                    return new ProcessNode(
-                        pn.id(),
-                        workflowStepFactory.createStep(pn.workflowStep().getName()),
-                        pn.previousNodeInputs(),
-                        pn.params(),
-                        pn.input(),
-                        pn.predecessors(),
-                        this.threadPool,
-                        DEPROVISION_WORKFLOW_THREAD_POOL,
-                        pn.nodeTimeout(),
-                        tenantId
-                    );
-                }).collect(Collectors.toList());
-                // Pause briefly before next loop
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
+                // This is a redundant best-effort backup to the incremental deletion done earlier
+                updateWorkflowState(workflowId, tenantId, remainingResources, deleteNotAllowed, listener, user);
+            }
+        );
+    }
+
+    /**
+     * Maps each deprovision step id to the deprovision step ids which must complete before it. Resources consumed by later steps of
+     * the provision workflow wait for those steps' resources, and resources created by the same step are removed in reverse order of
+     * creation.
+     * @param provisionWorkflow the provision workflow, may be null
+     * @param deprovisionResources the resources to deprovision keyed by deprovision step id, in order of creation
+     * @return the deprovision dependencies
+     */
+    private static Map<String, Set<String>> getDeprovisionDependencies(
+        Workflow provisionWorkflow,
+        Map<String, ResourceCreated> deprovisionResources
+    ) {
+        Map<String, Set<String>> nodeDependencies = DeprovisionPlanner.getDeprovisionDependencies(
+            provisionWorkflow,
+            deprovisionResources.values().stream().map(ResourceCreated::workflowStepId).collect(Collectors.toList())
+        );
+        Map<String, List<String>> deprovisionStepIdsByNode = new HashMap<>();
+        deprovisionResources.forEach(
+            (deprovisionStepId, resource) -> deprovisionStepIdsByNode.computeIfAbsent(resource.workflowStepId(), k -> new ArrayList<>())
+                .add(deprovisionStepId)
+        );
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        deprovisionResources.forEach((deprovisionStepId, resource) -> {
+            Set<String> stepDependencies = new HashSet<>();
+            for (String dependentNode : nodeDependencies.getOrDefault(resource.workflowStepId(), Collections.emptySet())) {
+                stepDependencies.addAll(deprovisionStepIdsByNode.getOrDefault(dependentNode, Collections.emptyList()));
+            }
+            List<String> sameNodeSteps = deprovisionStepIdsByNode.get(resource.workflowStepId());
+            int index = sameNodeSteps.indexOf(deprovisionStepId);
+            if (index + 1 < sameNodeSteps.size()) {
+                stepDependencies.add(sameNodeSteps.get(index + 1));
+            }
+            dependencies.put(deprovisionStepId, stepDependencies);
+        });
+        return dependencies;
+    }
+
+    /**
+     * Deprovisions resources in passes. Each pass deletes every resource whose dependents have been deleted, and passes repeat as
+     * long as at least one deletion succeeds so that only failed resources and those depending on them are retried.
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     * @param workflowTask the task of the deprovision run, tracking the nodes of each pass
+     * @param remainingNodes the deprovision nodes to execute, keyed by id
+     * @param deprovisionResources the resources to deprovision, keyed by deprovision step id
+     * @param dependencies the deprovision step ids which must complete before each step
+     * @param allDeprovisioned the ids of steps deprovisioned by earlier passes
+     * @param onComplete consumes the ids of all successfully deprovisioned steps
+     */
+    private void executeDeprovisionPasses(
+        String workflowId,
+        String tenantId,
+        WorkflowTask workflowTask,
+        Map<String, ProcessNode> remainingNodes,
+        Map<String, ResourceCreated> deprovisionResources,
+        Map<String, Set<String>> dependencies,
+        Set<String> allDeprovisioned,
+        Consumer<Set<String>> onComplete
+    ) {
+        workflowTask.track(remainingNodes.values());
+        new DeprovisionPass(workflowId, tenantId, remainingNodes, deprovisionResources, dependencies, deprovisioned -> {
+            allDeprovisioned.addAll(deprovisioned);
+            // A cancelled run is not retried
+            if (deprovisioned.isEmpty() || deprovisioned.size() == remainingNodes.size() || workflowTask.isCancelled()) {
+                onComplete.accept(allDeprovisioned);
+                return;
+            }
+            // Process nodes execute once, create new ones for the resources to retry
+            Map<String, ProcessNode> retryNodes = new LinkedHashMap<>();
+            for (ProcessNode pn : remainingNodes.values()) {
+                if (!deprovisioned.contains(pn.id())) {
+                    WorkflowStep deprovisionStep = workflowStepFactory.createStep(pn.workflowStep().getName());
+                    ResourceCreated resource = deprovisionResources.get(pn.id());
+                    retryNodes.put(pn.id(), createDeprovisionNode(workflowId, tenantId, pn.id(), deprovisionStep, resource));
+                }
+            }
+            logger.info("Retrying deprovisioning steps: {}", String.join(", ", retryNodes.keySet()));
+            executeDeprovisionPasses(
+                workflowId,
+                tenantId,
+                workflowTask,
+                retryNodes,
+                deprovisionResources,
+                dependencies,
+                allDeprovisioned,
+                onComplete
+            );
+        }).start();
+    }
+
+    private ProcessNode createDeprovisionNode(
+        String workflowId,
+        String tenantId,
+        String deprovisionStepId,
+        WorkflowStep deprovisionStep,
+        ResourceCreated resource
+    ) {
+        return new ProcessNode(
+            deprovisionStepId,
+            deprovisionStep,
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            new WorkflowData(
+                Map.of(getResourceByWorkflowStep(resource.workflowStepName()), resource.resourceId()),
+                workflowId,
+                deprovisionStepId
+            ),
+            Collections.emptyList(),
+            this.threadPool,
+            DEPROVISION_WORKFLOW_THREAD_POOL,
+            flowFrameworkSettings.getRequestTimeout(),
+            tenantId
+        );
+    }
+
+    /**
+     * A single attempt to deprovision a set of resources. Each resource is deleted once the resources depending on it have been
+     * deleted, with at most the configured number of deletions in flight. No thread is held while waiting on a deletion.
+     */
+    private class DeprovisionPass {
+        private final String workflowId;
+        private final String tenantId;
+        private final Map<String, ProcessNode> nodes;
+        private final Map<String, ResourceCreated> resources;
+        private final Consumer<Set<String>> onComplete;
+        private final Map<String, Integer> pendingDependencies = new HashMap<>();
+        private final Map<String, List<String>> waitingSteps = new HashMap<>();
+        private final Deque<String> readySteps = new ArrayDeque<>();
+        private final Set<String> deprovisioned = new HashSet<>();
+        private int inFlight = 0;
+        private boolean completed = false;
+
+        DeprovisionPass(
+            String workflowId,
+            String tenantId,
+            Map<String, ProcessNode> nodes,
+            Map<String, ResourceCreated> resources,
+            Map<String, Set<String>> dependencies,
+            Consumer<Set<String>> onComplete
+        ) {
+            this.workflowId = workflowId;
+            this.tenantId = tenantId;
+            this.nodes = nodes;
+            this.resources = resources;
+            this.onComplete = onComplete;
+            for (String id : nodes.keySet()) {
+                // Dependencies deleted in an earlier pass no longer block this step
+                List<String> remainingDependencies = dependencies.getOrDefault(id, Collections.emptySet())
+                    .stream()
+                    .filter(nodes::containsKey)
+                    .collect(Collectors.toList());
+                pendingDependencies.put(id, remainingDependencies.size());
+                remainingDependencies.forEach(d -> waitingSteps.computeIfAbsent(d, k -> new ArrayList<>()).add(id));
+                if (remainingDependencies.isEmpty()) {
+                    readySteps.add(id);
                 }
-            } else {
-                // If nothing was deleted, exit loop
-                break;
             }
         }
-        // Get corresponding resources
-        List<ResourceCreated> remainingResources = deprovisionProcessSequence.stream()
-            .map(pn -> getResourceFromDeprovisionNode(pn, resourcesCreated))
-            .collect(Collectors.toList());
-        logger.info("Resources remaining: {}.", remainingResources);
-        if (!deleteNotAllowed.isEmpty()) {
-            logger.info("Resources requiring allow_delete: {}.", deleteNotAllowed);
+
+        void start() {
+            executeReadySteps();
         }
-        // This is a redundant best-effort backup to the incremental deletion done earlier
-        updateWorkflowState(workflowId, tenantId, remainingResources, deleteNotAllowed, listener, user);
+
+        private void executeReadySteps() {
+            List<ProcessNode> toExecute = new ArrayList<>();
+            boolean passComplete = false;
+            synchronized (this) {
+                int maxConcurrent = flowFrameworkSettings.getMaxConcurrentDeprovisionSteps();
+                while (inFlight < maxConcurrent && !readySteps.isEmpty()) {
+                    toExecute.add(nodes.get(readySteps.poll()));
+                    inFlight++;
+                }
+                // With nothing ready or in flight, any steps not executed depend on a failed step
+                if (inFlight == 0 && !completed) {
+                    completed = true;
+                    passComplete = true;
+                }
+            }
+            toExecute.forEach(this::executeStep);
+            if (passComplete) {
+                onComplete.accept(deprovisioned);
+            }
+        }
+
+        private void executeStep(ProcessNode deprovisionNode) {
+            String resourceNameAndId = getResourceNameAndId(resources.get(deprovisionNode.id()));
+            // The process node runs the step on the deprovision thread pool and completes the future from there
+            ListenablePlainActionFuture.addListener(deprovisionNode.execute(), ActionListener.wrap(r -> {
+                logger.info("Successful {} for {}", deprovisionNode.id(), resourceNameAndId);
+                // Remove from state index resource list, failures are caught up at the end with remaining resources
+                flowFrameworkIndicesHandler.deleteResourceFromStateIndex(
+                    workflowId,
+                    tenantId,
+                    resources.get(deprovisionNode.id()),
+                    ActionListener.wrap(
+                        stateUpdate -> {},
+                        e -> logger.debug("Failed to remove {} from state of {}", resourceNameAndId, workflowId, e)
+                    )
+                );
+                onStepComplete(deprovisionNode.id(), true);
+            }, ex -> {
+                // If any deprovision fails due to not found, it's a success
+                if (isNotFound(ex)) {
+                    logger.info("Successful (not found) {} for {}", deprovisionNode.id(), resourceNameAndId);
+                    onStepComplete(deprovisionNode.id(), true);
+                } else {
+                    logger.info("Failed {} for {}", deprovisionNode.id(), resourceNameAndId);
+                    onStepComplete(deprovisionNode.id(), false);
+                }
+            }), threadPool.executor(DEPROVISION_WORKFLOW_THREAD_POOL));
+        }
+
+        private void onStepComplete(String deprovisionStepId, boolean success) {
+            synchronized (this) {
+                inFlight--;
+                if (success) {
+                    deprovisioned.add(deprovisionStepId);
+                    for (String waiting : waitingSteps.getOrDefault(deprovisionStepId, Collections.emptyList())) {
+                        if (pendingDependencies.merge(waiting, -1, Integer::sum) == 0) {
+                            readySteps.add(waiting);
+                        }
+                    }
+                }
+            }
+            executeReadySteps();
+        }
+    }
+
+    private static boolean isNotFound(Exception e) {
+        Throwable t = e instanceof OpenSearchStatusException ? e : e.getCause();
+        return t instanceof OpenSearchStatusException && ((OpenSearchStatusException) t).status() == RestStatus.NOT_FOUND;
     }
 
     private void updateWorkflowState(
@@ -403,11 +684,9 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
         }
     }
 
-    private static ResourceCreated getResourceFromDeprovisionNode(ProcessNode deprovisionNode, List<ResourceCreated> resourcesCreated) {
-        return resourcesCreated.stream()
-            .filter(r -> deprovisionNode.id().equals("(deprovision_" + r.workflowStepName() + ") " + r.workflowStepId()))
-            .findFirst()
-            .orElse(null);
+    private static String getDeprovisionStepId(ResourceCreated resource) {
+        // New ID is old ID with (deprovision step type) prepended and the resource id appended, as a step may record several resources
+        return "(deprovision_" + resource.workflowStepName() + ") " + resource.workflowStepId() + " [" + resource.resourceId() + "]";
     }
 
     private static String getResourceNameAndId(ResourceCreated resource) {
@@ -0,0 +1,36 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.transport;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.transport.TransportRequest;
+
+import java.io.IOException;
+
+/**
+ * Transport Request sent to each node to get its flow framework stats
+ */
+public class FlowFrameworkStatsNodeRequest extends TransportRequest {
+
+    /**
+     * Instantiates a new FlowFrameworkStatsNodeRequest
+     */
+    public FlowFrameworkStatsNodeRequest() {
+        super();
+    }
+
+    /**
+     * Instantiates a new FlowFrameworkStatsNodeRequest from a {@link StreamInput} object
+     * @param in The input stream to read from
+     * @throws IOException If the stream input can not be read
+     */
+    public FlowFrameworkStatsNodeRequest(StreamInput in) throws IOException {
+        super(in);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.transport;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Transport Response holding the flow framework stats of a node
+ */
+public class FlowFrameworkStatsNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    private final Map<String, Object> stats;
+
+    /**
+     * Instantiates a new FlowFrameworkStatsNodeResponse
+     * @param node the node the stats were collected on
+     * @param stats the stats of the node
+     */
+    public FlowFrameworkStatsNodeResponse(DiscoveryNode node, Map<String, Object> stats) {
+        super(node);
+        this.stats = stats;
+    }
+
+    /**
+     * Instantiates a new FlowFrameworkStatsNodeResponse from a {@link StreamInput} object
+     * @param in The input stream to read from
+     * @throws IOException If the stream input can not be read
+     */
+    @SuppressWarnings("unchecked")
+    public FlowFrameworkStatsNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        // Read as a generic value to keep the order of the stats
+        this.stats = (Map<String, Object>) in.readGenericValue();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeGenericValue(stats);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        for (Map.Entry<String, Object> stat : stats.entrySet()) {
+            builder.field(stat.getKey(), stat.getValue());
+        }
+        return builder;
+    }
+
+    /**
+     * Gets the stats of the node
+     * @return the stats
+     */
+    public Map<String, Object> getStats() {
+        return stats;
+    }
+}
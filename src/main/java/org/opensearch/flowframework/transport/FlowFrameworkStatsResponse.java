@@ -0,0 +1,72 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.transport;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Transport Response holding the flow framework stats of the nodes of the cluster
+ */
+public class FlowFrameworkStatsResponse extends BaseNodesResponse<FlowFrameworkStatsNodeResponse> implements ToXContentFragment {
+
+    private static final String NODES_FIELD = "nodes";
+
+    /**
+     * Instantiates a new FlowFrameworkStatsResponse
+     * @param clusterName the cluster name
+     * @param nodes the responses of the nodes
+     * @param failures the failures of the nodes which did not respond
+     */
+    public FlowFrameworkStatsResponse(
+        ClusterName clusterName,
+        List<FlowFrameworkStatsNodeResponse> nodes,
+        List<FailedNodeException> failures
+    ) {
+        super(clusterName, nodes, failures);
+    }
+
+    /**
+     * Instantiates a new FlowFrameworkStatsResponse from a {@link StreamInput} object
+     * @param in The input stream to read from
+     * @throws IOException If the stream input can not be read
+     */
+    public FlowFrameworkStatsResponse(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    @Override
+    protected List<FlowFrameworkStatsNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(FlowFrameworkStatsNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<FlowFrameworkStatsNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(NODES_FIELD);
+        for (FlowFrameworkStatsNodeResponse node : getNodes()) {
+            builder.startObject(node.getNode().getId());
+            node.toXContent(builder, params);
+            builder.endObject();
+        }
+        return builder.endObject();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.transport;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
+import org.opensearch.flowframework.util.TenantAwareHelper;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
+import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
+import org.opensearch.flowframework.workflow.WorkflowStepFactory;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.threadpool.ThreadPoolStats;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.opensearch.flowframework.common.CommonValue.DEPROVISION_WORKFLOW_THREAD_POOL;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_THREAD_POOL;
+
+/**
+ * Transport action collecting the flow framework stats of each node
+ */
+public class FlowFrameworkStatsTransportAction extends TransportNodesAction<
+    FlowFrameworkStatsRequest,
+    FlowFrameworkStatsResponse,
+    FlowFrameworkStatsNodeRequest,
+    FlowFrameworkStatsNodeResponse> {
+
+    private static final List<String> THREAD_POOLS = List.of(
+        WORKFLOW_THREAD_POOL,
+        PROVISION_WORKFLOW_THREAD_POOL,
+        DEPROVISION_WORKFLOW_THREAD_POOL
+    );
+
+    private final FlowFrameworkStats flowFrameworkStats;
+    private final WorkflowStepFactory workflowStepFactory;
+    private final WorkflowProcessSorter workflowProcessSorter;
+    private final WorkflowExecutionRegistry workflowExecutionRegistry;
+
+    /**
+     * Instantiates a new FlowFrameworkStatsTransportAction
+     * @param threadPool The OpenSearch thread pool
+     * @param clusterService The cluster service
+     * @param transportService The TransportService
+     * @param actionFilters action filters
+     * @param flowFrameworkStats The API and step latencies recorded on this node
+     * @param workflowStepFactory The factory instantiating workflow steps, holding the ML task poller
+     * @param workflowProcessSorter Utility class holding the cache of provision plans
+     * @param workflowExecutionRegistry The registry of the workflow executions running on this node
+     */
+    @Inject
+    public FlowFrameworkStatsTransportAction(
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        TransportService transportService,
+        ActionFilters actionFilters,
+        FlowFrameworkStats flowFrameworkStats,
+        WorkflowStepFactory workflowStepFactory,
+        WorkflowProcessSorter workflowProcessSorter,
+        WorkflowExecutionRegistry workflowExecutionRegistry
+    ) {
+        super(
+            FlowFrameworkStatsAction.NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            FlowFrameworkStatsRequest::new,
+            FlowFrameworkStatsNodeRequest::new,
+            ThreadPool.Names.MANAGEMENT,
+            FlowFrameworkStatsNodeResponse.class
+        );
+        this.flowFrameworkStats = flowFrameworkStats;
+        this.workflowStepFactory = workflowStepFactory;
+        this.workflowProcessSorter = workflowProcessSorter;
+        this.workflowExecutionRegistry = workflowExecutionRegistry;
+    }
+
+    @Override
+    protected FlowFrameworkStatsResponse newResponse(
+        FlowFrameworkStatsRequest request,
+        List<FlowFrameworkStatsNodeResponse> responses,
+        List<FailedNodeException> failures
+    ) {
+        return new FlowFrameworkStatsResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected FlowFrameworkStatsNodeRequest newNodeRequest(FlowFrameworkStatsRequest request) {
+        return new FlowFrameworkStatsNodeRequest();
+    }
+
+    @Override
+    protected FlowFrameworkStatsNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new FlowFrameworkStatsNodeResponse(in);
+    }
+
+    @Override
+    protected FlowFrameworkStatsNodeResponse nodeOperation(FlowFrameworkStatsNodeRequest request) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("thread_pools", threadPoolStats());
+        stats.put("active_provisions_per_tenant", new LinkedHashMap<>(TenantAwareHelper.getActiveProvisionsPerTenant()));
+        stats.put("queued_provisions_per_tenant", new LinkedHashMap<>(TenantAwareHelper.getQueuedProvisionsPerTenant()));
+        stats.put("active_deprovisions_per_tenant", new LinkedHashMap<>(TenantAwareHelper.getActiveDeprovisionsPerTenant()));
+        stats.put("executing_workflows", workflowExecutionRegistry.size());
+        stats.put("polled_ml_tasks", workflowStepFactory.getMLTaskPoller().getPolledTaskCount());
+        stats.put("cached_provision_plans", workflowProcessSorter.getCachedPlanCount());
+        Map<String, Object> rejections = new LinkedHashMap<>();
+        rejections.put("total", flowFrameworkStats.totalApiRejections());
+        rejections.put("apis", flowFrameworkStats.apiRejections());
+        stats.put("too_many_requests_rejections", rejections);
+        stats.put("api_latencies", flowFrameworkStats.apiLatencies());
+        stats.put("step_latencies", flowFrameworkStats.stepLatencies());
+        stats.put("orphaned_provisioning", flowFrameworkStats.orphanedProvisioning());
+        return new FlowFrameworkStatsNodeResponse(clusterService.localNode(), stats);
+    }
+
+    private Map<String, Object> threadPoolStats() {
+        Map<String, Object> threadPoolStats = new LinkedHashMap<>();
+        for (ThreadPoolStats.Stats poolStats : threadPool.stats()) {
+            if (THREAD_POOLS.contains(poolStats.getName())) {
+                Map<String, Object> pool = new LinkedHashMap<>();
+                pool.put("threads", poolStats.getThreads());
+                pool.put("queue", poolStats.getQueue());
+                pool.put("active", poolStats.getActive());
+                pool.put("rejected", poolStats.getRejected());
+                pool.put("largest", poolStats.getLargest());
+                pool.put("completed", poolStats.getCompleted());
+                threadPoolStats.put(poolStats.getName(), pool);
+            }
+        }
+        return threadPoolStats;
+    }
+}
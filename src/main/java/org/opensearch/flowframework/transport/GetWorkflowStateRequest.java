@@ -11,9 +11,11 @@ package org.opensearch.flowframework.transport;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.common.Nullable;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.flowframework.common.CommonValue;
+import org.opensearch.flowframework.model.WorkflowState;
 
 import java.io.IOException;
 
@@ -35,6 +37,17 @@ public class GetWorkflowStateRequest extends ActionRequest {
 
     private String tenantId;
 
+    /**
+     * The maximum duration to wait for the workflow state to change before responding
+     */
+    private TimeValue waitForChangeTimeout = TimeValue.MINUS_ONE;
+
+    /**
+     * The state a change is waited for from, if it was read before the request was forwarded to the provisioning node
+     */
+    @Nullable
+    private WorkflowState initialState;
+
     /**
      * Instantiates a new GetWorkflowStateRequest
      * @param workflowId the documentId of the workflow
@@ -42,9 +55,42 @@ public class GetWorkflowStateRequest extends ActionRequest {
      * @param tenantId the tenant id
      */
     public GetWorkflowStateRequest(@Nullable String workflowId, boolean all, String tenantId) {
+        this(workflowId, all, tenantId, TimeValue.MINUS_ONE);
+    }
+
+    /**
+     * Instantiates a new GetWorkflowStateRequest which waits for the workflow state to change
+     * @param workflowId the documentId of the workflow
+     * @param all whether the get request is looking for all fields in status
+     * @param tenantId the tenant id
+     * @param waitForChangeTimeout the maximum duration to wait for the provisioning progress or created resources of the workflow to
+     *        change before responding with the current state, or {@link TimeValue#MINUS_ONE} to respond immediately
+     */
+    public GetWorkflowStateRequest(@Nullable String workflowId, boolean all, String tenantId, TimeValue waitForChangeTimeout) {
+        this(workflowId, all, tenantId, waitForChangeTimeout, null);
+    }
+
+    /**
+     * Instantiates a new GetWorkflowStateRequest which waits for the workflow state to change from a state already read
+     * @param workflowId the documentId of the workflow
+     * @param all whether the get request is looking for all fields in status
+     * @param tenantId the tenant id
+     * @param waitForChangeTimeout the maximum duration to wait for the provisioning progress or created resources of the workflow to
+     *        change before responding with the current state, or {@link TimeValue#MINUS_ONE} to respond immediately
+     * @param initialState the state to wait for a change from, or null to wait for a change from the state read by the request
+     */
+    public GetWorkflowStateRequest(
+        @Nullable String workflowId,
+        boolean all,
+        String tenantId,
+        TimeValue waitForChangeTimeout,
+        @Nullable WorkflowState initialState
+    ) {
         this.workflowId = workflowId;
         this.all = all;
         this.tenantId = tenantId;
+        this.waitForChangeTimeout = waitForChangeTimeout;
+        this.initialState = initialState;
     }
 
     /**
@@ -59,6 +105,10 @@ public class GetWorkflowStateRequest extends ActionRequest {
         if (in.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             this.tenantId = in.readOptionalString();
         }
+        if (in.getVersion().onOrAfter(CommonValue.VERSION_3_1_0)) {
+            this.waitForChangeTimeout = in.readTimeValue();
+            this.initialState = in.readOptionalWriteable(WorkflowState::new);
+        }
     }
 
     /**
@@ -86,6 +136,23 @@ public class GetWorkflowStateRequest extends ActionRequest {
         return this.tenantId;
     }
 
+    /**
+     * Gets the maximum duration to wait for the workflow state to change
+     * @return the wait for change timeout, {@link TimeValue#MINUS_ONE} if the request does not wait
+     */
+    public TimeValue getWaitForChangeTimeout() {
+        return this.waitForChangeTimeout;
+    }
+
+    /**
+     * Gets the state to wait for a change from
+     * @return the state read before the request was forwarded, or null to wait for a change from the state read by the request
+     */
+    @Nullable
+    public WorkflowState getInitialState() {
+        return this.initialState;
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         super.writeTo(out);
@@ -94,6 +161,10 @@ public class GetWorkflowStateRequest extends ActionRequest {
         if (out.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             out.writeOptionalString(tenantId);
         }
+        if (out.getVersion().onOrAfter(CommonValue.VERSION_3_1_0)) {
+            out.writeTimeValue(waitForChangeTimeout);
+            out.writeOptionalWriteable(initialState);
+        }
     }
 
     @Override
@@ -12,25 +12,46 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListenerResponseHandler;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.util.FetchedDocument;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.flowframework.util.TenantAwareHelper;
+import org.opensearch.flowframework.util.WorkflowTimeoutUtility;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.ConnectTransportException;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.util.ParseUtils.resolveUserAndExecute;
 
@@ -44,19 +65,27 @@ public class GetWorkflowStateTransportAction extends HandledTransportAction<GetW
 
     private final Logger logger = LogManager.getLogger(GetWorkflowStateTransportAction.class);
 
+    // Longest interval at which the state index is read while waiting for a change, the configured interval doubles up to it
+    private static final TimeValue MAX_WAIT_FOR_CHANGE_POLL_INTERVAL = TimeValue.timeValueSeconds(30);
+
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+    private final WorkflowExecutionRegistry workflowExecutionRegistry;
     private final FlowFrameworkSettings flowFrameworkSettings;
     private final Client client;
     private final SdkClient sdkClient;
     private final NamedXContentRegistry xContentRegistry;
     private volatile Boolean filterByEnabled;
     private final ClusterService clusterService;
+    private final TransportService transportService;
+    // Requests of this node waiting for a change, forwarded or parked
+    private final AtomicInteger waitingRequests = new AtomicInteger();
 
     /**
      * Instantiates a new GetWorkflowStateTransportAction
      * @param transportService The TransportService
      * @param actionFilters action filters
      * @param flowFrameworkIndicesHandler the handler class for index actions
+     * @param workflowExecutionRegistry the registry of workflow executions running on this node
      * @param flowFrameworkSettings the plugin settings
      * @param client The client used to make the request to OS
      * @param sdkClient the Multitenant Client
@@ -69,6 +98,7 @@ public class GetWorkflowStateTransportAction extends HandledTransportAction<GetW
         TransportService transportService,
         ActionFilters actionFilters,
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
+        WorkflowExecutionRegistry workflowExecutionRegistry,
         FlowFrameworkSettings flowFrameworkSettings,
         Client client,
         SdkClient sdkClient,
@@ -78,12 +108,14 @@ public class GetWorkflowStateTransportAction extends HandledTransportAction<GetW
     ) {
         super(GetWorkflowStateAction.NAME, transportService, actionFilters, GetWorkflowStateRequest::new);
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
+        this.workflowExecutionRegistry = workflowExecutionRegistry;
         this.flowFrameworkSettings = flowFrameworkSettings;
         this.client = client;
         this.sdkClient = sdkClient;
         this.xContentRegistry = xContentRegistry;
         filterByEnabled = FILTER_BY_BACKEND_ROLES.get(settings);
         this.clusterService = clusterService;
+        this.transportService = transportService;
         clusterService.getClusterSettings().addSettingsUpdateConsumer(FILTER_BY_BACKEND_ROLES, it -> filterByEnabled = it);
     }
 
@@ -106,7 +138,7 @@ public class GetWorkflowStateTransportAction extends HandledTransportAction<GetW
                 true,
                 flowFrameworkSettings.isMultiTenancyEnabled(),
                 listener,
-                () -> executeGetWorkflowStateRequest(request, tenantId, listener, context),
+                fetchedDocument -> executeGetWorkflowStateRequest(request, tenantId, listener, context, fetchedDocument),
                 client,
                 sdkClient,
                 clusterService,
@@ -122,22 +154,233 @@ public class GetWorkflowStateTransportAction extends HandledTransportAction<GetW
     }
 
     /**
-     * Execute the get workflow state request
+     * Execute the get workflow state request.
+     * The status of a workflow executing on this node is served from the execution registry, the full state and the state of any
+     * other workflow are read from the state index. If the request waits for a change, the response is sent once the state changes
+     * or the timeout elapses.
      * @param request the get workflow state request
      * @param tenantId the tenant id
      * @param listener the action listener
      * @param context the thread context
+     * @param fetchedDocument the workflow state read to check access to the workflow, or null if access was not checked
      */
     private void executeGetWorkflowStateRequest(
         GetWorkflowStateRequest request,
         String tenantId,
         ActionListener<GetWorkflowStateResponse> listener,
+        ThreadContext.StoredContext context,
+        FetchedDocument fetchedDocument
+    ) {
+        ActionListener<GetWorkflowStateResponse> restoringListener = ActionListener.runBefore(listener, context::restore);
+        readWorkflowState(request, tenantId, fetchedDocument, ActionListener.wrap(workflowState -> {
+            if (request.getWaitForChangeTimeout().millis() > 0) {
+                waitForChange(request, tenantId, workflowState, restoringListener, context);
+            } else {
+                restoringListener.onResponse(new GetWorkflowStateResponse(workflowState, request.getAll()));
+            }
+        }, restoringListener::onFailure));
+    }
+
+    /**
+     * Waits for a change of the state of a workflow. A workflow provisioning on another node is waited for on that node, notified of
+     * each change by its execution registry, rather than by reading the state index at an interval from this node. The number of
+     * requests waiting on a node is limited. A forwarded request waits for a change from the state read by the node it was received
+     * on, so a change made before the provisioning node reads the state is not missed.
+     * @param request the get workflow state request
+     * @param tenantId the tenant id
+     * @param workflowState the current state of the workflow
+     * @param listener the action listener
+     * @param context the thread context of the request
+     */
+    private void waitForChange(
+        GetWorkflowStateRequest request,
+        String tenantId,
+        WorkflowState workflowState,
+        ActionListener<GetWorkflowStateResponse> listener,
         ThreadContext.StoredContext context
+    ) {
+        if (waitingRequests.incrementAndGet() > flowFrameworkSettings.getMaxWaitForChangeRequests()) {
+            waitingRequests.decrementAndGet();
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                "Too many requests waiting for a change of a workflow state, retry workflow {} later",
+                request.getWorkflowId()
+            ).getFormattedMessage();
+            listener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.TOO_MANY_REQUESTS));
+            return;
+        }
+        ActionListener<GetWorkflowStateResponse> waitingListener = ActionListener.runAfter(listener, waitingRequests::decrementAndGet);
+        WorkflowState initialState = request.getInitialState() == null ? workflowState : request.getInitialState();
+        DiscoveryNode provisioningNode = getRemoteProvisioningNode(request.getWorkflowId(), tenantId, workflowState);
+        if (provisioningNode == null) {
+            new WorkflowStateChangeWaiter(request, tenantId, initialState, waitingListener).start();
+            return;
+        }
+        logger.debug("Waiting for a change of workflow {} on provisioning node {}", request.getWorkflowId(), provisioningNode.getId());
+        ActionListener<GetWorkflowStateResponse> forwardListener = ActionListener.wrap(waitingListener::onResponse, exception -> {
+            if (ExceptionsHelper.unwrapCause(exception) instanceof ConnectTransportException) {
+                // The provisioning node left, wait on this node instead
+                new WorkflowStateChangeWaiter(request, tenantId, initialState, waitingListener).start();
+            } else {
+                waitingListener.onFailure(exception);
+            }
+        });
+        GetWorkflowStateRequest forwardedRequest = new GetWorkflowStateRequest(
+            request.getWorkflowId(),
+            request.getAll(),
+            request.getTenantId(),
+            request.getWaitForChangeTimeout(),
+            initialState
+        );
+        // Forward the request with the user of the request
+        context.restore();
+        transportService.sendRequest(
+            provisioningNode,
+            GetWorkflowStateAction.NAME,
+            forwardedRequest,
+            new ActionListenerResponseHandler<>(forwardListener, GetWorkflowStateResponse::new)
+        );
+    }
+
+    /**
+     * Gets the node provisioning a workflow, if it is another node of the cluster
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     * @param workflowState the state of the workflow
+     * @return the provisioning node, or null if the workflow is not provisioning on another node of the cluster
+     */
+    private DiscoveryNode getRemoteProvisioningNode(String workflowId, String tenantId, WorkflowState workflowState) {
+        String provisioningNodeId = workflowState.getProvisioningNode();
+        if (!State.PROVISIONING.name().equals(workflowState.getState())
+            || provisioningNodeId == null
+            || provisioningNodeId.equals(clusterService.localNode().getId())
+            || workflowExecutionRegistry.getWorkflowState(workflowId, tenantId).isPresent()) {
+            return null;
+        }
+        // A node which left the cluster no longer updates the state, its provisioning is failed by the reconciler
+        return clusterService.state().nodes().get(provisioningNodeId);
+    }
+
+    /**
+     * Reads the current state of a workflow, from the execution registry if it is executing on this node and only the status was
+     * requested, otherwise from the state index
+     * @param request the get workflow state request
+     * @param tenantId the tenant id
+     * @param fetchedDocument the workflow state document already read by this request, or null to read it from the state index
+     * @param listener the listener to notify with the workflow state
+     */
+    private void readWorkflowState(
+        GetWorkflowStateRequest request,
+        String tenantId,
+        FetchedDocument fetchedDocument,
+        ActionListener<WorkflowState> listener
     ) {
         String workflowId = request.getWorkflowId();
-        flowFrameworkIndicesHandler.getWorkflowState(workflowId, tenantId, ActionListener.wrap(workflowState -> {
-            GetWorkflowStateResponse workflowStateResponse = new GetWorkflowStateResponse(workflowState, request.getAll());
-            listener.onResponse(workflowStateResponse);
-        }, listener::onFailure), context);
+        if (!request.getAll()) {
+            // The registry doesn't hold the user and user outputs, so only the status can be served from it
+            Optional<WorkflowState> liveState = workflowExecutionRegistry.getWorkflowState(workflowId, tenantId);
+            if (liveState.isPresent()) {
+                listener.onResponse(liveState.get());
+                return;
+            }
+        }
+        if (fetchedDocument != null && fetchedDocument.workflowState() != null) {
+            // The state document was already read to check access, only the resources stored as separate documents remain
+            flowFrameworkIndicesHandler.addResourceDocuments(workflowId, tenantId, fetchedDocument.workflowState(), listener);
+            return;
+        }
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            flowFrameworkIndicesHandler.getWorkflowState(workflowId, tenantId, listener, context);
+        }
+    }
+
+    /**
+     * Checks whether the provisioning progress or the created resources of a workflow changed
+     * @param initialState the state of the workflow when the request was received
+     * @param currentState the current state of the workflow
+     * @return true if the state changed
+     */
+    private static boolean hasChanged(WorkflowState initialState, WorkflowState currentState) {
+        return !Objects.equals(initialState.getState(), currentState.getState())
+            || !Objects.equals(initialState.getProvisioningProgress(), currentState.getProvisioningProgress())
+            || !resourceIds(initialState).equals(resourceIds(currentState));
+    }
+
+    private static Set<String> resourceIds(WorkflowState workflowState) {
+        return workflowState.resourcesCreated() == null
+            ? Collections.emptySet()
+            : workflowState.resourcesCreated().stream().map(ResourceCreated::resourceId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Parks a get workflow state request until the state of the workflow changes or the timeout elapses, without holding a thread.
+     * A workflow executing on this node notifies the waiter of each change through the execution registry, the state of any other
+     * workflow is read again from the state index at an interval doubling up to a cap.
+     */
+    private class WorkflowStateChangeWaiter {
+        private final GetWorkflowStateRequest request;
+        private final String tenantId;
+        private final WorkflowState initialState;
+        private final ActionListener<GetWorkflowStateResponse> listener;
+        private final AtomicBoolean isResponseSent = new AtomicBoolean(false);
+        private volatile Scheduler.ScheduledCancellable timeout;
+        private volatile TimeValue pollInterval;
+
+        private WorkflowStateChangeWaiter(
+            GetWorkflowStateRequest request,
+            String tenantId,
+            WorkflowState initialState,
+            ActionListener<GetWorkflowStateResponse> listener
+        ) {
+            this.request = request;
+            this.tenantId = tenantId;
+            this.initialState = initialState;
+            this.listener = listener;
+            this.pollInterval = flowFrameworkSettings.getWaitForChangePollInterval();
+        }
+
+        private void start() {
+            // Respond with the current state, changed or not, once the timeout elapses
+            timeout = WorkflowTimeoutUtility.scheduleTimeoutTask(
+                client.threadPool(),
+                request.getWorkflowId(),
+                () -> readWorkflowState(
+                    request,
+                    tenantId,
+                    null,
+                    ActionListener.wrap(
+                        workflowState -> listener.onResponse(new GetWorkflowStateResponse(workflowState, request.getAll())),
+                        listener::onFailure
+                    )
+                ),
+                request.getWaitForChangeTimeout().millis(),
+                isResponseSent
+            );
+            check();
+        }
+
+        private void check() {
+            if (isResponseSent.get()) {
+                return;
+            }
+            // Register for the next change before reading the state, so a change made after the read is not missed
+            boolean notifiedOnChange = workflowExecutionRegistry.addChangeListener(request.getWorkflowId(), tenantId, this::check);
+            readWorkflowState(request, tenantId, null, ActionListener.wrap(workflowState -> {
+                if (hasChanged(initialState, workflowState)) {
+                    if (isResponseSent.compareAndSet(false, true)) {
+                        timeout.cancel();
+                        listener.onResponse(new GetWorkflowStateResponse(workflowState, request.getAll()));
+                    }
+                } else if (!notifiedOnChange && !isResponseSent.get()) {
+                    client.threadPool().schedule(this::check, pollInterval, ThreadPool.Names.GENERIC);
+                    long maxPollIntervalMillis = Math.max(MAX_WAIT_FOR_CHANGE_POLL_INTERVAL.millis(), pollInterval.millis());
+                    pollInterval = TimeValue.timeValueMillis(Math.min(pollInterval.millis() * 2, maxPollIntervalMillis));
+                }
+            }, exception -> {
+                if (isResponseSent.compareAndSet(false, true)) {
+                    timeout.cancel();
+                    listener.onFailure(exception);
+                }
+            }));
+        }
     }
 }
@@ -27,6 +27,7 @@ import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.util.EncryptorUtils;
+import org.opensearch.flowframework.util.FetchedDocument;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.flowframework.util.TenantAwareHelper;
 import org.opensearch.remote.metadata.client.SdkClient;
@@ -114,7 +115,7 @@ public class GetWorkflowTransportAction extends HandledTransportAction<WorkflowR
                     false,
                     flowFrameworkSettings.isMultiTenancyEnabled(),
                     listener,
-                    () -> executeGetRequest(request, tenantId, listener, context),
+                    fetchedDocument -> executeGetRequest(request, tenantId, listener, context, fetchedDocument),
                     client,
                     sdkClient,
                     clusterService,
@@ -141,14 +142,23 @@ public class GetWorkflowTransportAction extends HandledTransportAction<WorkflowR
      * @param request the workflow request
      * @param listener the action listener
      * @param context the thread context
+     * @param fetchedDocument the template read to check access to the workflow, or null if access was not checked
      */
     private void executeGetRequest(
         WorkflowRequest request,
         String tenantId,
         ActionListener<GetWorkflowResponse> listener,
-        ThreadContext.StoredContext context
+        ThreadContext.StoredContext context,
+        FetchedDocument fetchedDocument
     ) {
         String workflowId = request.getWorkflowId();
+        if (fetchedDocument != null && fetchedDocument.template() != null) {
+            // The template was already read to check access, don't read it again
+            context.restore();
+            User user = ParseUtils.getUserContext(client);
+            listener.onResponse(new GetWorkflowResponse(encryptorUtils.redactTemplateSecuredFields(user, fetchedDocument.template())));
+            return;
+        }
         logger.info("Querying workflow from global context: {}", workflowId);
         flowFrameworkIndicesHandler.getTemplate(workflowId, tenantId, ActionListener.wrap(response -> {
             if (!response.isExists()) {
@@ -161,7 +171,7 @@ public class GetWorkflowTransportAction extends HandledTransportAction<WorkflowR
             } else {
                 // Remove any secured field from response
                 User user = ParseUtils.getUserContext(client);
-                Template template = encryptorUtils.redactTemplateSecuredFields(user, Template.parse(response.getSourceAsString()));
+                Template template = encryptorUtils.redactTemplateSecuredFields(user, Template.parse(response.getSourceAsBytesRef()));
                 listener.onResponse(new GetWorkflowResponse(template));
             }
         }, exception -> {
@@ -14,7 +14,6 @@ import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
-import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
@@ -28,14 +27,23 @@ import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.ProvisioningProgress;
+import org.opensearch.flowframework.model.ResourceCreated;
 import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.StepExecution;
 import org.opensearch.flowframework.model.Template;
-import org.opensearch.flowframework.model.Workflow;
+import org.opensearch.flowframework.model.WorkflowJob;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
 import org.opensearch.flowframework.util.EncryptorUtils;
+import org.opensearch.flowframework.util.FetchedDocument;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.TenantAwareHelper;
 import org.opensearch.flowframework.util.WorkflowTimeoutUtility;
 import org.opensearch.flowframework.workflow.ProcessNode;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
+import org.opensearch.flowframework.workflow.WorkflowJobQueue;
 import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
+import org.opensearch.flowframework.workflow.WorkflowTask;
 import org.opensearch.plugins.PluginsService;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.tasks.Task;
@@ -44,22 +52,26 @@ import org.opensearch.transport.client.Client;
 
 import java.time.Instant;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.LAST_HEARTBEAT_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_NODE_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_PROGRESS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_END_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_START_TIME_FIELD;
-import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.CommonValue.RESOURCES_CREATED_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.RESUME_PROVISION;
 import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_EXECUTIONS_FIELD;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.util.ParseUtils.getUserContext;
 import static org.opensearch.flowframework.util.ParseUtils.resolveUserAndExecute;
@@ -75,6 +87,9 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
     private final SdkClient sdkClient;
     private final WorkflowProcessSorter workflowProcessSorter;
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+    private final WorkflowExecutionRegistry workflowExecutionRegistry;
+    private final WorkflowJobQueue workflowJobQueue;
+    private final FlowFrameworkStats flowFrameworkStats;
     private final FlowFrameworkSettings flowFrameworkSettings;
     private final EncryptorUtils encryptorUtils;
     private final PluginsService pluginsService;
@@ -90,6 +105,9 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
      * @param sdkClient the Multitenant Client
      * @param workflowProcessSorter Utility class to generate a togologically sorted list of Process nodes
      * @param flowFrameworkIndicesHandler Class to handle all internal system indices actions
+     * @param workflowExecutionRegistry the registry of workflow executions running on this node
+     * @param workflowJobQueue the queue of provision and deprovision jobs
+     * @param flowFrameworkStats the stats recording the latency of the workflow steps
      * @param flowFrameworkSettings The Flow Framework settings
      * @param encryptorUtils Utility class to handle encryption/decryption
      * @param pluginsService The Plugins Service
@@ -105,6 +123,9 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         SdkClient sdkClient,
         WorkflowProcessSorter workflowProcessSorter,
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
+        WorkflowExecutionRegistry workflowExecutionRegistry,
+        WorkflowJobQueue workflowJobQueue,
+        FlowFrameworkStats flowFrameworkStats,
         FlowFrameworkSettings flowFrameworkSettings,
         EncryptorUtils encryptorUtils,
         PluginsService pluginsService,
@@ -117,6 +138,9 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         this.sdkClient = sdkClient;
         this.workflowProcessSorter = workflowProcessSorter;
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
+        this.workflowExecutionRegistry = workflowExecutionRegistry;
+        this.workflowJobQueue = workflowJobQueue;
+        this.flowFrameworkStats = flowFrameworkStats;
         this.flowFrameworkSettings = flowFrameworkSettings;
         this.encryptorUtils = encryptorUtils;
         this.pluginsService = pluginsService;
@@ -133,9 +157,68 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         if (!TenantAwareHelper.validateTenantId(flowFrameworkSettings.isMultiTenancyEnabled(), tenantId, workflowListener)) {
             return;
         }
-        if (!TenantAwareHelper.tryAcquireProvision(flowFrameworkSettings.getMaxActiveProvisionsPerTenant(), tenantId, workflowListener)) {
+        if (workflowJobQueue.shouldQueue(request)) {
+            queueProvisionRequest(request, tenantId, workflowListener);
             return;
         }
+        // A queued provision starts on the thread that released a provision slot, so it must carry the context of this request
+        TenantAwareHelper.admitProvision(
+            flowFrameworkSettings,
+            tenantId,
+            workflowListener,
+            client.threadPool().getThreadContext().preserveContext(() -> executeAdmittedRequest(request, tenantId, workflowListener))
+        );
+    }
+
+    /**
+     * Queues a provision request as a job executed by any node with a free job slot, once access to the workflow is checked
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param listener the action listener, notified with the id of the queued job
+     */
+    private void queueProvisionRequest(WorkflowRequest request, String tenantId, ActionListener<WorkflowResponse> listener) {
+        String workflowId = request.getWorkflowId();
+        User user = getUserContext(client);
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            resolveUserAndExecute(
+                user,
+                workflowId,
+                tenantId,
+                filterByEnabled,
+                false,
+                flowFrameworkSettings.isMultiTenancyEnabled(),
+                listener,
+                () -> {
+                    context.restore();
+                    workflowJobQueue.enqueue(
+                        WorkflowJob.Type.PROVISION,
+                        workflowId,
+                        tenantId,
+                        request.getParams(),
+                        user,
+                        ActionListener.wrap(jobId -> listener.onResponse(new WorkflowResponse(workflowId, jobId)), listener::onFailure)
+                    );
+                },
+                client,
+                sdkClient,
+                clusterService,
+                xContentRegistry
+            );
+        } catch (Exception e) {
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("Failed to queue provisioning of workflow {}", workflowId)
+                .getFormattedMessage();
+            logger.error(errorMessage, e);
+            listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+        }
+    }
+
+    /**
+     * Execute a provision request that acquired a provision slot of its tenant
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param workflowListener the action listener
+     */
+    private void executeAdmittedRequest(WorkflowRequest request, String tenantId, ActionListener<WorkflowResponse> workflowListener) {
         ActionListener<WorkflowResponse> listener = TenantAwareHelper.releaseProvisionOnFailureListener(tenantId, workflowListener);
         String workflowId = request.getWorkflowId();
         User user = getUserContext(client);
@@ -151,7 +234,7 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
                 false,
                 flowFrameworkSettings.isMultiTenancyEnabled(),
                 listener,
-                () -> executeProvisionRequest(request, tenantId, listener, context),
+                fetchedDocument -> executeProvisionRequest(request, tenantId, listener, context, fetchedDocument),
                 client,
                 sdkClient,
                 clusterService,
@@ -180,14 +263,22 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
      * @param tenantId
      * @param listener the action listener
      * @param context the thread context
+     * @param fetchedDocument the template read to check access to the workflow, or null if access was not checked
      */
     private void executeProvisionRequest(
         WorkflowRequest request,
         String tenantId,
         ActionListener<WorkflowResponse> listener,
-        ThreadContext.StoredContext context
+        ThreadContext.StoredContext context,
+        FetchedDocument fetchedDocument
     ) {
         String workflowId = request.getWorkflowId();
+        if (fetchedDocument != null && fetchedDocument.template() != null) {
+            // The template was already read to check access, don't read it again
+            context.restore();
+            decryptAndProvisionTemplate(request, tenantId, fetchedDocument.template(), listener);
+            return;
+        }
         logger.info("Querying workflow from global context: {}", workflowId);
         flowFrameworkIndicesHandler.getTemplate(workflowId, tenantId, ActionListener.wrap(response -> {
             context.restore();
@@ -203,91 +294,8 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
             }
 
             // Parse template from document source
-            Template parsedTemplate = Template.parse(response.getSourceAsString());
-
-            // Decrypt template
-            final Template template = encryptorUtils.decryptTemplateCredentials(parsedTemplate);
-
-            // Sort and validate graph
-            Workflow provisionWorkflow = template.workflows().get(PROVISION_WORKFLOW);
-            List<ProcessNode> provisionProcessSequence = workflowProcessSorter.sortProcessNodes(
-                provisionWorkflow,
-                workflowId,
-                request.getParams(),
-                tenantId
-            );
-            workflowProcessSorter.validate(provisionProcessSequence, pluginsService);
-
-            flowFrameworkIndicesHandler.getProvisioningProgress(workflowId, tenantId, progress -> {
-                if (ProvisioningProgress.NOT_STARTED.equals(progress.orElse(null))) {
-                    // update state index
-                    flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
-                        workflowId,
-                        tenantId,
-                        Map.ofEntries(
-                            Map.entry(STATE_FIELD, State.PROVISIONING),
-                            Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.IN_PROGRESS),
-                            Map.entry(PROVISION_START_TIME_FIELD, Instant.now().toEpochMilli()),
-                            Map.entry(RESOURCES_CREATED_FIELD, Collections.emptyList())
-                        ),
-                        ActionListener.wrap(updateResponse -> {
-                            logger.info("updated workflow {} state to {}", request.getWorkflowId(), State.PROVISIONING);
-                            if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
-                                executeWorkflowAsync(workflowId, tenantId, provisionProcessSequence, listener);
-                            } else {
-                                executeWorkflowSync(
-                                    workflowId,
-                                    tenantId,
-                                    provisionProcessSequence,
-                                    listener,
-                                    request.getWaitForCompletionTimeout().getMillis()
-                                );
-                            }
-                            // update last provisioned field in template
-                            Template newTemplate = Template.builder(template).lastProvisionedTime(Instant.now()).build();
-                            flowFrameworkIndicesHandler.updateTemplateInGlobalContext(
-                                request.getWorkflowId(),
-                                newTemplate,
-                                ActionListener.wrap(templateResponse -> {
-                                    if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
-                                        listener.onResponse(new WorkflowResponse(request.getWorkflowId()));
-                                    } else {
-                                        logger.info("Waiting for workflow completion");
-                                    }
-                                }, exception -> {
-                                    String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
-                                        "Failed to update use case template {}",
-                                        request.getWorkflowId()
-                                    ).getFormattedMessage();
-                                    logger.error(errorMessage, exception);
-                                    if (exception instanceof FlowFrameworkException) {
-                                        listener.onFailure(exception);
-                                    } else {
-                                        listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-                                    }
-                                }),
-                                // We've already checked workflow is not started, ignore second check
-                                true
-                            );
-                        }, exception -> {
-                            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
-                                "Failed to update workflow state: {}",
-                                workflowId
-                            ).getFormattedMessage();
-                            logger.error(errorMessage, exception);
-                            listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-                        })
-                    );
-                } else {
-                    String errorMessage = "The workflow provisioning state is "
-                        + (progress.isPresent() ? progress.get().toString() : "unknown")
-                        + " and can not be provisioned unless its state is NOT_STARTED: "
-                        + workflowId
-                        + ". Deprovision the workflow to reset the state.";
-                    logger.info(errorMessage);
-                    listener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.BAD_REQUEST));
-                }
-            }, listener);
+            Template parsedTemplate = Template.parse(response.getSourceAsBytesRef());
+            decryptAndProvisionTemplate(request, tenantId, parsedTemplate, listener);
         }, exception -> {
             if (exception instanceof FlowFrameworkException) {
                 logger.error("Workflow validation failed for workflow {}", workflowId);
@@ -303,23 +311,323 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         }), context);
     }
 
+    /**
+     * Decrypts the credentials of a template, initializing the tenant's master key without blocking if needed, then provisions it
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param parsedTemplate the template read from the global context index
+     * @param listener the action listener
+     */
+    private void decryptAndProvisionTemplate(
+        WorkflowRequest request,
+        String tenantId,
+        Template parsedTemplate,
+        ActionListener<WorkflowResponse> listener
+    ) {
+        encryptorUtils.decryptTemplateCredentials(
+            parsedTemplate,
+            ActionListener.wrap(template -> provisionTemplate(request, tenantId, template, listener), exception -> {
+                String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                    "Failed to decrypt and provision template for workflow {}",
+                    request.getWorkflowId()
+                ).getFormattedMessage();
+                logger.error(errorMessage, exception);
+                if (exception instanceof FlowFrameworkException) {
+                    listener.onFailure(exception);
+                } else {
+                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                }
+            })
+        );
+    }
+
+    /**
+     * Sorts and validates the graph of a decrypted template, then updates the state index and executes the workflow
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param template the template with decrypted credentials
+     * @param listener the action listener
+     * @throws Exception if the workflow graph is invalid
+     */
+    private void provisionTemplate(WorkflowRequest request, String tenantId, Template template, ActionListener<WorkflowResponse> listener)
+        throws Exception {
+        String workflowId = request.getWorkflowId();
+        if (Boolean.parseBoolean(request.getParams().get(RESUME_PROVISION))) {
+            resumeTemplate(request, tenantId, template, listener);
+            return;
+        }
+        // Sort and validate graph, reusing the compiled plan of this template version if available
+        List<ProcessNode> provisionProcessSequence = workflowProcessSorter.createProvisionSequence(
+            workflowId,
+            template,
+            request.getParams(),
+            tenantId,
+            pluginsService
+        );
+
+        flowFrameworkIndicesHandler.getProvisioningProgress(workflowId, tenantId, progress -> {
+            if (ProvisioningProgress.NOT_STARTED.equals(progress.orElse(null))) {
+                Instant provisionStartTime = Instant.now();
+                // update state index
+                flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+                    workflowId,
+                    tenantId,
+                    Map.ofEntries(
+                        Map.entry(STATE_FIELD, State.PROVISIONING),
+                        Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.IN_PROGRESS),
+                        Map.entry(PROVISION_START_TIME_FIELD, provisionStartTime.toEpochMilli()),
+                        Map.entry(PROVISIONING_NODE_FIELD, clusterService.localNode().getId()),
+                        Map.entry(LAST_HEARTBEAT_TIME_FIELD, provisionStartTime.toEpochMilli()),
+                        Map.entry(RESOURCES_CREATED_FIELD, Collections.emptyList())
+                    ),
+                    ActionListener.wrap(updateResponse -> {
+                        logger.info("updated workflow {} state to {}", request.getWorkflowId(), State.PROVISIONING);
+                        startProvisioning(
+                            request,
+                            tenantId,
+                            template,
+                            provisionProcessSequence,
+                            provisionStartTime,
+                            Collections.emptyList(),
+                            listener
+                        );
+                    }, exception -> {
+                        String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                            "Failed to update workflow state: {}",
+                            workflowId
+                        ).getFormattedMessage();
+                        logger.error(errorMessage, exception);
+                        listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                    })
+                );
+            } else {
+                String errorMessage = "The workflow provisioning state is "
+                    + (progress.isPresent() ? progress.get().toString() : "unknown")
+                    + " and can not be provisioned unless its state is NOT_STARTED: "
+                    + workflowId
+                    + ". Deprovision the workflow to reset the state.";
+                logger.info(errorMessage);
+                listener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.BAD_REQUEST));
+            }
+        }, listener);
+    }
+
+    /**
+     * Resumes a failed provisioning of a decrypted template. Nodes whose resources were created are not executed again, only the
+     * failed node and the nodes which did not complete are. The state is only moved to PROVISIONING if it did not change since it was
+     * read as FAILED, so concurrent requests to resume the same provisioning don't both execute the remaining nodes.
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param template the template with decrypted credentials
+     * @param listener the action listener
+     */
+    private void resumeTemplate(WorkflowRequest request, String tenantId, Template template, ActionListener<WorkflowResponse> listener) {
+        String workflowId = request.getWorkflowId();
+        ActionListener<WorkflowResponse> failureHandlingListener = ActionListener.wrap(listener::onResponse, exception -> {
+            if (exception instanceof FlowFrameworkException) {
+                listener.onFailure(exception);
+            } else {
+                String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                    "Failed to resume provisioning of workflow {}",
+                    workflowId
+                ).getFormattedMessage();
+                logger.error(errorMessage, exception);
+                listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+            }
+        });
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            flowFrameworkIndicesHandler.getWorkflowStateDocument(workflowId, tenantId, ActionListener.wrap(getResponse -> {
+                WorkflowState stateDocument = WorkflowState.parse(getResponse.getSourceAsBytesRef());
+                if (!ProvisioningProgress.FAILED.name().equals(stateDocument.getProvisioningProgress())) {
+                    String errorMessage = "The workflow provisioning state is "
+                        + stateDocument.getProvisioningProgress()
+                        + " and can not be resumed unless its state is FAILED: "
+                        + workflowId;
+                    logger.info(errorMessage);
+                    listener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.BAD_REQUEST));
+                    return;
+                }
+                flowFrameworkIndicesHandler.addResourceDocuments(
+                    workflowId,
+                    tenantId,
+                    stateDocument,
+                    ActionListener.wrap(
+                        workflowState -> resumeFailedState(
+                            request,
+                            tenantId,
+                            template,
+                            workflowState,
+                            getResponse.getSeqNo(),
+                            getResponse.getPrimaryTerm(),
+                            failureHandlingListener
+                        ),
+                        failureHandlingListener::onFailure
+                    )
+                );
+            }, failureHandlingListener::onFailure), context);
+        }
+    }
+
+    /**
+     * Moves a failed state to PROVISIONING if it was not updated since it was read, then executes the nodes of the template which
+     * did not complete
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param template the template with decrypted credentials
+     * @param workflowState the failed state, including the resources stored as separate documents
+     * @param seqNo the sequence number of the state document when it was read
+     * @param primaryTerm the primary term of the state document when it was read
+     * @param listener the action listener, failed with a conflict if the state was updated since it was read
+     */
+    private void resumeFailedState(
+        WorkflowRequest request,
+        String tenantId,
+        Template template,
+        WorkflowState workflowState,
+        long seqNo,
+        long primaryTerm,
+        ActionListener<WorkflowResponse> listener
+    ) {
+        String workflowId = request.getWorkflowId();
+        List<ResourceCreated> resourcesCreated = workflowState.resourcesCreated() == null
+            ? Collections.emptyList()
+            : workflowState.resourcesCreated();
+        // A step which failed after recording its resource, such as a step completing after its node timed out, reuses that
+        // resource: executing it again would create a second resource for the step which deprovisioning would not remove
+        List<ProcessNode> resumeProcessSequence = workflowProcessSorter.createResumeSequence(
+            workflowId,
+            template,
+            request.getParams(),
+            resourcesCreated,
+            tenantId,
+            pluginsService
+        );
+
+        Instant provisionStartTime = Instant.now();
+        // Resources created are kept, the error of the failed provisioning is cleared
+        Map<String, Object> updatedFields = new HashMap<>();
+        updatedFields.put(STATE_FIELD, State.PROVISIONING);
+        updatedFields.put(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.IN_PROGRESS);
+        updatedFields.put(PROVISION_START_TIME_FIELD, provisionStartTime.toEpochMilli());
+        updatedFields.put(PROVISIONING_NODE_FIELD, clusterService.localNode().getId());
+        updatedFields.put(LAST_HEARTBEAT_TIME_FIELD, provisionStartTime.toEpochMilli());
+        updatedFields.put(ERROR_FIELD, null);
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            workflowId,
+            tenantId,
+            updatedFields,
+            seqNo,
+            primaryTerm,
+            ActionListener.wrap(updateResponse -> {
+                logger.info("updated workflow {} state to {} to resume provisioning", workflowId, State.PROVISIONING);
+                startProvisioning(request, tenantId, template, resumeProcessSequence, provisionStartTime, resourcesCreated, listener);
+            }, exception -> {
+                if (ExceptionsHelper.status(exception) == RestStatus.CONFLICT) {
+                    String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                        "The workflow state was updated since it was read, its provisioning may have been resumed already: {}",
+                        workflowId
+                    ).getFormattedMessage();
+                    logger.info(errorMessage);
+                    listener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.CONFLICT));
+                    return;
+                }
+                String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("Failed to update workflow state: {}", workflowId)
+                    .getFormattedMessage();
+                logger.error(errorMessage, exception);
+                listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+            })
+        );
+    }
+
+    /**
+     * Executes the process nodes of a template once its state is PROVISIONING, then updates its last provisioned time and responds
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param template the template with decrypted credentials
+     * @param processSequence the sorted process nodes to execute
+     * @param provisionStartTime the time provisioning started
+     * @param resourcesCreated the resources already created, when resuming provisioning
+     * @param listener the action listener
+     */
+    private void startProvisioning(
+        WorkflowRequest request,
+        String tenantId,
+        Template template,
+        List<ProcessNode> processSequence,
+        Instant provisionStartTime,
+        List<ResourceCreated> resourcesCreated,
+        ActionListener<WorkflowResponse> listener
+    ) {
+        String workflowId = request.getWorkflowId();
+        // Serve the state of this workflow from memory while it executes
+        workflowExecutionRegistry.register(workflowId, tenantId, provisionStartTime, resourcesCreated);
+        // List the run and its steps in the tasks API, and cancel them through it
+        WorkflowTask workflowTask = WorkflowTask.register(
+            taskManager,
+            clusterService.localNode().getId(),
+            ProvisionWorkflowAction.NAME,
+            workflowId
+        );
+        // Report the run as still executing in the state index until it ends
+        workflowExecutionRegistry.addRun(workflowId, tenantId);
+        workflowTask.addUnregisterListener(() -> workflowExecutionRegistry.removeRun(workflowId));
+        workflowTask.track(processSequence);
+        if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
+            executeWorkflowAsync(workflowId, tenantId, processSequence, workflowTask, listener);
+        } else {
+            executeWorkflowSync(
+                workflowId,
+                tenantId,
+                processSequence,
+                workflowTask,
+                listener,
+                request.getWaitForCompletionTimeout().getMillis()
+            );
+        }
+        // update last provisioned field in template
+        Template newTemplate = Template.builder(template).lastProvisionedTime(Instant.now()).build();
+        flowFrameworkIndicesHandler.updateTemplateInGlobalContext(workflowId, newTemplate, ActionListener.wrap(templateResponse -> {
+            if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
+                listener.onResponse(new WorkflowResponse(workflowId));
+            } else {
+                logger.info("Waiting for workflow completion");
+            }
+        }, exception -> {
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("Failed to update use case template {}", workflowId)
+                .getFormattedMessage();
+            logger.error(errorMessage, exception);
+            if (exception instanceof FlowFrameworkException) {
+                listener.onFailure(exception);
+            } else {
+                listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+            }
+        }),
+            // We've already checked workflow is not started, ignore second check
+            true
+        );
+    }
+
     /**
      * Retrieves a thread from the provision thread pool to execute a workflow
      * @param workflowId The id of the workflow
      * @param workflowSequence The sorted workflow to execute
+     * @param workflowTask The task of the workflow run
      * @param listener ActionListener for any failures that don't get caught earlier in below step
      */
     private void executeWorkflowAsync(
         String workflowId,
         String tenantId,
         List<ProcessNode> workflowSequence,
+        WorkflowTask workflowTask,
         ActionListener<WorkflowResponse> listener
     ) {
         try {
             client.threadPool().executor(PROVISION_WORKFLOW_THREAD_POOL).execute(() -> {
-                executeWorkflow(workflowSequence, workflowId, tenantId, listener, false);
+                executeWorkflow(workflowSequence, workflowId, tenantId, workflowTask, listener, false);
             });
         } catch (Exception exception) {
+            workflowExecutionRegistry.remove(workflowId);
+            workflowTask.unregister();
             listener.onFailure(new FlowFrameworkException("Failed to execute workflow " + workflowId, ExceptionsHelper.status(exception)));
         }
     }
@@ -330,6 +638,7 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
      *
      * @param workflowId The id of the workflow
      * @param workflowSequence The sorted workflow to execute
+     * @param workflowTask The task of the workflow run
      * @param listener ActionListener for any failures or responses
      * @param timeout The timeout duration in milliseconds
      */
@@ -337,6 +646,7 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         String workflowId,
         String tenantId,
         List<ProcessNode> workflowSequence,
+        WorkflowTask workflowTask,
         ActionListener<WorkflowResponse> listener,
         long timeout
     ) {
@@ -344,7 +654,7 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
 
         CompletableFuture.runAsync(() -> {
             try {
-                executeWorkflow(workflowSequence, workflowId, tenantId, new ActionListener<>() {
+                executeWorkflow(workflowSequence, workflowId, tenantId, workflowTask, new ActionListener<>() {
                     @Override
                     public void onResponse(WorkflowResponse workflowResponse) {
                         WorkflowTimeoutUtility.handleResponse(workflowId, workflowResponse, isResponseSent, listener);
@@ -364,10 +674,12 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
     }
 
     /**
-     * Executes the given workflow sequence
+     * Executes the given workflow sequence. Each process node is chained onto its predecessors' futures, and workflow completion
+     * is handled by listeners on the node futures, so no thread is held while steps are waiting on other nodes or plugins.
      * @param workflowSequence The topologically sorted workflow to execute
      * @param workflowId The workflowId associated with the workflow that is executing
      * @param tenantId The tenant id
+     * @param workflowTask The task of the workflow run, unregistered once the workflow completes or fails
      * @param listener The ActionListener to handle the workflow response or failure
      * @param isSyncExecution Flag indicating whether the workflow should be executed synchronously (true) or asynchronously (false)
      */
@@ -375,12 +687,13 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         List<ProcessNode> workflowSequence,
         String workflowId,
         String tenantId,
+        WorkflowTask workflowTask,
         ActionListener<WorkflowResponse> listener,
         boolean isSyncExecution
     ) {
-        String currentStepId = "";
+        AtomicInteger remainingSteps = new AtomicInteger(workflowSequence.size());
+        AtomicBoolean executionFailed = new AtomicBoolean(false);
         try {
-            Map<String, PlainActionFuture<?>> workflowFutureMap = new LinkedHashMap<>();
             for (ProcessNode processNode : workflowSequence) {
                 List<ProcessNode> predecessors = processNode.predecessors();
 
@@ -396,103 +709,173 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
                         )
                 );
 
-                workflowFutureMap.put(processNode.id(), processNode.execute());
+                // Completes the workflow once every step future has completed, or fails it on the first step completing exceptionally
+                ListenablePlainActionFuture.addListener(processNode.execute(), ActionListener.wrap(workflowData -> {
+                    if (remainingSteps.decrementAndGet() == 0) {
+                        workflowTask.unregister();
+                        handleWorkflowSuccess(workflowId, tenantId, workflowSequence, listener, isSyncExecution);
+                    }
+                }, ex -> {
+                    if (executionFailed.compareAndSet(false, true)) {
+                        workflowTask.unregister();
+                        handleWorkflowFailure(workflowId, tenantId, workflowSequence, processNode.id(), ex, listener, isSyncExecution);
+                    }
+                }), client.threadPool().executor(PROVISION_WORKFLOW_THREAD_POOL));
             }
-
-            // Attempt to complete each workflow step future, may throw a ExecutionException if any step completes exceptionally
-            for (Map.Entry<String, PlainActionFuture<?>> e : workflowFutureMap.entrySet()) {
-                currentStepId = e.getKey();
-                e.getValue().actionGet();
+            if (workflowSequence.isEmpty()) {
+                workflowTask.unregister();
+                handleWorkflowSuccess(workflowId, tenantId, workflowSequence, listener, isSyncExecution);
             }
-
-            logger.info("Provisioning completed successfully for workflow {}", workflowId);
-            // Need to call TenantAwareHelper.releaseProvision in cases listener.onFailure is not called
-            flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
-                workflowId,
-                tenantId,
-                Map.ofEntries(
-                    Map.entry(STATE_FIELD, State.COMPLETED),
-                    Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.DONE),
-                    Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
-                ),
-                ActionListener.wrap(updateResponse -> {
-                    logger.info("updated workflow {} state to {}", workflowId, State.COMPLETED);
-                    if (isSyncExecution) {
-                        client.execute(
-                            GetWorkflowStateAction.INSTANCE,
-                            new GetWorkflowStateRequest(workflowId, false, tenantId),
-                            ActionListener.wrap(response -> {
-                                // We've completed provisioning and responding synchronously
-                                TenantAwareHelper.releaseProvision(tenantId);
-                                listener.onResponse(new WorkflowResponse(workflowId, response.getWorkflowState()));
-                            }, exception -> {
-                                String errorMessage = "Failed to get workflow state.";
-                                logger.error(errorMessage, exception);
-                                if (exception instanceof FlowFrameworkException) {
-                                    listener.onFailure(exception);
-                                } else {
-                                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-                                }
-                            })
-                        );
-                    } else {
-                        // We've completed provisioning asynchronously
-                        TenantAwareHelper.releaseProvision(tenantId);
-                    }
-                }, exception -> {
-                    // We've completed provisioning asynchronously but failed state update
-                    TenantAwareHelper.releaseProvision(tenantId);
-                    logger.error("Failed to update workflow state for workflow {}", workflowId, exception);
-                })
-            );
         } catch (Exception ex) {
-            RestStatus status;
-            String message;
-            if (ex instanceof FlowFrameworkException) {
-                status = ((FlowFrameworkException) ex).getRestStatus();
-                message = ", " + ex.getMessage();
-            } else {
-                status = ExceptionsHelper.status(ex);
-                message = "";
+            if (executionFailed.compareAndSet(false, true)) {
+                workflowTask.unregister();
+                handleWorkflowFailure(workflowId, tenantId, workflowSequence, "", ex, listener, isSyncExecution);
             }
-            logger.error("Provisioning failed for workflow {} during step {}.", workflowId, currentStepId, ex);
-            Throwable cause = ex.getCause() == null ? ex : ex.getCause();
-            String errorMessage = cause.getClass().getSimpleName()
-                + " during step "
-                + currentStepId
-                + message
-                + ", restStatus: "
-                + status.toString();
-            flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
-                workflowId,
-                tenantId,
-                Map.ofEntries(
-                    Map.entry(STATE_FIELD, State.FAILED),
-                    Map.entry(ERROR_FIELD, errorMessage),
-                    Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.FAILED),
-                    Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
-                ),
-                ActionListener.wrap(updateResponse -> {
-                    logger.info("updated workflow {} state to {}", workflowId, State.FAILED);
-                    if (isSyncExecution) {
-                        listener.onFailure(new FlowFrameworkException(errorMessage, status));
-                    } else {
-                        TenantAwareHelper.releaseProvision(tenantId);
-                    }
-                }, exceptionState -> {
-                    logger.error("Failed to update workflow state for workflow {}", workflowId, exceptionState);
-                    if (isSyncExecution) {
-                        listener.onFailure(
-                            new FlowFrameworkException(
-                                errorMessage + ". Failed to update workflow state after execution failure.",
-                                RestStatus.INTERNAL_SERVER_ERROR
-                            )
-                        );
-                    } else {
-                        TenantAwareHelper.releaseProvision(tenantId);
-                    }
-                })
-            );
         }
     }
+
+    /**
+     * Updates the workflow state after all steps of the workflow completed successfully
+     * @param workflowId The workflowId associated with the workflow that is executing
+     * @param tenantId The tenant id
+     * @param workflowSequence The process nodes of the workflow
+     * @param listener The ActionListener to handle the workflow response or failure
+     * @param isSyncExecution Flag indicating whether the workflow should be executed synchronously (true) or asynchronously (false)
+     */
+    private void handleWorkflowSuccess(
+        String workflowId,
+        String tenantId,
+        List<ProcessNode> workflowSequence,
+        ActionListener<WorkflowResponse> listener,
+        boolean isSyncExecution
+    ) {
+        logger.info("Provisioning completed successfully for workflow {}", workflowId);
+        Instant provisionEndTime = Instant.now();
+        List<StepExecution> stepExecutions = ProcessNode.stepExecutions(
+            workflowSequence,
+            workflowExecutionRegistry.getStateWriteStartTimes(workflowId)
+        );
+        flowFrameworkStats.recordStepExecutions(stepExecutions);
+        workflowExecutionRegistry.end(workflowId, State.COMPLETED, ProvisioningProgress.DONE, null, provisionEndTime);
+        // Need to call TenantAwareHelper.releaseProvision in cases listener.onFailure is not called
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            workflowId,
+            tenantId,
+            Map.ofEntries(
+                Map.entry(STATE_FIELD, State.COMPLETED),
+                Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.DONE),
+                Map.entry(PROVISION_END_TIME_FIELD, provisionEndTime.toEpochMilli()),
+                Map.entry(STEP_EXECUTIONS_FIELD, stepExecutions)
+            ),
+            ActionListener.wrap(updateResponse -> {
+                logger.info("updated workflow {} state to {}", workflowId, State.COMPLETED);
+                workflowExecutionRegistry.remove(workflowId);
+                if (isSyncExecution) {
+                    client.execute(
+                        GetWorkflowStateAction.INSTANCE,
+                        new GetWorkflowStateRequest(workflowId, false, tenantId),
+                        ActionListener.wrap(response -> {
+                            // We've completed provisioning and responding synchronously
+                            TenantAwareHelper.releaseProvision(tenantId);
+                            listener.onResponse(new WorkflowResponse(workflowId, response.getWorkflowState()));
+                        }, exception -> {
+                            String errorMessage = "Failed to get workflow state.";
+                            logger.error(errorMessage, exception);
+                            if (exception instanceof FlowFrameworkException) {
+                                listener.onFailure(exception);
+                            } else {
+                                listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                            }
+                        })
+                    );
+                } else {
+                    // We've completed provisioning asynchronously
+                    TenantAwareHelper.releaseProvision(tenantId);
+                }
+            }, exception -> {
+                // We've completed provisioning asynchronously but failed state update
+                workflowExecutionRegistry.remove(workflowId);
+                TenantAwareHelper.releaseProvision(tenantId);
+                logger.error("Failed to update workflow state for workflow {}", workflowId, exception);
+            })
+        );
+    }
+
+    /**
+     * Updates the workflow state after a step of the workflow failed
+     * @param workflowId The workflowId associated with the workflow that is executing
+     * @param tenantId The tenant id
+     * @param workflowSequence The process nodes of the workflow
+     * @param currentStepId The id of the step which failed
+     * @param ex The exception thrown by the step
+     * @param listener The ActionListener to handle the workflow response or failure
+     * @param isSyncExecution Flag indicating whether the workflow should be executed synchronously (true) or asynchronously (false)
+     */
+    private void handleWorkflowFailure(
+        String workflowId,
+        String tenantId,
+        List<ProcessNode> workflowSequence,
+        String currentStepId,
+        Exception ex,
+        ActionListener<WorkflowResponse> listener,
+        boolean isSyncExecution
+    ) {
+        RestStatus status;
+        String message;
+        if (ex instanceof FlowFrameworkException) {
+            status = ((FlowFrameworkException) ex).getRestStatus();
+            message = ", " + ex.getMessage();
+        } else {
+            status = ExceptionsHelper.status(ex);
+            message = "";
+        }
+        logger.error("Provisioning failed for workflow {} during step {}.", workflowId, currentStepId, ex);
+        Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+        String errorMessage = cause.getClass().getSimpleName()
+            + " during step "
+            + currentStepId
+            + message
+            + ", restStatus: "
+            + status.toString();
+        Instant provisionEndTime = Instant.now();
+        List<StepExecution> stepExecutions = ProcessNode.stepExecutions(
+            workflowSequence,
+            workflowExecutionRegistry.getStateWriteStartTimes(workflowId)
+        );
+        flowFrameworkStats.recordStepExecutions(stepExecutions);
+        workflowExecutionRegistry.end(workflowId, State.FAILED, ProvisioningProgress.FAILED, errorMessage, provisionEndTime);
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            workflowId,
+            tenantId,
+            Map.ofEntries(
+                Map.entry(STATE_FIELD, State.FAILED),
+                Map.entry(ERROR_FIELD, errorMessage),
+                Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.FAILED),
+                Map.entry(PROVISION_END_TIME_FIELD, provisionEndTime.toEpochMilli()),
+                Map.entry(STEP_EXECUTIONS_FIELD, stepExecutions)
+            ),
+            ActionListener.wrap(updateResponse -> {
+                logger.info("updated workflow {} state to {}", workflowId, State.FAILED);
+                workflowExecutionRegistry.remove(workflowId);
+                if (isSyncExecution) {
+                    listener.onFailure(new FlowFrameworkException(errorMessage, status));
+                } else {
+                    TenantAwareHelper.releaseProvision(tenantId);
+                }
+            }, exceptionState -> {
+                logger.error("Failed to update workflow state for workflow {}", workflowId, exceptionState);
+                workflowExecutionRegistry.remove(workflowId);
+                if (isSyncExecution) {
+                    listener.onFailure(
+                        new FlowFrameworkException(
+                            errorMessage + ". Failed to update workflow state after execution failure.",
+                            RestStatus.INTERNAL_SERVER_ERROR
+                        )
+                    );
+                } else {
+                    TenantAwareHelper.releaseProvision(tenantId);
+                }
+            })
+        );
+    }
 }
@@ -14,7 +14,6 @@ import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
-import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
@@ -30,15 +29,20 @@ import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.ProvisioningProgress;
 import org.opensearch.flowframework.model.ResourceCreated;
 import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.StepExecution;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
 import org.opensearch.flowframework.util.EncryptorUtils;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.TenantAwareHelper;
 import org.opensearch.flowframework.util.WorkflowTimeoutUtility;
 import org.opensearch.flowframework.workflow.ProcessNode;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
 import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
 import org.opensearch.flowframework.workflow.WorkflowStepFactory;
+import org.opensearch.flowframework.workflow.WorkflowTask;
 import org.opensearch.plugins.PluginsService;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.tasks.Task;
@@ -48,15 +52,17 @@ import org.opensearch.transport.client.Client;
 
 import java.time.Instant;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.LAST_HEARTBEAT_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_NODE_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_PROGRESS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_END_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_START_TIME_FIELD;
@@ -64,6 +70,7 @@ import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.CommonValue.RESOURCES_CREATED_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_EXECUTIONS_FIELD;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.util.ParseUtils.getUserContext;
 import static org.opensearch.flowframework.util.ParseUtils.resolveUserAndExecute;
@@ -80,6 +87,8 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
     private final SdkClient sdkClient;
     private final WorkflowProcessSorter workflowProcessSorter;
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+    private final WorkflowExecutionRegistry workflowExecutionRegistry;
+    private final FlowFrameworkStats flowFrameworkStats;
     private final FlowFrameworkSettings flowFrameworkSettings;
     private final PluginsService pluginsService;
     private final EncryptorUtils encryptorUtils;
@@ -97,6 +106,8 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
      * @param workflowStepFactory The factory instantiating workflow steps
      * @param workflowProcessSorter Utility class to generate a togologically sorted list of Process nodes
      * @param flowFrameworkIndicesHandler Class to handle all internal system indices actions
+     * @param workflowExecutionRegistry the registry of workflow executions running on this node
+     * @param flowFrameworkStats the stats recording the latency of the workflow steps
      * @param flowFrameworkSettings Whether this API is enabled
      * @param encryptorUtils Utility class to handle encryption/decryption
      * @param pluginsService The Plugins Service
@@ -114,6 +125,8 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
         WorkflowStepFactory workflowStepFactory,
         WorkflowProcessSorter workflowProcessSorter,
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
+        WorkflowExecutionRegistry workflowExecutionRegistry,
+        FlowFrameworkStats flowFrameworkStats,
         FlowFrameworkSettings flowFrameworkSettings,
         EncryptorUtils encryptorUtils,
         PluginsService pluginsService,
@@ -127,6 +140,8 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
         this.sdkClient = sdkClient;
         this.workflowProcessSorter = workflowProcessSorter;
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
+        this.workflowExecutionRegistry = workflowExecutionRegistry;
+        this.flowFrameworkStats = flowFrameworkStats;
         this.flowFrameworkSettings = flowFrameworkSettings;
         this.encryptorUtils = encryptorUtils;
         this.pluginsService = pluginsService;
@@ -142,9 +157,26 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
         if (!TenantAwareHelper.validateTenantId(flowFrameworkSettings.isMultiTenancyEnabled(), tenantId, workflowListener)) {
             return;
         }
-        if (!TenantAwareHelper.tryAcquireProvision(flowFrameworkSettings.getMaxActiveProvisionsPerTenant(), tenantId, workflowListener)) {
-            return;
-        }
+        // A queued reprovision starts on the thread that released a provision slot, so it must carry the context of this request
+        TenantAwareHelper.admitProvision(
+            flowFrameworkSettings,
+            tenantId,
+            workflowListener,
+            client.threadPool().getThreadContext().preserveContext(() -> executeAdmittedRequest(request, tenantId, workflowListener))
+        );
+    }
+
+    /**
+     * Execute a reprovision request that acquired a provision slot of its tenant
+     * @param request the reprovision workflow request
+     * @param tenantId the tenant id
+     * @param workflowListener the action listener
+     */
+    private void executeAdmittedRequest(
+        ReprovisionWorkflowRequest request,
+        String tenantId,
+        ActionListener<WorkflowResponse> workflowListener
+    ) {
         ActionListener<WorkflowResponse> listener = TenantAwareHelper.releaseProvisionOnFailureListener(tenantId, workflowListener);
         String workflowId = request.getWorkflowId();
         User user = getUserContext(client);
@@ -257,13 +289,16 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
             }
 
             // Update State Index, maintain resources created for subsequent execution
+            Instant provisionStartTime = Instant.now();
             flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
                 workflowId,
                 tenantId,
                 Map.ofEntries(
                     Map.entry(STATE_FIELD, State.PROVISIONING),
                     Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.IN_PROGRESS),
-                    Map.entry(PROVISION_START_TIME_FIELD, Instant.now().toEpochMilli()),
+                    Map.entry(PROVISION_START_TIME_FIELD, provisionStartTime.toEpochMilli()),
+                    Map.entry(PROVISIONING_NODE_FIELD, clusterService.localNode().getId()),
+                    Map.entry(LAST_HEARTBEAT_TIME_FIELD, provisionStartTime.toEpochMilli()),
                     Map.entry(RESOURCES_CREATED_FIELD, resourceCreated)
                 ),
                 ActionListener.wrap(updateResponse -> {
@@ -274,13 +309,31 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
                     Template updatedTemplateWithProvisionedTime = Template.builder(updatedTemplate)
                         .lastProvisionedTime(Instant.now())
                         .build();
+                    // List the run and its steps in the tasks API, and cancel them through it
+                    WorkflowTask workflowTask = WorkflowTask.register(
+                        taskManager,
+                        clusterService.localNode().getId(),
+                        ReprovisionWorkflowAction.NAME,
+                        workflowId
+                    );
+                    // Report the run as still executing in the state index until it ends
+                    workflowExecutionRegistry.addRun(workflowId, tenantId);
+                    workflowTask.addUnregisterListener(() -> workflowExecutionRegistry.removeRun(workflowId));
+                    workflowTask.track(reprovisionProcessSequence);
                     if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
-                        executeWorkflowAsync(workflowId, updatedTemplateWithProvisionedTime, reprovisionProcessSequence, listener);
+                        executeWorkflowAsync(
+                            workflowId,
+                            updatedTemplateWithProvisionedTime,
+                            reprovisionProcessSequence,
+                            workflowTask,
+                            listener
+                        );
                     } else {
                         executeWorkflowSync(
                             workflowId,
                             updatedTemplate,
                             reprovisionProcessSequence,
+                            workflowTask,
                             listener,
                             request.getWaitForCompletionTimeout().getMillis()
                         );
@@ -318,20 +371,23 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
      * @param workflowId The id of the workflow
      * @param template The updated template to store upon successful execution
      * @param workflowSequence The sorted workflow to execute
+     * @param workflowTask The task of the workflow run
      * @param listener ActionListener for any failures that don't get caught earlier in below step
      */
     private void executeWorkflowAsync(
         String workflowId,
         Template template,
         List<ProcessNode> workflowSequence,
+        WorkflowTask workflowTask,
         ActionListener<WorkflowResponse> listener
     ) {
         try {
             threadPool.executor(PROVISION_WORKFLOW_THREAD_POOL).execute(() -> {
                 updateTemplate(template, workflowId);
-                executeWorkflow(template, workflowSequence, workflowId, listener, false);
+                executeWorkflow(template, workflowSequence, workflowId, workflowTask, listener, false);
             });
         } catch (Exception exception) {
+            workflowTask.unregister();
             listener.onFailure(new FlowFrameworkException("Failed to execute workflow " + workflowId, ExceptionsHelper.status(exception)));
         }
     }
@@ -340,6 +396,7 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
         String workflowId,
         Template template,
         List<ProcessNode> workflowSequence,
+        WorkflowTask workflowTask,
         ActionListener<WorkflowResponse> listener,
         long timeout
     ) {
@@ -347,7 +404,7 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
         CompletableFuture.runAsync(() -> {
             try {
                 updateTemplate(template, workflowId);
-                executeWorkflow(template, workflowSequence, workflowId, new ActionListener<>() {
+                executeWorkflow(template, workflowSequence, workflowId, workflowTask, new ActionListener<>() {
                     @Override
                     public void onResponse(WorkflowResponse workflowResponse) {
                         WorkflowTimeoutUtility.handleResponse(workflowId, workflowResponse, isResponseSent, listener);
@@ -387,21 +444,26 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
     }
 
     /**
-     * Executes the given workflow sequence
+     * Executes the given workflow sequence. Each process node is chained onto its predecessors' futures, and workflow completion
+     * is handled by listeners on the node futures, so no thread is held while steps are waiting on other nodes or plugins.
      * @param template The template to store after reprovisioning completes successfully
      * @param workflowSequence The topologically sorted workflow to execute
      * @param workflowId The workflowId associated with the workflow that is executing
+     * @param workflowTask The task of the workflow run, unregistered once the workflow completes or fails
+     * @param listener The ActionListener to handle the workflow response or failure
+     * @param isSyncExecution Flag indicating whether the workflow should be executed synchronously (true) or asynchronously (false)
      */
     private void executeWorkflow(
         Template template,
         List<ProcessNode> workflowSequence,
         String workflowId,
+        WorkflowTask workflowTask,
         ActionListener<WorkflowResponse> listener,
         boolean isSyncExecution
     ) {
-        String currentStepId = "";
+        AtomicInteger remainingSteps = new AtomicInteger(workflowSequence.size());
+        AtomicBoolean executionFailed = new AtomicBoolean(false);
         try {
-            Map<String, PlainActionFuture<?>> workflowFutureMap = new LinkedHashMap<>();
             for (ProcessNode processNode : workflowSequence) {
                 List<ProcessNode> predecessors = processNode.predecessors();
                 logger.info(
@@ -417,101 +479,157 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
                         )
                 );
 
-                workflowFutureMap.put(processNode.id(), processNode.execute());
+                // Completes the workflow once every step future has completed, or fails it on the first step completing exceptionally
+                ListenablePlainActionFuture.addListener(processNode.execute(), ActionListener.wrap(workflowData -> {
+                    if (remainingSteps.decrementAndGet() == 0) {
+                        workflowTask.unregister();
+                        handleWorkflowSuccess(template, workflowId, workflowSequence, listener, isSyncExecution);
+                    }
+                }, ex -> {
+                    if (executionFailed.compareAndSet(false, true)) {
+                        workflowTask.unregister();
+                        handleWorkflowFailure(template, workflowId, workflowSequence, processNode.id(), ex, listener, isSyncExecution);
+                    }
+                }), threadPool.executor(PROVISION_WORKFLOW_THREAD_POOL));
             }
-
-            // Attempt to complete each workflow step future, may throw a ExecutionException if any step completes exceptionally
-            for (Map.Entry<String, PlainActionFuture<?>> e : workflowFutureMap.entrySet()) {
-                currentStepId = e.getKey();
-                e.getValue().actionGet();
+            if (workflowSequence.isEmpty()) {
+                workflowTask.unregister();
+                handleWorkflowSuccess(template, workflowId, workflowSequence, listener, isSyncExecution);
             }
-
-            logger.info("Reprovisioning completed successfully for workflow {}", workflowId);
-            // Need to call TenantAwareHelper.releaseProvision in cases listener.onFailure is not called
-            String tenantId = template.getTenantId();
-            flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
-                workflowId,
-                tenantId,
-                Map.ofEntries(
-                    Map.entry(STATE_FIELD, State.COMPLETED),
-                    Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.DONE),
-                    Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
-                ),
-                ActionListener.wrap(updateResponse -> {
-
-                    logger.info("updated workflow {} state to {}", workflowId, State.COMPLETED);
-                    if (isSyncExecution) {
-                        client.execute(
-                            GetWorkflowStateAction.INSTANCE,
-                            new GetWorkflowStateRequest(workflowId, false, template.getTenantId()),
-                            ActionListener.wrap(response -> {
-                                // We've completed provisioning and responding synchronously
-                                TenantAwareHelper.releaseProvision(tenantId);
-                                listener.onResponse(new WorkflowResponse(workflowId, response.getWorkflowState()));
-                            }, exception -> {
-                                String errorMessage = "Failed to get workflow state.";
-                                logger.error(errorMessage, exception);
-                                if (exception instanceof FlowFrameworkException) {
-                                    listener.onFailure(exception);
-                                } else {
-                                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-                                }
-                            })
-                        );
-                    } else {
-                        // We've completed provisioning asynchronously
-                        TenantAwareHelper.releaseProvision(tenantId);
-                    }
-                }, exception -> {
-                    // We've completed provisioning asynchronously but failed state update
-                    TenantAwareHelper.releaseProvision(tenantId);
-                    logger.error("Failed to update workflow state for workflow {}", workflowId, exception);
-                })
-            );
         } catch (Exception ex) {
-            RestStatus status;
-            if (ex instanceof FlowFrameworkException) {
-                status = ((FlowFrameworkException) ex).getRestStatus();
-            } else {
-                status = ExceptionsHelper.status(ex);
+            if (executionFailed.compareAndSet(false, true)) {
+                workflowTask.unregister();
+                handleWorkflowFailure(template, workflowId, workflowSequence, "", ex, listener, isSyncExecution);
             }
-            logger.error("Reprovisioning failed for workflow {} during step {}.", workflowId, currentStepId, ex);
-            String errorMessage = (ex.getCause() == null ? ex.getMessage() : ex.getCause().getClass().getName())
-                + " during step "
-                + currentStepId
-                + ", restStatus: "
-                + status.toString();
-            flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
-                workflowId,
-                template.getTenantId(),
-                Map.ofEntries(
-                    Map.entry(STATE_FIELD, State.FAILED),
-                    Map.entry(ERROR_FIELD, errorMessage),
-                    Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.FAILED),
-                    Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
-                ),
-                ActionListener.wrap(updateResponse -> {
-                    logger.info("updated workflow {} state to {}", workflowId, State.FAILED);
-                    if (isSyncExecution) {
-                        listener.onFailure(new FlowFrameworkException(errorMessage, status));
-                    } else {
-                        TenantAwareHelper.releaseProvision(template.getTenantId());
-                    }
-                }, exceptionState -> {
-                    logger.error("Failed to update workflow state for workflow {}", workflowId, exceptionState);
-                    if (isSyncExecution) {
-                        listener.onFailure(
-                            new FlowFrameworkException(
-                                errorMessage + ". Failed to update workflow state after execution failure.",
-                                RestStatus.INTERNAL_SERVER_ERROR
-                            )
-                        );
-                    } else {
-                        TenantAwareHelper.releaseProvision(template.getTenantId());
-                    }
-                })
-            );
         }
     }
 
+    /**
+     * Updates the workflow state after all steps of the workflow completed successfully
+     * @param template The template to store after reprovisioning completes successfully
+     * @param workflowId The workflowId associated with the workflow that is executing
+     * @param workflowSequence The process nodes of the workflow
+     * @param listener The ActionListener to handle the workflow response or failure
+     * @param isSyncExecution Flag indicating whether the workflow should be executed synchronously (true) or asynchronously (false)
+     */
+    private void handleWorkflowSuccess(
+        Template template,
+        String workflowId,
+        List<ProcessNode> workflowSequence,
+        ActionListener<WorkflowResponse> listener,
+        boolean isSyncExecution
+    ) {
+        logger.info("Reprovisioning completed successfully for workflow {}", workflowId);
+        // Need to call TenantAwareHelper.releaseProvision in cases listener.onFailure is not called
+        String tenantId = template.getTenantId();
+        List<StepExecution> stepExecutions = ProcessNode.stepExecutions(workflowSequence);
+        flowFrameworkStats.recordStepExecutions(stepExecutions);
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            workflowId,
+            tenantId,
+            Map.ofEntries(
+                Map.entry(STATE_FIELD, State.COMPLETED),
+                Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.DONE),
+                Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli()),
+                Map.entry(STEP_EXECUTIONS_FIELD, stepExecutions)
+            ),
+            ActionListener.wrap(updateResponse -> {
+
+                logger.info("updated workflow {} state to {}", workflowId, State.COMPLETED);
+                if (isSyncExecution) {
+                    client.execute(
+                        GetWorkflowStateAction.INSTANCE,
+                        new GetWorkflowStateRequest(workflowId, false, template.getTenantId()),
+                        ActionListener.wrap(response -> {
+                            // We've completed provisioning and responding synchronously
+                            TenantAwareHelper.releaseProvision(tenantId);
+                            listener.onResponse(new WorkflowResponse(workflowId, response.getWorkflowState()));
+                        }, exception -> {
+                            String errorMessage = "Failed to get workflow state.";
+                            logger.error(errorMessage, exception);
+                            if (exception instanceof FlowFrameworkException) {
+                                listener.onFailure(exception);
+                            } else {
+                                listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                            }
+                        })
+                    );
+                } else {
+                    // We've completed provisioning asynchronously
+                    TenantAwareHelper.releaseProvision(tenantId);
+                }
+            }, exception -> {
+                // We've completed provisioning asynchronously but failed state update
+                TenantAwareHelper.releaseProvision(tenantId);
+                logger.error("Failed to update workflow state for workflow {}", workflowId, exception);
+            })
+        );
+    }
+
+    /**
+     * Updates the workflow state after a step of the workflow failed
+     * @param template The template being reprovisioned
+     * @param workflowId The workflowId associated with the workflow that is executing
+     * @param workflowSequence The process nodes of the workflow
+     * @param currentStepId The id of the step which failed
+     * @param ex The exception thrown by the step
+     * @param listener The ActionListener to handle the workflow response or failure
+     * @param isSyncExecution Flag indicating whether the workflow should be executed synchronously (true) or asynchronously (false)
+     */
+    private void handleWorkflowFailure(
+        Template template,
+        String workflowId,
+        List<ProcessNode> workflowSequence,
+        String currentStepId,
+        Exception ex,
+        ActionListener<WorkflowResponse> listener,
+        boolean isSyncExecution
+    ) {
+        RestStatus status;
+        if (ex instanceof FlowFrameworkException) {
+            status = ((FlowFrameworkException) ex).getRestStatus();
+        } else {
+            status = ExceptionsHelper.status(ex);
+        }
+        logger.error("Reprovisioning failed for workflow {} during step {}.", workflowId, currentStepId, ex);
+        String errorMessage = (ex.getCause() == null ? ex.getMessage() : ex.getCause().getClass().getName())
+            + " during step "
+            + currentStepId
+            + ", restStatus: "
+            + status.toString();
+        List<StepExecution> stepExecutions = ProcessNode.stepExecutions(workflowSequence);
+        flowFrameworkStats.recordStepExecutions(stepExecutions);
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            workflowId,
+            template.getTenantId(),
+            Map.ofEntries(
+                Map.entry(STATE_FIELD, State.FAILED),
+                Map.entry(ERROR_FIELD, errorMessage),
+                Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.FAILED),
+                Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli()),
+                Map.entry(STEP_EXECUTIONS_FIELD, stepExecutions)
+            ),
+            ActionListener.wrap(updateResponse -> {
+                logger.info("updated workflow {} state to {}", workflowId, State.FAILED);
+                if (isSyncExecution) {
+                    listener.onFailure(new FlowFrameworkException(errorMessage, status));
+                } else {
+                    TenantAwareHelper.releaseProvision(template.getTenantId());
+                }
+            }, exceptionState -> {
+                logger.error("Failed to update workflow state for workflow {}", workflowId, exceptionState);
+                if (isSyncExecution) {
+                    listener.onFailure(
+                        new FlowFrameworkException(
+                            errorMessage + ". Failed to update workflow state after execution failure.",
+                            RestStatus.INTERNAL_SERVER_ERROR
+                        )
+                    );
+                } else {
+                    TenantAwareHelper.releaseProvision(template.getTenantId());
+                }
+            })
+        );
+    }
+
 }
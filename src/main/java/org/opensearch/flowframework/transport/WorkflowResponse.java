@@ -19,6 +19,7 @@ import org.opensearch.flowframework.model.WorkflowState;
 
 import java.io.IOException;
 
+import static org.opensearch.flowframework.common.CommonValue.JOB_ID;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID;
 
 /**
@@ -32,6 +33,8 @@ public class WorkflowResponse extends ActionResponse implements ToXContentObject
     private String workflowId;
     /** The workflow state */
     private WorkflowState workflowState;
+    /** The ID of the job queued to provision or deprovision the workflow */
+    private String jobId;
 
     /**
      * Instantiates a new WorkflowResponse from params
@@ -52,7 +55,9 @@ public class WorkflowResponse extends ActionResponse implements ToXContentObject
         if (in.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             this.workflowState = in.readOptionalWriteable(WorkflowState::new);
         }
-
+        if (in.getVersion().onOrAfter(CommonValue.VERSION_3_1_0)) {
+            this.jobId = in.readOptionalString();
+        }
     }
 
     /**
@@ -72,6 +77,25 @@ public class WorkflowResponse extends ActionResponse implements ToXContentObject
         return this.workflowState;
     }
 
+    /**
+     * Gets the ID of the job queued to provision or deprovision the workflow
+     * @return the jobId, or null if the request was not queued
+     */
+    @Nullable
+    public String getJobId() {
+        return this.jobId;
+    }
+
+    /**
+     * Instantiates a new WorkflowResponse for a request queued as a job in the workflow jobs index
+     * @param workflowId the documentId of the indexed use case template
+     * @param jobId the documentId of the queued job
+     */
+    public WorkflowResponse(String workflowId, String jobId) {
+        this.workflowId = workflowId;
+        this.jobId = jobId;
+    }
+
     /**
      * Constructs a new WorkflowResponse object with the specified workflowId and workflowState.
      * The WorkflowResponse is typically returned as part of a `wait_for_completion` request,
@@ -97,15 +121,21 @@ public class WorkflowResponse extends ActionResponse implements ToXContentObject
         if (out.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             out.writeOptionalWriteable(workflowState);
         }
+        if (out.getVersion().onOrAfter(CommonValue.VERSION_3_1_0)) {
+            out.writeOptionalString(jobId);
+        }
     }
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         if (workflowState != null) {
             return workflowState.toXContent(builder, params);
-        } else {
-            return builder.startObject().field(WORKFLOW_ID, this.workflowId).endObject();
         }
+        XContentBuilder xContentBuilder = builder.startObject().field(WORKFLOW_ID, this.workflowId);
+        if (jobId != null) {
+            xContentBuilder.field(JOB_ID, jobId);
+        }
+        return xContentBuilder.endObject();
     }
 
 }
@@ -50,7 +50,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiFunction;
 
 import com.amazonaws.encryptionsdk.AwsCrypto;
 import com.amazonaws.encryptionsdk.CommitmentPolicy;
@@ -78,11 +77,16 @@ public class EncryptorUtils {
     // concurrent map can't have null as a key. This key is to support single tenancy
     private static final String DEFAULT_TENANT_ID = "";
 
+    // Timeout when synchronously waiting for a master key to be initialized
+    private static final long MASTER_KEY_INIT_TIMEOUT_SECONDS = 5;
+
     private final ClusterService clusterService;
     private final Client client;
     private final SdkClient sdkClient;
-    private final Map<String, String> tenantMasterKeys;
+    private final Map<String, TenantMasterKey> tenantMasterKeys;
     private final NamedXContentRegistry xContentRegistry;
+    // AwsCrypto is immutable and thread safe, so a single instance serves all tenants
+    private final AwsCrypto crypto = AwsCrypto.builder().withCommitmentPolicy(CommitmentPolicy.RequireEncryptRequireDecrypt).build();
 
     /**
      * Instantiates a new EncryptorUtils object
@@ -105,7 +109,7 @@ public class EncryptorUtils {
      * @param masterKey the master key
      */
     void setMasterKey(@Nullable String tenantId, String masterKey) {
-        this.tenantMasterKeys.put(Objects.requireNonNullElse(tenantId, DEFAULT_TENANT_ID), masterKey);
+        this.tenantMasterKeys.put(Objects.requireNonNullElse(tenantId, DEFAULT_TENANT_ID), new TenantMasterKey(masterKey));
     }
 
     /**
@@ -114,7 +118,8 @@ public class EncryptorUtils {
      * @return the master key
      */
     String getMasterKey(@Nullable String tenantId) {
-        return tenantMasterKeys.get(Objects.requireNonNullElse(tenantId, DEFAULT_TENANT_ID));
+        TenantMasterKey tenantMasterKey = tenantMasterKeys.get(Objects.requireNonNullElse(tenantId, DEFAULT_TENANT_ID));
+        return tenantMasterKey == null ? null : tenantMasterKey.masterKey;
     }
 
     /**
@@ -128,41 +133,98 @@ public class EncryptorUtils {
     }
 
     /**
-     * Encrypts template credentials
+     * Encrypts template credentials, blocking if the master key has not been initialized
      * @param template the template to encrypt
      * @return template with encrypted credentials
      */
     public Template encryptTemplateCredentials(Template template) {
-        return processTemplateCredentials(template, this::encrypt);
+        return processTemplateCredentials(template, this::encrypt, () -> awaitMasterKey(template.getTenantId()));
+    }
+
+    /**
+     * Encrypts template credentials once the master key is initialized
+     * @param template the template to encrypt
+     * @param listener listener completed with the template with encrypted credentials
+     */
+    public void encryptTemplateCredentials(Template template, ActionListener<Template> listener) {
+        processTemplateCredentials(template, this::encrypt, listener);
     }
 
     /**
-     * Decrypts template credentials
+     * Decrypts template credentials, blocking if the master key has not been initialized
      * @param template the template to decrypt
      * @return template with decrypted credentials
      */
     public Template decryptTemplateCredentials(Template template) {
-        return processTemplateCredentials(template, this::decrypt);
+        return processTemplateCredentials(template, this::decrypt, () -> awaitMasterKey(template.getTenantId()));
+    }
+
+    /**
+     * Decrypts template credentials once the master key is initialized
+     * @param template the template to decrypt
+     * @param listener listener completed with the template with decrypted credentials
+     */
+    public void decryptTemplateCredentials(Template template, ActionListener<Template> listener) {
+        processTemplateCredentials(template, this::decrypt, listener);
+    }
+
+    private void processTemplateCredentials(Template template, CipherFunction cipherFunction, ActionListener<Template> listener) {
+        if (!hasCredentials(template)) {
+            listener.onResponse(template);
+            return;
+        }
+        initializeMasterKeyIfAbsent(template.getTenantId()).whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                listener.onFailure(SdkClientUtils.unwrapAndConvertToException(throwable));
+                return;
+            }
+            Template processedTemplate;
+            try {
+                processedTemplate = processTemplateCredentials(template, cipherFunction, () -> {});
+            } catch (Exception e) {
+                listener.onFailure(e);
+                return;
+            }
+            listener.onResponse(processedTemplate);
+        });
+    }
+
+    private static boolean hasCredentials(Template template) {
+        for (Workflow workflow : template.workflows().values()) {
+            for (WorkflowNode node : workflow.nodes()) {
+                if (node.userInputs().containsKey(CREDENTIAL_FIELD)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     // TODO : Improve processTemplateCredentials to encrypt different fields based on the WorkflowStep type
     /**
-     * Applies the given cipher function on template credentials
+     * Applies the given cipher function on all template credentials in one pass, using the tenant's master key
      * @param template the template to process
      * @param cipherFunction the encryption/decryption function to apply on credential values
+     * @param masterKeyInitializer ensures the master key is initialized, invoked only if the template has credentials
      * @return template with encrypted credentials
      */
-    private Template processTemplateCredentials(Template template, BiFunction<String, String, String> cipherFunction) {
+    private Template processTemplateCredentials(Template template, CipherFunction cipherFunction, Runnable masterKeyInitializer) {
+        JceMasterKey jceMasterKey = null;
         Map<String, Workflow> processedWorkflows = new HashMap<>();
         for (Map.Entry<String, Workflow> entry : template.workflows().entrySet()) {
 
             List<WorkflowNode> processedNodes = new ArrayList<>();
             for (WorkflowNode node : entry.getValue().nodes()) {
                 if (node.userInputs().containsKey(CREDENTIAL_FIELD)) {
+                    if (jceMasterKey == null) {
+                        masterKeyInitializer.run();
+                        jceMasterKey = getJceMasterKey(template.getTenantId());
+                    }
                     // Apply the cipher funcion on all values within credential field
                     @SuppressWarnings("unchecked")
                     Map<String, String> credentials = new HashMap<>((Map<String, String>) node.userInputs().get(CREDENTIAL_FIELD));
-                    credentials.replaceAll((key, cred) -> cipherFunction.apply(cred, template.getTenantId()));
+                    final JceMasterKey masterKey = jceMasterKey;
+                    credentials.replaceAll((key, cred) -> cipherFunction.apply(cred, masterKey));
 
                     // Replace credentials field in node user inputs
                     Map<String, Object> processedUserInputs = new HashMap<>();
@@ -196,20 +258,11 @@ public class EncryptorUtils {
      * @return the encrypted credential
      */
     String encrypt(final String credential, @Nullable String tenantId) {
-        CountDownLatch latch = new CountDownLatch(1);
-        initializeMasterKeyIfAbsent(tenantId).whenComplete((v, throwable) -> latch.countDown());
-        try {
-            if (!latch.await(5, TimeUnit.SECONDS)) {
-                throw new FlowFrameworkException("Timeout while initializing master key", RestStatus.INTERNAL_SERVER_ERROR);
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new FlowFrameworkException("Interrupted while initializing master key", RestStatus.REQUEST_TIMEOUT);
-        }
+        awaitMasterKey(tenantId);
+        return encrypt(credential, getJceMasterKey(tenantId));
+    }
 
-        final AwsCrypto crypto = AwsCrypto.builder().withCommitmentPolicy(CommitmentPolicy.RequireEncryptRequireDecrypt).build();
-        byte[] bytes = Base64.getDecoder().decode(getMasterKey(tenantId));
-        JceMasterKey jceMasterKey = JceMasterKey.getInstance(new SecretKeySpec(bytes, ALGORITHM), PROVIDER, "", WRAPPING_ALGORITHM);
+    private String encrypt(final String credential, JceMasterKey jceMasterKey) {
         final CryptoResult<byte[], JceMasterKey> encryptResult = crypto.encryptData(
             jceMasterKey,
             credential.getBytes(StandardCharsets.UTF_8)
@@ -224,25 +277,44 @@ public class EncryptorUtils {
      * @return the decrypted credential
      */
     String decrypt(final String encryptedCredential, @Nullable String tenantId) {
+        awaitMasterKey(tenantId);
+        return decrypt(encryptedCredential, getJceMasterKey(tenantId));
+    }
+
+    private String decrypt(final String encryptedCredential, JceMasterKey jceMasterKey) {
+        final CryptoResult<byte[], JceMasterKey> decryptedResult = crypto.decryptData(
+            jceMasterKey,
+            Base64.getDecoder().decode(encryptedCredential)
+        );
+        return new String(decryptedResult.getResult(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Blocks until the master key of a tenant is initialized. Returns immediately if the key is already cached.
+     * @param tenantId The tenant id. If null, waits for the key of the default tenant id.
+     */
+    private void awaitMasterKey(@Nullable String tenantId) {
+        if (this.tenantMasterKeys.containsKey(Objects.requireNonNullElse(tenantId, DEFAULT_TENANT_ID))) {
+            return;
+        }
         CountDownLatch latch = new CountDownLatch(1);
         initializeMasterKeyIfAbsent(tenantId).whenComplete((v, throwable) -> latch.countDown());
         try {
-            if (!latch.await(5, TimeUnit.SECONDS)) {
+            if (!latch.await(MASTER_KEY_INIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
                 throw new FlowFrameworkException("Timeout while initializing master key", RestStatus.INTERNAL_SERVER_ERROR);
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new FlowFrameworkException("Interrupted while initializing master key", RestStatus.REQUEST_TIMEOUT);
         }
-        final AwsCrypto crypto = AwsCrypto.builder().withCommitmentPolicy(CommitmentPolicy.RequireEncryptRequireDecrypt).build();
-        byte[] bytes = Base64.getDecoder().decode(getMasterKey(tenantId));
-        JceMasterKey jceMasterKey = JceMasterKey.getInstance(new SecretKeySpec(bytes, ALGORITHM), PROVIDER, "", WRAPPING_ALGORITHM);
+    }
 
-        final CryptoResult<byte[], JceMasterKey> decryptedResult = crypto.decryptData(
-            jceMasterKey,
-            Base64.getDecoder().decode(encryptedCredential)
-        );
-        return new String(decryptedResult.getResult(), StandardCharsets.UTF_8);
+    private JceMasterKey getJceMasterKey(@Nullable String tenantId) {
+        TenantMasterKey tenantMasterKey = tenantMasterKeys.get(Objects.requireNonNullElse(tenantId, DEFAULT_TENANT_ID));
+        if (tenantMasterKey == null) {
+            throw new FlowFrameworkException("Master key has not been initialized", RestStatus.INTERNAL_SERVER_ERROR);
+        }
+        return tenantMasterKey.jceMasterKey;
     }
 
     // TODO : Improve redactTemplateCredentials to redact different fields
@@ -428,4 +500,22 @@ public class EncryptorUtils {
         }
     }
 
+    @FunctionalInterface
+    private interface CipherFunction {
+        String apply(String value, JceMasterKey jceMasterKey);
+    }
+
+    /**
+     * A tenant's master key along with the key provider built from it, which is immutable and reused for every credential
+     */
+    private static class TenantMasterKey {
+        private final String masterKey;
+        private final JceMasterKey jceMasterKey;
+
+        TenantMasterKey(String masterKey) {
+            this.masterKey = masterKey;
+            byte[] bytes = Base64.getDecoder().decode(masterKey);
+            this.jceMasterKey = JceMasterKey.getInstance(new SecretKeySpec(bytes, ALGORITHM), PROVIDER, "", WRAPPING_ALGORITHM);
+        }
+    }
 }
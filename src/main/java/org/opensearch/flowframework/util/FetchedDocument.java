@@ -0,0 +1,48 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.opensearch.flowframework.model.Template;
+import org.opensearch.flowframework.model.WorkflowState;
+
+/**
+ * A template or workflow state document read and parsed while checking access to a workflow in
+ * {@link ParseUtils#resolveUserAndExecute}, handed to the request so it does not read the same document again.
+ */
+public class FetchedDocument {
+
+    private final Template template;
+    private final WorkflowState workflowState;
+
+    /**
+     * Instantiate this class
+     * @param template the template read from the global context index, or null if the workflow state was read
+     * @param workflowState the workflow state read from the state index, or null if the template was read
+     */
+    public FetchedDocument(Template template, WorkflowState workflowState) {
+        this.template = template;
+        this.workflowState = workflowState;
+    }
+
+    /**
+     * Gets the template
+     * @return the template, or null if the workflow state was read
+     */
+    public Template template() {
+        return template;
+    }
+
+    /**
+     * Gets the workflow state
+     * @return the workflow state, or null if the template was read
+     */
+    public WorkflowState workflowState() {
+        return workflowState;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.util.concurrent.FutureUtils;
+import org.opensearch.core.action.ActionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PlainActionFuture} which notifies registered listeners on completion, so callers can chain work onto it instead of
+ * blocking a thread on {@link #actionGet()}.
+ * @param <T> The type of the future's result
+ */
+public class ListenablePlainActionFuture<T> extends PlainActionFuture<T> {
+
+    private final List<ActionListener<T>> listeners = new ArrayList<>();
+    private boolean notified = false;
+
+    /**
+     * Instantiate this class
+     */
+    public ListenablePlainActionFuture() {}
+
+    /**
+     * Create a new listenable future
+     * @param <T> The type of the future's result
+     * @return a new, incomplete future
+     */
+    public static <T> ListenablePlainActionFuture<T> newListenableFuture() {
+        return new ListenablePlainActionFuture<>();
+    }
+
+    /**
+     * Registers a listener to be notified when this future completes. If the future is already complete the listener is notified
+     * immediately on the calling thread, otherwise it is notified on the thread which completes the future.
+     * @param listener the listener to notify with the result or failure
+     */
+    public void addListener(ActionListener<T> listener) {
+        synchronized (this) {
+            if (!notified) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        notifyListener(listener);
+    }
+
+    @Override
+    protected void done(boolean success) {
+        List<ActionListener<T>> toNotify;
+        synchronized (this) {
+            notified = true;
+            toNotify = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        toNotify.forEach(this::notifyListener);
+    }
+
+    private void notifyListener(ActionListener<T> listener) {
+        T value;
+        try {
+            // The future is complete so this will not block
+            value = FutureUtils.get(this, 0L, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        listener.onResponse(value);
+    }
+
+    /**
+     * Notifies a listener when the given future completes. Listenable futures complete the listener without holding a thread.
+     * Other futures which are already complete notify the listener immediately, and any remaining futures are awaited on the
+     * given executor.
+     * @param future the future to listen to
+     * @param listener the listener to notify with the result or failure
+     * @param executor the executor used to await futures which do not support listeners
+     * @param <T> The type of the future's result
+     */
+    public static <T> void addListener(PlainActionFuture<T> future, ActionListener<T> listener, Executor executor) {
+        if (future instanceof ListenablePlainActionFuture) {
+            ((ListenablePlainActionFuture<T>) future).addListener(listener);
+        } else if (future.isDone()) {
+            completeListener(future, listener);
+        } else {
+            executor.execute(() -> completeListener(future, listener));
+        }
+    }
+
+    /**
+     * Runs an action if the given future is cancelled, so the work started to complete it can be stopped. Futures which do not support
+     * listeners only run the action if they are already cancelled.
+     * @param future the future to watch
+     * @param action the action to run once the future is cancelled
+     * @param <T> The type of the future's result
+     */
+    public static <T> void onCancellation(PlainActionFuture<T> future, Runnable action) {
+        if (future instanceof ListenablePlainActionFuture) {
+            ((ListenablePlainActionFuture<T>) future).addListener(ActionListener.wrap(r -> {}, e -> {
+                if (future.isCancelled()) {
+                    action.run();
+                }
+            }));
+        } else if (future.isCancelled()) {
+            action.run();
+        }
+    }
+
+    private static <T> void completeListener(PlainActionFuture<T> future, ActionListener<T> listener) {
+        T value;
+        try {
+            value = future.actionGet();
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        listener.onResponse(value);
+    }
+}
@@ -58,11 +58,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
@@ -77,8 +76,6 @@ import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_IND
 public class ParseUtils {
     private static final Logger logger = LogManager.getLogger(ParseUtils.class);
 
-    // Matches ${{ foo.bar }} (whitespace optional) with capturing groups 1=foo, 2=bar
-    private static final Pattern SUBSTITUTION_PATTERN = Pattern.compile("\\$\\{\\{\\s*([\\w_]+)\\.([\\w_]+)\\s*\\}\\}");
     private static final Pattern JSON_ARRAY_DOUBLE_QUOTES_PATTERN = Pattern.compile("\"\\[(.*?)]\"");
 
     private ParseUtils() {}
@@ -250,6 +247,26 @@ public class ParseUtils {
         return User.parse(userStr);
     }
 
+    /**
+     * Injects a user into the thread context of a request executed by the plugin on behalf of that user, such as a queued job. The
+     * security plugin authorizes the request with the roles of the user, and the user info is read as for a REST request of the user.
+     *
+     * @param threadContext the stashed thread context of the request
+     * @param user the user, or null if security is disabled
+     */
+    public static void injectUserContext(ThreadContext threadContext, User user) {
+        if (user == null) {
+            return;
+        }
+        String roles = String.join(",", user.getRoles());
+        threadContext.putTransient(ConfigConstants.OPENSEARCH_SECURITY_INJECTED_ROLES, user.getName() + "|" + roles);
+        String userStr = String.join("|", user.getName(), String.join(",", user.getBackendRoles()), roles);
+        if (user.getRequestedTenant() != null) {
+            userStr += "|" + user.getRequestedTenant();
+        }
+        threadContext.putTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT, userStr);
+    }
+
     /**
      * Add user backend roles filter to search source builder=
      * @param user the user
@@ -310,13 +327,58 @@ public class ParseUtils {
         SdkClient sdkClient,
         ClusterService clusterService,
         NamedXContentRegistry xContentRegistry
+    ) {
+        resolveUserAndExecute(
+            requestedUser,
+            workflowId,
+            tenantId,
+            filterByEnabled,
+            statePresent,
+            isMultitenancyEnabled,
+            listener,
+            fetchedDocument -> function.run(),
+            client,
+            sdkClient,
+            clusterService,
+            xContentRegistry
+        );
+    }
+
+    /**
+     * Resolve user and execute the function, handing it the workflow document if it was read to check access
+     * @param requestedUser the user to execute the request
+     * @param workflowId workflow id
+     * @param tenantId tenant id
+     * @param filterByEnabled filter by enabled setting
+     * @param statePresent state present for the transport action
+     * @param isMultitenancyEnabled whether multitenancy is enabled
+     * @param listener action listener
+     * @param function workflow function, consuming the template or state read to check access, or null if access was not checked
+     * @param client node client
+     * @param sdkClient multitenant client
+     * @param clusterService cluster service
+     * @param xContentRegistry contentRegister to parse get response
+     */
+    public static void resolveUserAndExecute(
+        User requestedUser,
+        String workflowId,
+        String tenantId,
+        Boolean filterByEnabled,
+        Boolean statePresent,
+        boolean isMultitenancyEnabled,
+        ActionListener<? extends ActionResponse> listener,
+        Consumer<FetchedDocument> function,
+        Client client,
+        SdkClient sdkClient,
+        ClusterService clusterService,
+        NamedXContentRegistry xContentRegistry
     ) {
         try {
             if (!isMultitenancyEnabled && (requestedUser == null || filterByEnabled == Boolean.FALSE)) {
                 // requestedUser == null means security is disabled or user is superadmin. In this case we don't need to
                 // check if request user have access to the workflow or not unless we have multitenancy
                 // !filterByEnabled means security is enabled and filterByEnabled is disabled
-                function.run();
+                function.accept(null);
             } else {
                 // we need to validate either user access, multitenancy, or both, which requires getting the workflow
                 getWorkflow(
@@ -397,7 +459,7 @@ public class ParseUtils {
      * @param statePresent state present for the transport action
      * @param isMultitenancyEnabled if multi tenancy is enabled
      * @param listener action listener
-     * @param function workflow function
+     * @param function workflow function, consuming the template or state read to check access
      * @param client node client
      * @param sdkClient the tenant aware client
      * @param clusterService cluster service
@@ -411,7 +473,7 @@ public class ParseUtils {
         Boolean statePresent,
         boolean isMultitenancyEnabled,
         ActionListener<? extends ActionResponse> listener,
-        Runnable function,
+        Consumer<FetchedDocument> function,
         Client client,
         SdkClient sdkClient,
         ClusterService clusterService,
@@ -467,7 +529,7 @@ public class ParseUtils {
      * @param statePresent state present for the transport action
      * @param isMultitenancyEnabled if multi tenancy is enabled
      * @param listener action listener
-     * @param function workflow function
+     * @param function workflow function, consuming the template or state read to check access
      * @param xContentRegistry contentRegister to parse get response
      * @param context thread context
      */
@@ -480,7 +542,7 @@ public class ParseUtils {
         Boolean statePresent,
         boolean isMultitenancyEnabled,
         ActionListener<? extends ActionResponse> listener,
-        Runnable function,
+        Consumer<FetchedDocument> function,
         NamedXContentRegistry xContentRegistry,
         ThreadContext.StoredContext context
     ) {
@@ -491,21 +553,24 @@ public class ParseUtils {
                 context.restore();
                 ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
                 User resourceUser;
+                FetchedDocument fetchedDocument;
                 if (statePresent) {
                     WorkflowState state = WorkflowState.parse(parser);
                     resourceUser = state.getUser();
                     if (!TenantAwareHelper.validateTenantResource(isMultitenancyEnabled, tenantId, state.getTenantId(), listener)) {
                         return;
                     }
+                    fetchedDocument = new FetchedDocument(null, state);
                 } else {
                     Template template = Template.parse(parser);
                     resourceUser = template.getUser();
                     if (!TenantAwareHelper.validateTenantResource(isMultitenancyEnabled, tenantId, template.getTenantId(), listener)) {
                         return;
                     }
+                    fetchedDocument = new FetchedDocument(template, null);
                 }
                 if (!filterByEnabled || checkUserPermissions(requestUser, resourceUser, workflowId) || isAdmin(requestUser)) {
-                    function.run();
+                    function.accept(fetchedDocument);
                 } else {
                     logger.debug("User: " + requestUser.getName() + " does not have permissions to access workflow: " + workflowId);
                     listener.onFailure(
@@ -581,19 +646,22 @@ public class ParseUtils {
         // Merge input sets to add all requested keys
         Set<String> keys = new HashSet<>(requiredInputKeys);
         keys.addAll(optionalInputKeys);
+        // Index the previous node inputs by the key each one provides
+        Map<String, String> previousNodeForKeys = new HashMap<>();
+        for (Map.Entry<String, String> e : previousNodeInputs.entrySet()) {
+            previousNodeForKeys.putIfAbsent(e.getValue(), e.getKey());
+        }
+        // Merged view of all outputs, built only if a key is not otherwise found
+        Map<String, Object> mergedOutputs = null;
         // Initialize return map
         Map<String, Object> inputs = new HashMap<>();
         for (String key : keys) {
             Object value = null;
             // Priority 1: specifically named prior step inputs
-            // ... parse the previousNodeInputs map and fill in the specified keys
-            Optional<String> previousNodeForKey = previousNodeInputs.entrySet()
-                .stream()
-                .filter(e -> key.equals(e.getValue()))
-                .map(Map.Entry::getKey)
-                .findAny();
-            if (previousNodeForKey.isPresent()) {
-                WorkflowData previousNodeOutput = outputs.get(previousNodeForKey.get());
+            // ... look up the previousNodeInputs index for the specified keys
+            String previousNodeForKey = previousNodeForKeys.get(key);
+            if (previousNodeForKey != null) {
+                WorkflowData previousNodeOutput = outputs.get(previousNodeForKey);
                 if (previousNodeOutput != null) {
                     value = previousNodeOutput.getContent().get(key);
                 }
@@ -608,26 +676,33 @@ public class ParseUtils {
             }
             // Priority 3: other inputs
             if (value == null) {
-                Optional<Object> matchedValue = outputs.values()
-                    .stream()
-                    .map(WorkflowData::getContent)
-                    .filter(m -> m.containsKey(key))
-                    .map(m -> m.get(key))
-                    .findAny();
-                if (matchedValue.isPresent()) {
-                    value = matchedValue.get();
+                if (mergedOutputs == null) {
+                    mergedOutputs = new HashMap<>();
+                    for (WorkflowData output : outputs.values()) {
+                        for (Map.Entry<String, Object> e : output.getContent().entrySet()) {
+                            mergedOutputs.putIfAbsent(e.getKey(), e.getValue());
+                        }
+                    }
                 }
+                value = mergedOutputs.get(key);
             }
             if (value != null) {
                 // Check for any substitution(s) in value, list, or map
                 if (value instanceof Map) {
                     @SuppressWarnings("unchecked")
                     Map<String, Object> valueMap = (Map<String, Object>) value;
-                    value = valueMap.entrySet()
-                        .stream()
-                        .collect(Collectors.toMap(Map.Entry::getKey, e -> conditionallySubstitute(e.getValue(), outputs, params)));
+                    Map<String, Object> substitutedMap = new HashMap<>(valueMap.size());
+                    for (Map.Entry<String, Object> e : valueMap.entrySet()) {
+                        substitutedMap.put(e.getKey(), conditionallySubstitute(e.getValue(), outputs, params));
+                    }
+                    value = substitutedMap;
                 } else if (value instanceof List) {
-                    value = ((List<?>) value).stream().map(v -> conditionallySubstitute(v, outputs, params)).collect(Collectors.toList());
+                    List<?> valueList = (List<?>) value;
+                    List<Object> substitutedList = new ArrayList<>(valueList.size());
+                    for (Object v : valueList) {
+                        substitutedList.add(conditionallySubstitute(v, outputs, params));
+                    }
+                    value = substitutedList;
                 } else {
                     value = conditionallySubstitute(value, outputs, params);
                 }
@@ -663,39 +738,7 @@ public class ParseUtils {
      */
     public static Object conditionallySubstitute(Object value, Map<String, WorkflowData> outputs, Map<String, String> params) {
         if (value instanceof String) {
-            Matcher m = SUBSTITUTION_PATTERN.matcher((String) value);
-            StringBuilder result = new StringBuilder();
-            while (m.find() && outputs != null) {
-                // outputs content map contains values for previous node input (e.g: deploy_openai_model.model_id)
-                // Check first if the substitution is looking for the same key, value pair and if yes
-                // then replace it with the key value pair in the inputs map
-                String replacement = m.group(0);
-                if (outputs.containsKey(m.group(1)) && outputs.get(m.group(1)).getContent().containsKey(m.group(2))) {
-                    // Extract the key for the inputs (e.g., "model_id" from ${{deploy_openai_model.model_id}})
-                    String key = m.group(2);
-                    if (outputs.get(m.group(1)).getContent().get(key) instanceof String) {
-                        replacement = (String) outputs.get(m.group(1)).getContent().get(key);
-                        // Replace the whole sequence with the value from the map
-                        m.appendReplacement(result, Matcher.quoteReplacement(replacement));
-                    }
-                }
-            }
-            m.appendTail(result);
-            value = result.toString();
-
-            if (params != null) {
-                for (Map.Entry<String, String> e : params.entrySet()) {
-                    String regex = "\\$\\{\\{\\s*" + Pattern.quote(e.getKey()) + "\\s*\\}\\}";
-                    String replacement = e.getValue();
-
-                    // Correctly escape backslashes, newlines, and quotes for JSON compatibility
-                    replacement = replacement.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
-
-                    // Use Matcher.quoteReplacement to handle special replacement characters like $ and \ that weren't previously handled
-                    replacement = Matcher.quoteReplacement(replacement);
-                    value = ((String) value).replaceAll(regex, replacement);
-                }
-            }
+            value = SubstitutionTemplate.substitute((String) value, outputs, params);
         }
         return value;
     }
@@ -0,0 +1,188 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.opensearch.flowframework.workflow.WorkflowData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A string compiled into literal segments and <code>${{ placeholder }}</code> segments in a single pass.
+ * <p>
+ * A placeholder of the form <code>${{ step_id.key }}</code> is replaced with the String value of that key in the step's output, and
+ * any other placeholder is replaced with the JSON escaped value of the matching param. Each placeholder is resolved with one lookup,
+ * and placeholders which cannot be resolved are left as is.
+ */
+public class SubstitutionTemplate {
+
+    private static final String OPEN = "${{";
+    private static final String CLOSE = "}}";
+
+    private final String source;
+    // literals.length == placeholders.length + 1, rendering alternates between them
+    private final String[] literals;
+    private final Placeholder[] placeholders;
+
+    private SubstitutionTemplate(String source, String[] literals, Placeholder[] placeholders) {
+        this.source = source;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Compiles a string into its literal and placeholder segments
+     * @param source the string to compile
+     * @return the compiled template
+     */
+    public static SubstitutionTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> placeholders = new ArrayList<>();
+        int literalStart = 0;
+        int open = source.indexOf(OPEN);
+        while (open >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+            // Of several openings before a close, only the last one delimits a placeholder
+            open = source.lastIndexOf(OPEN, close - OPEN.length());
+            literals.add(source.substring(literalStart, open));
+            placeholders.add(new Placeholder(source.substring(open, close + CLOSE.length()), trim(source, open + OPEN.length(), close)));
+            literalStart = close + CLOSE.length();
+            open = source.indexOf(OPEN, literalStart);
+        }
+        literals.add(source.substring(literalStart));
+        return new SubstitutionTemplate(source, literals.toArray(new String[0]), placeholders.toArray(new Placeholder[0]));
+    }
+
+    /**
+     * Substitutes the placeholders of a string. Strings without placeholders are returned without being copied.
+     * @param source the string to substitute
+     * @param outputs the outputs of previous steps, may be null
+     * @param params the params to substitute, may be null
+     * @return the substituted string
+     */
+    public static String substitute(String source, Map<String, WorkflowData> outputs, Map<String, String> params) {
+        if (!source.contains(OPEN)) {
+            return source;
+        }
+        return compile(source).render(outputs, params);
+    }
+
+    /**
+     * Renders this template, replacing each placeholder which can be resolved
+     * @param outputs the outputs of previous steps, may be null
+     * @param params the params to substitute, may be null
+     * @return the rendered string
+     */
+    public String render(Map<String, WorkflowData> outputs, Map<String, String> params) {
+        if (placeholders.length == 0) {
+            return source;
+        }
+        StringBuilder result = new StringBuilder(source.length());
+        for (int i = 0; i < placeholders.length; i++) {
+            result.append(literals[i]);
+            placeholders[i].appendTo(result, outputs, params);
+        }
+        return result.append(literals[placeholders.length]).toString();
+    }
+
+    /**
+     * Returns the number of placeholders in this template
+     * @return the placeholder count
+     */
+    public int getPlaceholderCount() {
+        return placeholders.length;
+    }
+
+    private static String trim(String s, int start, int end) {
+        while (start < end && isWhitespace(s.charAt(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(s.charAt(end - 1))) {
+            end--;
+        }
+        return s.substring(start, end);
+    }
+
+    // Matches the regular expression class \s
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // Matches the regular expression class [\w_]
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static class Placeholder {
+        private final String text;
+        private final String name;
+        // Set when the name has the form step_id.key
+        private final String stepId;
+        private final String outputKey;
+
+        Placeholder(String text, String name) {
+            this.text = text;
+            this.name = name;
+            int dot = name.indexOf('.');
+            if (dot > 0 && dot < name.length() - 1 && isStepOutputReference(name, dot)) {
+                this.stepId = name.substring(0, dot);
+                this.outputKey = name.substring(dot + 1);
+            } else {
+                this.stepId = null;
+                this.outputKey = null;
+            }
+        }
+
+        private static boolean isStepOutputReference(String name, int dot) {
+            for (int i = 0; i < name.length(); i++) {
+                if (i != dot && !isWordChar(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void appendTo(StringBuilder result, Map<String, WorkflowData> outputs, Map<String, String> params) {
+            // Step outputs take precedence over params
+            if (stepId != null && outputs != null) {
+                WorkflowData output = outputs.get(stepId);
+                if (output != null && output.getContent().get(outputKey) instanceof String) {
+                    result.append((String) output.getContent().get(outputKey));
+                    return;
+                }
+            }
+            String param = params == null ? null : params.get(name);
+            if (param == null) {
+                result.append(text);
+                return;
+            }
+            // Escape backslashes, newlines, and quotes for JSON compatibility
+            for (int i = 0; i < param.length(); i++) {
+                char c = param.charAt(i);
+                switch (c) {
+                    case '\\':
+                        result.append("\\\\");
+                        break;
+                    case '"':
+                        result.append("\\\"");
+                        break;
+                    case '\n':
+                        result.append("\\n");
+                        break;
+                    default:
+                        result.append(c);
+                }
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ package org.opensearch.flowframework.util;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.flowframework.common.CommonValue;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.transport.WorkflowResponse;
 import org.opensearch.rest.RestRequest;
@@ -18,6 +19,7 @@ import org.opensearch.rest.RestRequest;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -26,7 +28,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class TenantAwareHelper {
 
-    private static final ConcurrentHashMap<String, AtomicInteger> activeProvisionsPerTenant = new ConcurrentHashMap<>();
+    private static final WeightedFairAdmissionQueue provisionAdmissionQueue = new WeightedFairAdmissionQueue();
     private static final ConcurrentHashMap<String, AtomicInteger> activeDeprovisionsPerTenant = new ConcurrentHashMap<>();
 
     private TenantAwareHelper() {}
@@ -96,24 +98,41 @@ public class TenantAwareHelper {
     }
 
     /**
-     * Attempts to acquire a provision slot for the given tenant.
+     * Admits a provision for the given tenant, running it once it acquires a provision slot.
+     * <p>
+     * A provision over the per-tenant or node-wide limit waits in a bounded queue of its tenant, and queued provisions of
+     * different tenants start in proportion to the tenant weights. The provision is only rejected if the queue is full.
      *
-     * @param maxExecutions The maximum number of simultaneous provisions allowed per tenant.
+     * @param flowFrameworkSettings The settings holding the provision limits and tenant weights.
      * @param tenantId The ID of the tenant requesting the provision.
-     * @param workflowListener The listener to notify in case of failure.
-     * @return true if the provision slot was acquired, false otherwise.
+     * @param workflowListener The listener to notify in case of rejection.
+     * @param provision The provision to run once admitted, which must release its slot with {@link #releaseProvision(String)}.
      */
-    public static boolean tryAcquireProvision(int maxExecutions, String tenantId, ActionListener<WorkflowResponse> workflowListener) {
-        if (!tryAcquire(tenantId, activeProvisionsPerTenant, maxExecutions)) {
+    public static void admitProvision(
+        FlowFrameworkSettings flowFrameworkSettings,
+        String tenantId,
+        ActionListener<WorkflowResponse> workflowListener,
+        Runnable provision
+    ) {
+        if (tenantId == null) {
+            provision.run(); // No throttling for null tenantId
+            return;
+        }
+        if (!provisionAdmissionQueue.submit(
+            tenantId,
+            provision,
+            flowFrameworkSettings.getMaxActiveProvisionsPerTenant(),
+            flowFrameworkSettings.getMaxActiveProvisions(),
+            flowFrameworkSettings.getMaxQueuedProvisionsPerTenant(),
+            flowFrameworkSettings.getProvisionTenantWeight(tenantId)
+        )) {
             workflowListener.onFailure(
                 new FlowFrameworkException(
-                    "Exceeded max simultaneous provisioning requests: " + maxExecutions,
+                    "Exceeded max queued provisioning requests: " + flowFrameworkSettings.getMaxQueuedProvisionsPerTenant(),
                     RestStatus.TOO_MANY_REQUESTS
                 )
             );
-            return false;
         }
-        return true;
     }
 
     /**
@@ -143,7 +162,10 @@ public class TenantAwareHelper {
      * @param tenantId The ID of the tenant for which to release the provision slot.
      */
     public static void releaseProvision(String tenantId) {
-        release(tenantId, activeProvisionsPerTenant);
+        if (tenantId == null) {
+            return; // No throttling for null tenantId
+        }
+        provisionAdmissionQueue.release(tenantId);
     }
 
     /**
@@ -155,6 +177,30 @@ public class TenantAwareHelper {
         release(tenantId, activeDeprovisionsPerTenant);
     }
 
+    /**
+     * Gets the number of active provisions of each tenant
+     * @return a snapshot of the active provision count per tenant, sorted by tenant ID
+     */
+    public static Map<String, Integer> getActiveProvisionsPerTenant() {
+        return provisionAdmissionQueue.getActivePerTenant();
+    }
+
+    /**
+     * Gets the number of provisions of each tenant waiting for a provision slot
+     * @return a snapshot of the queued provision count per tenant, sorted by tenant ID
+     */
+    public static Map<String, Integer> getQueuedProvisionsPerTenant() {
+        return provisionAdmissionQueue.getQueuedPerTenant();
+    }
+
+    /**
+     * Gets the number of active deprovisions of each tenant
+     * @return a snapshot of the active deprovision count per tenant, sorted by tenant ID
+     */
+    public static Map<String, Integer> getActiveDeprovisionsPerTenant() {
+        return snapshot(activeDeprovisionsPerTenant);
+    }
+
     /**
      * Attempts to acquire an execution slot for the given tenant.
      *
@@ -194,6 +240,12 @@ public class TenantAwareHelper {
         });
     }
 
+    private static Map<String, Integer> snapshot(ConcurrentHashMap<String, AtomicInteger> executionsMap) {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        executionsMap.forEach((tenantId, count) -> snapshot.put(tenantId, count.get()));
+        return snapshot;
+    }
+
     /**
      * Create an action listener that releases provision throttle on failure only
      * @param tenantId The tenant ID
@@ -0,0 +1,215 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Admits executions of several tenants into a shared number of execution slots.
+ * <p>
+ * A tenant may run up to a per-tenant number of executions at once, and all tenants together up to a node-wide number.
+ * Requests over either limit wait in a bounded queue of their tenant instead of being rejected, and are only rejected when
+ * that queue is full. When a slot frees up, the queued requests are admitted by deficit round robin: each tenant with
+ * queued requests receives its weight in credits per round and spends one credit per admitted request, so a tenant with
+ * weight 3 is admitted three requests for each one admitted to a tenant with weight 1 while both have requests waiting.
+ */
+public class WeightedFairAdmissionQueue {
+
+    private static final Logger logger = LogManager.getLogger(WeightedFairAdmissionQueue.class);
+
+    private final Map<String, TenantQueue> tenants = new HashMap<>();
+    // The tenants with queued requests, in round robin order
+    private final Deque<TenantQueue> roundRobin = new ArrayDeque<>();
+    private int totalActive = 0;
+    // Limits of the most recent submission, used to admit queued requests when a slot is released
+    private int maxActivePerTenant = Integer.MAX_VALUE;
+    private int maxActive = Integer.MAX_VALUE;
+
+    /**
+     * Instantiate this class
+     */
+    public WeightedFairAdmissionQueue() {}
+
+    /**
+     * Submits an execution for the given tenant, running it on the calling thread if a slot is available and otherwise
+     * queueing it until one is released.
+     *
+     * @param tenantId The ID of the tenant requesting the execution.
+     * @param execution The execution to run once admitted. It must eventually {@link #release(String)} its slot.
+     * @param maxActivePerTenant The maximum number of simultaneous executions allowed per tenant.
+     * @param maxActive The maximum number of simultaneous executions allowed for all tenants together.
+     * @param maxQueuedPerTenant The maximum number of executions of a tenant waiting for a slot.
+     * @param weight The share of the released slots given to this tenant relative to the other tenants with queued executions.
+     * @return true if the execution was run or queued, false if the queue of the tenant is full.
+     */
+    public boolean submit(String tenantId, Runnable execution, int maxActivePerTenant, int maxActive, int maxQueuedPerTenant, int weight) {
+        List<Runnable> admitted;
+        synchronized (this) {
+            this.maxActivePerTenant = maxActivePerTenant;
+            this.maxActive = maxActive;
+            TenantQueue tenant = tenants.computeIfAbsent(tenantId, TenantQueue::new);
+            tenant.weight = Math.max(1, weight);
+            // Requests only wait when a limit is reached, so a free slot never has another tenant's request waiting for it
+            if (tenant.queued.isEmpty() && tenant.active < maxActivePerTenant && totalActive < maxActive) {
+                tenant.active++;
+                totalActive++;
+                admitted = List.of(execution);
+            } else if (tenant.queued.size() >= maxQueuedPerTenant) {
+                removeIfIdle(tenant);
+                return false;
+            } else {
+                tenant.queued.add(execution);
+                if (tenant.queued.size() == 1) {
+                    roundRobin.addLast(tenant);
+                }
+                // The limits may have been raised since the last release
+                admitted = admit();
+            }
+        }
+        runAll(admitted);
+        return true;
+    }
+
+    /**
+     * Releases a slot of the given tenant and admits the queued executions the freed slot allows.
+     *
+     * @param tenantId The ID of the tenant for which to release the slot.
+     */
+    public void release(String tenantId) {
+        List<Runnable> admitted;
+        synchronized (this) {
+            TenantQueue tenant = tenants.get(tenantId);
+            if (tenant == null || tenant.active == 0) {
+                return;
+            }
+            tenant.active--;
+            totalActive--;
+            removeIfIdle(tenant);
+            admitted = admit();
+        }
+        runAll(admitted);
+    }
+
+    /**
+     * Gets the number of active executions of each tenant
+     * @return a snapshot of the active execution count per tenant with any, sorted by tenant ID
+     */
+    public synchronized Map<String, Integer> getActivePerTenant() {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        tenants.forEach((tenantId, tenant) -> {
+            if (tenant.active > 0) {
+                snapshot.put(tenantId, tenant.active);
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Gets the number of queued executions of each tenant
+     * @return a snapshot of the queued execution count per tenant with any, sorted by tenant ID
+     */
+    public synchronized Map<String, Integer> getQueuedPerTenant() {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        tenants.forEach((tenantId, tenant) -> {
+            if (!tenant.queued.isEmpty()) {
+                snapshot.put(tenantId, tenant.queued.size());
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Takes queued executions by deficit round robin while slots are available. Must be called holding the lock, and the
+     * returned executions run after releasing it.
+     * @return the admitted executions, in admission order
+     */
+    private List<Runnable> admit() {
+        List<Runnable> admitted = new ArrayList<>();
+        // Tenants at their own limit are passed over, stop once a full round passed over every waiting tenant
+        int passedOver = 0;
+        while (totalActive < maxActive && !roundRobin.isEmpty() && passedOver < roundRobin.size()) {
+            TenantQueue tenant = roundRobin.peekFirst();
+            if (tenant.active >= maxActivePerTenant) {
+                // Credit isn't kept while a tenant can't use it, so a tenant blocked by its own limit doesn't burst later
+                endTurn(tenant, true);
+                passedOver++;
+                continue;
+            }
+            passedOver = 0;
+            if (!tenant.hasTurn) {
+                tenant.deficit += tenant.weight;
+                tenant.hasTurn = true;
+            }
+            if (tenant.deficit < 1) {
+                endTurn(tenant, false);
+                continue;
+            }
+            tenant.deficit--;
+            tenant.active++;
+            totalActive++;
+            admitted.add(tenant.queued.pollFirst());
+            if (tenant.queued.isEmpty()) {
+                roundRobin.pollFirst();
+                tenant.hasTurn = false;
+                tenant.deficit = 0;
+            }
+        }
+        return admitted;
+    }
+
+    private void endTurn(TenantQueue tenant, boolean resetDeficit) {
+        roundRobin.addLast(roundRobin.pollFirst());
+        tenant.hasTurn = false;
+        if (resetDeficit) {
+            tenant.deficit = 0;
+        }
+    }
+
+    private void removeIfIdle(TenantQueue tenant) {
+        if (tenant.active == 0 && tenant.queued.isEmpty()) {
+            tenants.remove(tenant.tenantId);
+        }
+    }
+
+    private static void runAll(List<Runnable> executions) {
+        for (Runnable execution : executions) {
+            try {
+                execution.run();
+            } catch (Exception e) {
+                // An execution is responsible for its own failures, don't let one prevent running the others
+                logger.error("Failed to run admitted execution", e);
+            }
+        }
+    }
+
+    /**
+     * The executions of a tenant, guarded by the lock of the admission queue
+     */
+    private static class TenantQueue {
+        private final String tenantId;
+        private final Deque<Runnable> queued = new ArrayDeque<>();
+        private int active = 0;
+        private int weight = 1;
+        private int deficit = 0;
+        private boolean hasTurn = false;
+
+        private TenantQueue(String tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
@@ -69,6 +69,32 @@ public class WorkflowTimeoutUtility {
         return wrapWithTimeoutCancellationListener(listener, scheduledCancellable, isResponseSent);
     }
 
+    /**
+     * Schedules a task to run when a wait on a workflow times out, unless a response has been sent first.
+     *
+     * @param threadPool     The thread pool to schedule the timeout task.
+     * @param workflowId     The unique identifier of the workflow being waited on.
+     * @param onTimeout      The task to run if the timeout elapses before a response is sent.
+     * @param timeout        The timeout duration in milliseconds.
+     * @param isResponseSent An atomic boolean to ensure the response is sent only once.
+     * @return The scheduled timeout task, to be cancelled when the response is sent.
+     */
+    public static Scheduler.ScheduledCancellable scheduleTimeoutTask(
+        ThreadPool threadPool,
+        final String workflowId,
+        Runnable onTimeout,
+        long timeout,
+        AtomicBoolean isResponseSent
+    ) {
+        long adjustedTimeout = Math.max(timeout, TimeValue.timeValueMillis(0).millis());
+        return threadPool.schedule(() -> {
+            if (isResponseSent.compareAndSet(false, true)) {
+                logger.debug("Wait on workflow {} timed out", workflowId);
+                onTimeout.run();
+            }
+        }, TimeValue.timeValueMillis(adjustedTimeout), ThreadPool.Names.GENERIC);
+    }
+
     /**
      * A listener that handles timeout for a workflow execution.
      */
@@ -23,6 +23,7 @@ import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.transport.client.Client;
 import org.opensearch.transport.client.ClusterAdminClient;
@@ -67,7 +68,7 @@ public abstract class AbstractCreatePipelineStep implements WorkflowStep {
         String tenantId
     ) {
 
-        PlainActionFuture<WorkflowData> createPipelineFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> createPipelineFuture = ListenablePlainActionFuture.newListenableFuture();
 
         Set<String> requiredKeys = Set.of(PIPELINE_ID, CONFIGURATIONS);
 
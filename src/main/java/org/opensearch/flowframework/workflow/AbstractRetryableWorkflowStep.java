@@ -12,24 +12,18 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.action.support.PlainActionFuture;
-import org.opensearch.common.unit.TimeValue;
-import org.opensearch.common.util.concurrent.FutureUtils;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
-import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
-import org.opensearch.ml.client.MachineLearningNodeClient;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.ml.common.MLTask;
-import org.opensearch.threadpool.ThreadPool;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 
 import static org.opensearch.flowframework.common.CommonValue.REGISTER_MODEL_STATUS;
-import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.WorkflowResources.getResourceByWorkflowStep;
 
 /**
@@ -37,103 +31,85 @@ import static org.opensearch.flowframework.common.WorkflowResources.getResourceB
  */
 public abstract class AbstractRetryableWorkflowStep implements WorkflowStep {
     private static final Logger logger = LogManager.getLogger(AbstractRetryableWorkflowStep.class);
-    private TimeValue retryDuration;
-    private final MachineLearningNodeClient mlClient;
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
-    private ThreadPool threadPool;
+    private final MLTaskPoller mlTaskPoller;
 
     /**
      * Instantiates a new Retryable workflow step
-     * @param threadPool The OpenSearch thread pool
-     * @param mlClient machine learning client
      * @param flowFrameworkIndicesHandler FlowFrameworkIndicesHandler class to update system indices
-     * @param flowFrameworkSettings settings of flow framework
+     * @param mlTaskPoller the node level poller for ML tasks
      */
-    protected AbstractRetryableWorkflowStep(
-        ThreadPool threadPool,
-        MachineLearningNodeClient mlClient,
-        FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
-        FlowFrameworkSettings flowFrameworkSettings
-    ) {
-        this.threadPool = threadPool;
-        this.retryDuration = flowFrameworkSettings.getRetryDuration();
-        this.mlClient = mlClient;
+    protected AbstractRetryableWorkflowStep(FlowFrameworkIndicesHandler flowFrameworkIndicesHandler, MLTaskPoller mlTaskPoller) {
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
+        this.mlTaskPoller = mlTaskPoller;
     }
 
     /**
-     * Retryable get ml task
+     * Retryable get ml task. Registers the task with the node level {@link MLTaskPoller}, which polls it without holding a thread,
+     * until the task ends or the future of the step is cancelled.
      * @param currentNodeInputs the current Node Inputs
      * @param nodeId the workflow node id
-     * @param future the workflow step future
      * @param taskId the ml task id
      * @param workflowStep the workflow step which requires a retry get ml task functionality
      * @param tenantId the tenant ID
+     * @param stepFuture the future of the step waiting for the task
      * @param mlTaskListener the ML Task Listener
      */
     protected void retryableGetMlTask(
         WorkflowData currentNodeInputs,
         String nodeId,
-        PlainActionFuture<WorkflowData> future,
         String taskId,
         String workflowStep,
         String tenantId,
+        PlainActionFuture<WorkflowData> stepFuture,
         ActionListener<WorkflowData> mlTaskListener
     ) {
-        CompletableFuture.runAsync(() -> {
-            do {
-                mlClient.getTask(taskId, tenantId, ActionListener.wrap(response -> {
-                    String resourceName = getResourceByWorkflowStep(getName());
-                    String id = getResourceId(response);
-                    switch (response.getState()) {
-                        case COMPLETED:
-                            logger.info("{} successful for {} and {} {}", workflowStep, currentNodeInputs, resourceName, id);
-                            ActionListener<WorkflowData> resourceListener = ActionListener.wrap(r -> {
-                                Map<String, Object> content = new HashMap<>(r.getContent());
-                                content.put(REGISTER_MODEL_STATUS, response.getState().toString());
-                                mlTaskListener.onResponse(new WorkflowData(content, r.getWorkflowId(), r.getNodeId()));
-                            }, mlTaskListener::onFailure);
-                            flowFrameworkIndicesHandler.addResourceToStateIndex(
-                                currentNodeInputs,
-                                nodeId,
-                                getName(),
-                                id,
-                                tenantId,
-                                resourceListener
-                            );
-                            break;
-                        case FAILED:
-                        case COMPLETED_WITH_ERROR:
-                            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
-                                "{} failed with error : {}",
-                                workflowStep,
-                                response.getError()
-                            ).getFormattedMessage();
-                            logger.error(errorMessage);
-                            mlTaskListener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.BAD_REQUEST));
-                            break;
-                        case CANCELLED:
-                            errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("{} task was cancelled.", workflowStep)
-                                .getFormattedMessage();
-                            logger.error(errorMessage);
-                            mlTaskListener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.REQUEST_TIMEOUT));
-                            break;
-                        default:
-                            // Task started or running, do nothing
-                    }
-                }, exception -> {
-                    String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("{} failed", workflowStep).getFormattedMessage();
-                    logger.error(errorMessage, exception);
-                    mlTaskListener.onFailure(new WorkflowStepException(errorMessage, RestStatus.BAD_REQUEST));
-                }));
-                try {
-                    Thread.sleep(this.retryDuration.getMillis());
-                } catch (InterruptedException e) {
-                    FutureUtils.cancel(future);
-                    Thread.currentThread().interrupt();
-                }
-            } while (!future.isDone());
-        }, threadPool.executor(WORKFLOW_THREAD_POOL));
+        Runnable stopPolling = mlTaskPoller.pollTask(taskId, tenantId, ActionListener.wrap(response -> {
+            String resourceName = getResourceByWorkflowStep(getName());
+            String id = getResourceId(response);
+            switch (response.getState()) {
+                case COMPLETED:
+                    logger.info("{} successful for {} and {} {}", workflowStep, currentNodeInputs, resourceName, id);
+                    ActionListener<WorkflowData> resourceListener = ActionListener.wrap(r -> {
+                        Map<String, Object> content = new HashMap<>(r.getContent());
+                        content.put(REGISTER_MODEL_STATUS, response.getState().toString());
+                        mlTaskListener.onResponse(new WorkflowData(content, r.getWorkflowId(), r.getNodeId()));
+                    }, mlTaskListener::onFailure);
+                    flowFrameworkIndicesHandler.addResourceToStateIndex(
+                        currentNodeInputs,
+                        nodeId,
+                        getName(),
+                        id,
+                        tenantId,
+                        resourceListener
+                    );
+                    break;
+                case FAILED:
+                case COMPLETED_WITH_ERROR:
+                    String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                        "{} failed with error : {}",
+                        workflowStep,
+                        response.getError()
+                    ).getFormattedMessage();
+                    logger.error(errorMessage);
+                    mlTaskListener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.BAD_REQUEST));
+                    break;
+                case CANCELLED:
+                    errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("{} task was cancelled.", workflowStep)
+                        .getFormattedMessage();
+                    logger.error(errorMessage);
+                    mlTaskListener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.REQUEST_TIMEOUT));
+                    break;
+                default:
+                    // The poller only completes tasks in a terminal state
+            }
+        }, exception -> {
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("{} failed", workflowStep).getFormattedMessage();
+            logger.error(errorMessage, exception);
+            mlTaskListener.onFailure(new WorkflowStepException(errorMessage, RestStatus.BAD_REQUEST));
+        }));
+        // A cancelled step no longer waits for the task
+        ListenablePlainActionFuture.onCancellation(stepFuture, stopPolling);
     }
 
     /**
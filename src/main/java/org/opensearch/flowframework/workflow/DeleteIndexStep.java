@@ -16,6 +16,7 @@ import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.flowframework.exception.WorkflowStepException;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.transport.client.Client;
 
@@ -61,7 +62,7 @@ public class DeleteIndexStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> deleteIndexFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> deleteIndexFuture = ListenablePlainActionFuture.newListenableFuture();
 
         try {
             Map<String, Object> inputs = ParseUtils.getInputsFromPreviousSteps(
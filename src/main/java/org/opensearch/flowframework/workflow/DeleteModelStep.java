@@ -19,6 +19,7 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.ml.client.MachineLearningNodeClient;
 
@@ -58,7 +59,7 @@ public class DeleteModelStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> deleteModelFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> deleteModelFuture = ListenablePlainActionFuture.newListenableFuture();
 
         Set<String> requiredKeys = Set.of(MODEL_ID);
         Set<String> optionalKeys = Collections.emptySet();
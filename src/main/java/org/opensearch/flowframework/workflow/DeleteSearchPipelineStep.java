@@ -16,6 +16,7 @@ import org.opensearch.action.search.DeleteSearchPipelineRequest;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.flowframework.exception.WorkflowStepException;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.transport.client.Client;
 
@@ -61,7 +62,7 @@ public class DeleteSearchPipelineStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> deleteSearchPipelineFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> deleteSearchPipelineFuture = ListenablePlainActionFuture.newListenableFuture();
 
         try {
             Map<String, Object> inputs = ParseUtils.getInputsFromPreviousSteps(
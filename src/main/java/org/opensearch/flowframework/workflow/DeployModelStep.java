@@ -14,15 +14,14 @@ import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.core.action.ActionListener;
-import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.ml.client.MachineLearningNodeClient;
 import org.opensearch.ml.common.MLTask;
 import org.opensearch.ml.common.transport.deploy.MLDeployModelResponse;
-import org.opensearch.threadpool.ThreadPool;
 
 import java.util.Collections;
 import java.util.Map;
@@ -44,18 +43,16 @@ public class DeployModelStep extends AbstractRetryableWorkflowStep {
 
     /**
      * Instantiate this class
-     * @param threadPool The OpenSearch thread pool
      * @param mlClient client to instantiate MLClient
      * @param flowFrameworkIndicesHandler FlowFrameworkIndicesHandler class to update system indices
-     * @param flowFrameworkSettings settings of flow framework
+     * @param mlTaskPoller the node level poller for ML tasks
      */
     public DeployModelStep(
-        ThreadPool threadPool,
         MachineLearningNodeClient mlClient,
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
-        FlowFrameworkSettings flowFrameworkSettings
+        MLTaskPoller mlTaskPoller
     ) {
-        super(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings);
+        super(flowFrameworkIndicesHandler, mlTaskPoller);
         this.mlClient = mlClient;
     }
 
@@ -69,7 +66,7 @@ public class DeployModelStep extends AbstractRetryableWorkflowStep {
         String tenantId
     ) {
 
-        PlainActionFuture<WorkflowData> deployModelFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> deployModelFuture = ListenablePlainActionFuture.newListenableFuture();
 
         Set<String> requiredKeys = Set.of(MODEL_ID);
         Set<String> optionalKeys = Collections.emptySet();
@@ -96,10 +93,10 @@ public class DeployModelStep extends AbstractRetryableWorkflowStep {
                     retryableGetMlTask(
                         currentNodeInputs,
                         currentNodeId,
-                        deployModelFuture,
                         taskId,
                         "Deploy model",
                         tenantId,
+                        deployModelFuture,
                         ActionListener.wrap(
                             deployModelFuture::onResponse,
                             e -> deployModelFuture.onFailure(
@@ -0,0 +1,85 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.flowframework.model.Workflow;
+import org.opensearch.flowframework.model.WorkflowEdge;
+import org.opensearch.flowframework.model.WorkflowNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Plans the order in which the resources created by a workflow may be deprovisioned.
+ * <p>
+ * A resource consumed by a later step (for example a connector used by a model) can only be deleted once the resources created by
+ * those later steps are deleted. Resources without such a relationship may be deleted in parallel.
+ */
+public class DeprovisionPlanner {
+
+    private DeprovisionPlanner() {}
+
+    /**
+     * Computes, for each workflow node which created a resource, the nodes whose resources must be deprovisioned before it. These
+     * are the nearest resource creating nodes reachable along the provision workflow's edges, following edges through nodes which
+     * did not create a resource.
+     * <p>
+     * If the provision workflow is unavailable or does not contain every node, the dependencies fall back to the reverse of the
+     * order in which the resources were created.
+     *
+     * @param provisionWorkflow the workflow which created the resources, may be null
+     * @param resourceNodeIds the ids of the nodes which created resources, in order of creation
+     * @return a map of each resource node id to the ids of nodes which must be deprovisioned before it
+     */
+    public static Map<String, Set<String>> getDeprovisionDependencies(Workflow provisionWorkflow, List<String> resourceNodeIds) {
+        Set<String> resourceNodes = new LinkedHashSet<>(resourceNodeIds);
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        if (provisionWorkflow == null
+            || !provisionWorkflow.nodes().stream().map(WorkflowNode::id).collect(Collectors.toSet()).containsAll(resourceNodes)) {
+            // Without the graph, deprovision in reverse order of creation
+            List<String> creationOrder = new ArrayList<>(resourceNodes);
+            for (int i = 0; i < creationOrder.size(); i++) {
+                dependencies.put(creationOrder.get(i), i + 1 < creationOrder.size() ? Set.of(creationOrder.get(i + 1)) : Set.of());
+            }
+            return dependencies;
+        }
+
+        Map<String, List<String>> successors = new HashMap<>();
+        for (WorkflowEdge edge : provisionWorkflow.edges()) {
+            successors.computeIfAbsent(edge.source(), k -> new ArrayList<>()).add(edge.destination());
+        }
+        for (String nodeId : resourceNodes) {
+            Set<String> dependents = new HashSet<>();
+            Set<String> visited = new HashSet<>();
+            Deque<String> toVisit = new ArrayDeque<>(successors.getOrDefault(nodeId, Collections.emptyList()));
+            while (!toVisit.isEmpty()) {
+                String successor = toVisit.pop();
+                if (!visited.add(successor)) {
+                    continue;
+                }
+                if (resourceNodes.contains(successor)) {
+                    dependents.add(successor);
+                } else {
+                    toVisit.addAll(successors.getOrDefault(successor, Collections.emptyList()));
+                }
+            }
+            dependencies.put(nodeId, dependents);
+        }
+        return dependencies;
+    }
+}
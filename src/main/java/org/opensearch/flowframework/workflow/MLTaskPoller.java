@@ -0,0 +1,212 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.ml.client.MachineLearningNodeClient;
+import org.opensearch.ml.common.MLTask;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_THREAD_POOL;
+
+/**
+ * Node level service which polls ML Commons tasks until they reach a terminal state.
+ * <p>
+ * Steps register a task id and a listener. All registered tasks are polled from a single sweep scheduled on the {@link ThreadPool}
+ * scheduler, so no thread is held between polls regardless of the number of tasks in flight. Registrations for the same task are
+ * coalesced into a single poll, and each task backs off exponentially from {@link #INITIAL_POLL_INTERVAL} up to the configured
+ * task request retry duration.
+ */
+public class MLTaskPoller {
+
+    private static final Logger logger = LogManager.getLogger(MLTaskPoller.class);
+
+    /** The delay between the first and second poll of a task, doubled on each subsequent poll */
+    public static final TimeValue INITIAL_POLL_INTERVAL = TimeValue.timeValueMillis(250);
+
+    private final ThreadPool threadPool;
+    private final MachineLearningNodeClient mlClient;
+    private final FlowFrameworkSettings flowFrameworkSettings;
+    private final Map<String, PolledTask> polledTasks = new ConcurrentHashMap<>();
+
+    private Scheduler.ScheduledCancellable scheduledSweep = null;
+    private long scheduledSweepNanos = Long.MAX_VALUE;
+
+    /**
+     * Instantiate this class
+     * @param threadPool The OpenSearch thread pool
+     * @param mlClient Machine Learning client to retrieve tasks
+     * @param flowFrameworkSettings settings of flow framework
+     */
+    public MLTaskPoller(ThreadPool threadPool, MachineLearningNodeClient mlClient, FlowFrameworkSettings flowFrameworkSettings) {
+        this.threadPool = threadPool;
+        this.mlClient = mlClient;
+        this.flowFrameworkSettings = flowFrameworkSettings;
+    }
+
+    /**
+     * Polls an ML task until it completes, fails or is cancelled. The first poll is issued immediately.
+     * @param taskId the ml task id
+     * @param tenantId the tenant id
+     * @param listener listener completed with the task in a terminal state, or the failure retrieving it
+     * @return an action which stops polling for this listener, which is then never completed
+     */
+    public Runnable pollTask(String taskId, String tenantId, ActionListener<MLTask> listener) {
+        PolledTask polledTask = polledTasks.compute(taskKey(taskId, tenantId), (key, existing) -> {
+            PolledTask task = existing == null ? new PolledTask(key, taskId, tenantId, System.nanoTime()) : existing;
+            task.listeners.add(listener);
+            return task;
+        });
+        scheduleSweep(polledTask.nextPollNanos);
+        return () -> stopPolling(polledTask, listener);
+    }
+
+    /**
+     * Removes a listener of a polled task, and stops polling the task once no listener is left
+     * @param polledTask the polled task
+     * @param listener the listener to remove
+     */
+    private void stopPolling(PolledTask polledTask, ActionListener<MLTask> listener) {
+        // Synchronized with registrations, so a listener is never added to a task which was just dropped
+        polledTasks.computeIfPresent(polledTask.key, (key, task) -> {
+            if (task != polledTask) {
+                return task;
+            }
+            task.listeners.remove(listener);
+            return task.listeners.isEmpty() ? null : task;
+        });
+    }
+
+    /**
+     * Returns the number of distinct tasks currently being polled
+     * @return the count of tasks in flight
+     */
+    public int getPolledTaskCount() {
+        return polledTasks.size();
+    }
+
+    private synchronized void scheduleSweep(long dueNanos) {
+        if (scheduledSweep != null && scheduledSweepNanos <= dueNanos) {
+            // An earlier sweep will pick this task up
+            return;
+        }
+        if (scheduledSweep != null) {
+            scheduledSweep.cancel();
+        }
+        scheduledSweepNanos = dueNanos;
+        scheduledSweep = threadPool.schedule(
+            this::sweep,
+            TimeValue.timeValueNanos(Math.max(0L, dueNanos - System.nanoTime())),
+            WORKFLOW_THREAD_POOL
+        );
+    }
+
+    private void sweep() {
+        synchronized (this) {
+            scheduledSweep = null;
+            scheduledSweepNanos = Long.MAX_VALUE;
+        }
+        long now = System.nanoTime();
+        long nextDueNanos = Long.MAX_VALUE;
+        for (PolledTask task : polledTasks.values()) {
+            if (task.inFlight.get()) {
+                continue;
+            }
+            if (task.nextPollNanos - now <= 0) {
+                // Concurrent sweeps may see the same task, only one of them polls it
+                if (task.inFlight.compareAndSet(false, true)) {
+                    poll(task);
+                }
+            } else {
+                nextDueNanos = Math.min(nextDueNanos, task.nextPollNanos);
+            }
+        }
+        if (nextDueNanos != Long.MAX_VALUE) {
+            scheduleSweep(nextDueNanos);
+        }
+    }
+
+    private void poll(PolledTask task) {
+        task.attempts++;
+        try {
+            mlClient.getTask(task.taskId, task.tenantId, ActionListener.wrap(response -> {
+                switch (response.getState()) {
+                    case COMPLETED:
+                    case FAILED:
+                    case COMPLETED_WITH_ERROR:
+                    case CANCELLED:
+                        complete(task, response, null);
+                        break;
+                    default:
+                        // Task created or running, poll again after backing off
+                        task.nextPollNanos = System.nanoTime() + nextInterval(task.attempts).nanos();
+                        task.inFlight.set(false);
+                        scheduleSweep(task.nextPollNanos);
+                }
+            }, exception -> complete(task, null, exception)));
+        } catch (Exception e) {
+            // A request which could not be sent fails the task instead of ending the sweep polling the other tasks
+            complete(task, null, e);
+        }
+    }
+
+    private TimeValue nextInterval(int attempts) {
+        long maxMillis = Math.max(INITIAL_POLL_INTERVAL.millis(), flowFrameworkSettings.getRetryDuration().millis());
+        // Cap the shift so the interval cannot overflow
+        long intervalMillis = INITIAL_POLL_INTERVAL.millis() << Math.min(attempts - 1, 20);
+        return TimeValue.timeValueMillis(Math.min(intervalMillis, maxMillis));
+    }
+
+    private void complete(PolledTask task, MLTask response, Exception exception) {
+        // Once removed no further listeners can be added to this task, so all registered listeners are visible here
+        if (!polledTasks.remove(task.key, task)) {
+            return;
+        }
+        logger.debug("Finished polling ml task {} after {} attempts", task.taskId, task.attempts);
+        for (ActionListener<MLTask> listener : task.listeners) {
+            if (exception == null) {
+                listener.onResponse(response);
+            } else {
+                listener.onFailure(exception);
+            }
+        }
+    }
+
+    private static String taskKey(String taskId, String tenantId) {
+        return tenantId == null ? taskId : tenantId + ":" + taskId;
+    }
+
+    private static class PolledTask {
+        private final String key;
+        private final String taskId;
+        private final String tenantId;
+        private final List<ActionListener<MLTask>> listeners = new CopyOnWriteArrayList<>();
+        private volatile long nextPollNanos;
+        private final AtomicBoolean inFlight = new AtomicBoolean(false);
+        private volatile int attempts = 0;
+
+        PolledTask(String key, String taskId, String tenantId, long nextPollNanos) {
+            this.key = key;
+            this.taskId = taskId;
+            this.tenantId = tenantId;
+            this.nextPollNanos = nextPollNanos;
+        }
+    }
+}
@@ -10,24 +10,35 @@ package org.opensearch.flowframework.workflow;
 
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.common.unit.TimeValue;
-import org.opensearch.common.util.concurrent.FutureUtils;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.flowframework.exception.WorkflowStepException;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
 
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
 import static org.opensearch.flowframework.common.CommonValue.DELAY_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_THREAD_POOL;
 
 /**
- * A workflow step that does nothing. May be used for synchronizing other actions.
+ * A workflow step that does nothing. May be used for synchronizing other actions, or to wait for a delay. The delay is scheduled on
+ * the {@link ThreadPool} so no thread is held while waiting, and cancelling the step's future stops the wait.
  */
 public class NoOpStep implements WorkflowStep {
 
-    /** Instantiate this class */
-    public NoOpStep() {}
+    private final ThreadPool threadPool;
+
+    /**
+     * Instantiate this class
+     * @param threadPool The OpenSearch thread pool, used to schedule the delay
+     */
+    public NoOpStep(ThreadPool threadPool) {
+        this.threadPool = threadPool;
+    }
 
     /** The name of this step, used as a key in the template and the {@link WorkflowStepFactory} */
     public static final String NAME = "noop";
@@ -41,7 +52,7 @@ public class NoOpStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> future = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> future = ListenablePlainActionFuture.newListenableFuture();
 
         Set<String> requiredKeys = Collections.emptySet();
         Set<String> optionalKeys = Set.of(DELAY_FIELD);
@@ -56,14 +67,18 @@ public class NoOpStep implements WorkflowStep {
                 params
             );
             if (inputs.containsKey(DELAY_FIELD)) {
-                long delay = TimeValue.parseTimeValue(inputs.get(DELAY_FIELD).toString(), DELAY_FIELD).millis();
-                Thread.sleep(delay);
+                TimeValue delay = TimeValue.parseTimeValue(inputs.get(DELAY_FIELD).toString(), DELAY_FIELD);
+                Scheduler.ScheduledCancellable delayedResponse = threadPool.schedule(
+                    () -> future.onResponse(WorkflowData.EMPTY),
+                    delay,
+                    WORKFLOW_THREAD_POOL
+                );
+                // Stop waiting if the future is cancelled
+                ListenablePlainActionFuture.onCancellation(future, delayedResponse::cancel);
+                return future;
             }
         } catch (IllegalArgumentException iae) {
             throw new WorkflowStepException(iae.getMessage(), RestStatus.BAD_REQUEST);
-        } catch (InterruptedException e) {
-            FutureUtils.cancel(future);
-            Thread.currentThread().interrupt();
         }
 
         future.onResponse(WorkflowData.EMPTY);
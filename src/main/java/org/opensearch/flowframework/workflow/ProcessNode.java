@@ -10,14 +10,30 @@ package org.opensearch.flowframework.workflow;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchTimeoutException;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.FutureUtils;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.tasks.TaskCancelledException;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.StepExecution;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
+import org.opensearch.threadpool.Scheduler;
 import org.opensearch.threadpool.ThreadPool;
 
+import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Representation of a process node in a workflow graph.
@@ -38,7 +54,21 @@ public class ProcessNode {
     private final TimeValue nodeTimeout;
     private final String tenantId;
 
-    private final PlainActionFuture<WorkflowData> future = PlainActionFuture.newFuture();
+    private final ListenablePlainActionFuture<WorkflowData> future = ListenablePlainActionFuture.newListenableFuture();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    // The run executing this node and the cancellation state, set by the run and read by the executing threads
+    private volatile WorkflowTask workflowTask = null;
+    private volatile String cancelReason = null;
+    private volatile PlainActionFuture<WorkflowData> stepFuture = null;
+
+    // Timing and outcome of the step execution, guarded by this node's monitor
+    private Instant startTime = null;
+    private Instant endTime = null;
+    private Instant invokeEndTime = null;
+    private long queueTimeInMillis = 0;
+    private int attempts = 0;
+    private State status = null;
 
     /**
      * Create this node linked to its executing process, including input data and any predecessor nodes.
@@ -119,7 +149,7 @@ public class ProcessNode {
     }
 
     /**
-     * Returns a {@link CompletableFuture} if this process is executing.
+     * Returns a {@link PlainActionFuture} if this process is executing.
      * Relies on the node having been sorted and executed in an order such that all predecessor nodes have begun execution first (and thus populated this value).
      *
      * @return A future indicating the processing state of this node.
@@ -156,48 +186,241 @@ public class ProcessNode {
         return tenantId;
     }
 
+    /**
+     * Returns whether this node's step is executing.
+     * @return true if the step started executing and has not ended
+     */
+    public synchronized boolean isRunning() {
+        return startTime != null && endTime == null;
+    }
+
+    /**
+     * Sets the run executing this node, which registers a child task for the node while its step executes
+     * @param workflowTask the task of the run
+     */
+    void setWorkflowTask(WorkflowTask workflowTask) {
+        this.workflowTask = workflowTask;
+    }
+
+    /**
+     * Cancels this node. Its future fails, and if its step is executing the step's future is cancelled so the step can stop the work
+     * it started. Does nothing if the node already completed.
+     * @param reason the reason for the cancellation
+     */
+    public void cancel(String reason) {
+        if (this.future.isDone()) {
+            return;
+        }
+        this.cancelReason = reason == null ? "cancelled" : reason;
+        // The step future is published before the cancel reason is checked, so either this or the dispatch cancels it
+        PlainActionFuture<WorkflowData> inFlightStepFuture = this.stepFuture;
+        if (inFlightStepFuture != null) {
+            FutureUtils.cancel(inFlightStepFuture);
+        }
+        recordEnd(State.FAILED);
+        this.future.onFailure(new TaskCancelledException("Process Node [" + this.id + "] was cancelled: " + this.cancelReason));
+    }
+
+    /**
+     * Returns the timing and outcome of this node's step execution.
+     * @return the step execution, or {@code null} if the step has not started executing
+     */
+    public StepExecution stepExecution() {
+        return stepExecution(null);
+    }
+
+    /**
+     * Returns the timing and outcome of this node's step execution.
+     * @param stateWriteStartTime the time the step started recording its resource in the state index, or null if unknown
+     * @return the step execution, or {@code null} if the step has not started executing
+     */
+    public synchronized StepExecution stepExecution(Instant stateWriteStartTime) {
+        if (startTime == null) {
+            return null;
+        }
+        return new StepExecution(
+            id,
+            workflowStep.getName(),
+            status == null ? null : status.name(),
+            startTime,
+            endTime,
+            queueTimeInMillis,
+            attempts,
+            predecessors.stream().map(ProcessNode::id).collect(Collectors.toList()),
+            invokeEndTime,
+            stateWriteStartTime
+        );
+    }
+
+    /**
+     * Returns the timing and outcome of the step executions of the nodes in a workflow.
+     * @param nodes the process nodes of the workflow
+     * @return the executions of the steps which started executing
+     */
+    public static List<StepExecution> stepExecutions(List<ProcessNode> nodes) {
+        return stepExecutions(nodes, Collections.emptyMap());
+    }
+
+    /**
+     * Returns the timing and outcome of the step executions of the nodes in a workflow.
+     * @param nodes the process nodes of the workflow
+     * @param stateWriteStartTimes the time each step started recording its resource in the state index, by node id
+     * @return the executions of the steps which started executing
+     */
+    public static List<StepExecution> stepExecutions(List<ProcessNode> nodes, Map<String, Instant> stateWriteStartTimes) {
+        return nodes.stream()
+            .map(node -> node.stepExecution(stateWriteStartTimes.get(node.id())))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Execute this node in the sequence.
-     * Initializes the node's {@link CompletableFuture} and completes it when the process completes.
+     * Registers a continuation on each predecessor's future and dispatches the step to the thread pool once the last predecessor
+     * completes. No thread is held while waiting on predecessors or on the step's own future.
      *
      * @return this node's future.
      * This is returned immediately, while process execution continues asynchronously.
      */
     public PlainActionFuture<WorkflowData> execute() {
-        if (this.future.isDone()) {
+        if (this.future.isDone() || !this.started.compareAndSet(false, true)) {
             throw new IllegalStateException("Process Node [" + this.id + "] already executed.");
         }
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                // get the input data from predecessor(s)
-                Map<String, WorkflowData> inputMap = new HashMap<>();
-                for (ProcessNode node : predecessors) {
-                    WorkflowData wd = node.future().actionGet();
+        // get the input data from predecessor(s)
+        Map<String, WorkflowData> inputMap = Collections.synchronizedMap(new HashMap<>());
+        if (predecessors.isEmpty()) {
+            dispatch(inputMap);
+        } else {
+            AtomicInteger pendingPredecessors = new AtomicInteger(predecessors.size());
+            for (ProcessNode node : predecessors) {
+                ListenablePlainActionFuture.addListener(node.future(), ActionListener.wrap(wd -> {
                     inputMap.put(wd.getNodeId(), wd);
-                }
-
-                // record start time for this step.
-                logger.info("Starting {}.", this.id);
-                PlainActionFuture<WorkflowData> stepFuture = this.workflowStep.execute(
-                    this.id,
-                    this.input,
-                    inputMap,
-                    this.previousNodeInputs,
-                    this.params,
-                    this.tenantId
-                );
-                // If completed exceptionally, this is a no-op
-                future.onResponse(stepFuture.actionGet(this.nodeTimeout));
-                // record end time passing workflow steps
-                logger.info("Finished {}.", this.id);
-            } catch (Exception e) {
-                this.future.onFailure(e);
+                    if (pendingPredecessors.decrementAndGet() == 0) {
+                        dispatch(inputMap);
+                    }
+                }, this.future::onFailure), executor());
             }
-        }, threadPool.executor(this.threadPoolName));
+        }
         return this.future;
     }
 
+    /**
+     * Submits the step to the thread pool once all predecessors have completed, and completes this node's future from the step's
+     * future, failing it if the node timeout elapses first.
+     * @param inputMap the outputs of the predecessor nodes
+     */
+    private void dispatch(Map<String, WorkflowData> inputMap) {
+        long readyNanos = System.nanoTime();
+        try {
+            executor().execute(() -> {
+                // A node cancelled while waiting for a thread has already failed
+                if (this.future.isDone()) {
+                    return;
+                }
+                recordStart(readyNanos);
+                WorkflowTask.StepTask stepTask = null;
+                try {
+                    logger.info("Starting {}.", this.id);
+                    WorkflowTask run = this.workflowTask;
+                    WorkflowData stepInput = this.input;
+                    if (run != null) {
+                        stepTask = run.startStep(this);
+                        // Tasks started by the step are children of the step task
+                        stepInput = new WorkflowData(
+                            input.getContent(),
+                            input.getParams(),
+                            input.getWorkflowId(),
+                            input.getNodeId(),
+                            stepTask.getTaskId()
+                        );
+                    }
+                    PlainActionFuture<WorkflowData> stepFuture = this.workflowStep.execute(
+                        this.id,
+                        stepInput,
+                        inputMap,
+                        this.previousNodeInputs,
+                        this.params,
+                        this.tenantId
+                    );
+                    recordInvokeEnd();
+                    this.stepFuture = stepFuture;
+                    if (this.cancelReason != null) {
+                        FutureUtils.cancel(stepFuture);
+                    }
+                    Scheduler.ScheduledCancellable timeout = scheduleTimeout();
+                    WorkflowTask.StepTask executingStepTask = stepTask;
+                    ListenablePlainActionFuture.addListener(stepFuture, ActionListener.wrap(wd -> {
+                        cancelTimeout(timeout);
+                        endStepTask(run, executingStepTask);
+                        // If completed exceptionally or timed out, these are no-ops
+                        recordEnd(State.COMPLETED);
+                        this.future.onResponse(wd);
+                        logger.info("Finished {}.", this.id);
+                    }, e -> {
+                        cancelTimeout(timeout);
+                        endStepTask(run, executingStepTask);
+                        recordEnd(State.FAILED);
+                        this.future.onFailure(e);
+                    }), executor());
+                } catch (Exception e) {
+                    endStepTask(this.workflowTask, stepTask);
+                    recordEnd(State.FAILED);
+                    this.future.onFailure(e);
+                }
+            });
+        } catch (Exception e) {
+            // Executor rejected the step
+            this.future.onFailure(e);
+        }
+    }
+
+    private Scheduler.ScheduledCancellable scheduleTimeout() {
+        if (this.nodeTimeout.millis() <= 0) {
+            return null;
+        }
+        return threadPool.schedule(() -> {
+            recordEnd(State.FAILED);
+            this.future.onFailure(
+                new OpenSearchTimeoutException(new TimeoutException("Process Node [" + this.id + "] timed out after " + this.nodeTimeout))
+            );
+        }, this.nodeTimeout, this.threadPoolName);
+    }
+
+    private synchronized void recordStart(long readyNanos) {
+        this.startTime = Instant.now();
+        this.queueTimeInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - readyNanos);
+        this.attempts++;
+    }
+
+    private synchronized void recordInvokeEnd() {
+        this.invokeEndTime = Instant.now();
+    }
+
+    // The first outcome wins, as for the future
+    private synchronized void recordEnd(State status) {
+        if (this.endTime == null) {
+            this.endTime = Instant.now();
+            this.status = status;
+        }
+    }
+
+    private static void endStepTask(WorkflowTask run, WorkflowTask.StepTask stepTask) {
+        if (run != null && stepTask != null) {
+            run.endStep(stepTask);
+        }
+    }
+
+    private static void cancelTimeout(Scheduler.ScheduledCancellable timeout) {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private ExecutorService executor() {
+        return threadPool.executor(this.threadPoolName);
+    }
+
     @Override
     public String toString() {
         return this.id;
@@ -8,11 +8,9 @@
  */
 package org.opensearch.flowframework.workflow;
 
-import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.ml.client.MachineLearningNodeClient;
 import org.opensearch.ml.common.MLTask;
-import org.opensearch.threadpool.ThreadPool;
 
 import java.util.Set;
 
@@ -36,18 +34,16 @@ public class RegisterLocalSparseEncodingModelStep extends AbstractRegisterLocalM
 
     /**
      * Instantiate this class
-     * @param threadPool The OpenSearch thread pool
      * @param mlClient client to instantiate MLClient
      * @param flowFrameworkIndicesHandler FlowFrameworkIndicesHandler class to update system indices
-     * @param flowFrameworkSettings settings of flow framework
+     * @param mlTaskPoller the node level poller for ML tasks
      */
     public RegisterLocalSparseEncodingModelStep(
-        ThreadPool threadPool,
         MachineLearningNodeClient mlClient,
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
-        FlowFrameworkSettings flowFrameworkSettings
+        MLTaskPoller mlTaskPoller
     ) {
-        super(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings);
+        super(mlClient, flowFrameworkIndicesHandler, mlTaskPoller);
     }
 
     @Override
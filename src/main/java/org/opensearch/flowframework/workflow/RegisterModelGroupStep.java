@@ -18,6 +18,7 @@ import org.opensearch.core.rest.RestStatus;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.ml.client.MachineLearningNodeClient;
 import org.opensearch.ml.common.AccessMode;
@@ -73,7 +74,7 @@ public class RegisterModelGroupStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> registerModelGroupFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> registerModelGroupFuture = ListenablePlainActionFuture.newListenableFuture();
 
         ActionListener<MLRegisterModelGroupResponse> actionListener = new ActionListener<>() {
             @Override
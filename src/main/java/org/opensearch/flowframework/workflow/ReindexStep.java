@@ -12,14 +12,17 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.admin.cluster.node.tasks.cancel.CancelTasksRequest;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.common.Booleans;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.Strings;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.tasks.TaskId;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.index.reindex.BulkByScrollResponse;
 import org.opensearch.index.reindex.ReindexAction;
@@ -72,7 +75,7 @@ public class ReindexStep implements WorkflowStep {
         String tenantId
     ) {
 
-        PlainActionFuture<WorkflowData> reIndexFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> reIndexFuture = ListenablePlainActionFuture.newListenableFuture();
 
         Set<String> requiredKeys = Set.of(SOURCE_INDEX, DESTINATION_INDEX);
 
@@ -170,6 +173,12 @@ public class ReindexStep implements WorkflowStep {
                 }
             };
 
+            TaskId parentTaskId = currentNodeInputs.getParentTaskId();
+            if (parentTaskId.isSet()) {
+                // The reindex runs as a child of the step task, so it is cancelled when the step is
+                reindexRequest.setParentTask(parentTaskId);
+                ListenablePlainActionFuture.onCancellation(reIndexFuture, () -> cancelReindex(parentTaskId));
+            }
             client.execute(ReindexAction.INSTANCE, reindexRequest, actionListener);
 
         } catch (IllegalArgumentException iae) {
@@ -182,6 +191,26 @@ public class ReindexStep implements WorkflowStep {
         return reIndexFuture;
     }
 
+    /**
+     * Cancels the reindex started by a cancelled step
+     * @param parentTaskId the task id of the step
+     */
+    private void cancelReindex(TaskId parentTaskId) {
+        CancelTasksRequest cancelTasksRequest = new CancelTasksRequest();
+        cancelTasksRequest.setTargetParentTaskId(parentTaskId);
+        cancelTasksRequest.setActions(ReindexAction.NAME);
+        cancelTasksRequest.setReason("workflow step cancelled");
+        client.admin()
+            .cluster()
+            .cancelTasks(
+                cancelTasksRequest,
+                ActionListener.wrap(
+                    r -> logger.info("Cancelled reindex of step task {}", parentTaskId),
+                    e -> logger.error("Failed to cancel reindex of step task {}", parentTaskId, e)
+                )
+            );
+    }
+
     @Override
     public String getName() {
         return NAME;
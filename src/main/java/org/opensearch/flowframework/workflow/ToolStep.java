@@ -14,6 +14,7 @@ import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.ml.common.agent.MLToolSpec;
 
@@ -41,7 +42,7 @@ import static org.opensearch.ml.common.agent.MLToolSpec.TOOL_TYPE_FIELD;
 public class ToolStep implements WorkflowStep {
 
     private static final Logger logger = LogManager.getLogger(ToolStep.class);
-    PlainActionFuture<WorkflowData> toolFuture = PlainActionFuture.newFuture();
+    PlainActionFuture<WorkflowData> toolFuture = ListenablePlainActionFuture.newListenableFuture();
 
     /** The name of this step, used as a key in the template and the {@link WorkflowStepFactory} */
     public static final String NAME = "create_tool";
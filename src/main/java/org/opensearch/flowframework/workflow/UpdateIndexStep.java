@@ -24,6 +24,7 @@ import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.MediaTypeRegistry;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.transport.client.Client;
 
@@ -67,7 +68,7 @@ public class UpdateIndexStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> updateIndexFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> updateIndexFuture = ListenablePlainActionFuture.newListenableFuture();
 
         Set<String> requiredKeys = Set.of(INDEX_NAME, CONFIGURATIONS);
         Set<String> optionalKeys = Collections.emptySet();
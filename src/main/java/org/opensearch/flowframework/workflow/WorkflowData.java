@@ -9,6 +9,7 @@
 package org.opensearch.flowframework.workflow;
 
 import org.opensearch.common.Nullable;
+import org.opensearch.core.tasks.TaskId;
 
 import java.util.Collections;
 import java.util.Map;
@@ -30,6 +31,7 @@ public class WorkflowData {
     private String workflowId;
     @Nullable
     private String nodeId;
+    private final TaskId parentTaskId;
 
     private WorkflowData() {
         this(Collections.emptyMap(), Collections.emptyMap(), null, null);
@@ -53,10 +55,29 @@ public class WorkflowData {
      * @param nodeId The node ID associated with this step
      */
     public WorkflowData(Map<String, Object> content, Map<String, String> params, @Nullable String workflowId, @Nullable String nodeId) {
+        this(content, params, workflowId, nodeId, TaskId.EMPTY_TASK_ID);
+    }
+
+    /**
+     * Instantiate this object with content, params and the task of the process node it is provided to.
+     * @param content The content map
+     * @param params The params map
+     * @param workflowId The workflow ID associated with this step
+     * @param nodeId The node ID associated with this step
+     * @param parentTaskId The task executing the step, to use as the parent of tasks the step starts
+     */
+    public WorkflowData(
+        Map<String, Object> content,
+        Map<String, String> params,
+        @Nullable String workflowId,
+        @Nullable String nodeId,
+        TaskId parentTaskId
+    ) {
         this.content = Map.copyOf(content);
         this.params = Map.copyOf(params);
         this.workflowId = workflowId;
         this.nodeId = nodeId;
+        this.parentTaskId = parentTaskId;
     }
 
     /**
@@ -93,4 +114,12 @@ public class WorkflowData {
     public String getNodeId() {
         return this.nodeId;
     }
+
+    /**
+     * Returns the task executing the step this data is provided to.
+     * @return the id of the task, or {@link TaskId#EMPTY_TASK_ID} if the step is not executed by a task
+     */
+    public TaskId getParentTaskId() {
+        return this.parentTaskId;
+    }
 }
@@ -12,6 +12,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 
 import java.util.Map;
 
@@ -43,7 +44,7 @@ public class WorkflowDataStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> workflowDataFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> workflowDataFuture = ListenablePlainActionFuture.newListenableFuture();
         workflowDataFuture.onResponse(
             new WorkflowData(
                 Map.of(resourceCreated.resourceType(), resourceCreated.resourceId()),
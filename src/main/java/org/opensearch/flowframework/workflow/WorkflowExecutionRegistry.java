@@ -0,0 +1,286 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.flowframework.model.ProvisioningProgress;
+import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.WorkflowState;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the workflow executions running on this node.
+ * Tracks the state and the resources created so far of each provisioning workflow while it executes, so the state of an in-flight
+ * workflow can be served from memory rather than read back from the state index, and requests waiting for the state of a workflow to
+ * change can be notified rather than polling. The registry is bounded, executions started while it is full are not tracked and their
+ * state is read from the index.
+ */
+public class WorkflowExecutionRegistry {
+
+    private static final Logger logger = LogManager.getLogger(WorkflowExecutionRegistry.class);
+
+    /** The maximum number of executions tracked at once */
+    public static final int MAX_TRACKED_EXECUTIONS = 1000;
+
+    private final Map<String, Execution> executions = new ConcurrentHashMap<>();
+    // Tenant ids of the runs executing on this node by workflow id, including runs whose execution is not tracked
+    private final Map<String, Optional<String>> runs = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiate this class
+     */
+    public WorkflowExecutionRegistry() {}
+
+    /**
+     * Starts tracking the execution of a workflow, replacing any previous execution of the same workflow
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     * @param provisionStartTime the time provisioning started
+     * @return true if the execution is tracked, false if the registry is full
+     */
+    public boolean register(String workflowId, String tenantId, Instant provisionStartTime) {
+        return register(workflowId, tenantId, provisionStartTime, Collections.emptyList());
+    }
+
+    /**
+     * Starts tracking the execution of a workflow continuing an earlier execution, replacing any previous execution of the same workflow
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     * @param provisionStartTime the time provisioning started
+     * @param resourcesCreated the resources created by the earlier execution
+     * @return true if the execution is tracked, false if the registry is full
+     */
+    public boolean register(String workflowId, String tenantId, Instant provisionStartTime, List<ResourceCreated> resourcesCreated) {
+        // The size check is not atomic with the insertion, so the bound may be exceeded by concurrent registrations
+        if (!executions.containsKey(workflowId) && executions.size() >= MAX_TRACKED_EXECUTIONS) {
+            logger.debug("Execution registry is full, not tracking execution of workflow {}", workflowId);
+            return false;
+        }
+        Execution previous = executions.put(workflowId, new Execution(workflowId, tenantId, provisionStartTime, resourcesCreated));
+        if (previous != null) {
+            notifyChanged(workflowId, previous.remove());
+        }
+        return true;
+    }
+
+    /**
+     * Records a resource created by a tracked execution. Does nothing if the workflow is not tracked.
+     * @param workflowId the workflow id
+     * @param resource the resource created
+     * @param stateWriteStartTime the time the step creating the resource started recording it in the state index
+     */
+    public void addResource(String workflowId, ResourceCreated resource, Instant stateWriteStartTime) {
+        Execution execution = executions.get(workflowId);
+        if (execution != null) {
+            notifyChanged(workflowId, execution.addResource(resource, stateWriteStartTime));
+        }
+    }
+
+    /**
+     * Gets the time each step of a tracked execution started recording its resource in the state index
+     * @param workflowId the workflow id
+     * @return the state write start times by workflow step id, empty if the workflow is not tracked
+     */
+    public Map<String, Instant> getStateWriteStartTimes(String workflowId) {
+        Execution execution = executions.get(workflowId);
+        return execution == null ? Collections.emptyMap() : execution.stateWriteStartTimes();
+    }
+
+    /**
+     * Marks a tracked execution as ended, until its final state is written to the state index. Does nothing if the workflow is not
+     * tracked.
+     * @param workflowId the workflow id
+     * @param state the final state of the workflow
+     * @param provisioningProgress the final provisioning progress of the workflow
+     * @param error the error which ended the execution, or null if it succeeded
+     * @param provisionEndTime the time provisioning ended
+     */
+    public void end(String workflowId, State state, ProvisioningProgress provisioningProgress, String error, Instant provisionEndTime) {
+        Execution execution = executions.get(workflowId);
+        if (execution != null) {
+            notifyChanged(workflowId, execution.end(state, provisioningProgress, error, provisionEndTime));
+        }
+    }
+
+    /**
+     * Stops tracking the execution of a workflow
+     * @param workflowId the workflow id
+     */
+    public void remove(String workflowId) {
+        Execution execution = executions.remove(workflowId);
+        if (execution != null) {
+            notifyChanged(workflowId, execution.remove());
+        }
+    }
+
+    /**
+     * Records a provisioning or reprovisioning run of a workflow executing on this node, whether or not its execution is tracked.
+     * The node reports its runs as still executing in the state index until they are removed with {@link #removeRun(String)}.
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     */
+    public void addRun(String workflowId, String tenantId) {
+        runs.put(workflowId, Optional.ofNullable(tenantId));
+    }
+
+    /**
+     * Removes a run of a workflow once it stopped executing on this node
+     * @param workflowId the workflow id
+     */
+    public void removeRun(String workflowId) {
+        runs.remove(workflowId);
+    }
+
+    /**
+     * Gets the provisioning and reprovisioning runs executing on this node
+     * @return the tenant id of each run by workflow id, null if the workflow has no tenant
+     */
+    public Map<String, String> getRuns() {
+        Map<String, String> tenantIds = new HashMap<>();
+        runs.forEach((workflowId, tenantId) -> tenantIds.put(workflowId, tenantId.orElse(null)));
+        return tenantIds;
+    }
+
+    /**
+     * Registers a listener called once, on the next change to the resources or state of a tracked execution or when the workflow stops
+     * being tracked. The listener is called on the thread making the change and must not block.
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id of the request
+     * @param listener the listener to call on the next change
+     * @return true if the listener was registered, false if the workflow is not running on this node for this tenant
+     */
+    public boolean addChangeListener(String workflowId, String tenantId, Runnable listener) {
+        Execution execution = executions.get(workflowId);
+        if (execution == null || !Objects.equals(execution.tenantId, tenantId)) {
+            return false;
+        }
+        return execution.addChangeListener(listener);
+    }
+
+    /**
+     * Gets the current state of a tracked execution
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id of the request
+     * @return the state of the execution, or empty if the workflow is not running on this node for this tenant
+     */
+    public Optional<WorkflowState> getWorkflowState(String workflowId, String tenantId) {
+        Execution execution = executions.get(workflowId);
+        if (execution == null || !Objects.equals(execution.tenantId, tenantId)) {
+            return Optional.empty();
+        }
+        return Optional.of(execution.toWorkflowState());
+    }
+
+    /**
+     * Gets the number of tracked executions
+     * @return the number of executions tracked on this node
+     */
+    public int size() {
+        return executions.size();
+    }
+
+    private static void notifyChanged(String workflowId, List<Runnable> changeListeners) {
+        for (Runnable listener : changeListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                logger.error("Failed to notify change of workflow {}", workflowId, e);
+            }
+        }
+    }
+
+    private static class Execution {
+        private final String workflowId;
+        private final String tenantId;
+        private final Instant provisionStartTime;
+        private final List<ResourceCreated> resourcesCreated = new ArrayList<>();
+        private final Map<String, Instant> stateWriteStartTimes = new HashMap<>();
+        private List<Runnable> changeListeners = new ArrayList<>();
+        private boolean removed = false;
+        private String state = State.PROVISIONING.name();
+        private String provisioningProgress = ProvisioningProgress.IN_PROGRESS.name();
+        private String error = null;
+        private Instant provisionEndTime = null;
+
+        private Execution(String workflowId, String tenantId, Instant provisionStartTime, List<ResourceCreated> resourcesCreated) {
+            this.workflowId = workflowId;
+            this.tenantId = tenantId;
+            this.provisionStartTime = provisionStartTime;
+            this.resourcesCreated.addAll(resourcesCreated);
+        }
+
+        private synchronized List<Runnable> addResource(ResourceCreated resource, Instant stateWriteStartTime) {
+            resourcesCreated.add(resource);
+            stateWriteStartTimes.put(resource.workflowStepId(), stateWriteStartTime);
+            return drainChangeListeners();
+        }
+
+        private synchronized Map<String, Instant> stateWriteStartTimes() {
+            return new HashMap<>(stateWriteStartTimes);
+        }
+
+        private synchronized List<Runnable> end(
+            State state,
+            ProvisioningProgress provisioningProgress,
+            String error,
+            Instant provisionEndTime
+        ) {
+            this.state = state.name();
+            this.provisioningProgress = provisioningProgress.name();
+            this.error = error;
+            this.provisionEndTime = provisionEndTime;
+            return drainChangeListeners();
+        }
+
+        private synchronized List<Runnable> remove() {
+            removed = true;
+            return drainChangeListeners();
+        }
+
+        private synchronized boolean addChangeListener(Runnable listener) {
+            // A listener added after removal would never be called
+            if (removed) {
+                return false;
+            }
+            changeListeners.add(listener);
+            return true;
+        }
+
+        // Listeners are returned to be called outside the lock
+        private List<Runnable> drainChangeListeners() {
+            List<Runnable> listeners = changeListeners;
+            changeListeners = new ArrayList<>();
+            return listeners;
+        }
+
+        private synchronized WorkflowState toWorkflowState() {
+            return WorkflowState.builder()
+                .workflowId(workflowId)
+                .state(state)
+                .provisioningProgress(provisioningProgress)
+                .error(error)
+                .provisionStartTime(provisionStartTime)
+                .provisionEndTime(provisionEndTime)
+                .resourcesCreated(new ArrayList<>(resourcesCreated))
+                .tenantId(tenantId)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,600 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessageFactory;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Randomness;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.WorkflowJob;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.transport.DeprovisionWorkflowAction;
+import org.opensearch.flowframework.transport.ProvisionWorkflowAction;
+import org.opensearch.flowframework.transport.WorkflowRequest;
+import org.opensearch.flowframework.transport.WorkflowResponse;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.remote.metadata.client.PutDataObjectRequest;
+import org.opensearch.remote.metadata.client.SdkClient;
+import org.opensearch.remote.metadata.client.SearchDataObjectRequest;
+import org.opensearch.remote.metadata.client.UpdateDataObjectRequest;
+import org.opensearch.remote.metadata.common.SdkClientUtils;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.opensearch.core.rest.RestStatus.INTERNAL_SERVER_ERROR;
+import static org.opensearch.flowframework.common.CommonValue.CREATE_TIME;
+import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.JOB_LEASE_EXPIRY_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.JOB_STATUS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_JOBS_INDEX;
+import static org.opensearch.flowframework.model.Template.createEmptyTemplateWithTenantId;
+import static org.opensearch.flowframework.util.ParseUtils.injectUserContext;
+
+/**
+ * Queue of the provision and deprovision requests of the cluster, stored as jobs in the workflow jobs index.
+ * <p>
+ * A queued request survives the restart of the node which received it, and is executed by whichever data node has a free job slot
+ * rather than only by that node. Each data node polls the index for queued jobs and claims them with a compare-and-set update of the
+ * job document, which gives it a lease on the job. The owner node renews the lease while the job executes, so a job whose owner node
+ * left the cluster is claimed by another node once its lease expires. A job is failed once it was claimed the maximum number of times.
+ * The node stops polling once it is closed.
+ */
+public class WorkflowJobQueue implements ClusterStateListener, Closeable {
+
+    private static final Logger logger = LogManager.getLogger(WorkflowJobQueue.class);
+
+    /** The transient header of a provision or deprovision request executed by a job, which must not be queued again */
+    public static final String JOB_ID_TRANSIENT = "flow_framework_job_id";
+    /** The maximum number of times a job is claimed before it is failed */
+    public static final int MAX_ATTEMPTS = 3;
+    /** The interval at which each node polls the jobs index for jobs to claim and renews the leases of its jobs */
+    public static final TimeValue POLL_INTERVAL = TimeValue.timeValueSeconds(5);
+    /** The time a claim or a renewal keeps other nodes from claiming a job */
+    public static final TimeValue LEASE_DURATION = TimeValue.timeValueSeconds(60);
+    /** The minimum time between renewals of the lease of a job */
+    public static final TimeValue LEASE_RENEWAL_INTERVAL = TimeValue.timeValueSeconds(15);
+    // The delay before writing the final update of a job again while a renewal of its lease is in flight
+    private static final TimeValue RELEASE_RETRY_DELAY = TimeValue.timeValueMillis(500);
+    // Nodes claim among more jobs than they have free slots, so concurrent polls of several nodes don't all contend for the same jobs
+    private static final int CLAIM_CANDIDATES_PER_SLOT = 2;
+
+    private final Client client;
+    private final SdkClient sdkClient;
+    private final ThreadPool threadPool;
+    private final ClusterService clusterService;
+    private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+    private final FlowFrameworkSettings flowFrameworkSettings;
+    private final WorkflowExecutionRegistry workflowExecutionRegistry;
+
+    private final Map<String, RunningJob> runningJobs = new ConcurrentHashMap<>();
+    private final AtomicInteger claimsInFlight = new AtomicInteger();
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+    private volatile Scheduler.Cancellable poller;
+    private volatile boolean closed;
+
+    /**
+     * Instantiate this class
+     * @param client the node client executing the provision and deprovision requests of the claimed jobs
+     * @param sdkClient the client reading and writing the jobs index
+     * @param threadPool the thread pool scheduling the polls
+     * @param clusterService the cluster service
+     * @param flowFrameworkIndicesHandler the handler of the flow framework indices
+     * @param flowFrameworkSettings the plugin settings
+     * @param workflowExecutionRegistry the registry of workflow executions running on this node
+     */
+    public WorkflowJobQueue(
+        Client client,
+        SdkClient sdkClient,
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
+        FlowFrameworkSettings flowFrameworkSettings,
+        WorkflowExecutionRegistry workflowExecutionRegistry
+    ) {
+        this.client = client;
+        this.sdkClient = sdkClient;
+        this.threadPool = threadPool;
+        this.clusterService = clusterService;
+        this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
+        this.flowFrameworkSettings = flowFrameworkSettings;
+        this.workflowExecutionRegistry = workflowExecutionRegistry;
+        clusterService.addListener(this);
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        // Start polling once this node joined a cluster, only data nodes execute jobs
+        DiscoveryNode localNode = event.state().nodes().getLocalNode();
+        if (poller == null && localNode != null && localNode.isDataNode()) {
+            startPolling();
+        }
+    }
+
+    private synchronized void startPolling() {
+        if (poller == null && !closed) {
+            poller = threadPool.scheduleWithFixedDelay(this::poll, POLL_INTERVAL, ThreadPool.Names.GENERIC);
+        }
+    }
+
+    /**
+     * Stops polling the jobs index when the node closes. Jobs executing on this node are claimed by another node once their lease
+     * expires.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        clusterService.removeListener(this);
+        if (poller != null) {
+            poller.cancel();
+        }
+    }
+
+    /**
+     * Whether a provision or deprovision request is queued as a job rather than executed by the node receiving it. Requests
+     * waiting for the completion of the workflow and requests executed by a job are never queued. Jobs of all tenants are claimed
+     * from the jobs index of this cluster, so requests are not queued when multitenancy is enabled.
+     * @param request the provision or deprovision request
+     * @return true if the request should be queued
+     */
+    public boolean shouldQueue(WorkflowRequest request) {
+        return flowFrameworkSettings.isJobQueueEnabled()
+            && !flowFrameworkSettings.isMultiTenancyEnabled()
+            && TimeValue.MINUS_ONE.equals(request.getWaitForCompletionTimeout())
+            && client.threadPool().getThreadContext().getTransient(JOB_ID_TRANSIENT) == null;
+    }
+
+    /**
+     * Queues a job in the jobs index, creating the index if needed
+     * @param jobType the type of workflow execution to run
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     * @param params the parameters of the provision or deprovision request
+     * @param user the user who sent the request, whose permissions the job executes with, or null if security is disabled
+     * @param listener the listener notified with the job id once the job is queued
+     */
+    public void enqueue(
+        WorkflowJob.Type jobType,
+        String workflowId,
+        String tenantId,
+        Map<String, String> params,
+        User user,
+        ActionListener<String> listener
+    ) {
+        flowFrameworkIndicesHandler.initWorkflowJobsIndexIfAbsent(ActionListener.wrap(indexCreated -> {
+            if (!indexCreated) {
+                listener.onFailure(
+                    new FlowFrameworkException("No response to create " + WORKFLOW_JOBS_INDEX + " index", INTERNAL_SERVER_ERROR)
+                );
+                return;
+            }
+            String jobId = UUIDs.base64UUID();
+            PutDataObjectRequest request = PutDataObjectRequest.builder()
+                .index(WORKFLOW_JOBS_INDEX)
+                .id(jobId)
+                .tenantId(tenantId)
+                .dataObject(new WorkflowJob(jobType, workflowId, tenantId, params, user, Instant.now()))
+                .build();
+            try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+                sdkClient.putDataObjectAsync(request).whenComplete((r, throwable) -> {
+                    context.restore();
+                    if (throwable == null) {
+                        logger.info("Queued {} job {} for workflow {}", jobType, jobId, workflowId);
+                        listener.onResponse(jobId);
+                        // Claim the job without waiting for the next poll if this node has a free slot
+                        threadPool.generic().execute(this::poll);
+                    } else {
+                        Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                        String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                            "Failed to queue {} job for workflow {}",
+                            jobType,
+                            workflowId
+                        ).getFormattedMessage();
+                        logger.error(errorMessage, exception);
+                        listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                    }
+                });
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Checks the jobs executing on this node for completion and renews their leases, then claims queued jobs up to the free job slots
+     * of this node. Does nothing while a previous poll is still searching for jobs.
+     */
+    void poll() {
+        poll(Instant.now());
+    }
+
+    /**
+     * Polls the jobs index as of a given time
+     * @param now the time of the poll
+     */
+    void poll(Instant now) {
+        if (!flowFrameworkSettings.isJobQueueEnabled() || !flowFrameworkIndicesHandler.doesIndexExist(WORKFLOW_JOBS_INDEX)) {
+            return;
+        }
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runningJobs.values().forEach(runningJob -> checkRunningJob(runningJob, now));
+            int freeSlots = flowFrameworkSettings.getMaxRunningJobsPerNode() - runningJobs.size() - claimsInFlight.get();
+            if (freeSlots <= 0) {
+                polling.set(false);
+                return;
+            }
+            searchClaimableJobs(freeSlots, now);
+        } catch (Exception e) {
+            logger.error("Failed to poll the workflow jobs index", e);
+            polling.set(false);
+        }
+    }
+
+    private void searchClaimableJobs(int freeSlots, Instant now) {
+        // Queued jobs, and jobs whose owner node stopped renewing its lease
+        BoolQueryBuilder query = QueryBuilders.boolQuery()
+            .should(QueryBuilders.termQuery(JOB_STATUS_FIELD, WorkflowJob.Status.QUEUED.name()))
+            .should(
+                QueryBuilders.boolQuery()
+                    .filter(QueryBuilders.termQuery(JOB_STATUS_FIELD, WorkflowJob.Status.RUNNING.name()))
+                    .filter(QueryBuilders.rangeQuery(JOB_LEASE_EXPIRY_TIME_FIELD).lt(now.toEpochMilli()))
+            )
+            .minimumShouldMatch(1);
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(query)
+            .size(freeSlots * CLAIM_CANDIDATES_PER_SLOT)
+            .sort(CREATE_TIME, SortOrder.ASC)
+            .seqNoAndPrimaryTerm(true);
+        SearchDataObjectRequest searchRequest = SearchDataObjectRequest.builder()
+            .indices(WORKFLOW_JOBS_INDEX)
+            .searchSourceBuilder(searchSourceBuilder)
+            .build();
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            sdkClient.searchDataObjectAsync(searchRequest).whenComplete((r, throwable) -> {
+                context.restore();
+                try {
+                    if (throwable != null) {
+                        Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                        logger.error("Failed to search the workflow jobs index", exception);
+                        return;
+                    }
+                    List<SearchHit> candidates = new ArrayList<>(List.of(SearchResponse.fromXContent(r.parser()).getHits().getHits()));
+                    Randomness.shuffle(candidates);
+                    for (SearchHit hit : candidates.subList(0, Math.min(freeSlots, candidates.size()))) {
+                        claim(hit);
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to parse the workflow jobs search response", e);
+                } finally {
+                    polling.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Claims a job for this node, failing it instead if it was claimed the maximum number of times. Another node claiming the job
+     * first makes the claim fail its compare-and-set, and the job is left to that node.
+     * @param hit the search hit of the job
+     */
+    private void claim(SearchHit hit) {
+        String jobId = hit.getId();
+        WorkflowJob job;
+        try {
+            job = WorkflowJob.parse(hit.getSourceRef());
+        } catch (Exception e) {
+            logger.error("Failed to parse job {}", jobId, e);
+            return;
+        }
+        Instant now = Instant.now();
+        if (job.getAttempts() >= MAX_ATTEMPTS) {
+            String error = "Job was claimed " + job.getAttempts() + " times without completing";
+            updateJob(
+                jobId,
+                job.withStatus(WorkflowJob.Status.FAILED, error, now),
+                hit.getSeqNo(),
+                hit.getPrimaryTerm(),
+                ActionListener.wrap(r -> {
+                    logger.info("Failed {} job {} for workflow {}: {}", job.getJobType(), jobId, job.getWorkflowId(), error);
+                    recordDeprovisionFailure(job, error);
+                }, e -> logUpdateFailure(jobId, e))
+            );
+            return;
+        }
+        WorkflowJob claimedJob = job.claim(clusterService.localNode().getId(), now.plusMillis(LEASE_DURATION.millis()), now);
+        claimsInFlight.incrementAndGet();
+        updateJob(jobId, claimedJob, hit.getSeqNo(), hit.getPrimaryTerm(), ActionListener.runAfter(ActionListener.wrap(r -> {
+            RunningJob runningJob = new RunningJob(jobId, claimedJob, r.getSeqNo(), r.getPrimaryTerm(), now);
+            runningJobs.put(jobId, runningJob);
+            logger.info(
+                "Claimed {} job {} for workflow {}, attempt {}",
+                job.getJobType(),
+                jobId,
+                job.getWorkflowId(),
+                claimedJob.getAttempts()
+            );
+            startJob(runningJob);
+        }, e -> logUpdateFailure(jobId, e)), claimsInFlight::decrementAndGet));
+    }
+
+    /**
+     * Starts executing a claimed job. A provision job claimed again after its owner node left is only executed if the workflow was
+     * not provisioned yet, a provisioning interrupted by the loss of its node is failed rather than provisioned again.
+     * @param runningJob the claimed job
+     */
+    private void startJob(RunningJob runningJob) {
+        WorkflowJob job = runningJob.job;
+        if (job.getJobType() != WorkflowJob.Type.PROVISION || job.getAttempts() == 1) {
+            execute(runningJob);
+            return;
+        }
+        readWorkflowState(job, ActionListener.wrap(workflowState -> {
+            State state = State.valueOf(workflowState.getState());
+            if (State.NOT_STARTED.equals(state)) {
+                execute(runningJob);
+            } else if (State.COMPLETED.equals(state)) {
+                finish(runningJob, WorkflowJob.Status.COMPLETED, null);
+            } else if (State.FAILED.equals(state)) {
+                finish(runningJob, WorkflowJob.Status.FAILED, workflowState.getError());
+            } else {
+                finish(runningJob, WorkflowJob.Status.FAILED, WorkflowStateReconciler.INTERRUPTED_ERROR);
+            }
+        }, e -> finish(runningJob, WorkflowJob.Status.FAILED, e.getMessage())));
+    }
+
+    /**
+     * Executes the provision or deprovision request of a claimed job on this node as the user who queued it. A deprovision job
+     * completes with its request, a provision job once the workflow state is final. A request rejected because its tenant has too
+     * many requests executing on this node is queued again for any node to claim.
+     * @param runningJob the claimed job
+     */
+    private void execute(RunningJob runningJob) {
+        WorkflowJob job = runningJob.job;
+        WorkflowRequest request = new WorkflowRequest(
+            job.getWorkflowId(),
+            createEmptyTemplateWithTenantId(job.getTenantId()),
+            job.getParams()
+        );
+        ActionType<WorkflowResponse> action = job.getJobType() == WorkflowJob.Type.PROVISION
+            ? ProvisionWorkflowAction.INSTANCE
+            : DeprovisionWorkflowAction.INSTANCE;
+        ThreadContext threadContext = client.threadPool().getThreadContext();
+        try (ThreadContext.StoredContext context = threadContext.stashContext()) {
+            injectUserContext(threadContext, job.getUser());
+            threadContext.putTransient(JOB_ID_TRANSIENT, runningJob.jobId);
+            client.execute(action, request, ActionListener.wrap(response -> {
+                if (job.getJobType() == WorkflowJob.Type.DEPROVISION) {
+                    finish(runningJob, WorkflowJob.Status.COMPLETED, null);
+                } else {
+                    runningJob.started = true;
+                }
+            }, exception -> {
+                if (ExceptionsHelper.status(exception) == RestStatus.TOO_MANY_REQUESTS) {
+                    requeue(runningJob);
+                } else {
+                    finish(runningJob, WorkflowJob.Status.FAILED, exception.getMessage());
+                }
+            }));
+        } catch (Exception e) {
+            finish(runningJob, WorkflowJob.Status.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Completes a started provision job whose workflow is no longer executing on this node, and renews the lease of a job still
+     * executing once the renewal interval elapsed
+     * @param runningJob a job executing on this node
+     * @param now the time of the poll
+     */
+    private void checkRunningJob(RunningJob runningJob, Instant now) {
+        WorkflowJob job = runningJob.job;
+        if (runningJob.started && workflowExecutionRegistry.getWorkflowState(job.getWorkflowId(), job.getTenantId()).isEmpty()) {
+            readWorkflowState(job, ActionListener.wrap(workflowState -> {
+                State state = State.valueOf(workflowState.getState());
+                if (State.COMPLETED.equals(state)) {
+                    finish(runningJob, WorkflowJob.Status.COMPLETED, null);
+                } else if (!State.PROVISIONING.equals(state)) {
+                    finish(runningJob, WorkflowJob.Status.FAILED, workflowState.getError());
+                } else {
+                    renewIfDue(runningJob, now);
+                }
+            }, e -> renewIfDue(runningJob, now)));
+        } else {
+            renewIfDue(runningJob, now);
+        }
+    }
+
+    private void renewIfDue(RunningJob runningJob, Instant now) {
+        if (now.isBefore(runningJob.lastRenewalTime.plusMillis(LEASE_RENEWAL_INTERVAL.millis()))
+            || !runningJob.updating.compareAndSet(false, true)) {
+            return;
+        }
+        WorkflowJob renewedJob = runningJob.job.renew(now.plusMillis(LEASE_DURATION.millis()), now);
+        updateJob(runningJob.jobId, renewedJob, runningJob.seqNo, runningJob.primaryTerm, ActionListener.wrap(r -> {
+            runningJob.renewed(renewedJob, r.getSeqNo(), r.getPrimaryTerm(), now);
+            runningJob.updating.set(false);
+        }, e -> {
+            runningJob.updating.set(false);
+            if (ExceptionsHelper.status(e) == RestStatus.CONFLICT) {
+                // The lease expired and another node claimed the job, it no longer counts against the slots of this node
+                logger.warn("Lost the lease of job {} for workflow {}", runningJob.jobId, runningJob.job.getWorkflowId());
+                runningJobs.remove(runningJob.jobId);
+            } else {
+                logUpdateFailure(runningJob.jobId, e);
+            }
+        }));
+    }
+
+    private void finish(RunningJob runningJob, WorkflowJob.Status status, String error) {
+        WorkflowJob job = runningJob.job;
+        releaseJob(runningJob, j -> j.withStatus(status, error, Instant.now()), ActionListener.wrap(r -> {
+            logger.info("{} job {} for workflow {} is {}", job.getJobType(), runningJob.jobId, job.getWorkflowId(), status);
+            if (status == WorkflowJob.Status.FAILED) {
+                recordDeprovisionFailure(job, error);
+            }
+            threadPool.generic().execute(this::poll);
+        }, e -> logUpdateFailure(runningJob.jobId, e)));
+    }
+
+    /**
+     * Records the error of a failed deprovision job in the state of its workflow, where the caller which queued the request reads the
+     * outcome. Provision jobs need not, their provisioning records its own errors.
+     * @param job the failed job
+     * @param error the error of the job
+     */
+    private void recordDeprovisionFailure(WorkflowJob job, String error) {
+        if (job.getJobType() != WorkflowJob.Type.DEPROVISION) {
+            return;
+        }
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            job.getWorkflowId(),
+            job.getTenantId(),
+            Map.of(ERROR_FIELD, error == null ? "Failed to deprovision workflow " + job.getWorkflowId() : error),
+            ActionListener.wrap(
+                r -> logger.info("Recorded the deprovisioning error of workflow {}", job.getWorkflowId()),
+                e -> logger.error("Failed to record the deprovisioning error of workflow {}", job.getWorkflowId(), e)
+            )
+        );
+    }
+
+    private void requeue(RunningJob runningJob) {
+        releaseJob(
+            runningJob,
+            j -> j.requeue(Instant.now()),
+            ActionListener.wrap(
+                r -> logger.info("Queued job {} for workflow {} again", runningJob.jobId, runningJob.job.getWorkflowId()),
+                e -> logUpdateFailure(runningJob.jobId, e)
+            )
+        );
+    }
+
+    /**
+     * Writes the final update of a job this node stops executing, once any renewal of its lease in flight completed
+     * @param runningJob the job
+     * @param update the update of the job
+     * @param listener the listener notified with the update response
+     */
+    private void releaseJob(RunningJob runningJob, UnaryOperator<WorkflowJob> update, ActionListener<UpdateResponse> listener) {
+        if (!runningJob.updating.compareAndSet(false, true)) {
+            threadPool.schedule(() -> releaseJob(runningJob, update, listener), RELEASE_RETRY_DELAY, ThreadPool.Names.GENERIC);
+            return;
+        }
+        if (runningJobs.remove(runningJob.jobId) == null) {
+            return;
+        }
+        updateJob(runningJob.jobId, update.apply(runningJob.job), runningJob.seqNo, runningJob.primaryTerm, listener);
+    }
+
+    private void readWorkflowState(WorkflowJob job, ActionListener<WorkflowState> listener) {
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            flowFrameworkIndicesHandler.getWorkflowState(job.getWorkflowId(), job.getTenantId(), listener, context);
+        }
+    }
+
+    /**
+     * Updates a job document if it was not updated since it was read
+     * @param jobId the job id
+     * @param job the updated job
+     * @param seqNo the sequence number of the document when it was read
+     * @param primaryTerm the primary term of the document when it was read
+     * @param listener the listener notified with the update response, or a conflict if the document was updated since it was read
+     */
+    private void updateJob(String jobId, WorkflowJob job, long seqNo, long primaryTerm, ActionListener<UpdateResponse> listener) {
+        UpdateDataObjectRequest updateRequest = UpdateDataObjectRequest.builder()
+            .index(WORKFLOW_JOBS_INDEX)
+            .id(jobId)
+            .tenantId(job.getTenantId())
+            .dataObject(job)
+            .ifSeqNo(seqNo)
+            .ifPrimaryTerm(primaryTerm)
+            .build();
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            sdkClient.updateDataObjectAsync(updateRequest).whenComplete((r, throwable) -> {
+                context.restore();
+                if (throwable == null) {
+                    try {
+                        listener.onResponse(UpdateResponse.fromXContent(r.parser()));
+                    } catch (Exception e) {
+                        listener.onFailure(e);
+                    }
+                } else {
+                    listener.onFailure(SdkClientUtils.unwrapAndConvertToException(throwable));
+                }
+            });
+        }
+    }
+
+    private static void logUpdateFailure(String jobId, Exception e) {
+        if (ExceptionsHelper.status(e) == RestStatus.CONFLICT) {
+            logger.debug("Job {} was updated by another node", jobId);
+        } else {
+            logger.error("Failed to update job {}", jobId, e);
+        }
+    }
+
+    /**
+     * A job this node holds a lease on, and the version of its document last written by this node
+     */
+    private static class RunningJob {
+        private final String jobId;
+        private final AtomicBoolean updating = new AtomicBoolean(false);
+        private volatile WorkflowJob job;
+        private volatile long seqNo;
+        private volatile long primaryTerm;
+        private volatile Instant lastRenewalTime;
+        private volatile boolean started = false;
+
+        private RunningJob(String jobId, WorkflowJob job, long seqNo, long primaryTerm, Instant lastRenewalTime) {
+            this.jobId = jobId;
+            this.job = job;
+            this.seqNo = seqNo;
+            this.primaryTerm = primaryTerm;
+            this.lastRenewalTime = lastRenewalTime;
+        }
+
+        private void renewed(WorkflowJob renewedJob, long newSeqNo, long newPrimaryTerm, Instant renewalTime) {
+            this.job = renewedJob;
+            this.seqNo = newSeqNo;
+            this.primaryTerm = newPrimaryTerm;
+            this.lastRenewalTime = renewalTime;
+        }
+    }
+}
@@ -10,6 +10,8 @@ package org.opensearch.flowframework.workflow;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
@@ -25,9 +27,9 @@ import org.opensearch.plugins.PluginInfo;
 import org.opensearch.plugins.PluginsService;
 import org.opensearch.threadpool.ThreadPool;
 
+import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -37,7 +39,6 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
@@ -64,9 +65,15 @@ public class WorkflowProcessSorter {
         DeleteSearchPipelineStep.NAME
     );
 
+    /** The maximum number of compiled provision plans retained, least recently used plans are evicted first */
+    public static final int MAX_CACHED_PLANS = 100;
+
     private WorkflowStepFactory workflowStepFactory;
     private ThreadPool threadPool;
     private Integer maxWorkflowSteps;
+    private final Cache<String, WorkflowPlan> planCache = CacheBuilder.<String, WorkflowPlan>builder()
+        .setMaximumWeight(MAX_CACHED_PLANS)
+        .build();
 
     /**
      * Instantiate this class.
@@ -117,19 +124,14 @@ public class WorkflowProcessSorter {
                 );
             }
         }
-        List<WorkflowNode> sortedNodes = topologicalSort(workflow.nodes(), workflow.edges());
+        SortedWorkflowGraph graph = topologicalSort(workflow.nodes(), workflow.edges());
 
         List<ProcessNode> nodes = new ArrayList<>();
         Map<String, ProcessNode> idToNodeMap = new HashMap<>();
-        for (WorkflowNode node : sortedNodes) {
+        for (WorkflowNode node : graph.sortedNodes()) {
             WorkflowStep step = workflowStepFactory.createStep(node.type());
             WorkflowData data = new WorkflowData(node.userInputs(), workflow.userParams(), workflowId, node.id());
-            List<ProcessNode> predecessorNodes = workflow.edges()
-                .stream()
-                .filter(e -> e.destination().equals(node.id()))
-                // since we are iterating in topological order we know all predecessors will be in the map
-                .map(e -> idToNodeMap.get(e.source()))
-                .collect(Collectors.toList());
+            List<ProcessNode> predecessorNodes = graph.predecessorNodes(node.id(), idToNodeMap);
 
             TimeValue nodeTimeout = parseTimeout(node);
             ProcessNode processNode = new ProcessNode(
@@ -150,6 +152,151 @@ public class WorkflowProcessSorter {
         return nodes;
     }
 
+    /**
+     * Creates the validated, topologically sorted process nodes which provision a template.
+     * <p>
+     * Sorting and validating the provision workflow is compiled into a plan which is cached per workflow id and template
+     * {@link Template#lastUpdatedTime()}. Subsequent provisions of the same template version only instantiate new process nodes
+     * from the plan.
+     * @param workflowId The workflowId associated with the template
+     * @param template The template to provision
+     * @param params Parameters passed on the REST path
+     * @param tenantId The tenantId associated with the template
+     * @param pluginsService The Plugins Service to retrieve installed plugins
+     * @return A list of Process Nodes sorted topologically
+     * @throws Exception if the workflow is invalid
+     */
+    public List<ProcessNode> createProvisionSequence(
+        String workflowId,
+        Template template,
+        Map<String, String> params,
+        String tenantId,
+        PluginsService pluginsService
+    ) throws Exception {
+        Workflow workflow = template.workflows().get(PROVISION_WORKFLOW);
+        Instant templateVersion = template.lastUpdatedTime();
+        WorkflowPlan plan = workflowId == null ? null : planCache.get(workflowId);
+        if (plan != null && plan.matches(templateVersion, workflow)) {
+            logger.debug("Using cached provision plan for workflow {}", workflowId);
+            return instantiatePlan(plan, workflow, workflowId, params, tenantId);
+        }
+        List<ProcessNode> processNodes = sortProcessNodes(workflow, workflowId, params, tenantId);
+        validate(processNodes, pluginsService);
+        if (workflowId != null && templateVersion != null) {
+            planCache.put(workflowId, new WorkflowPlan(templateVersion, workflow, processNodes));
+        }
+        return processNodes;
+    }
+
+    /**
+     * Evicts the cached provision plan of a workflow, called when its template is updated or deleted
+     * @param workflowId The workflowId associated with the template
+     */
+    public void evictProvisionPlan(String workflowId) {
+        planCache.invalidate(workflowId);
+    }
+
+    /**
+     * Returns the number of cached provision plans
+     * @return the count of cached plans
+     */
+    public int getCachedPlanCount() {
+        return planCache.count();
+    }
+
+    private List<ProcessNode> instantiatePlan(
+        WorkflowPlan plan,
+        Workflow workflow,
+        String workflowId,
+        Map<String, String> params,
+        String tenantId
+    ) {
+        Map<String, WorkflowNode> nodeMap = new HashMap<>();
+        for (WorkflowNode node : workflow.nodes()) {
+            nodeMap.put(node.id(), node);
+        }
+        List<ProcessNode> nodes = new ArrayList<>(plan.nodeIds.length);
+        for (int i = 0; i < plan.nodeIds.length; i++) {
+            // Node contents come from the current template, only the structure and validation results are cached
+            WorkflowNode node = nodeMap.get(plan.nodeIds[i]);
+            WorkflowData data = new WorkflowData(node.userInputs(), workflow.userParams(), workflowId, node.id());
+            List<ProcessNode> predecessorNodes = new ArrayList<>(plan.predecessorIndices[i].length);
+            for (int predecessorIndex : plan.predecessorIndices[i]) {
+                predecessorNodes.add(nodes.get(predecessorIndex));
+            }
+            nodes.add(
+                new ProcessNode(
+                    node.id(),
+                    workflowStepFactory.createStep(plan.stepTypes[i]),
+                    node.previousNodeInputs(),
+                    params,
+                    data,
+                    predecessorNodes,
+                    threadPool,
+                    PROVISION_WORKFLOW_THREAD_POOL,
+                    plan.timeouts[i],
+                    tenantId
+                )
+            );
+        }
+        return nodes;
+    }
+
+    /**
+     * Creates the process nodes which resume a failed provisioning of a template.
+     * <p>
+     * Nodes which recorded a created resource are not executed again. Like unmodified nodes when reprovisioning, they are replaced by
+     * a {@link WorkflowDataStep} passing their resource to their successors. The remaining nodes, the one which failed and those which
+     * never ran, are executed. Steps which create no resource have no persisted outputs, so they are executed again.
+     * @param workflowId The workflowId associated with the template
+     * @param template The template to provision
+     * @param params Parameters passed on the REST path
+     * @param resourcesCreated The resources created by the provisioning being resumed
+     * @param tenantId The tenantId associated with the template
+     * @param pluginsService The Plugins Service to retrieve installed plugins
+     * @return A list of Process Nodes sorted topologically
+     * @throws Exception if the workflow is invalid
+     */
+    public List<ProcessNode> createResumeSequence(
+        String workflowId,
+        Template template,
+        Map<String, String> params,
+        List<ResourceCreated> resourcesCreated,
+        String tenantId,
+        PluginsService pluginsService
+    ) throws Exception {
+        List<ProcessNode> provisionSequence = createProvisionSequence(workflowId, template, params, tenantId, pluginsService);
+        Map<String, ResourceCreated> nodeResources = new HashMap<>();
+        for (ResourceCreated resource : resourcesCreated) {
+            // As when reprovisioning, the first resource created by a node is passed on
+            nodeResources.putIfAbsent(resource.workflowStepId(), resource);
+        }
+        Map<String, ProcessNode> idToNodeMap = new HashMap<>();
+        List<ProcessNode> resumeSequence = new ArrayList<>(provisionSequence.size());
+        for (ProcessNode node : provisionSequence) {
+            List<ProcessNode> predecessorNodes = node.predecessors()
+                .stream()
+                .map(predecessor -> idToNodeMap.get(predecessor.id()))
+                .collect(Collectors.toList());
+            ResourceCreated nodeResource = nodeResources.get(node.id());
+            ProcessNode resumeNode = new ProcessNode(
+                node.id(),
+                nodeResource == null ? node.workflowStep() : new WorkflowDataStep(nodeResource),
+                node.previousNodeInputs(),
+                nodeResource == null ? node.params() : Collections.emptyMap(),
+                node.input(),
+                predecessorNodes,
+                threadPool,
+                PROVISION_WORKFLOW_THREAD_POOL,
+                node.nodeTimeout(),
+                tenantId
+            );
+            idToNodeMap.put(resumeNode.id(), resumeNode);
+            resumeSequence.add(resumeNode);
+        }
+        return resumeSequence;
+    }
+
     /**
      * Sort an updated workflow into a topologically sorted list of create/update process nodes
      * @param workflowId the workflow ID associated with the template
@@ -185,7 +332,7 @@ public class WorkflowProcessSorter {
         }
 
         // Topologically sort the updated workflow
-        List<WorkflowNode> sortedUpdatedNodes = topologicalSort(updatedWorkflow.nodes(), updatedWorkflow.edges());
+        SortedWorkflowGraph updatedGraph = topologicalSort(updatedWorkflow.nodes(), updatedWorkflow.edges());
 
         // Convert original template into node id map
         Map<String, WorkflowNode> originalTemplateMap = originalTemplate.workflows()
@@ -195,7 +342,8 @@ public class WorkflowProcessSorter {
             .collect(Collectors.toMap(WorkflowNode::id, node -> node));
 
         // Temporarily block node deletions until fine-grained deprovisioning is implemented
-        if (!originalTemplateMap.values().stream().allMatch(sortedUpdatedNodes::contains)) {
+        Set<WorkflowNode> updatedNodes = new HashSet<>(updatedGraph.sortedNodes());
+        if (!originalTemplateMap.values().stream().allMatch(updatedNodes::contains)) {
             throw new FlowFrameworkException(
                 "Workflow Step deletion is not supported when reprovisioning a template.",
                 RestStatus.BAD_REQUEST
@@ -205,7 +353,7 @@ public class WorkflowProcessSorter {
         List<ProcessNode> reprovisionSequence = createReprovisionSequence(
             workflowId,
             updatedWorkflow,
-            sortedUpdatedNodes,
+            updatedGraph,
             originalTemplateMap,
             resourcesCreated,
             tenantId
@@ -223,7 +371,7 @@ public class WorkflowProcessSorter {
      * Compares an original and upated template and creates a list of update, create or workflowdatastep nodes
      * @param workflowId the workflow ID associated with the template
      * @param updatedWorkflow the updated workflow to be processed
-     * @param sortedUpdatedNodes the topologically sorted updated template nodes
+     * @param updatedGraph the topologically sorted updated workflow graph
      * @param originalTemplateMap a map of node Id to workflow node of the original template
      * @param resourcesCreated a list of resources created for this template
      * @param tenantId the tenant id
@@ -233,7 +381,7 @@ public class WorkflowProcessSorter {
     private List<ProcessNode> createReprovisionSequence(
         String workflowId,
         Workflow updatedWorkflow,
-        List<WorkflowNode> sortedUpdatedNodes,
+        SortedWorkflowGraph updatedGraph,
         Map<String, WorkflowNode> originalTemplateMap,
         List<ResourceCreated> resourcesCreated,
         String tenantId
@@ -241,9 +389,10 @@ public class WorkflowProcessSorter {
         Map<String, ProcessNode> idToNodeMap = new HashMap<>();
         List<ProcessNode> reprovisionSequence = new ArrayList<>();
 
-        for (WorkflowNode node : sortedUpdatedNodes) {
+        for (WorkflowNode node : updatedGraph.sortedNodes()) {
             ProcessNode processNode = createProcessNode(
                 updatedWorkflow,
+                updatedGraph,
                 node,
                 originalTemplateMap,
                 resourcesCreated,
@@ -263,6 +412,7 @@ public class WorkflowProcessSorter {
     /**
      * Determines which type of process node to create for a reprovision sequence
      * @param updatedWorkflow the updated workflow to be processed
+     * @param updatedGraph the topologically sorted updated workflow graph
      * @param node the current workflow node
      * @param originalTemplateMap a map of node Id to workflow node of the original template
      * @param resourcesCreated a list of resources created for this template
@@ -274,6 +424,7 @@ public class WorkflowProcessSorter {
      */
     private ProcessNode createProcessNode(
         Workflow updatedWorkflow,
+        SortedWorkflowGraph updatedGraph,
         WorkflowNode node,
         Map<String, WorkflowNode> originalTemplateMap,
         List<ResourceCreated> resourcesCreated,
@@ -282,12 +433,7 @@ public class WorkflowProcessSorter {
         String tenantId
     ) throws Exception {
         WorkflowData data = new WorkflowData(node.userInputs(), updatedWorkflow.userParams(), workflowId, node.id());
-        List<ProcessNode> predecessorNodes = updatedWorkflow.edges()
-            .stream()
-            .filter(e -> e.destination().equals(node.id()))
-            // since we are iterating in topological order we know all predecessors will be in the map
-            .map(e -> idToNodeMap.get(e.source()))
-            .collect(Collectors.toList());
+        List<ProcessNode> predecessorNodes = updatedGraph.predecessorNodes(node.id(), idToNodeMap);
         TimeValue nodeTimeout = parseTimeout(node);
 
         if (!originalTemplateMap.containsKey(node.id())) {
@@ -475,24 +621,11 @@ public class WorkflowProcessSorter {
         // Iterate through process nodes in graph
         for (ProcessNode processNode : processNodes) {
 
-            // Get predecessor nodes types of this processNode
-            List<String> predecessorNodeTypes = processNode.predecessors()
-                .stream()
-                .map(x -> x.workflowStep().getName())
-                .collect(Collectors.toList());
-
-            // Compile a list of outputs from the predecessor nodes based on type
-            List<String> predecessorOutputs = predecessorNodeTypes.stream()
-                .map(nodeType -> getOutputByWorkflowType(nodeType))
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
-
-            // Retrieve all the user input data from this node
-            List<String> currentNodeUserInputs = new ArrayList<>(processNode.input().getContent().keySet());
-
-            // Combine both predecessor outputs and current node user inputs
-            List<String> allInputs = Stream.concat(predecessorOutputs.stream(), currentNodeUserInputs.stream())
-                .collect(Collectors.toList());
+            // Compile the outputs from the predecessor nodes based on type, along with the user input data from this node
+            Set<String> allInputs = new HashSet<>(processNode.input().getContent().keySet());
+            for (ProcessNode predecessor : processNode.predecessors()) {
+                allInputs.addAll(getOutputByWorkflowType(predecessor.workflowStep().getName()));
+            }
 
             // Retrieve list of required inputs from the current process node and compare
             List<String> expectedInputs = new ArrayList<>(getInputByWorkflowType(processNode.workflowStep().getName()));
@@ -533,7 +666,13 @@ public class WorkflowProcessSorter {
         return userInputTimeValue;
     }
 
-    private static List<WorkflowNode> topologicalSort(List<WorkflowNode> workflowNodes, List<WorkflowEdge> workflowEdges) {
+    /**
+     * Indexes the nodes and edges of a workflow and sorts its nodes topologically, in time linear in the number of nodes and edges.
+     * @param workflowNodes the nodes of the workflow
+     * @param workflowEdges the edges of the workflow
+     * @return the sorted workflow graph
+     */
+    private static SortedWorkflowGraph topologicalSort(List<WorkflowNode> workflowNodes, List<WorkflowEdge> workflowEdges) {
         // Basic validation
         Map<String, WorkflowNode> nodeMap = new HashMap<>();
         for (WorkflowNode node : workflowNodes) {
@@ -556,23 +695,22 @@ public class WorkflowProcessSorter {
             }
         }
 
-        // Build predecessor and successor maps
-        Map<WorkflowNode, Set<WorkflowEdge>> predecessorEdges = new HashMap<>();
-        Map<WorkflowNode, Set<WorkflowEdge>> successorEdges = new HashMap<>();
+        // Build the adjacency lists and in-degree counters once
+        Map<String, List<String>> predecessors = new HashMap<>();
+        Map<String, List<String>> successors = new HashMap<>();
+        Map<String, Integer> inDegree = new HashMap<>();
         for (WorkflowEdge edge : workflowEdges) {
-            WorkflowNode source = nodeMap.get(edge.source());
-            WorkflowNode dest = nodeMap.get(edge.destination());
-            predecessorEdges.computeIfAbsent(dest, k -> new HashSet<>()).add(edge);
-            successorEdges.computeIfAbsent(source, k -> new HashSet<>()).add(edge);
+            predecessors.computeIfAbsent(edge.destination(), k -> new ArrayList<>()).add(edge.source());
+            successors.computeIfAbsent(edge.source(), k -> new ArrayList<>()).add(edge.destination());
+            inDegree.merge(edge.destination(), 1, Integer::sum);
         }
 
         // See https://en.wikipedia.org/wiki/Topological_sorting#Kahn's_algorithm
-        Set<WorkflowEdge> graph = new HashSet<>(workflowEdges);
         // L <- Empty list that will contain the sorted elements
         List<WorkflowNode> sortedNodes = new ArrayList<>();
         // S <- Set of all nodes with no incoming edge
         Queue<WorkflowNode> sourceNodes = workflowNodes.stream()
-            .filter(n -> !predecessorEdges.containsKey(n))
+            .filter(n -> !inDegree.containsKey(n.id()))
             .collect(ArrayDeque::new, ArrayDeque::add, ArrayDeque::addAll);
         if (sourceNodes.isEmpty()) {
             throw new FlowFrameworkException("No start node detected: all nodes have a predecessor.", RestStatus.BAD_REQUEST);
@@ -586,21 +724,108 @@ public class WorkflowProcessSorter {
             // add n to L
             sortedNodes.add(n);
             // for each node m with an edge e from n to m do
-            for (WorkflowEdge e : successorEdges.getOrDefault(n, Collections.emptySet())) {
-                WorkflowNode m = nodeMap.get(e.destination());
-                // remove edge e from the graph
-                graph.remove(e);
-                // if m has no other incoming edges then
-                if (predecessorEdges.get(m).stream().noneMatch(graph::contains)) {
-                    // insert m into S
-                    sourceNodes.add(m);
+            for (String m : successors.getOrDefault(n.id(), Collections.emptyList())) {
+                // remove edge e from the graph, if m has no other incoming edges then insert m into S
+                if (inDegree.merge(m, -1, Integer::sum) == 0) {
+                    sourceNodes.add(nodeMap.get(m));
                 }
             }
         }
-        if (!graph.isEmpty()) {
+        if (sortedNodes.size() < workflowNodes.size()) {
+            // Edges never removed from the graph are those leaving unsorted nodes
+            Set<String> sortedIds = sortedNodes.stream().map(WorkflowNode::id).collect(Collectors.toSet());
+            Set<WorkflowEdge> graph = workflowEdges.stream().filter(e -> !sortedIds.contains(e.source())).collect(Collectors.toSet());
             throw new FlowFrameworkException("Cycle detected: " + graph, RestStatus.BAD_REQUEST);
         }
         logger.debug("Execution sequence: {}", sortedNodes);
-        return sortedNodes;
+        return new SortedWorkflowGraph(sortedNodes, predecessors);
+    }
+
+    /**
+     * A topologically sorted workflow, indexed by the predecessors of each node
+     */
+    private static class SortedWorkflowGraph {
+        private final List<WorkflowNode> sortedNodes;
+        // Node id to the ids of its predecessors, one entry per incoming edge
+        private final Map<String, List<String>> predecessors;
+
+        SortedWorkflowGraph(List<WorkflowNode> sortedNodes, Map<String, List<String>> predecessors) {
+            this.sortedNodes = sortedNodes;
+            this.predecessors = predecessors;
+        }
+
+        List<WorkflowNode> sortedNodes() {
+            return sortedNodes;
+        }
+
+        /**
+         * Looks up the process nodes of the predecessors of a node
+         * @param nodeId the node id
+         * @param idToNodeMap the process nodes created so far
+         * @return the process nodes of the predecessors of the node
+         */
+        List<ProcessNode> predecessorNodes(String nodeId, Map<String, ProcessNode> idToNodeMap) {
+            List<ProcessNode> predecessorNodes = new ArrayList<>();
+            // since we are iterating in topological order we know all predecessors will be in the map
+            for (String predecessorId : predecessors.getOrDefault(nodeId, Collections.emptyList())) {
+                predecessorNodes.add(idToNodeMap.get(predecessorId));
+            }
+            return predecessorNodes;
+        }
+    }
+
+    /**
+     * An immutable compiled provision plan of a template version: the sorted node order, predecessor indices, resolved timeouts and
+     * step types of a workflow which passed validation. Holds no user inputs.
+     */
+    private static class WorkflowPlan {
+        private final Instant templateVersion;
+        private final List<WorkflowEdge> edges;
+        private final String[] nodeIds;
+        private final String[] stepTypes;
+        private final TimeValue[] timeouts;
+        private final int[][] predecessorIndices;
+        private final Map<String, Integer> indexById = new HashMap<>();
+
+        WorkflowPlan(Instant templateVersion, Workflow workflow, List<ProcessNode> processNodes) {
+            this.templateVersion = templateVersion;
+            this.edges = List.copyOf(workflow.edges());
+            Map<String, String> typeById = workflow.nodes().stream().collect(Collectors.toMap(WorkflowNode::id, WorkflowNode::type));
+            int size = processNodes.size();
+            this.nodeIds = new String[size];
+            this.stepTypes = new String[size];
+            this.timeouts = new TimeValue[size];
+            this.predecessorIndices = new int[size][];
+            for (int i = 0; i < size; i++) {
+                ProcessNode processNode = processNodes.get(i);
+                nodeIds[i] = processNode.id();
+                stepTypes[i] = typeById.get(processNode.id());
+                timeouts[i] = processNode.nodeTimeout();
+                // predecessors always precede a node in topological order
+                predecessorIndices[i] = processNode.predecessors().stream().mapToInt(p -> indexById.get(p.id())).toArray();
+                indexById.put(processNode.id(), i);
+            }
+        }
+
+        /**
+         * Checks whether this plan was compiled from the given version of a workflow
+         * @param templateVersion the last updated time of the template
+         * @param workflow the provision workflow of the template
+         * @return true if the plan can be instantiated for the workflow
+         */
+        boolean matches(Instant templateVersion, Workflow workflow) {
+            if (!this.templateVersion.equals(templateVersion)
+                || workflow.nodes().size() != nodeIds.length
+                || !edges.equals(workflow.edges())) {
+                return false;
+            }
+            for (WorkflowNode node : workflow.nodes()) {
+                Integer index = indexById.get(node.id());
+                if (index == null || !stepTypes[index].equals(node.type())) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 }
@@ -0,0 +1,442 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.model.ProvisioningProgress;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.Template;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
+import org.opensearch.flowframework.transport.ProvisionWorkflowAction;
+import org.opensearch.flowframework.transport.WorkflowRequest;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.remote.metadata.client.SdkClient;
+import org.opensearch.remote.metadata.client.SearchDataObjectRequest;
+import org.opensearch.remote.metadata.client.UpdateDataObjectRequest;
+import org.opensearch.remote.metadata.common.SdkClientUtils;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.LAST_HEARTBEAT_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_NODE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_PROGRESS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_END_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_START_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.RESUME_PROVISION;
+import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.TENANT_ID_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
+import static org.opensearch.flowframework.model.Template.createEmptyTemplateWithTenantId;
+import static org.opensearch.flowframework.util.ParseUtils.injectUserContext;
+
+/**
+ * Reconciles the workflow states left in progress by provisioning which stopped executing without recording its outcome.
+ * <p>
+ * A node records itself as the provisioning node of a workflow when it starts provisioning it, and every node periodically records a
+ * heartbeat in the states of the provisioning and reprovisioning runs it executes. The elected cluster manager periodically pages
+ * through the states still in progress whose provisioning node left the cluster or whose heartbeat is stale, and fails them with a
+ * compare-and-set update of the state document, so a run still reporting its progress is left alone. If enabled, each failed
+ * provisioning is then resumed once, reusing the resources it created. The node stops recording heartbeats and reconciling once it is
+ * closed.
+ */
+public class WorkflowStateReconciler implements ClusterStateListener, Closeable {
+
+    private static final Logger logger = LogManager.getLogger(WorkflowStateReconciler.class);
+
+    /** The error of a provisioning failed because the node executing it stopped executing it */
+    public static final String INTERRUPTED_ERROR = "Provisioning was interrupted by the loss of the node executing it";
+    /** The interval at which each node records a heartbeat in the states of the runs it executes */
+    public static final TimeValue HEARTBEAT_INTERVAL = TimeValue.timeValueSeconds(30);
+    /** The minimum interval between two reconciliations by the elected cluster manager */
+    public static final TimeValue RECONCILE_INTERVAL = TimeValue.timeValueMinutes(1);
+    /** The time without a heartbeat after which a provisioning in progress is considered interrupted */
+    public static final TimeValue STALE_HEARTBEAT_TIMEOUT = TimeValue.timeValueMinutes(5);
+    /** The number of states in progress read and reconciled at once */
+    public static final int PAGE_SIZE = 500;
+    /** The maximum number of workflows resumed by a cluster manager, further interrupted provisioning is only failed */
+    public static final int MAX_RESUMED_WORKFLOWS = 10_000;
+    // The retries of a heartbeat conflicting with another update of the state document
+    private static final int HEARTBEAT_RETRIES = 3;
+
+    private final Client client;
+    private final SdkClient sdkClient;
+    private final ThreadPool threadPool;
+    private final ClusterService clusterService;
+    private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+    private final FlowFrameworkSettings flowFrameworkSettings;
+    private final WorkflowExecutionRegistry workflowExecutionRegistry;
+    private final FlowFrameworkStats flowFrameworkStats;
+
+    // Workflows resumed while this node is cluster manager, a provisioning interrupted again is failed rather than resumed again
+    private final Set<String> resumedWorkflows = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reconciling = new AtomicBoolean(false);
+    private volatile Instant lastReconcileTime = Instant.EPOCH;
+    private volatile Scheduler.Cancellable scheduler;
+    private volatile boolean closed;
+
+    /**
+     * Instantiate this class
+     * @param client the node client resuming interrupted provisioning
+     * @param sdkClient the client reading and writing the state index
+     * @param threadPool the thread pool scheduling the heartbeats and reconciliations
+     * @param clusterService the cluster service
+     * @param flowFrameworkIndicesHandler the handler of the flow framework indices
+     * @param flowFrameworkSettings the plugin settings
+     * @param workflowExecutionRegistry the registry of the runs executing on this node
+     * @param flowFrameworkStats the stats recording the reconciled states
+     */
+    public WorkflowStateReconciler(
+        Client client,
+        SdkClient sdkClient,
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
+        FlowFrameworkSettings flowFrameworkSettings,
+        WorkflowExecutionRegistry workflowExecutionRegistry,
+        FlowFrameworkStats flowFrameworkStats
+    ) {
+        this.client = client;
+        this.sdkClient = sdkClient;
+        this.threadPool = threadPool;
+        this.clusterService = clusterService;
+        this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
+        this.flowFrameworkSettings = flowFrameworkSettings;
+        this.workflowExecutionRegistry = workflowExecutionRegistry;
+        this.flowFrameworkStats = flowFrameworkStats;
+        clusterService.addListener(this);
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        // Start once this node joined a cluster, any node may execute provisioning
+        if (scheduler == null && event.state().nodes().getLocalNode() != null) {
+            startScheduler();
+        }
+        if (!event.localNodeClusterManager()) {
+            resumedWorkflows.clear();
+        }
+    }
+
+    private synchronized void startScheduler() {
+        if (scheduler == null && !closed) {
+            scheduler = threadPool.scheduleWithFixedDelay(this::run, HEARTBEAT_INTERVAL, ThreadPool.Names.GENERIC);
+        }
+    }
+
+    /**
+     * Stops recording heartbeats and reconciling when the node closes. The runs this node executed are failed by the next cluster
+     * manager reconciling once this node left the cluster.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        clusterService.removeListener(this);
+        if (scheduler != null) {
+            scheduler.cancel();
+        }
+    }
+
+    /**
+     * Records a heartbeat in the states of the runs executing on this node, then reconciles the states in progress if this node is
+     * the elected cluster manager and the reconcile interval elapsed
+     */
+    void run() {
+        if (!flowFrameworkIndicesHandler.doesIndexExist(WORKFLOW_STATE_INDEX)) {
+            return;
+        }
+        Instant now = Instant.now();
+        try {
+            workflowExecutionRegistry.getRuns().forEach((workflowId, tenantId) -> heartbeat(workflowId, tenantId, now));
+            if (clusterService.state().nodes().isLocalNodeElectedClusterManager()
+                && !now.isBefore(lastReconcileTime.plusMillis(RECONCILE_INTERVAL.millis()))) {
+                reconcile(now);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to reconcile workflow states", e);
+        }
+    }
+
+    private void heartbeat(String workflowId, String tenantId, Instant now) {
+        UpdateDataObjectRequest updateRequest = UpdateDataObjectRequest.builder()
+            .index(WORKFLOW_STATE_INDEX)
+            .id(workflowId)
+            .tenantId(tenantId)
+            .dataObject(Map.of(LAST_HEARTBEAT_TIME_FIELD, now.toEpochMilli()))
+            .retryOnConflict(HEARTBEAT_RETRIES)
+            .build();
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            sdkClient.updateDataObjectAsync(updateRequest).whenComplete((r, throwable) -> {
+                context.restore();
+                if (throwable != null) {
+                    Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                    logger.warn("Failed to record the heartbeat of workflow {}", workflowId, exception);
+                }
+            });
+        }
+    }
+
+    /**
+     * Fails the states in progress whose provisioning node left the cluster or whose heartbeat is stale, one page at a time. Does
+     * nothing while a previous reconciliation is still paging through the states.
+     * @param now the time of the reconciliation
+     */
+    void reconcile(Instant now) {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        lastReconcileTime = now;
+        Set<String> liveNodeIds = new HashSet<>();
+        DiscoveryNodes nodes = clusterService.state().nodes();
+        for (DiscoveryNode node : nodes) {
+            liveNodeIds.add(node.getId());
+        }
+        reconcilePage(orphanedStatesQuery(liveNodeIds, now), liveNodeIds, null, now);
+    }
+
+    private static BoolQueryBuilder orphanedStatesQuery(Set<String> liveNodeIds, Instant now) {
+        long staleTime = now.minusMillis(STALE_HEARTBEAT_TIMEOUT.millis()).toEpochMilli();
+        return QueryBuilders.boolQuery()
+            .filter(QueryBuilders.termQuery(STATE_FIELD, State.PROVISIONING.name()))
+            .filter(QueryBuilders.termQuery(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.IN_PROGRESS.name()))
+            // The provisioning node left the cluster
+            .should(
+                QueryBuilders.boolQuery()
+                    .filter(QueryBuilders.existsQuery(PROVISIONING_NODE_FIELD))
+                    .mustNot(QueryBuilders.termsQuery(PROVISIONING_NODE_FIELD, liveNodeIds))
+            )
+            // The provisioning node stopped recording heartbeats
+            .should(QueryBuilders.rangeQuery(LAST_HEARTBEAT_TIME_FIELD).lt(staleTime))
+            // Provisioning started before nodes recorded their provisioning
+            .should(
+                QueryBuilders.boolQuery()
+                    .mustNot(QueryBuilders.existsQuery(PROVISIONING_NODE_FIELD))
+                    .mustNot(QueryBuilders.existsQuery(LAST_HEARTBEAT_TIME_FIELD))
+                    .filter(QueryBuilders.rangeQuery(PROVISION_START_TIME_FIELD).lt(staleTime))
+            )
+            .minimumShouldMatch(1);
+    }
+
+    /**
+     * Fails the orphaned states of a page, then reads the next page once all of them were updated. Pages are sorted by workflow id and
+     * read after the last workflow id of the previous page, so paging does not slow down with the number of states.
+     * @param query the query matching the orphaned states
+     * @param liveNodeIds the ids of the nodes in the cluster
+     * @param searchAfter the sort values of the last state of the previous page, or null for the first page
+     * @param now the time of the reconciliation
+     */
+    private void reconcilePage(BoolQueryBuilder query, Set<String> liveNodeIds, Object[] searchAfter, Instant now) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(query)
+            .size(PAGE_SIZE)
+            .sort(WORKFLOW_ID_FIELD, SortOrder.ASC)
+            .fetchSource(
+                new String[] {
+                    WORKFLOW_ID_FIELD,
+                    PROVISIONING_NODE_FIELD,
+                    LAST_HEARTBEAT_TIME_FIELD,
+                    PROVISION_START_TIME_FIELD,
+                    TENANT_ID_FIELD },
+                null
+            )
+            .seqNoAndPrimaryTerm(true);
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+        SearchDataObjectRequest searchRequest = SearchDataObjectRequest.builder()
+            .indices(WORKFLOW_STATE_INDEX)
+            .searchSourceBuilder(searchSourceBuilder)
+            .build();
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            sdkClient.searchDataObjectAsync(searchRequest).whenComplete((r, throwable) -> {
+                context.restore();
+                SearchHit[] hits;
+                try {
+                    if (throwable != null) {
+                        Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                        logger.error("Failed to search the workflow state index", exception);
+                        reconciling.set(false);
+                        return;
+                    }
+                    hits = SearchResponse.fromXContent(r.parser()).getHits().getHits();
+                } catch (Exception e) {
+                    logger.error("Failed to parse the workflow states search response", e);
+                    reconciling.set(false);
+                    return;
+                }
+                if (hits.length == 0) {
+                    reconciling.set(false);
+                    return;
+                }
+                AtomicInteger remaining = new AtomicInteger(hits.length);
+                Runnable onStateReconciled = () -> {
+                    if (remaining.decrementAndGet() > 0) {
+                        return;
+                    }
+                    if (hits.length < PAGE_SIZE) {
+                        reconciling.set(false);
+                    } else {
+                        reconcilePage(query, liveNodeIds, hits[hits.length - 1].getSortValues(), now);
+                    }
+                };
+                for (SearchHit hit : hits) {
+                    if (isOrphaned(hit.getSourceAsMap(), liveNodeIds, now)) {
+                        failOrphanedState(hit, now, onStateReconciled);
+                    } else {
+                        onStateReconciled.run();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Checks the source of a state matched by the query is orphaned. The query can match states still reporting their progress when the
+     * provisioning fields are not mapped in the state index yet, so the fields are checked again from the source.
+     * @param source the source of the state
+     * @param liveNodeIds the ids of the nodes in the cluster
+     * @param now the time of the reconciliation
+     * @return true if the provisioning node left the cluster or the last heartbeat, or the start if there is none, is stale
+     */
+    static boolean isOrphaned(Map<String, Object> source, Set<String> liveNodeIds, Instant now) {
+        long staleTime = now.minusMillis(STALE_HEARTBEAT_TIMEOUT.millis()).toEpochMilli();
+        Object provisioningNode = source.get(PROVISIONING_NODE_FIELD);
+        if (provisioningNode != null && !liveNodeIds.contains(provisioningNode.toString())) {
+            return true;
+        }
+        Object lastHeartbeatTime = source.get(LAST_HEARTBEAT_TIME_FIELD);
+        if (lastHeartbeatTime instanceof Number) {
+            return ((Number) lastHeartbeatTime).longValue() < staleTime;
+        }
+        // A live provisioning node records a heartbeat when it starts provisioning
+        if (provisioningNode != null) {
+            return false;
+        }
+        Object provisionStartTime = source.get(PROVISION_START_TIME_FIELD);
+        return provisionStartTime instanceof Number && ((Number) provisionStartTime).longValue() < staleTime;
+    }
+
+    /**
+     * Fails an orphaned state if it was not updated since it was read, then resumes its provisioning if enabled
+     * @param hit the search hit of the state
+     * @param now the time of the reconciliation
+     * @param onStateReconciled called once the state was updated or left alone
+     */
+    private void failOrphanedState(SearchHit hit, Instant now, Runnable onStateReconciled) {
+        String workflowId = hit.getId();
+        Map<String, Object> source = hit.getSourceAsMap();
+        String tenantId = (String) source.get(TENANT_ID_FIELD);
+        Object provisioningNode = source.get(PROVISIONING_NODE_FIELD);
+        UpdateDataObjectRequest updateRequest = UpdateDataObjectRequest.builder()
+            .index(WORKFLOW_STATE_INDEX)
+            .id(workflowId)
+            .tenantId(tenantId)
+            .dataObject(
+                Map.ofEntries(
+                    Map.entry(STATE_FIELD, State.FAILED),
+                    Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.FAILED),
+                    Map.entry(ERROR_FIELD, INTERRUPTED_ERROR),
+                    Map.entry(PROVISION_END_TIME_FIELD, now.toEpochMilli())
+                )
+            )
+            .ifSeqNo(hit.getSeqNo())
+            .ifPrimaryTerm(hit.getPrimaryTerm())
+            .build();
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            sdkClient.updateDataObjectAsync(updateRequest).whenComplete((r, throwable) -> {
+                context.restore();
+                try {
+                    if (throwable != null) {
+                        Exception exception = SdkClientUtils.unwrapAndConvertToException(throwable);
+                        if (ExceptionsHelper.status(exception) == RestStatus.CONFLICT) {
+                            // The run recorded a heartbeat or its outcome since the state was read
+                            logger.debug("Workflow {} state was updated since it was read", workflowId);
+                        } else {
+                            logger.error("Failed to fail the interrupted provisioning of workflow {}", workflowId, exception);
+                        }
+                        return;
+                    }
+                    logger.warn("Failed the provisioning of workflow {} interrupted on node {}", workflowId, provisioningNode);
+                    flowFrameworkStats.recordOrphanedProvisioningFailed();
+                    if (flowFrameworkSettings.isResumeOrphanedProvisioningEnabled()
+                        && resumedWorkflows.size() < MAX_RESUMED_WORKFLOWS
+                        && resumedWorkflows.add(workflowId)) {
+                        resume(workflowId, tenantId);
+                    }
+                } finally {
+                    onStateReconciled.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Resumes an interrupted provisioning as the user who owns the workflow, so the security plugin authorizes it like a request of
+     * that user and the resources it creates are owned by that user
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     */
+    private void resume(String workflowId, String tenantId) {
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            flowFrameworkIndicesHandler.getTemplate(workflowId, tenantId, ActionListener.wrap(getResponse -> {
+                if (!getResponse.isExists()) {
+                    logger.warn("Not resuming the interrupted provisioning of workflow {}, its template was deleted", workflowId);
+                    return;
+                }
+                User user = Template.parse(getResponse.getSourceAsBytesRef()).getUser();
+                executeResume(workflowId, tenantId, user);
+            }, exception -> logger.error("Failed to resume the interrupted provisioning of workflow {}", workflowId, exception)), context);
+        }
+    }
+
+    private void executeResume(String workflowId, String tenantId, User user) {
+        WorkflowRequest request = new WorkflowRequest(
+            workflowId,
+            createEmptyTemplateWithTenantId(tenantId),
+            Map.of(RESUME_PROVISION, Boolean.TRUE.toString())
+        );
+        ThreadContext threadContext = client.threadPool().getThreadContext();
+        try (ThreadContext.StoredContext context = threadContext.stashContext()) {
+            injectUserContext(threadContext, user);
+            client.execute(ProvisionWorkflowAction.INSTANCE, request, ActionListener.wrap(response -> {
+                logger.info("Resumed the interrupted provisioning of workflow {}", workflowId);
+                flowFrameworkStats.recordOrphanedProvisioningResumed();
+            }, exception -> logger.error("Failed to resume the interrupted provisioning of workflow {}", workflowId, exception)));
+        }
+    }
+}
@@ -68,6 +68,7 @@ import static org.opensearch.flowframework.common.WorkflowResources.MODEL_ID;
 public class WorkflowStepFactory {
 
     private final Map<String, Supplier<WorkflowStep>> stepMap = new HashMap<>();
+    private final MLTaskPoller mlTaskPoller;
     private static final Logger logger = LogManager.getLogger(WorkflowStepFactory.class);
 
     /**
@@ -86,28 +87,26 @@ public class WorkflowStepFactory {
         FlowFrameworkSettings flowFrameworkSettings,
         Client client
     ) {
-        stepMap.put(NoOpStep.NAME, NoOpStep::new);
+        this.mlTaskPoller = new MLTaskPoller(threadPool, mlClient, flowFrameworkSettings);
+        stepMap.put(NoOpStep.NAME, () -> new NoOpStep(threadPool));
         stepMap.put(CreateIndexStep.NAME, () -> new CreateIndexStep(client, flowFrameworkIndicesHandler));
         stepMap.put(DeleteIndexStep.NAME, () -> new DeleteIndexStep(client));
         stepMap.put(ReindexStep.NAME, () -> new ReindexStep(client, flowFrameworkIndicesHandler));
         stepMap.put(
             RegisterLocalCustomModelStep.NAME,
-            () -> new RegisterLocalCustomModelStep(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings)
+            () -> new RegisterLocalCustomModelStep(mlClient, flowFrameworkIndicesHandler, mlTaskPoller)
         );
         stepMap.put(
             RegisterLocalSparseEncodingModelStep.NAME,
-            () -> new RegisterLocalSparseEncodingModelStep(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings)
+            () -> new RegisterLocalSparseEncodingModelStep(mlClient, flowFrameworkIndicesHandler, mlTaskPoller)
         );
         stepMap.put(
             RegisterLocalPretrainedModelStep.NAME,
-            () -> new RegisterLocalPretrainedModelStep(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings)
+            () -> new RegisterLocalPretrainedModelStep(mlClient, flowFrameworkIndicesHandler, mlTaskPoller)
         );
         stepMap.put(RegisterRemoteModelStep.NAME, () -> new RegisterRemoteModelStep(mlClient, flowFrameworkIndicesHandler));
         stepMap.put(DeleteModelStep.NAME, () -> new DeleteModelStep(mlClient));
-        stepMap.put(
-            DeployModelStep.NAME,
-            () -> new DeployModelStep(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings)
-        );
+        stepMap.put(DeployModelStep.NAME, () -> new DeployModelStep(mlClient, flowFrameworkIndicesHandler, mlTaskPoller));
         stepMap.put(UndeployModelStep.NAME, () -> new UndeployModelStep(mlClient));
         stepMap.put(CreateConnectorStep.NAME, () -> new CreateConnectorStep(mlClient, flowFrameworkIndicesHandler));
         stepMap.put(DeleteConnectorStep.NAME, () -> new DeleteConnectorStep(mlClient));
@@ -125,6 +124,14 @@ public class WorkflowStepFactory {
         stepMap.put(DeleteSearchPipelineStep.NAME, () -> new DeleteSearchPipelineStep(client));
     }
 
+    /**
+     * Get the poller shared by steps which wait on ML tasks
+     * @return the ML task poller
+     */
+    public MLTaskPoller getMLTaskPoller() {
+        return mlTaskPoller;
+    }
+
     /**
      * Enum encapsulating the different step names, their inputs, outputs, required plugin and timeout of the step
      */
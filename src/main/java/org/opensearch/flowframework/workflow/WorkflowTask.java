@@ -0,0 +1,347 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.tasks.TaskId;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.tasks.CancellableTask;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskAwareRequest;
+import org.opensearch.tasks.TaskManager;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.opensearch.flowframework.common.CommonValue.COMPLETED_STEPS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.CURRENT_STEPS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.TOTAL_STEPS_FIELD;
+
+/**
+ * A cancellable task for a provision, reprovision or deprovision run of a workflow on this node.
+ * <p>
+ * The run task is registered with the {@link TaskManager} for the whole run, and each process node of the run registers a child
+ * task while its step executes, so runs and their steps are listed by the tasks API. Cancelling the run task, or the task of one of
+ * its steps, cancels every process node of the run: their futures fail and the futures of the steps in flight are cancelled, which
+ * the steps use to stop the work they started.
+ */
+public class WorkflowTask extends CancellableTask {
+
+    /** The type of the tasks registered for workflow runs and their steps */
+    public static final String TASK_TYPE = "transport";
+    /** The suffix appended to the action name of a run task */
+    public static final String RUN_ACTION_SUFFIX = "[run]";
+    /** The suffix appended to the action name of a step task */
+    public static final String STEP_ACTION_SUFFIX = "[step]";
+
+    private final TaskManager taskManager;
+    private final String localNodeId;
+    private final String workflowAction;
+    private final String workflowId;
+    private final List<ProcessNode> processNodes = new CopyOnWriteArrayList<>();
+    private final List<Runnable> unregisterListeners = new CopyOnWriteArrayList<>();
+
+    private WorkflowTask(
+        long id,
+        String type,
+        String action,
+        TaskId parentTaskId,
+        Map<String, String> headers,
+        TaskManager taskManager,
+        String localNodeId,
+        String workflowAction,
+        String workflowId
+    ) {
+        super(id, type, action, "workflow [" + workflowId + "]", parentTaskId, headers);
+        this.taskManager = taskManager;
+        this.localNodeId = localNodeId;
+        this.workflowAction = workflowAction;
+        this.workflowId = workflowId;
+    }
+
+    /**
+     * Registers the task of a workflow run. The task must be unregistered with {@link #unregister()} once the run ends.
+     * @param taskManager the task manager of this node
+     * @param localNodeId the id of this node
+     * @param workflowAction the name of the action running the workflow
+     * @param workflowId the workflow id
+     * @return the registered task
+     */
+    public static WorkflowTask register(TaskManager taskManager, String localNodeId, String workflowAction, String workflowId) {
+        return (WorkflowTask) taskManager.register(TASK_TYPE, workflowAction + RUN_ACTION_SUFFIX, new WorkflowTaskRequest() {
+            @Override
+            public Task createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+                return new WorkflowTask(id, type, action, parentTaskId, headers, taskManager, localNodeId, workflowAction, workflowId);
+            }
+        });
+    }
+
+    /**
+     * Tracks process nodes executed by this run, so their steps are reported and registered as child tasks and they are cancelled with
+     * the run. Nodes tracked after the run was cancelled are cancelled immediately.
+     * @param nodes the process nodes to track, before executing them
+     */
+    public void track(Collection<ProcessNode> nodes) {
+        for (ProcessNode node : nodes) {
+            node.setWorkflowTask(this);
+        }
+        processNodes.addAll(nodes);
+        // A cancellation before the nodes were added did not see them
+        if (isCancelled()) {
+            cancelProcessNodes(nodes, getReasonCancelled());
+        }
+    }
+
+    /**
+     * Adds a listener called when this task is unregistered
+     * @param listener the listener to call once the run ended
+     */
+    public void addUnregisterListener(Runnable listener) {
+        unregisterListeners.add(listener);
+    }
+
+    /**
+     * Unregisters this task once the run ended
+     */
+    public void unregister() {
+        taskManager.unregister(this);
+        for (Runnable listener : unregisterListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Gets the id of the workflow run by this task
+     * @return the workflow id
+     */
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    /**
+     * Registers the child task of a process node about to execute its step
+     * @param node the process node
+     * @return the registered step task
+     */
+    StepTask startStep(ProcessNode node) {
+        TaskId stepParentTaskId = new TaskId(localNodeId, getId());
+        String description = "workflow [" + workflowId + "] step [" + node.id() + "] of type [" + node.workflowStep().getName() + "]";
+        WorkflowTaskRequest request = new WorkflowTaskRequest(stepParentTaskId) {
+            @Override
+            public Task createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+                return new StepTask(id, type, action, description, parentTaskId, headers, node);
+            }
+        };
+        return (StepTask) taskManager.register(TASK_TYPE, workflowAction + STEP_ACTION_SUFFIX, request);
+    }
+
+    /**
+     * Unregisters the child task of a process node once its step ended
+     * @param stepTask the step task
+     */
+    void endStep(StepTask stepTask) {
+        taskManager.unregister(stepTask);
+    }
+
+    @Override
+    public boolean shouldCancelChildrenOnCancellation() {
+        return true;
+    }
+
+    @Override
+    protected void onCancelled() {
+        cancelProcessNodes(processNodes, getReasonCancelled());
+    }
+
+    @Override
+    public Status getStatus() {
+        int completedSteps = 0;
+        for (ProcessNode node : processNodes) {
+            if (node.future().isDone()) {
+                completedSteps++;
+            }
+        }
+        List<String> currentSteps = processNodes.stream().filter(ProcessNode::isRunning).map(ProcessNode::id).collect(Collectors.toList());
+        return new Status(processNodes.size(), completedSteps, currentSteps);
+    }
+
+    private static void cancelProcessNodes(Collection<ProcessNode> nodes, String reason) {
+        for (ProcessNode node : nodes) {
+            node.cancel(reason);
+        }
+    }
+
+    /**
+     * The task of a process node of a workflow run, registered while its step executes
+     */
+    static class StepTask extends CancellableTask {
+        private final ProcessNode processNode;
+
+        private StepTask(
+            long id,
+            String type,
+            String action,
+            String description,
+            TaskId parentTaskId,
+            Map<String, String> headers,
+            ProcessNode processNode
+        ) {
+            super(id, type, action, description, parentTaskId, headers);
+            this.processNode = processNode;
+        }
+
+        /**
+         * Gets the id of this task, made of the id of this node and the id of the task on this node
+         * @return the task id
+         */
+        TaskId getTaskId() {
+            // Step tasks are registered on the node of their parent run task
+            return new TaskId(getParentTaskId().getNodeId(), getId());
+        }
+
+        @Override
+        public boolean shouldCancelChildrenOnCancellation() {
+            return true;
+        }
+
+        @Override
+        protected void onCancelled() {
+            processNode.cancel(getReasonCancelled());
+        }
+    }
+
+    /**
+     * A request registering a task which is not executed by a transport action
+     */
+    private abstract static class WorkflowTaskRequest implements TaskAwareRequest {
+        private TaskId parentTaskId;
+
+        private WorkflowTaskRequest() {
+            this(TaskId.EMPTY_TASK_ID);
+        }
+
+        private WorkflowTaskRequest(TaskId parentTaskId) {
+            this.parentTaskId = parentTaskId;
+        }
+
+        @Override
+        public void setParentTask(TaskId taskId) {
+            this.parentTaskId = taskId;
+        }
+
+        @Override
+        public TaskId getParentTask() {
+            return parentTaskId;
+        }
+    }
+
+    /**
+     * The progress of a workflow run, reported by the tasks API
+     */
+    public static class Status implements Task.Status {
+
+        /** The name of this status, registered as a named writeable */
+        public static final String NAME = "flow_framework_workflow_run";
+
+        private final int totalSteps;
+        private final int completedSteps;
+        private final List<String> currentSteps;
+
+        /**
+         * Instantiate this class
+         * @param totalSteps the number of steps of the run
+         * @param completedSteps the number of steps which finished executing, successfully or not
+         * @param currentSteps the ids of the steps executing
+         */
+        public Status(int totalSteps, int completedSteps, List<String> currentSteps) {
+            this.totalSteps = totalSteps;
+            this.completedSteps = completedSteps;
+            this.currentSteps = currentSteps;
+        }
+
+        /**
+         * Instantiate this class from a stream
+         * @param in the stream input
+         * @throws IOException if the status can't be read
+         */
+        public Status(StreamInput in) throws IOException {
+            this.totalSteps = in.readVInt();
+            this.completedSteps = in.readVInt();
+            this.currentSteps = in.readStringList();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVInt(totalSteps);
+            out.writeVInt(completedSteps);
+            out.writeStringCollection(currentSteps);
+        }
+
+        @Override
+        public String getWriteableName() {
+            return NAME;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field(TOTAL_STEPS_FIELD, totalSteps);
+            builder.field(COMPLETED_STEPS_FIELD, completedSteps);
+            builder.field(CURRENT_STEPS_FIELD, currentSteps);
+            return builder.endObject();
+        }
+
+        /**
+         * Gets the number of steps of the run
+         * @return the number of steps
+         */
+        public int getTotalSteps() {
+            return totalSteps;
+        }
+
+        /**
+         * Gets the number of steps which finished executing, successfully or not
+         * @return the number of finished steps
+         */
+        public int getCompletedSteps() {
+            return completedSteps;
+        }
+
+        /**
+         * Gets the ids of the steps executing
+         * @return the ids of the current steps
+         */
+        public List<String> getCurrentSteps() {
+            return currentSteps;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Status that = (Status) o;
+            return totalSteps == that.totalSteps && completedSteps == that.completedSteps && currentSteps.equals(that.currentSteps);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(totalSteps, completedSteps, currentSteps);
+        }
+    }
+}
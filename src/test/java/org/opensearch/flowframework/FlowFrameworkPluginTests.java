@@ -31,15 +31,25 @@ import java.util.stream.Stream;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_ENABLED;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_MULTI_TENANCY_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.JOB_QUEUE_ENABLED;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_ACTIVE_DEPROVISIONS_PER_TENANT;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_ACTIVE_PROVISIONS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_ACTIVE_PROVISIONS_PER_TENANT;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_CONCURRENT_DEPROVISION_STEPS;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_QUEUED_PROVISIONS_PER_TENANT;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_RUNNING_JOBS_PER_NODE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WAIT_FOR_CHANGE_REQUESTS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOWS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOW_STEPS;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.PROVISION_TENANT_WEIGHTS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_ENDPOINT;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_REGION;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_SERVICE_NAME;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_TYPE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.RESOURCE_DOCUMENTS_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.RESUME_ORPHANED_PROVISIONING;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.TASK_REQUEST_RETRY_DURATION;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.WAIT_FOR_CHANGE_POLL_INTERVAL;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.WORKFLOW_REQUEST_TIMEOUT;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -83,7 +93,17 @@ public class FlowFrameworkPluginTests extends OpenSearchTestCase {
                 FILTER_BY_BACKEND_ROLES,
                 FLOW_FRAMEWORK_MULTI_TENANCY_ENABLED,
                 MAX_ACTIVE_PROVISIONS_PER_TENANT,
+                MAX_ACTIVE_PROVISIONS,
+                MAX_QUEUED_PROVISIONS_PER_TENANT,
+                PROVISION_TENANT_WEIGHTS,
                 MAX_ACTIVE_DEPROVISIONS_PER_TENANT,
+                MAX_CONCURRENT_DEPROVISION_STEPS,
+                RESOURCE_DOCUMENTS_ENABLED,
+                JOB_QUEUE_ENABLED,
+                MAX_RUNNING_JOBS_PER_NODE,
+                RESUME_ORPHANED_PROVISIONING,
+                WAIT_FOR_CHANGE_POLL_INTERVAL,
+                MAX_WAIT_FOR_CHANGE_REQUESTS,
                 REMOTE_METADATA_TYPE,
                 REMOTE_METADATA_ENDPOINT,
                 REMOTE_METADATA_REGION,
@@ -104,16 +124,18 @@ public class FlowFrameworkPluginTests extends OpenSearchTestCase {
     public void testPlugin() throws IOException {
         try (FlowFrameworkPlugin ffp = new FlowFrameworkPlugin()) {
             assertEquals(
-                7,
+                11,
                 ffp.createComponents(client, clusterService, threadPool, null, null, null, environment, null, null, null, null).size()
             );
-            assertEquals(9, ffp.getRestHandlers(settings, null, null, null, null, null, null).size());
-            assertEquals(10, ffp.getActions().size());
+            assertEquals(11, ffp.getRestHandlers(settings, null, null, null, null, null, null).size());
+            assertEquals(11, ffp.getActions().size());
+            assertEquals(1, ffp.getActionFilters().size());
             assertEquals(3, ffp.getExecutorBuilders(settings).size());
-            assertEquals(16, ffp.getSettings().size());
+            assertEquals(1, ffp.getNamedWriteables().size());
+            assertEquals(26, ffp.getSettings().size());
 
             Collection<SystemIndexDescriptor> systemIndexDescriptors = ffp.getSystemIndexDescriptors(Settings.EMPTY);
-            assertEquals(3, systemIndexDescriptors.size());
+            assertEquals(5, systemIndexDescriptors.size());
         }
     }
 }
@@ -48,8 +48,18 @@ public class FlowFrameworkSettingsTests extends OpenSearchTestCase {
                 FlowFrameworkSettings.WORKFLOW_THREAD_POOL_SIZE,
                 FlowFrameworkSettings.PROVISION_THREAD_POOL_SIZE,
                 FlowFrameworkSettings.MAX_ACTIVE_PROVISIONS_PER_TENANT,
+                FlowFrameworkSettings.MAX_ACTIVE_PROVISIONS,
+                FlowFrameworkSettings.MAX_QUEUED_PROVISIONS_PER_TENANT,
+                FlowFrameworkSettings.PROVISION_TENANT_WEIGHTS,
                 FlowFrameworkSettings.DEPROVISION_THREAD_POOL_SIZE,
-                FlowFrameworkSettings.MAX_ACTIVE_DEPROVISIONS_PER_TENANT
+                FlowFrameworkSettings.MAX_ACTIVE_DEPROVISIONS_PER_TENANT,
+                FlowFrameworkSettings.MAX_CONCURRENT_DEPROVISION_STEPS,
+                FlowFrameworkSettings.RESOURCE_DOCUMENTS_ENABLED,
+                FlowFrameworkSettings.JOB_QUEUE_ENABLED,
+                FlowFrameworkSettings.MAX_RUNNING_JOBS_PER_NODE,
+                FlowFrameworkSettings.RESUME_ORPHANED_PROVISIONING,
+                FlowFrameworkSettings.WAIT_FOR_CHANGE_POLL_INTERVAL,
+                FlowFrameworkSettings.MAX_WAIT_FOR_CHANGE_REQUESTS
             )
         ).collect(Collectors.toSet());
         clusterSettings = new ClusterSettings(settings, settingsSet);
@@ -73,7 +83,17 @@ public class FlowFrameworkSettingsTests extends OpenSearchTestCase {
         assertEquals(Optional.of(4), Optional.ofNullable(flowFrameworkSettings.getWorkflowThreadPoolSize()));
         assertEquals(Optional.of(8), Optional.ofNullable(flowFrameworkSettings.getProvisionThreadPoolSize()));
         assertEquals(Optional.of(2), Optional.ofNullable(flowFrameworkSettings.getMaxActiveProvisionsPerTenant()));
+        assertEquals(Optional.of(20), Optional.ofNullable(flowFrameworkSettings.getMaxActiveProvisions()));
+        assertEquals(Optional.of(10), Optional.ofNullable(flowFrameworkSettings.getMaxQueuedProvisionsPerTenant()));
+        assertEquals(1, flowFrameworkSettings.getProvisionTenantWeight("tenant"));
         assertEquals(Optional.of(4), Optional.ofNullable(flowFrameworkSettings.getDeprovisionThreadPoolSize()));
         assertEquals(Optional.of(1), Optional.ofNullable(flowFrameworkSettings.getMaxActiveDeprovisionsPerTenant()));
+        assertEquals(Optional.of(4), Optional.ofNullable(flowFrameworkSettings.getMaxConcurrentDeprovisionSteps()));
+        assertFalse(flowFrameworkSettings.isResourceDocumentsEnabled());
+        assertFalse(flowFrameworkSettings.isJobQueueEnabled());
+        assertEquals(Optional.of(4), Optional.ofNullable(flowFrameworkSettings.getMaxRunningJobsPerNode()));
+        assertFalse(flowFrameworkSettings.isResumeOrphanedProvisioningEnabled());
+        assertEquals(TimeValue.timeValueSeconds(1), flowFrameworkSettings.getWaitForChangePollInterval());
+        assertEquals(Optional.of(100), Optional.ofNullable(flowFrameworkSettings.getMaxWaitForChangeRequests()));
     }
 }
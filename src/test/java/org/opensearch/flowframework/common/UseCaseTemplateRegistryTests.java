@@ -0,0 +1,50 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.common;
+
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.UseCaseTemplateRegistry.UseCaseTemplate;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.model.Template;
+import org.opensearch.flowframework.util.ParseUtils;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Map;
+
+import static org.opensearch.flowframework.common.CommonValue.CREATE_CONNECTOR_CREDENTIAL_KEY;
+
+public class UseCaseTemplateRegistryTests extends OpenSearchTestCase {
+
+    private static final UseCaseTemplateRegistry registry = new UseCaseTemplateRegistry();
+
+    public void testAllUseCasesRenderTemplates() throws Exception {
+        for (DefaultUseCases useCase : DefaultUseCases.values()) {
+            UseCaseTemplate useCaseTemplate = registry.getUseCaseTemplate(useCase.getUseCaseName());
+            assertEquals(useCase.getRequiredParams(), useCaseTemplate.getRequiredParams());
+            Template template = Template.parse(ParseUtils.jsonToParser(useCaseTemplate.render(useCaseTemplate.getDefaults())));
+            assertFalse(template.workflows().isEmpty());
+        }
+    }
+
+    public void testRenderWithParams() {
+        UseCaseTemplate useCaseTemplate = registry.getUseCaseTemplate(DefaultUseCases.OPEN_AI_EMBEDDING_MODEL_DEPLOY.getUseCaseName());
+        Map<String, String> defaults = useCaseTemplate.getDefaults();
+        defaults.put(CREATE_CONNECTOR_CREDENTIAL_KEY, "secret-key");
+
+        assertTrue(useCaseTemplate.render(defaults).contains("secret-key"));
+        // The registered defaults are not modified
+        assertNotEquals("secret-key", useCaseTemplate.getDefaults().get(CREATE_CONNECTOR_CREDENTIAL_KEY));
+    }
+
+    public void testInvalidUseCase() {
+        FlowFrameworkException e = assertThrows(FlowFrameworkException.class, () -> registry.getUseCaseTemplate("invalid_use_case"));
+        assertEquals("Unable to find substitution ready file for use case: invalid_use_case", e.getMessage());
+        assertEquals(RestStatus.BAD_REQUEST, e.getRestStatus());
+    }
+}
@@ -8,6 +8,7 @@
  */
 package org.opensearch.flowframework.indices;
 
+import org.apache.lucene.search.TotalHits;
 import org.opensearch.Version;
 import org.opensearch.action.DocWriteResponse.Result;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
@@ -16,7 +17,13 @@ import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchResponseSections;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.WriteRequest.RefreshPolicy;
 import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
 import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.action.update.UpdateResponse;
@@ -36,6 +43,7 @@ import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.flowframework.TestHelpers;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.common.WorkflowResources;
 import org.opensearch.flowframework.model.ProvisioningProgress;
 import org.opensearch.flowframework.model.ResourceCreated;
@@ -46,10 +54,15 @@ import org.opensearch.flowframework.util.EncryptorUtils;
 import org.opensearch.flowframework.workflow.CreateConnectorStep;
 import org.opensearch.flowframework.workflow.CreateIndexStep;
 import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
+import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.engine.VersionConflictEngineException;
 import org.opensearch.index.get.GetResult;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.InternalAggregations;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.AdminClient;
@@ -58,6 +71,7 @@ import org.opensearch.transport.client.IndicesAdminClient;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -70,12 +84,18 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import static org.opensearch.flowframework.common.CommonValue.CREATE_TIME;
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCE_ID;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_RESOURCES_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -90,6 +110,10 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
     private ThreadPool threadPool;
     @Mock
     private EncryptorUtils encryptorUtils;
+    @Mock
+    private FlowFrameworkSettings flowFrameworkSettings;
+    @Mock
+    private WorkflowExecutionRegistry workflowExecutionRegistry;
     private FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
     private AdminClient adminClient;
     private IndicesAdminClient indicesAdminClient;
@@ -118,13 +142,24 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
         when(client.threadPool()).thenReturn(threadPool);
         when(threadPool.getThreadContext()).thenReturn(threadContext);
         sdkClient = SdkClientFactory.createSdkClient(client, namedXContentRegistry, Collections.emptyMap());
+        // No index exists unless a test stubs its own cluster state
+        ClusterState defaultClusterState = mock(ClusterState.class);
+        when(clusterService.state()).thenReturn(defaultClusterState);
+        when(defaultClusterState.metadata()).thenReturn(mock(Metadata.class));
         flowFrameworkIndicesHandler = new FlowFrameworkIndicesHandler(
             client,
             sdkClient,
             clusterService,
             encryptorUtils,
+            flowFrameworkSettings,
+            workflowExecutionRegistry,
             xContentRegistry()
         );
+        doAnswer(invocation -> {
+            ActionListener<Template> encryptListener = invocation.getArgument(1);
+            encryptListener.onResponse(invocation.getArgument(0));
+            return null;
+        }).when(encryptorUtils).encryptTemplateCredentials(any(Template.class), any());
         adminClient = mock(AdminClient.class);
         indicesAdminClient = mock(IndicesAdminClient.class);
         metadata = mock(Metadata.class);
@@ -247,6 +282,32 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
         assertEquals(index.getIndexName(), capturedRequest.indices()[0]);
     }
 
+    public void testInitIndexIfAbsent_StateIndexWithOlderSchemaVersion() {
+        FlowFrameworkIndex index = FlowFrameworkIndex.WORKFLOW_STATE;
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetadata = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetadata);
+        when(mockClusterState.getMetadata()).thenReturn(mockMetadata);
+        when(mockMetadata.hasIndex(index.getIndexName())).thenReturn(true);
+        @SuppressWarnings("unchecked")
+        ActionListener<Boolean> listener = mock(ActionListener.class);
+
+        IndexMetadata mockIndexMetadata = mock(IndexMetadata.class);
+        when(mockMetadata.indices()).thenReturn(Map.of(index.getIndexName(), mockIndexMetadata));
+        // State indices created before the provisioning node and heartbeat fields were mapped
+        Map<String, Object> mockMapping = Map.of(META, Map.of("schema_version", 4));
+        MappingMetadata mockMappingMetadata = mock(MappingMetadata.class);
+        when(mockIndexMetadata.mapping()).thenReturn(mockMappingMetadata);
+        when(mockMappingMetadata.getSourceAsMap()).thenReturn(mockMapping);
+
+        flowFrameworkIndicesHandler.initFlowFrameworkIndexIfAbsent(index, listener);
+
+        ArgumentCaptor<PutMappingRequest> putMappingRequestArgumentCaptor = ArgumentCaptor.forClass(PutMappingRequest.class);
+        verify(indicesAdminClient, times(1)).putMapping(putMappingRequestArgumentCaptor.capture(), any());
+        assertTrue(putMappingRequestArgumentCaptor.getValue().source().contains("last_heartbeat_time"));
+    }
+
     public void testInitIndexIfAbsent_IndexExist_returnFalse() {
         FlowFrameworkIndex index = FlowFrameworkIndex.WORKFLOW_STATE;
         indexMappingUpdated.put(index.getIndexName(), new AtomicBoolean(false));
@@ -536,6 +597,12 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
             responseListener.onResponse(new DeleteResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "id", -2, 0, 0, true));
             return null;
         }).when(client).delete(any(DeleteRequest.class), any());
+        // The workflow created no resource documents
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> responseListener = invocation.getArgument(1);
+            responseListener.onFailure(new IndexNotFoundException(WORKFLOW_RESOURCES_INDEX));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
 
         flowFrameworkIndicesHandler.deleteFlowFrameworkSystemIndexDoc("1", null, listener);
 
@@ -567,6 +634,74 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
         );
     }
 
+    public void testDeleteFlowFrameworkSystemIndexDocDeletesResourceDocuments() throws IOException {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+
+        ResourceCreated connector = new ResourceCreated(CreateConnectorStep.NAME, "node_1", "connector_id", "connector");
+        ResourceCreated agent = new ResourceCreated("register_agent", "node_2", "agent_id", "agent");
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(searchResponse(resourceDocumentHit(connector), resourceDocumentHit(agent)));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            DeleteRequest request = invocation.getArgument(0);
+            ActionListener<DeleteResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new DeleteResponse(new ShardId(request.index(), "", 1), request.id(), 1, 1, 1, true));
+            return null;
+        }).when(client).delete(any(DeleteRequest.class), any());
+
+        @SuppressWarnings("unchecked")
+        ActionListener<DeleteResponse> listener = mock(ActionListener.class);
+        flowFrameworkIndicesHandler.deleteFlowFrameworkSystemIndexDoc("this_id", null, listener);
+
+        // The state document and then each resource document are deleted through the SDK client
+        ArgumentCaptor<DeleteRequest> deleteCaptor = ArgumentCaptor.forClass(DeleteRequest.class);
+        verify(client, times(3)).delete(deleteCaptor.capture(), any());
+        List<DeleteRequest> deleteRequests = deleteCaptor.getAllValues();
+        assertEquals(WORKFLOW_STATE_INDEX, deleteRequests.get(0).index());
+        assertEquals(WORKFLOW_RESOURCES_INDEX, deleteRequests.get(1).index());
+        assertEquals("this_id:node_1:connector_id", deleteRequests.get(1).id());
+        assertEquals(RefreshPolicy.NONE, deleteRequests.get(1).getRefreshPolicy());
+        assertEquals(WORKFLOW_RESOURCES_INDEX, deleteRequests.get(2).index());
+        assertEquals("this_id:node_2:agent_id", deleteRequests.get(2).id());
+        assertEquals(RefreshPolicy.IMMEDIATE, deleteRequests.get(2).getRefreshPolicy());
+        verify(listener, times(1)).onResponse(any(DeleteResponse.class));
+        verify(listener, never()).onFailure(any());
+    }
+
+    public void testDeleteFlowFrameworkSystemIndexDocResourceDocumentsFailure() {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> responseListener = invocation.getArgument(1);
+            responseListener.onFailure(new Exception("Failed to search resources"));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<DeleteResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new DeleteResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "this_id", 1, 1, 1, true));
+            return null;
+        }).when(client).delete(any(DeleteRequest.class), any());
+
+        @SuppressWarnings("unchecked")
+        ActionListener<DeleteResponse> listener = mock(ActionListener.class);
+        flowFrameworkIndicesHandler.deleteFlowFrameworkSystemIndexDoc("this_id", null, listener);
+
+        // The state document is deleted even if its resource documents could not be
+        verify(client, times(1)).delete(any(DeleteRequest.class), any());
+        verify(listener, times(1)).onResponse(any(DeleteResponse.class));
+        verify(listener, never()).onFailure(any());
+    }
+
     public void testAddResourceToStateIndex() {
         ClusterState mockClusterState = mock(ClusterState.class);
         Metadata mockMetaData = mock(Metadata.class);
@@ -605,6 +740,7 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
         ArgumentCaptor<WorkflowData> responseCaptor = ArgumentCaptor.forClass(WorkflowData.class);
         verify(listener, times(1)).onResponse(responseCaptor.capture());
         assertEquals("this_id", responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+        verify(workflowExecutionRegistry, times(1)).addResource(eq("this_id"), any(ResourceCreated.class), any(Instant.class));
 
         // test failure
         doAnswer(invocation -> {
@@ -628,6 +764,7 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
             "Failed to update workflow state for this_id on step node_id to add resource connector_id this_id",
             exceptionCaptor.getValue().getMessage()
         );
+        verify(workflowExecutionRegistry, times(1)).addResource(eq("this_id"), any(ResourceCreated.class), any(Instant.class));
 
         // test document not found
         @SuppressWarnings("unchecked")
@@ -750,6 +887,173 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
         );
     }
 
+    public void testAddResourceDocument() throws IOException {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockClusterState.getMetadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        when(mockMetaData.hasIndex(WORKFLOW_RESOURCES_INDEX)).thenReturn(true);
+        when(mockMetaData.indices()).thenReturn(Collections.emptyMap());
+        when(flowFrameworkSettings.isResourceDocumentsEnabled()).thenReturn(true);
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> listener = mock(ActionListener.class);
+        ArgumentCaptor<IndexRequest> indexRequestCaptor = ArgumentCaptor.forClass(IndexRequest.class);
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new IndexResponse(new ShardId(WORKFLOW_RESOURCES_INDEX, "", 1), "id", 1, 1, 1, true));
+            return null;
+        }).when(client).index(indexRequestCaptor.capture(), any());
+
+        flowFrameworkIndicesHandler.addResourceToStateIndex(
+            new WorkflowData(Collections.emptyMap(), "this_id", null),
+            "node_id",
+            CreateConnectorStep.NAME,
+            "connector",
+            null,
+            listener
+        );
+
+        ArgumentCaptor<WorkflowData> responseCaptor = ArgumentCaptor.forClass(WorkflowData.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals("connector", responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+
+        // A single resource document is written, the state document is not updated
+        IndexRequest indexRequest = indexRequestCaptor.getValue();
+        assertEquals(WORKFLOW_RESOURCES_INDEX, indexRequest.index());
+        assertEquals("this_id:node_id:connector_id", indexRequest.id());
+        assertEquals(RefreshPolicy.IMMEDIATE, indexRequest.getRefreshPolicy());
+        Map<String, Object> source = indexRequest.sourceAsMap();
+        assertEquals("this_id", source.get(WORKFLOW_ID));
+        assertEquals("connector", source.get(RESOURCE_ID));
+        verify(client, times(0)).update(any(UpdateRequest.class), any());
+    }
+
+    public void testGetWorkflowStateWithResourceDocuments() throws IOException {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_RESOURCES_INDEX)).thenReturn(true);
+
+        ResourceCreated stateResource = new ResourceCreated(CreateConnectorStep.NAME, "node_1", "connector_id", "connector");
+        ResourceCreated documentResource = new ResourceCreated("register_agent", "node_2", "agent_id", "agent");
+        WorkflowState state = WorkflowState.builder()
+            .workflowId("this_id")
+            .provisioningProgress("DONE")
+            .resourcesCreated(List.of(stateResource))
+            .build();
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            state.toXContent(builder, null);
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, "this_id", 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        // The state document resource also has its own document, as after reprovisioning
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(searchResponse(resourceDocumentHit(stateResource), resourceDocumentHit(documentResource)));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowState> listener = mock(ActionListener.class);
+        flowFrameworkIndicesHandler.getWorkflowState("this_id", null, listener, () -> {});
+
+        ArgumentCaptor<WorkflowState> stateCaptor = ArgumentCaptor.forClass(WorkflowState.class);
+        verify(listener, times(1)).onResponse(stateCaptor.capture());
+        List<ResourceCreated> resourcesCreated = stateCaptor.getValue().resourcesCreated();
+        assertEquals(2, resourcesCreated.size());
+        assertEquals(stateResource.resourceMap(), resourcesCreated.get(0).resourceMap());
+        assertEquals(documentResource.resourceMap(), resourcesCreated.get(1).resourceMap());
+        assertEquals("DONE", stateCaptor.getValue().getProvisioningProgress());
+    }
+
+    public void testDeleteResourceDocument() {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        when(mockMetaData.hasIndex(WORKFLOW_RESOURCES_INDEX)).thenReturn(true);
+        ResourceCreated resourceToDelete = new ResourceCreated("", "node_id", "connector_id", "this_id");
+
+        // test the resource document is deleted
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> listener = mock(ActionListener.class);
+        doAnswer(invocation -> {
+            DeleteRequest request = invocation.getArgument(0);
+            assertEquals("this_id:node_id:connector_id", request.id());
+            assertEquals(RefreshPolicy.IMMEDIATE, request.getRefreshPolicy());
+            ActionListener<DeleteResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new DeleteResponse(new ShardId(WORKFLOW_RESOURCES_INDEX, "", 1), request.id(), 1, 1, 1, true));
+            return null;
+        }).when(client).delete(any(DeleteRequest.class), any());
+
+        flowFrameworkIndicesHandler.deleteResourceFromStateIndex("this_id", null, resourceToDelete, listener);
+
+        ArgumentCaptor<WorkflowData> responseCaptor = ArgumentCaptor.forClass(WorkflowData.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals("this_id", responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+        verify(client, times(0)).update(any(UpdateRequest.class), any());
+
+        // test a resource without its own document is removed from the state document
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> stateListener = mock(ActionListener.class);
+        doAnswer(invocation -> {
+            DeleteRequest request = invocation.getArgument(0);
+            ActionListener<DeleteResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new DeleteResponse(new ShardId(WORKFLOW_RESOURCES_INDEX, "", 1), request.id(), 1, 1, 1, false));
+            return null;
+        }).when(client).delete(any(DeleteRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            WorkflowState.builder().resourcesCreated(List.of(resourceToDelete)).build().toXContent(builder, null);
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, "this_id", 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "this_id", -2, 0, 0, Result.UPDATED));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+
+        flowFrameworkIndicesHandler.deleteResourceFromStateIndex("this_id", null, resourceToDelete, stateListener);
+
+        verify(stateListener, times(1)).onResponse(any());
+        verify(client, times(1)).update(any(UpdateRequest.class), any());
+    }
+
+    private static SearchHit resourceDocumentHit(ResourceCreated resource) throws IOException {
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject().field(WORKFLOW_ID, "this_id");
+        for (Map.Entry<String, String> field : resource.resourceMap().entrySet()) {
+            builder.field(field.getKey(), field.getValue());
+        }
+        builder.field(CREATE_TIME, Instant.now().toEpochMilli()).endObject();
+        SearchHit hit = new SearchHit(0, resource.resourceId(), Collections.emptyMap(), Collections.emptyMap());
+        return hit.sourceRef(BytesReference.bytes(builder));
+    }
+
+    private static SearchResponse searchResponse(SearchHit... hits) {
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+        SearchResponseSections searchSections = new SearchResponseSections(
+            searchHits,
+            InternalAggregations.EMPTY,
+            null,
+            false,
+            false,
+            null,
+            1
+        );
+        return new SearchResponse(searchSections, null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
     public void testAddResourceToStateIndexWithRetries() {
         ClusterState mockClusterState = mock(ClusterState.class);
         Metadata mockMetaData = mock(Metadata.class);
@@ -937,4 +1241,60 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
             exceptionCaptor.getValue().getMessage()
         );
     }
+
+    public void testCoalesceResourceUpdatesWhileUpdateInFlight() {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            WorkflowState state = WorkflowState.builder().build();
+            state.toXContent(builder, null);
+            BytesReference workflowBytesRef = BytesReference.bytes(builder);
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, "this_id", 1, 1, 1, true, workflowBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        // Hold update responses so later resource updates arrive while the first is in flight
+        List<ActionListener<UpdateResponse>> updateListeners = new ArrayList<>();
+        ArgumentCaptor<UpdateRequest> updateRequestCaptor = ArgumentCaptor.forClass(UpdateRequest.class);
+        doAnswer(invocation -> {
+            updateListeners.add(invocation.getArgument(1));
+            return null;
+        }).when(client).update(updateRequestCaptor.capture(), any());
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> firstListener = mock(ActionListener.class);
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> secondListener = mock(ActionListener.class);
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> thirdListener = mock(ActionListener.class);
+        WorkflowData inputs = new WorkflowData(Collections.emptyMap(), "this_id", null);
+        flowFrameworkIndicesHandler.addResourceToStateIndex(inputs, "node_1", CreateConnectorStep.NAME, "first_id", null, firstListener);
+        flowFrameworkIndicesHandler.addResourceToStateIndex(inputs, "node_2", CreateConnectorStep.NAME, "second_id", null, secondListener);
+        flowFrameworkIndicesHandler.addResourceToStateIndex(inputs, "node_3", CreateConnectorStep.NAME, "third_id", null, thirdListener);
+        assertEquals(1, updateListeners.size());
+
+        UpdateResponse updateResponse = new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "this_id", -2, 0, 0, Result.UPDATED);
+        updateListeners.get(0).onResponse(updateResponse);
+        verify(firstListener, times(1)).onResponse(any(WorkflowData.class));
+        // The buffered resources are written together in a single update
+        assertEquals(2, updateListeners.size());
+        String batchedDoc = updateRequestCaptor.getAllValues().get(1).doc().source().utf8ToString();
+        assertTrue(batchedDoc.contains("second_id"));
+        assertTrue(batchedDoc.contains("third_id"));
+
+        updateListeners.get(1).onResponse(updateResponse);
+        ArgumentCaptor<WorkflowData> responseCaptor = ArgumentCaptor.forClass(WorkflowData.class);
+        verify(secondListener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals("second_id", responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+        responseCaptor = ArgumentCaptor.forClass(WorkflowData.class);
+        verify(thirdListener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals("third_id", responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+        verify(client, times(2)).get(any(GetRequest.class), any());
+    }
 }
@@ -10,6 +10,7 @@ package org.opensearch.flowframework.model;
 
 import org.opensearch.Version;
 import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesArray;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.DeprecationHandler;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
@@ -97,6 +98,11 @@ public class TemplateTests extends OpenSearchTestCase {
         assertEquals("Workflow [userParams={key=value}, nodes=[A, B], edges=[A->B]]", wfX.toString());
         assertEquals("tenant-id", templateX.getTenantId());
 
+        // Parsing from the document source bytes gives the same template
+        Template templateFromBytes = Template.parse(new BytesArray(json));
+        assertEquals(templateX.toJson(), templateFromBytes.toJson());
+        assertEquals("tenant-id", templateFromBytes.getTenantId());
+
         // Test invalid field if updating
         XContentParser parser = JsonXContent.jsonXContent.createParser(
             NamedXContentRegistry.EMPTY,
@@ -0,0 +1,95 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.model;
+
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.flowframework.TestHelpers;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+public class WorkflowJobTests extends OpenSearchTestCase {
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+    }
+
+    public void testParseFeature() throws IOException {
+        Instant createTime = Instant.ofEpochMilli(1000);
+        User user = TestHelpers.randomUser();
+        WorkflowJob job = new WorkflowJob(WorkflowJob.Type.PROVISION, "workflow", "tenant", Map.of("foo", "bar"), user, createTime);
+        assertEquals(WorkflowJob.Status.QUEUED, job.getStatus());
+        assertEquals(0, job.getAttempts());
+        assertNull(job.getOwnerNode());
+
+        String json = TemplateTestJsonUtil.parseToJson(job);
+        assertTrue(json.contains("\"job_type\":\"PROVISION\""));
+        assertTrue(json.contains("\"status\":\"QUEUED\""));
+        assertTrue(json.contains("\"params\":{\"foo\":\"bar\"}"));
+        assertFalse(json.contains("owner_node"));
+
+        WorkflowJob jobTwo = WorkflowJob.parse(TemplateTestJsonUtil.jsonToParser(json));
+        assertEquals(WorkflowJob.Type.PROVISION, jobTwo.getJobType());
+        assertEquals("workflow", jobTwo.getWorkflowId());
+        assertEquals("tenant", jobTwo.getTenantId());
+        assertEquals(WorkflowJob.Status.QUEUED, jobTwo.getStatus());
+        assertEquals(Map.of("foo", "bar"), jobTwo.getParams());
+        assertEquals(user.getName(), jobTwo.getUser().getName());
+        assertEquals(user.getBackendRoles(), jobTwo.getUser().getBackendRoles());
+        assertEquals(user.getRoles(), jobTwo.getUser().getRoles());
+        assertEquals(createTime, jobTwo.getCreateTime());
+    }
+
+    public void testClaimRenewAndRelease() throws IOException {
+        Instant createTime = Instant.ofEpochMilli(1000);
+        WorkflowJob job = new WorkflowJob(WorkflowJob.Type.DEPROVISION, "workflow", null, Map.of(), null, createTime);
+
+        WorkflowJob claimedJob = job.claim("node", Instant.ofEpochMilli(3000), Instant.ofEpochMilli(2000));
+        assertEquals(WorkflowJob.Status.RUNNING, claimedJob.getStatus());
+        assertEquals("node", claimedJob.getOwnerNode());
+        assertEquals(Instant.ofEpochMilli(3000), claimedJob.getLeaseExpiryTime());
+        assertEquals(1, claimedJob.getAttempts());
+
+        WorkflowJob renewedJob = claimedJob.renew(Instant.ofEpochMilli(5000), Instant.ofEpochMilli(4000));
+        assertEquals(WorkflowJob.Status.RUNNING, renewedJob.getStatus());
+        assertEquals(Instant.ofEpochMilli(5000), renewedJob.getLeaseExpiryTime());
+        assertEquals(Instant.ofEpochMilli(4000), renewedJob.getLastUpdatedTime());
+        assertEquals(1, renewedJob.getAttempts());
+
+        WorkflowJob requeuedJob = renewedJob.requeue(Instant.ofEpochMilli(6000));
+        assertEquals(WorkflowJob.Status.QUEUED, requeuedJob.getStatus());
+        assertNull(requeuedJob.getLeaseExpiryTime());
+        assertEquals(0, requeuedJob.getAttempts());
+
+        WorkflowJob failedJob = renewedJob.withStatus(WorkflowJob.Status.FAILED, "error", Instant.ofEpochMilli(6000));
+        WorkflowJob parsedJob = WorkflowJob.parse(new BytesArray(TemplateTestJsonUtil.parseToJson(failedJob)));
+        assertEquals(WorkflowJob.Status.FAILED, parsedJob.getStatus());
+        assertEquals("error", parsedJob.getError());
+        assertEquals("node", parsedJob.getOwnerNode());
+        assertEquals(1, parsedJob.getAttempts());
+        assertNull(parsedJob.getTenantId());
+        assertNull(parsedJob.getUser());
+    }
+
+    public void testParseInvalidJob() throws IOException {
+        FlowFrameworkException e = assertThrows(
+            FlowFrameworkException.class,
+            () -> WorkflowJob.parse(TemplateTestJsonUtil.jsonToParser("{\"workflow_id\":\"workflow\",\"status\":\"QUEUED\"}"))
+        );
+        assertEquals("A job requires a job_type, a workflow_id and a status.", e.getMessage());
+
+        e = assertThrows(FlowFrameworkException.class, () -> WorkflowJob.parse(TemplateTestJsonUtil.jsonToParser("{\"foo\":\"bar\"}")));
+        assertEquals("Unable to parse field [foo] in a job object.", e.getMessage());
+    }
+}
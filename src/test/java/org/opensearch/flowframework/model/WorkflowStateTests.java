@@ -10,6 +10,7 @@ package org.opensearch.flowframework.model;
 
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.commons.authuser.User;
+import org.opensearch.core.common.bytes.BytesArray;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.BytesStreamInput;
 import org.opensearch.test.OpenSearchTestCase;
@@ -37,6 +38,20 @@ public class WorkflowStateTests extends OpenSearchTestCase {
         User user = new User("user", Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
         Map<String, Object> userOutputs = Map.of("foo", Map.of("bar", "baz"));
         List<ResourceCreated> resourcesCreated = List.of(new ResourceCreated("name", "stepId", "type", "id"));
+        List<StepExecution> stepExecutions = List.of(
+            new StepExecution(
+                "stepId",
+                "name",
+                State.COMPLETED.name(),
+                provisionStartTime,
+                provisionEndTime,
+                5,
+                1,
+                List.of("previousStepId"),
+                provisionStartTime,
+                provisionEndTime
+            )
+        );
 
         WorkflowState wfs = WorkflowState.builder()
             .workflowId(workflowId)
@@ -48,6 +63,9 @@ public class WorkflowStateTests extends OpenSearchTestCase {
             .user(user)
             .userOutputs(userOutputs)
             .resourcesCreated(resourcesCreated)
+            .stepExecutions(stepExecutions)
+            .provisioningNode("node_id")
+            .lastHeartbeatTime(provisionEndTime)
             .build();
 
         assertEquals(workflowId, wfs.getWorkflowId());
@@ -65,6 +83,8 @@ public class WorkflowStateTests extends OpenSearchTestCase {
         assertEquals("stepId", rc.workflowStepId());
         assertEquals("type", rc.resourceType());
         assertEquals("id", rc.resourceId());
+        assertEquals("node_id", wfs.getProvisioningNode());
+        assertEquals(provisionEndTime, wfs.getLastHeartbeatTime());
 
         try (BytesStreamOutput out = new BytesStreamOutput()) {
             wfs.writeTo(out);
@@ -86,8 +106,39 @@ public class WorkflowStateTests extends OpenSearchTestCase {
                 assertEquals("stepId", rc.workflowStepId());
                 assertEquals("type", rc.resourceType());
                 assertEquals("id", rc.resourceId());
+                assertEquals(1, wfs.stepExecutions().size());
+                StepExecution stepExecution = wfs.stepExecutions().get(0);
+                assertEquals("stepId", stepExecution.workflowStepId());
+                assertEquals("name", stepExecution.workflowStepName());
+                assertEquals(State.COMPLETED.name(), stepExecution.status());
+                assertEquals(provisionStartTime, stepExecution.startTime());
+                assertEquals(provisionEndTime, stepExecution.endTime());
+                assertEquals(5, stepExecution.queueTimeInMillis());
+                assertEquals(1, stepExecution.attempts());
+                assertEquals(List.of("previousStepId"), stepExecution.predecessors());
+                assertEquals(provisionStartTime, stepExecution.invokeEndTime());
+                assertEquals(provisionEndTime, stepExecution.stateWriteStartTime());
+                assertEquals("node_id", wfs.getProvisioningNode());
+                assertEquals(provisionEndTime, wfs.getLastHeartbeatTime());
             }
         }
+
+        // Step executions are stored in the state document with epoch millis times
+        wfs = WorkflowState.parse(TemplateTestJsonUtil.parseToJson(wfs));
+        assertEquals(1, wfs.stepExecutions().size());
+        StepExecution stepExecution = wfs.stepExecutions().get(0);
+        assertEquals("stepId", stepExecution.workflowStepId());
+        assertEquals(State.COMPLETED.name(), stepExecution.status());
+        assertEquals(provisionEndTime.toEpochMilli(), stepExecution.endTime().toEpochMilli());
+        assertEquals(5, stepExecution.queueTimeInMillis());
+        assertEquals(List.of("previousStepId"), stepExecution.predecessors());
+        assertEquals(provisionEndTime.toEpochMilli(), stepExecution.stateWriteStartTime().toEpochMilli());
+        assertEquals("node_id", wfs.getProvisioningNode());
+        assertEquals(provisionEndTime.toEpochMilli(), wfs.getLastHeartbeatTime().toEpochMilli());
+
+        // Parsing from the document source bytes gives the same state
+        String json = TemplateTestJsonUtil.parseToJson(wfs);
+        assertEquals(json, TemplateTestJsonUtil.parseToJson(WorkflowState.parse(new BytesArray(json))));
     }
 
     public void testWorkflowStateUpdate() {
@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.model;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class WorkflowTraceTests extends OpenSearchTestCase {
+
+    private final Instant t0 = Instant.ofEpochMilli(1_000_000);
+
+    public void testCriticalPath() {
+        // A diamond where C is slower than B, so D waits on C
+        List<StepExecution> stepExecutions = List.of(
+            step("A", Collections.emptyList(), 0, 10, null),
+            step("B", List.of("A"), 10, 20, null),
+            step("C", List.of("A"), 10, 50, null),
+            step("D", List.of("B", "C"), 55, 60, null)
+        );
+        assertEquals(List.of("A", "C", "D"), WorkflowTrace.criticalPath(stepExecutions));
+        assertEquals(Collections.emptyList(), WorkflowTrace.criticalPath(Collections.emptyList()));
+    }
+
+    public void testCriticalPathOfUnfinishedRun() {
+        // B failed before C finished, the trace follows the step which ran last
+        List<StepExecution> stepExecutions = List.of(
+            step("A", Collections.emptyList(), 0, 10, null),
+            step("B", List.of("A"), 10, 20, null),
+            new StepExecution("C", "test", null, t0.plusMillis(10), null, 0, 1, List.of("A"), t0.plusMillis(30), null)
+        );
+        assertEquals(List.of("A", "C"), WorkflowTrace.criticalPath(stepExecutions));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testTraceEvents() throws IOException {
+        WorkflowState workflowState = WorkflowState.builder()
+            .workflowId("workflow_id")
+            .state(State.COMPLETED.name())
+            .stepExecutions(List.of(step("B", List.of("A"), 10, 20, t0.plusMillis(15)), step("A", Collections.emptyList(), 0, 10, null)))
+            .build();
+        WorkflowTrace trace = new WorkflowTrace(workflowState);
+        assertEquals(List.of("A", "B"), trace.criticalPath());
+
+        Map<String, Object> json = TemplateTestJsonUtil.jsonToParser(TemplateTestJsonUtil.parseToJson(trace)).map();
+        assertEquals("ms", json.get("displayTimeUnit"));
+        Map<String, Object> otherData = (Map<String, Object>) json.get("otherData");
+        assertEquals("workflow_id", otherData.get("workflow_id"));
+        assertEquals(List.of("A", "B"), otherData.get("critical_path"));
+
+        List<Map<String, Object>> events = (List<Map<String, Object>>) json.get("traceEvents");
+        // Process name, then for each step its thread name, span, queued, invoke and await_downstream phases
+        assertEquals(List.of("process_name", "thread_name", "A", "queued", "invoke", "await_downstream"), names(events.subList(0, 6)));
+        // B recorded a resource in the state index
+        assertEquals(List.of("thread_name", "B", "queued", "invoke", "await_downstream", "state_write"), names(events.subList(6, 12)));
+        Map<String, Object> stepSpan = events.get(7);
+        assertEquals("X", stepSpan.get("ph"));
+        assertEquals(2, stepSpan.get("tid"));
+        // Ready 1ms before starting, ends at the end time
+        assertEquals((t0.toEpochMilli() + 9) * 1000, ((Number) stepSpan.get("ts")).longValue());
+        assertEquals(11_000, ((Number) stepSpan.get("dur")).longValue());
+        assertEquals("step,critical_path", stepSpan.get("cat"));
+        Map<String, Object> stateWrite = events.get(11);
+        assertEquals((t0.toEpochMilli() + 15) * 1000, ((Number) stateWrite.get("ts")).longValue());
+        assertEquals(5_000, ((Number) stateWrite.get("dur")).longValue());
+    }
+
+    private StepExecution step(String id, List<String> predecessors, long startMillis, long endMillis, Instant stateWriteStartTime) {
+        Instant start = t0.plusMillis(startMillis);
+        return new StepExecution(id, "test", "COMPLETED", start, t0.plusMillis(endMillis), 1, 1, predecessors, start, stateWriteStartTime);
+    }
+
+    private static List<Object> names(List<Map<String, Object>> events) {
+        return events.stream().map(e -> e.get("name")).collect(Collectors.toList());
+    }
+}
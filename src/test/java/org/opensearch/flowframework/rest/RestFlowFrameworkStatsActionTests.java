@@ -0,0 +1,101 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.rest;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.transport.FlowFrameworkStatsNodeResponse;
+import org.opensearch.flowframework.transport.FlowFrameworkStatsRequest;
+import org.opensearch.flowframework.transport.FlowFrameworkStatsResponse;
+import org.opensearch.rest.RestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.rest.FakeRestChannel;
+import org.opensearch.test.rest.FakeRestRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_BASE_URI;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RestFlowFrameworkStatsActionTests extends OpenSearchTestCase {
+    private RestFlowFrameworkStatsAction restFlowFrameworkStatsAction;
+    private String statsPath;
+    private FlowFrameworkSettings flowFrameworkFeatureEnabledSetting;
+    private NodeClient nodeClient;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        this.statsPath = String.format(Locale.ROOT, "%s/%s", FLOW_FRAMEWORK_BASE_URI, "_stats");
+        flowFrameworkFeatureEnabledSetting = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkFeatureEnabledSetting.isFlowFrameworkEnabled()).thenReturn(true);
+        this.restFlowFrameworkStatsAction = new RestFlowFrameworkStatsAction(flowFrameworkFeatureEnabledSetting);
+        this.nodeClient = mock(NodeClient.class);
+    }
+
+    public void testRestFlowFrameworkStatsActionName() {
+        String name = restFlowFrameworkStatsAction.getName();
+        assertEquals("flow_framework_stats", name);
+    }
+
+    public void testRestFlowFrameworkStatsActionRoutes() {
+        List<RestHandler.Route> routes = restFlowFrameworkStatsAction.routes();
+        assertEquals(2, routes.size());
+        assertEquals(RestRequest.Method.GET, routes.get(0).getMethod());
+        assertEquals(this.statsPath, routes.get(0).getPath());
+        assertEquals(this.statsPath + "/{node_id}", routes.get(1).getPath());
+    }
+
+    public void testFlowFrameworkStats() throws Exception {
+        RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withMethod(RestRequest.Method.GET)
+            .withPath(this.statsPath)
+            .build();
+        FakeRestChannel channel = new FakeRestChannel(request, false, 1);
+        DiscoveryNode node = new DiscoveryNode("node_id", buildNewFakeTransportAddress(), Version.CURRENT);
+        doAnswer(invocation -> {
+            ActionListener<FlowFrameworkStatsResponse> actionListener = invocation.getArgument(2);
+            actionListener.onResponse(
+                new FlowFrameworkStatsResponse(
+                    new ClusterName("test"),
+                    List.of(new FlowFrameworkStatsNodeResponse(node, Map.of("polled_ml_tasks", 2))),
+                    Collections.emptyList()
+                )
+            );
+            return null;
+        }).when(nodeClient).execute(any(), any(FlowFrameworkStatsRequest.class), any());
+        restFlowFrameworkStatsAction.handleRequest(request, channel, nodeClient);
+        assertEquals(RestStatus.OK, channel.capturedResponse().status());
+        String content = channel.capturedResponse().content().utf8ToString();
+        assertTrue(content.contains("\"cluster_name\":\"test\""));
+        assertTrue(content.contains("\"nodes\":{\"node_id\":{\"polled_ml_tasks\":2}}"));
+    }
+
+    public void testFeatureFlagNotEnabled() throws Exception {
+        when(flowFrameworkFeatureEnabledSetting.isFlowFrameworkEnabled()).thenReturn(false);
+        RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withMethod(RestRequest.Method.GET)
+            .withPath(this.statsPath)
+            .build();
+        FakeRestChannel channel = new FakeRestChannel(request, false, 1);
+        restFlowFrameworkStatsAction.handleRequest(request, channel, nodeClient);
+        assertEquals(RestStatus.FORBIDDEN, channel.capturedResponse().status());
+        assertTrue(channel.capturedResponse().content().utf8ToString().contains("This API is disabled."));
+    }
+}
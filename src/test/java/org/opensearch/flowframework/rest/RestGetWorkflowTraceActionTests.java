@@ -0,0 +1,118 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.rest;
+
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.StepExecution;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.transport.GetWorkflowStateRequest;
+import org.opensearch.flowframework.transport.GetWorkflowStateResponse;
+import org.opensearch.rest.RestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.rest.FakeRestChannel;
+import org.opensearch.test.rest.FakeRestRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_URI;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RestGetWorkflowTraceActionTests extends OpenSearchTestCase {
+    private RestGetWorkflowTraceAction restGetWorkflowTraceAction;
+    private String getPath;
+    private NodeClient nodeClient;
+    private FlowFrameworkSettings flowFrameworkFeatureEnabledSetting;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        this.getPath = String.format(Locale.ROOT, "%s/{%s}/%s", WORKFLOW_URI, "workflow_id", "_trace");
+        flowFrameworkFeatureEnabledSetting = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkFeatureEnabledSetting.isFlowFrameworkEnabled()).thenReturn(true);
+        this.restGetWorkflowTraceAction = new RestGetWorkflowTraceAction(flowFrameworkFeatureEnabledSetting);
+        this.nodeClient = mock(NodeClient.class);
+    }
+
+    public void testRestGetWorkflowTraceActionName() {
+        String name = restGetWorkflowTraceAction.getName();
+        assertEquals("get_workflow_trace", name);
+    }
+
+    public void testRestGetWorkflowTraceActionRoutes() {
+        List<RestHandler.Route> routes = restGetWorkflowTraceAction.routes();
+        assertEquals(1, routes.size());
+        assertEquals(RestRequest.Method.GET, routes.get(0).getMethod());
+        assertEquals(this.getPath, routes.get(0).getPath());
+    }
+
+    public void testGetWorkflowTrace() throws Exception {
+        RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withMethod(RestRequest.Method.GET)
+            .withPath(this.getPath)
+            .withParams(Map.of("workflow_id", "workflow_id"))
+            .build();
+        FakeRestChannel channel = new FakeRestChannel(request, false, 1);
+        Instant start = Instant.ofEpochMilli(1_000);
+        WorkflowState workflowState = WorkflowState.builder()
+            .workflowId("workflow_id")
+            .state(State.COMPLETED.name())
+            .stepExecutions(List.of(new StepExecution("step_1", "create_connector", "COMPLETED", start, start.plusMillis(10), 2, 1)))
+            .build();
+        doAnswer(invocation -> {
+            GetWorkflowStateRequest getRequest = invocation.getArgument(1);
+            // The step executions are only included in the full state
+            assertTrue(getRequest.getAll());
+            ActionListener<GetWorkflowStateResponse> actionListener = invocation.getArgument(2);
+            actionListener.onResponse(new GetWorkflowStateResponse(workflowState, true));
+            return null;
+        }).when(nodeClient).execute(any(), any(GetWorkflowStateRequest.class), any());
+
+        restGetWorkflowTraceAction.handleRequest(request, channel, nodeClient);
+
+        assertEquals(RestStatus.OK, channel.capturedResponse().status());
+        String content = channel.capturedResponse().content().utf8ToString();
+        assertTrue(content.contains("\"traceEvents\""));
+        assertTrue(content.contains("\"critical_path\":[\"step_1\"]"));
+    }
+
+    public void testNullWorkflowId() throws Exception {
+        RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withMethod(RestRequest.Method.GET)
+            .withPath(this.getPath)
+            .build();
+
+        FakeRestChannel channel = new FakeRestChannel(request, true, 1);
+        restGetWorkflowTraceAction.handleRequest(request, channel, nodeClient);
+
+        assertEquals(1, channel.errors().get());
+        assertEquals(RestStatus.BAD_REQUEST, channel.capturedResponse().status());
+        assertTrue(channel.capturedResponse().content().utf8ToString().contains("workflow_id cannot be null"));
+    }
+
+    public void testFeatureFlagNotEnabled() throws Exception {
+        when(flowFrameworkFeatureEnabledSetting.isFlowFrameworkEnabled()).thenReturn(false);
+        RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withMethod(RestRequest.Method.GET)
+            .withPath(this.getPath)
+            .build();
+        FakeRestChannel channel = new FakeRestChannel(request, false, 1);
+        restGetWorkflowTraceAction.handleRequest(request, channel, nodeClient);
+        assertEquals(RestStatus.FORBIDDEN, channel.capturedResponse().status());
+        assertTrue(channel.capturedResponse().content().utf8ToString().contains("This API is disabled."));
+    }
+}
@@ -61,7 +61,7 @@ public class RestWorkflowProvisionTenantAwareIT extends FlowFrameworkTenantAware
             "PUT",
             "_cluster/settings",
             null,
-            "{\"persistent\":{\"plugins.flow_framework.max_active_provisions_per_tenant\":1,\"plugins.flow_framework.max_active_deprovisions_per_tenant\":1}}",
+            "{\"persistent\":{\"plugins.flow_framework.max_active_provisions_per_tenant\":1,\"plugins.flow_framework.max_queued_provisions_per_tenant\":0,\"plugins.flow_framework.max_active_deprovisions_per_tenant\":1}}",
             List.of(new BasicHeader(HttpHeaders.USER_AGENT, ""))
         );
         assertOK(response);
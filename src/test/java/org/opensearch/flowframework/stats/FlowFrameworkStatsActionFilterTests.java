@@ -0,0 +1,62 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.stats;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.support.ActionFilterChain;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.transport.ProvisionWorkflowAction;
+import org.opensearch.tasks.Task;
+import org.opensearch.test.OpenSearchTestCase;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class FlowFrameworkStatsActionFilterTests extends OpenSearchTestCase {
+
+    @SuppressWarnings("unchecked")
+    public void testRecordsFlowFrameworkActions() {
+        FlowFrameworkStats stats = new FlowFrameworkStats();
+        FlowFrameworkStatsActionFilter filter = new FlowFrameworkStatsActionFilter(stats);
+        ActionFilterChain<ActionRequest, ActionResponse> chain = mock(ActionFilterChain.class);
+        doAnswer(invocation -> {
+            ActionListener<ActionResponse> listener = invocation.getArgument(3);
+            listener.onFailure(new FlowFrameworkException("Exceeded", RestStatus.TOO_MANY_REQUESTS));
+            return null;
+        }).when(chain).proceed(any(), eq(ProvisionWorkflowAction.NAME), any(), any());
+
+        ActionListener<ActionResponse> listener = mock(ActionListener.class);
+        filter.apply(mock(Task.class), ProvisionWorkflowAction.NAME, mock(ActionRequest.class), listener, chain);
+
+        verify(listener).onFailure(any(FlowFrameworkException.class));
+        assertTrue(stats.apiLatencies().containsKey("workflow/provision"));
+        assertEquals(1L, stats.totalApiRejections());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testIgnoresOtherActions() {
+        FlowFrameworkStats stats = new FlowFrameworkStats();
+        FlowFrameworkStatsActionFilter filter = new FlowFrameworkStatsActionFilter(stats);
+        ActionFilterChain<ActionRequest, ActionResponse> chain = mock(ActionFilterChain.class);
+        ActionRequest request = mock(ActionRequest.class);
+        ActionListener<ActionResponse> listener = mock(ActionListener.class);
+        Task task = mock(Task.class);
+
+        filter.apply(task, "indices:data/read/search", request, listener, chain);
+
+        verify(chain).proceed(task, "indices:data/read/search", request, listener);
+        assertTrue(stats.apiLatencies().isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.stats;
+
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.model.StepExecution;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public class FlowFrameworkStatsTests extends OpenSearchTestCase {
+
+    @SuppressWarnings("unchecked")
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.record(10);
+        histogram.record(11);
+        histogram.record(1_000_000);
+        histogram.record(-1);
+
+        Map<String, Object> map = histogram.toMap();
+        assertEquals(5L, map.get("count"));
+        assertEquals(1_000_026L, map.get("sum_in_millis"));
+        assertEquals(1_000_000L, map.get("max_in_millis"));
+        Map<String, Object> buckets = (Map<String, Object>) map.get("buckets");
+        assertEquals(LatencyHistogram.BUCKET_UPPER_BOUNDS_IN_MILLIS.length + 1, buckets.size());
+        assertEquals(3L, buckets.get("10"));
+        assertEquals(1L, buckets.get("50"));
+        assertEquals(0L, buckets.get("100"));
+        assertEquals(1L, buckets.get("+Inf"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testApiCalls() {
+        FlowFrameworkStats stats = new FlowFrameworkStats();
+        stats.recordApiCall("workflow/provision", 20, null);
+        stats.recordApiCall("workflow/provision", 30, new FlowFrameworkException("Exceeded", RestStatus.TOO_MANY_REQUESTS));
+        stats.recordApiCall("workflow/create", 40, new FlowFrameworkException("Bad", RestStatus.BAD_REQUEST));
+
+        Map<String, Object> latencies = stats.apiLatencies();
+        assertEquals(List.of("workflow/create", "workflow/provision"), List.copyOf(latencies.keySet()));
+        assertEquals(2L, ((Map<String, Object>) latencies.get("workflow/provision")).get("count"));
+        assertEquals(Map.of("workflow/provision", 1L), stats.apiRejections());
+        assertEquals(1L, stats.totalApiRejections());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testStepExecutions() {
+        FlowFrameworkStats stats = new FlowFrameworkStats();
+        Instant start = Instant.ofEpochMilli(1_000);
+        stats.recordStepExecutions(
+            List.of(
+                new StepExecution("step_1", "create_connector", "COMPLETED", start, start.plusMillis(75), 0, 1),
+                new StepExecution("step_2", "create_connector", "FAILED", start, start.plusMillis(5), 0, 1),
+                // Still running
+                new StepExecution("step_3", "register_remote_model", null, start, null, 0, 1),
+                // Never started
+                new StepExecution("step_4", "deploy_model", null, null, null, 0, 0)
+            )
+        );
+
+        Map<String, Object> latencies = stats.stepLatencies();
+        assertEquals(1, latencies.size());
+        Map<String, Object> histogram = (Map<String, Object>) latencies.get("create_connector");
+        assertEquals(2L, histogram.get("count"));
+        assertEquals(80L, histogram.get("sum_in_millis"));
+        assertEquals(75L, histogram.get("max_in_millis"));
+    }
+
+    public void testOrphanedProvisioning() {
+        FlowFrameworkStats stats = new FlowFrameworkStats();
+        stats.recordOrphanedProvisioningFailed();
+        stats.recordOrphanedProvisioningFailed();
+        stats.recordOrphanedProvisioningResumed();
+
+        assertEquals(List.of("failed", "resumed"), List.copyOf(stats.orphanedProvisioning().keySet()));
+        assertEquals(2L, stats.orphanedProvisioning().get("failed"));
+        assertEquals(1L, stats.orphanedProvisioning().get("resumed"));
+    }
+}
@@ -22,6 +22,7 @@ import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
 import org.opensearch.tasks.Task;
@@ -51,6 +52,7 @@ public class DeleteWorkflowTransportActionTests extends OpenSearchTestCase {
     private DeleteWorkflowTransportAction deleteWorkflowTransportAction;
     private FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
     private FlowFrameworkSettings flowFrameworkSettings;
+    private WorkflowProcessSorter workflowProcessSorter;
 
     @Override
     public void setUp() throws Exception {
@@ -59,6 +61,7 @@ public class DeleteWorkflowTransportActionTests extends OpenSearchTestCase {
         this.sdkClient = SdkClientFactory.createSdkClient(client, NamedXContentRegistry.EMPTY, Collections.emptyMap());
         this.flowFrameworkIndicesHandler = mock(FlowFrameworkIndicesHandler.class);
         this.flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        this.workflowProcessSorter = mock(WorkflowProcessSorter.class);
 
         ClusterService clusterService = mock(ClusterService.class);
         ClusterSettings clusterSettings = new ClusterSettings(
@@ -72,6 +75,7 @@ public class DeleteWorkflowTransportActionTests extends OpenSearchTestCase {
             mock(ActionFilters.class),
             flowFrameworkIndicesHandler,
             flowFrameworkSettings,
+            workflowProcessSorter,
             client,
             sdkClient,
             clusterService,
@@ -121,6 +125,8 @@ public class DeleteWorkflowTransportActionTests extends OpenSearchTestCase {
         ArgumentCaptor<DeleteResponse> responseCaptor = ArgumentCaptor.forClass(DeleteResponse.class);
         verify(listener, times(1)).onResponse(responseCaptor.capture());
         assertEquals(Result.DELETED, responseCaptor.getValue().getResult());
+        // The cached provision plan of the deleted template is not kept
+        verify(workflowProcessSorter, times(1)).evictProvisionPlan(workflowId);
     }
 
     public void testDeleteWorkflowNotFound() {
@@ -8,32 +8,51 @@
  */
 package org.opensearch.flowframework.transport;
 
+import org.opensearch.Version;
 import org.opensearch.action.LatchedActionListener;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.ConfigConstants;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.flowframework.TestHelpers;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.model.Template;
+import org.opensearch.flowframework.model.Workflow;
+import org.opensearch.flowframework.model.WorkflowEdge;
+import org.opensearch.flowframework.model.WorkflowNode;
 import org.opensearch.flowframework.model.WorkflowState;
 import org.opensearch.flowframework.workflow.DeleteConnectorStep;
 import org.opensearch.flowframework.workflow.DeleteIndexStep;
 import org.opensearch.flowframework.workflow.DeleteIngestPipelineStep;
 import org.opensearch.flowframework.workflow.UndeployModelStep;
 import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.flowframework.workflow.WorkflowJobQueue;
 import org.opensearch.flowframework.workflow.WorkflowStepFactory;
+import org.opensearch.index.get.GetResult;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
 import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskManager;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ScalingExecutorBuilder;
 import org.opensearch.threadpool.TestThreadPool;
@@ -56,6 +75,9 @@ import org.mockito.ArgumentCaptor;
 import static org.opensearch.flowframework.common.CommonValue.ALLOW_DELETE;
 import static org.opensearch.flowframework.common.CommonValue.DEPROVISION_WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THREAD_POOL_PREFIX;
+import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.opensearch.flowframework.common.WorkflowResources.CONNECTOR_ID;
 import static org.opensearch.flowframework.common.WorkflowResources.INDEX_NAME;
 import static org.opensearch.flowframework.common.WorkflowResources.MODEL_ID;
@@ -66,6 +88,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -119,6 +142,14 @@ public class DeprovisionWorkflowTransportActionTests extends OpenSearchTestCase
         this.flowFrameworkIndicesHandler = mock(FlowFrameworkIndicesHandler.class);
         flowFrameworkSettings = mock(FlowFrameworkSettings.class);
         when(flowFrameworkSettings.getRequestTimeout()).thenReturn(TimeValue.timeValueSeconds(10));
+        when(flowFrameworkSettings.getMaxConcurrentDeprovisionSteps()).thenReturn(4);
+        // Without a template resources are deprovisioned in reverse order of creation
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(2);
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, "1", -2, 0, 1, false, null, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(flowFrameworkIndicesHandler).getTemplate(anyString(), nullable(String.class), any(), any());
 
         ClusterService clusterService = mock(ClusterService.class);
         ClusterSettings clusterSettings = new ClusterSettings(
@@ -126,15 +157,20 @@ public class DeprovisionWorkflowTransportActionTests extends OpenSearchTestCase
             Collections.unmodifiableSet(new HashSet<>(Arrays.asList(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES)))
         );
         when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
+        when(clusterService.localNode()).thenReturn(new DiscoveryNode("node", buildNewFakeTransportAddress(), Version.CURRENT));
+
+        TransportService transportService = mock(TransportService.class);
+        when(transportService.getTaskManager()).thenReturn(new TaskManager(Settings.EMPTY, clientThreadPool, Collections.emptySet()));
 
         this.deprovisionWorkflowTransportAction = new DeprovisionWorkflowTransportAction(
-            mock(TransportService.class),
+            transportService,
             mock(ActionFilters.class),
             clientThreadPool,
             client,
             sdkClient,
             workflowStepFactory,
             flowFrameworkIndicesHandler,
+            mock(WorkflowJobQueue.class),
             flowFrameworkSettings,
             clusterService,
             xContentRegistry(),
@@ -191,6 +227,140 @@ public class DeprovisionWorkflowTransportActionTests extends OpenSearchTestCase
         );
     }
 
+    public void testDeprovisionWorkflowReadOnceToCheckAccess() throws Exception {
+        String workflowId = "1";
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null);
+
+        WorkflowState state = WorkflowState.builder()
+            .workflowId(workflowId)
+            .user(TestHelpers.randomUser())
+            .resourcesCreated(List.of(new ResourceCreated("create_connector", "step_1", CONNECTOR_ID, "connectorId")))
+            .build();
+        XContentBuilder builder = XContentFactory.jsonBuilder();
+        state.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, workflowId, 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<WorkflowState> stateListener = invocation.getArgument(3);
+            stateListener.onResponse(invocation.getArgument(2));
+            return null;
+        }).when(flowFrameworkIndicesHandler).addResourceDocuments(anyString(), nullable(String.class), any(WorkflowState.class), any());
+
+        doAnswer(invocation -> {
+            Consumer<Boolean> booleanConsumer = invocation.getArgument(2);
+            booleanConsumer.accept(Boolean.TRUE);
+            return null;
+        }).when(flowFrameworkIndicesHandler).doesTemplateExist(anyString(), any(), any(), any());
+
+        PlainActionFuture<WorkflowData> future = PlainActionFuture.newFuture();
+        future.onResponse(WorkflowData.EMPTY);
+        when(this.deleteConnectorStep.execute(anyString(), any(WorkflowData.class), anyMap(), anyMap(), anyMap(), nullable(String.class)))
+            .thenReturn(future);
+
+        // Filter by backend roles so the state is read to check access
+        Settings settings = Settings.builder().put(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES.getKey(), true).build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(
+            new ClusterSettings(settings, Collections.singleton(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES))
+        );
+        when(clusterService.localNode()).thenReturn(new DiscoveryNode("node", buildNewFakeTransportAddress(), Version.CURRENT));
+        ClusterState clusterState = mock(ClusterState.class);
+        Metadata metadata = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(clusterState);
+        when(clusterState.metadata()).thenReturn(metadata);
+        when(metadata.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        TransportService transportService = mock(TransportService.class);
+        when(transportService.getTaskManager()).thenReturn(new TaskManager(Settings.EMPTY, client.threadPool(), Collections.emptySet()));
+        DeprovisionWorkflowTransportAction filteringAction = new DeprovisionWorkflowTransportAction(
+            transportService,
+            mock(ActionFilters.class),
+            client.threadPool(),
+            client,
+            sdkClient,
+            workflowStepFactory,
+            flowFrameworkIndicesHandler,
+            mock(WorkflowJobQueue.class),
+            flowFrameworkSettings,
+            clusterService,
+            xContentRegistry(),
+            settings
+        );
+        client.threadPool()
+            .getThreadContext()
+            .putTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT, "alice|odfe,aes|all_access");
+
+        CountDownLatch latch = new CountDownLatch(1);
+        LatchedActionListener<WorkflowResponse> latchedActionListener = new LatchedActionListener<>(listener, latch);
+        filteringAction.doExecute(mock(Task.class), workflowRequest, latchedActionListener);
+        latch.await(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<WorkflowResponse> responseCaptor = ArgumentCaptor.forClass(WorkflowResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals(workflowId, responseCaptor.getValue().getWorkflowId());
+        // The state read to check access is deprovisioned without reading it again
+        verify(client, times(1)).get(any(GetRequest.class), any());
+        verify(client, never()).execute(any(GetWorkflowStateAction.class), any(GetWorkflowStateRequest.class), any());
+        verify(flowFrameworkIndicesHandler, never()).getWorkflowState(any(), any(), any(), any());
+    }
+
+    public void testDeprovisionSeveralResourcesOfOneStep() throws Exception {
+        String workflowId = "1";
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null);
+
+        // A step completing after its node timed out records its resource, and resuming the provisioning reused it
+        doAnswer(invocation -> {
+            ActionListener<GetWorkflowStateResponse> responseListener = invocation.getArgument(2);
+
+            WorkflowState state = WorkflowState.builder()
+                .resourcesCreated(
+                    List.of(
+                        new ResourceCreated("create_connector", "step_1", CONNECTOR_ID, "connectorA"),
+                        new ResourceCreated("create_connector", "step_1", CONNECTOR_ID, "connectorB")
+                    )
+                )
+                .build();
+            responseListener.onResponse(new GetWorkflowStateResponse(state, true));
+            return null;
+        }).when(client).execute(any(GetWorkflowStateAction.class), any(GetWorkflowStateRequest.class), any());
+
+        PlainActionFuture<WorkflowData> future = PlainActionFuture.newFuture();
+        future.onResponse(WorkflowData.EMPTY);
+        when(this.deleteConnectorStep.execute(anyString(), any(WorkflowData.class), anyMap(), anyMap(), anyMap(), nullable(String.class)))
+            .thenReturn(future);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        LatchedActionListener<WorkflowResponse> latchedActionListener = new LatchedActionListener<>(listener, latch);
+        deprovisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, latchedActionListener);
+        latch.await(5, TimeUnit.SECONDS);
+
+        // Both resources are deprovisioned, not only the last one recorded by the step
+        verify(listener, times(1)).onResponse(any(WorkflowResponse.class));
+        verify(this.deleteConnectorStep, times(2)).execute(
+            anyString(),
+            any(WorkflowData.class),
+            anyMap(),
+            anyMap(),
+            anyMap(),
+            nullable(String.class)
+        );
+        verify(flowFrameworkIndicesHandler, times(2)).deleteResourceFromStateIndex(
+            anyString(),
+            nullable(String.class),
+            any(ResourceCreated.class),
+            any()
+        );
+    }
+
     public void testFailToDeprovision() throws Exception {
         String workflowId = "1";
 
@@ -371,4 +541,85 @@ public class DeprovisionWorkflowTransportActionTests extends OpenSearchTestCase
             any()
         );
     }
+
+    public void testDeprovisionBlockedByFailedDependent() throws Exception {
+        String workflowId = "1";
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null);
+
+        // step_2 uses the connector of step_1, step_3 is independent
+        Workflow provisionWorkflow = new Workflow(
+            Collections.emptyMap(),
+            List.of(
+                new WorkflowNode("step_1", "create_connector", Collections.emptyMap(), Collections.emptyMap()),
+                new WorkflowNode("step_2", "deploy_model", Collections.emptyMap(), Collections.emptyMap()),
+                new WorkflowNode("step_3", "create_connector", Collections.emptyMap(), Collections.emptyMap())
+            ),
+            List.of(new WorkflowEdge("step_1", "step_2"))
+        );
+        Template template = Template.builder().name("test").workflows(Map.of(PROVISION_WORKFLOW, provisionWorkflow)).build();
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(2);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            template.toXContent(builder, null);
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, workflowId, 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(flowFrameworkIndicesHandler).getTemplate(anyString(), nullable(String.class), any(), any());
+
+        doAnswer(invocation -> {
+            ActionListener<GetWorkflowStateResponse> responseListener = invocation.getArgument(2);
+
+            WorkflowState state = WorkflowState.builder()
+                .resourcesCreated(
+                    List.of(
+                        new ResourceCreated("create_connector", "step_1", CONNECTOR_ID, "connectorId1"),
+                        new ResourceCreated("deploy_model", "step_2", MODEL_ID, "modelId"),
+                        new ResourceCreated("create_connector", "step_3", CONNECTOR_ID, "connectorId3")
+                    )
+                )
+                .build();
+            responseListener.onResponse(new GetWorkflowStateResponse(state, true));
+            return null;
+        }).when(client).execute(any(GetWorkflowStateAction.class), any(GetWorkflowStateRequest.class), any());
+
+        PlainActionFuture<WorkflowData> failure = PlainActionFuture.newFuture();
+        failure.onFailure(new RuntimeException("rte"));
+        when(this.undeployModelStep.execute(anyString(), any(WorkflowData.class), anyMap(), anyMap(), anyMap(), nullable(String.class)))
+            .thenReturn(failure);
+        PlainActionFuture<WorkflowData> success = PlainActionFuture.newFuture();
+        success.onResponse(WorkflowData.EMPTY);
+        when(this.deleteConnectorStep.execute(anyString(), any(WorkflowData.class), anyMap(), anyMap(), anyMap(), nullable(String.class)))
+            .thenReturn(success);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        LatchedActionListener<WorkflowResponse> latchedActionListener = new LatchedActionListener<>(listener, latch);
+        deprovisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, latchedActionListener);
+        latch.await(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<FlowFrameworkException> exceptionCaptor = ArgumentCaptor.forClass(FlowFrameworkException.class);
+        verify(listener, times(1)).onFailure(exceptionCaptor.capture());
+        assertEquals(RestStatus.ACCEPTED, exceptionCaptor.getValue().getRestStatus());
+        assertEquals(
+            "Failed to deprovision some resources: [model_id modelId, connector_id connectorId1].",
+            exceptionCaptor.getValue().getMessage()
+        );
+        // Only the independent connector is deleted, the connector used by the model is never attempted
+        verify(deleteConnectorStep, times(1)).execute(
+            anyString(),
+            any(WorkflowData.class),
+            anyMap(),
+            anyMap(),
+            anyMap(),
+            nullable(String.class)
+        );
+        verify(flowFrameworkIndicesHandler, times(1)).deleteResourceFromStateIndex(
+            anyString(),
+            nullable(String.class),
+            any(ResourceCreated.class),
+            any()
+        );
+    }
 }
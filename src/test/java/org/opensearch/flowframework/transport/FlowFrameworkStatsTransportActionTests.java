@@ -0,0 +1,151 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.transport;
+
+import org.opensearch.Version;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.model.StepExecution;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
+import org.opensearch.flowframework.util.TenantAwareHelper;
+import org.opensearch.flowframework.workflow.MLTaskPoller;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
+import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
+import org.opensearch.flowframework.workflow.WorkflowStepFactory;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.threadpool.ThreadPoolStats;
+import org.opensearch.transport.TransportService;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FlowFrameworkStatsTransportActionTests extends OpenSearchTestCase {
+
+    private DiscoveryNode localNode;
+    private FlowFrameworkStats flowFrameworkStats;
+    private WorkflowExecutionRegistry workflowExecutionRegistry;
+    private FlowFrameworkStatsTransportAction flowFrameworkStatsTransportAction;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        localNode = new DiscoveryNode("node_id", buildNewFakeTransportAddress(), Version.CURRENT);
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.localNode()).thenReturn(localNode);
+        when(clusterService.getClusterName()).thenReturn(new ClusterName("test"));
+
+        ThreadPoolStats.Stats provisionPoolStats = mock(ThreadPoolStats.Stats.class);
+        when(provisionPoolStats.getName()).thenReturn(PROVISION_WORKFLOW_THREAD_POOL);
+        when(provisionPoolStats.getQueue()).thenReturn(3);
+        when(provisionPoolStats.getActive()).thenReturn(4);
+        when(provisionPoolStats.getRejected()).thenReturn(5L);
+        ThreadPoolStats.Stats searchPoolStats = mock(ThreadPoolStats.Stats.class);
+        when(searchPoolStats.getName()).thenReturn(ThreadPool.Names.SEARCH);
+        ThreadPoolStats threadPoolStats = mock(ThreadPoolStats.class);
+        when(threadPoolStats.iterator()).thenReturn(List.of(provisionPoolStats, searchPoolStats).iterator());
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.stats()).thenReturn(threadPoolStats);
+
+        MLTaskPoller mlTaskPoller = mock(MLTaskPoller.class);
+        when(mlTaskPoller.getPolledTaskCount()).thenReturn(2);
+        WorkflowStepFactory workflowStepFactory = mock(WorkflowStepFactory.class);
+        when(workflowStepFactory.getMLTaskPoller()).thenReturn(mlTaskPoller);
+        WorkflowProcessSorter workflowProcessSorter = mock(WorkflowProcessSorter.class);
+        when(workflowProcessSorter.getCachedPlanCount()).thenReturn(6);
+
+        flowFrameworkStats = new FlowFrameworkStats();
+        workflowExecutionRegistry = new WorkflowExecutionRegistry();
+        flowFrameworkStatsTransportAction = new FlowFrameworkStatsTransportAction(
+            threadPool,
+            clusterService,
+            mock(TransportService.class),
+            mock(ActionFilters.class),
+            flowFrameworkStats,
+            workflowStepFactory,
+            workflowProcessSorter,
+            workflowExecutionRegistry
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testNodeOperation() {
+        workflowExecutionRegistry.register("workflow_id", null, Instant.now());
+        flowFrameworkStats.recordApiCall("workflow/provision", 10, new FlowFrameworkException("Exceeded", RestStatus.TOO_MANY_REQUESTS));
+        Instant start = Instant.now();
+        flowFrameworkStats.recordStepExecutions(
+            List.of(new StepExecution("step_1", "create_connector", "COMPLETED", start, start.plusMillis(20), 0, 1))
+        );
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.getMaxActiveProvisionsPerTenant()).thenReturn(2);
+        when(flowFrameworkSettings.getMaxActiveProvisions()).thenReturn(100);
+        when(flowFrameworkSettings.getMaxQueuedProvisionsPerTenant()).thenReturn(1);
+        when(flowFrameworkSettings.getProvisionTenantWeight("stats_tenant")).thenReturn(1);
+        TenantAwareHelper.admitProvision(flowFrameworkSettings, "stats_tenant", null, () -> {});
+        try {
+            FlowFrameworkStatsNodeResponse response = flowFrameworkStatsTransportAction.nodeOperation(new FlowFrameworkStatsNodeRequest());
+            assertEquals(localNode, response.getNode());
+
+            Map<String, Object> stats = response.getStats();
+            Map<String, Object> threadPools = (Map<String, Object>) stats.get("thread_pools");
+            assertEquals(1, threadPools.size());
+            Map<String, Object> provisionPool = (Map<String, Object>) threadPools.get(PROVISION_WORKFLOW_THREAD_POOL);
+            assertEquals(3, provisionPool.get("queue"));
+            assertEquals(4, provisionPool.get("active"));
+            assertEquals(5L, provisionPool.get("rejected"));
+            assertEquals(1, ((Map<String, Object>) stats.get("active_provisions_per_tenant")).get("stats_tenant"));
+            assertNull(((Map<String, Object>) stats.get("queued_provisions_per_tenant")).get("stats_tenant"));
+            assertEquals(1, stats.get("executing_workflows"));
+            assertEquals(2, stats.get("polled_ml_tasks"));
+            assertEquals(6, stats.get("cached_provision_plans"));
+            assertEquals(1L, ((Map<String, Object>) stats.get("too_many_requests_rejections")).get("total"));
+            assertTrue(((Map<String, Object>) stats.get("api_latencies")).containsKey("workflow/provision"));
+            assertTrue(((Map<String, Object>) stats.get("step_latencies")).containsKey("create_connector"));
+            assertEquals(0L, ((Map<String, Object>) stats.get("orphaned_provisioning")).get("failed"));
+        } finally {
+            TenantAwareHelper.releaseProvision("stats_tenant");
+        }
+        assertNull(TenantAwareHelper.getActiveProvisionsPerTenant().get("stats_tenant"));
+    }
+
+    public void testResponseSerialization() throws Exception {
+        FlowFrameworkStatsNodeResponse nodeResponse = flowFrameworkStatsTransportAction.nodeOperation(new FlowFrameworkStatsNodeRequest());
+        FlowFrameworkStatsResponse response = flowFrameworkStatsTransportAction.newResponse(
+            new FlowFrameworkStatsRequest(),
+            List.of(nodeResponse),
+            Collections.emptyList()
+        );
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        FlowFrameworkStatsResponse streamInputResponse = new FlowFrameworkStatsResponse(in);
+
+        assertEquals("test", streamInputResponse.getClusterName().value());
+        assertEquals(1, streamInputResponse.getNodes().size());
+        FlowFrameworkStatsNodeResponse streamInputNodeResponse = streamInputResponse.getNodes().get(0);
+        assertEquals(localNode.getId(), streamInputNodeResponse.getNode().getId());
+        assertEquals(nodeResponse.getStats(), streamInputNodeResponse.getStats());
+        // Stats are streamed in order
+        assertEquals(List.copyOf(nodeResponse.getStats().keySet()), List.copyOf(streamInputNodeResponse.getStats().keySet()));
+    }
+}
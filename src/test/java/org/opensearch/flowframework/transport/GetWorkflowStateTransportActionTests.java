@@ -8,19 +8,28 @@
  */
 package org.opensearch.flowframework.transport;
 
+import org.opensearch.Version;
 import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.support.ActionFilters;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.ConfigConstants;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.NamedWriteableAwareStreamInput;
 import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
@@ -28,15 +37,21 @@ import org.opensearch.flowframework.TestHelpers;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.model.ProvisioningProgress;
+import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.model.State;
 import org.opensearch.flowframework.model.WorkflowState;
 import org.opensearch.flowframework.util.EncryptorUtils;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.get.GetResult;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
 import org.opensearch.tasks.Task;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.Scheduler;
 import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportResponseHandler;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 import org.junit.Assert;
@@ -52,7 +67,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -72,29 +89,46 @@ public class GetWorkflowStateTransportActionTests extends OpenSearchTestCase {
     private ActionListener<GetWorkflowStateResponse> response;
     private Task task;
     private EncryptorUtils encryptorUtils;
+    private WorkflowExecutionRegistry workflowExecutionRegistry;
+    private ThreadPool clientThreadPool;
+    private ClusterService clusterService;
+    private TransportService transportService;
 
     @Override
     public void setUp() throws Exception {
         super.setUp();
         this.xContentRegistry = mock(NamedXContentRegistry.class);
         this.flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.getWaitForChangePollInterval()).thenReturn(TimeValue.timeValueSeconds(1));
+        when(flowFrameworkSettings.getMaxWaitForChangeRequests()).thenReturn(100);
         this.client = mock(Client.class);
         this.sdkClient = SdkClientFactory.createSdkClient(client, NamedXContentRegistry.EMPTY, Collections.emptyMap());
-        ClusterService clusterService = mock(ClusterService.class);
+        this.clusterService = mock(ClusterService.class);
+        this.transportService = mock(TransportService.class);
         ClusterSettings clusterSettings = new ClusterSettings(
             Settings.EMPTY,
             Collections.unmodifiableSet(new HashSet<>(Arrays.asList(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES)))
         );
         when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
         this.encryptorUtils = new EncryptorUtils(mock(ClusterService.class), client, sdkClient, xContentRegistry);
+        this.workflowExecutionRegistry = new WorkflowExecutionRegistry();
         this.flowFrameworkIndicesHandler = spy(
-            new FlowFrameworkIndicesHandler(client, sdkClient, clusterService, encryptorUtils, xContentRegistry)
+            new FlowFrameworkIndicesHandler(
+                client,
+                sdkClient,
+                clusterService,
+                encryptorUtils,
+                flowFrameworkSettings,
+                workflowExecutionRegistry,
+                xContentRegistry
+            )
         );
 
         this.getWorkflowStateTransportAction = new GetWorkflowStateTransportAction(
-            mock(TransportService.class),
+            transportService,
             mock(ActionFilters.class),
             flowFrameworkIndicesHandler,
+            workflowExecutionRegistry,
             flowFrameworkSettings,
             client,
             sdkClient,
@@ -104,11 +138,12 @@ public class GetWorkflowStateTransportActionTests extends OpenSearchTestCase {
         );
         task = Mockito.mock(Task.class);
 
-        ThreadPool clientThreadPool = mock(ThreadPool.class);
+        this.clientThreadPool = mock(ThreadPool.class);
         ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
 
         when(client.threadPool()).thenReturn(clientThreadPool);
         when(clientThreadPool.getThreadContext()).thenReturn(threadContext);
+        when(clientThreadPool.schedule(any(), any(), any())).thenReturn(mock(Scheduler.ScheduledCancellable.class));
 
         response = new ActionListener<GetWorkflowStateResponse>() {
             @Override
@@ -240,4 +275,278 @@ public class GetWorkflowStateTransportActionTests extends OpenSearchTestCase {
         assertEquals("Failed to get workflow status of: " + workflowId, responseCaptor.getValue().getMessage());
     }
 
+    public void testExecuteGetWorkflowStateRequestFromRegistry() {
+        String workflowId = "test-workflow";
+        workflowExecutionRegistry.register(workflowId, null, Instant.now());
+        workflowExecutionRegistry.addResource(
+            workflowId,
+            new ResourceCreated("create_connector", "step_1", "connector_id", "connector"),
+            Instant.now()
+        );
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        getWorkflowStateTransportAction.doExecute(null, new GetWorkflowStateRequest(workflowId, false, null), listener);
+
+        ArgumentCaptor<GetWorkflowStateResponse> responseCaptor = ArgumentCaptor.forClass(GetWorkflowStateResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        WorkflowState workflowState = responseCaptor.getValue().getWorkflowState();
+        assertEquals(workflowId, workflowState.getWorkflowId());
+        assertEquals(State.PROVISIONING.name(), workflowState.getState());
+        assertEquals(1, workflowState.resourcesCreated().size());
+        assertEquals("connector", workflowState.resourcesCreated().get(0).resourceId());
+        // The state index is not read for a workflow running on this node
+        verify(client, never()).get(any(GetRequest.class), any());
+
+        // The full state is read from the state index
+        getWorkflowStateTransportAction.doExecute(null, new GetWorkflowStateRequest(workflowId, true, null), listener);
+        verify(client, times(1)).get(any(GetRequest.class), any());
+    }
+
+    public void testExecuteGetWorkflowStateRequestReadOnceToCheckAccess() throws IOException {
+        String workflowId = "test-workflow";
+        WorkflowState workflowState = WorkflowState.builder()
+            .workflowId(workflowId)
+            .state(State.COMPLETED.name())
+            .user(TestHelpers.randomUser())
+            .build();
+        XContentBuilder builder = XContentFactory.jsonBuilder();
+        workflowState.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, workflowId, 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        // Filtering by backend roles reads the state to check access
+        Settings settings = Settings.builder().put(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES.getKey(), true).build();
+        client.threadPool()
+            .getThreadContext()
+            .putTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT, "alice|odfe,aes|all_access");
+        when(clusterService.getClusterSettings()).thenReturn(
+            new ClusterSettings(settings, Collections.singleton(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES))
+        );
+        ClusterState clusterState = mock(ClusterState.class);
+        Metadata metadata = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(clusterState);
+        when(clusterState.metadata()).thenReturn(metadata);
+        when(metadata.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        GetWorkflowStateTransportAction filteringTransportAction = new GetWorkflowStateTransportAction(
+            transportService,
+            mock(ActionFilters.class),
+            flowFrameworkIndicesHandler,
+            workflowExecutionRegistry,
+            flowFrameworkSettings,
+            client,
+            sdkClient,
+            xContentRegistry(),
+            clusterService,
+            settings
+        );
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        filteringTransportAction.doExecute(null, new GetWorkflowStateRequest(workflowId, false, null), listener);
+
+        ArgumentCaptor<GetWorkflowStateResponse> responseCaptor = ArgumentCaptor.forClass(GetWorkflowStateResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals(State.COMPLETED.name(), responseCaptor.getValue().getWorkflowState().getState());
+        // The state read to check access is not read again
+        verify(client, times(1)).get(any(GetRequest.class), any());
+        verify(flowFrameworkIndicesHandler, never()).getWorkflowState(any(), any(), any(), any());
+    }
+
+    public void testWaitForChangeOfWorkflowOnThisNode() {
+        String workflowId = "test-workflow";
+        workflowExecutionRegistry.register(workflowId, null, Instant.now());
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest(workflowId, false, null, TimeValue.timeValueSeconds(30));
+        getWorkflowStateTransportAction.doExecute(null, request, listener);
+
+        // The request is parked until the workflow changes
+        verify(listener, never()).onResponse(any(GetWorkflowStateResponse.class));
+        workflowExecutionRegistry.addResource(
+            workflowId,
+            new ResourceCreated("create_connector", "step_1", "connector_id", "connector"),
+            Instant.now()
+        );
+
+        ArgumentCaptor<GetWorkflowStateResponse> responseCaptor = ArgumentCaptor.forClass(GetWorkflowStateResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals(1, responseCaptor.getValue().getWorkflowState().resourcesCreated().size());
+
+        // Later changes don't respond again
+        workflowExecutionRegistry.end(workflowId, State.COMPLETED, ProvisioningProgress.DONE, null, Instant.now());
+        verify(listener, times(1)).onResponse(any(GetWorkflowStateResponse.class));
+        verify(client, never()).get(any(GetRequest.class), any());
+    }
+
+    public void testWaitForChangeTimeout() {
+        String workflowId = "test-workflow";
+        workflowExecutionRegistry.register(workflowId, null, Instant.now());
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest(workflowId, false, null, TimeValue.timeValueSeconds(30));
+        getWorkflowStateTransportAction.doExecute(null, request, listener);
+        verify(listener, never()).onResponse(any(GetWorkflowStateResponse.class));
+
+        // Run the timeout task, responding with the unchanged state
+        ArgumentCaptor<Runnable> timeoutCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(clientThreadPool, times(1)).schedule(timeoutCaptor.capture(), eq(TimeValue.timeValueSeconds(30)), any());
+        timeoutCaptor.getValue().run();
+
+        ArgumentCaptor<GetWorkflowStateResponse> responseCaptor = ArgumentCaptor.forClass(GetWorkflowStateResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals(State.PROVISIONING.name(), responseCaptor.getValue().getWorkflowState().getState());
+
+        // A change after the timeout doesn't respond again
+        workflowExecutionRegistry.end(workflowId, State.COMPLETED, ProvisioningProgress.DONE, null, Instant.now());
+        verify(listener, times(1)).onResponse(any(GetWorkflowStateResponse.class));
+    }
+
+    public void testWaitForChangePollBackoff() {
+        String workflowId = "test-workflow";
+        stubWorkflowState(WorkflowState.builder().workflowId(workflowId).state(State.PROVISIONING.name()).build());
+        when(flowFrameworkSettings.getWaitForChangePollInterval()).thenReturn(TimeValue.timeValueSeconds(8));
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest(workflowId, false, null, TimeValue.timeValueSeconds(60));
+        getWorkflowStateTransportAction.doExecute(null, request, listener);
+
+        // The state of a workflow not executing on this node is read again at an interval doubling up to a cap
+        for (TimeValue interval : Arrays.asList(TimeValue.timeValueSeconds(8), TimeValue.timeValueSeconds(16))) {
+            ArgumentCaptor<Runnable> checkCaptor = ArgumentCaptor.forClass(Runnable.class);
+            verify(clientThreadPool, times(1)).schedule(checkCaptor.capture(), eq(interval), eq(ThreadPool.Names.GENERIC));
+            checkCaptor.getValue().run();
+        }
+        ArgumentCaptor<Runnable> checkCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(clientThreadPool, times(1)).schedule(checkCaptor.capture(), eq(TimeValue.timeValueSeconds(30)), any());
+        checkCaptor.getValue().run();
+        verify(clientThreadPool, times(2)).schedule(any(), eq(TimeValue.timeValueSeconds(30)), any());
+        verify(listener, never()).onResponse(any(GetWorkflowStateResponse.class));
+    }
+
+    public void testWaitForChangeRejectedOverLimit() {
+        String workflowId = "test-workflow";
+        workflowExecutionRegistry.register(workflowId, null, Instant.now());
+        when(flowFrameworkSettings.getMaxWaitForChangeRequests()).thenReturn(1);
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> waitingListener = mock(ActionListener.class);
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> rejectedListener = mock(ActionListener.class);
+
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest(workflowId, false, null, TimeValue.timeValueSeconds(30));
+        getWorkflowStateTransportAction.doExecute(null, request, waitingListener);
+        getWorkflowStateTransportAction.doExecute(null, request, rejectedListener);
+
+        ArgumentCaptor<FlowFrameworkException> exceptionCaptor = ArgumentCaptor.forClass(FlowFrameworkException.class);
+        verify(rejectedListener, times(1)).onFailure(exceptionCaptor.capture());
+        assertEquals(RestStatus.TOO_MANY_REQUESTS, exceptionCaptor.getValue().status());
+        verify(waitingListener, never()).onResponse(any(GetWorkflowStateResponse.class));
+
+        // Once the waiting request responds, another request can wait
+        workflowExecutionRegistry.end(workflowId, State.COMPLETED, ProvisioningProgress.DONE, null, Instant.now());
+        verify(waitingListener, times(1)).onResponse(any(GetWorkflowStateResponse.class));
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> nextListener = mock(ActionListener.class);
+        workflowExecutionRegistry.register(workflowId, null, Instant.now());
+        getWorkflowStateTransportAction.doExecute(null, request, nextListener);
+        verify(nextListener, never()).onFailure(any());
+    }
+
+    public void testWaitForChangeForwardedToProvisioningNode() {
+        String workflowId = "test-workflow";
+        DiscoveryNode localNode = new DiscoveryNode("local", buildNewFakeTransportAddress(), Version.CURRENT);
+        DiscoveryNode provisioningNode = new DiscoveryNode("remote", buildNewFakeTransportAddress(), Version.CURRENT);
+        when(clusterService.localNode()).thenReturn(localNode);
+        when(clusterService.state()).thenReturn(
+            ClusterState.builder(new ClusterName("test"))
+                .nodes(DiscoveryNodes.builder().add(localNode).add(provisioningNode).localNodeId("local").build())
+                .build()
+        );
+        WorkflowState workflowState = WorkflowState.builder()
+            .workflowId(workflowId)
+            .state(State.PROVISIONING.name())
+            .provisioningNode("remote")
+            .build();
+        stubWorkflowState(workflowState);
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest(workflowId, false, null, TimeValue.timeValueSeconds(30));
+        getWorkflowStateTransportAction.doExecute(null, request, listener);
+
+        // The provisioning node notifies the request of changes, this node doesn't read the state index at an interval
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<TransportResponseHandler<GetWorkflowStateResponse>> handlerCaptor = ArgumentCaptor.forClass(
+            TransportResponseHandler.class
+        );
+        ArgumentCaptor<GetWorkflowStateRequest> requestCaptor = ArgumentCaptor.forClass(GetWorkflowStateRequest.class);
+        verify(transportService, times(1)).sendRequest(
+            eq(provisioningNode),
+            eq(GetWorkflowStateAction.NAME),
+            requestCaptor.capture(),
+            handlerCaptor.capture()
+        );
+        verify(clientThreadPool, never()).schedule(any(), any(), any());
+        // The provisioning node waits for a change from the state read on this node
+        assertEquals(workflowId, requestCaptor.getValue().getWorkflowId());
+        assertEquals(TimeValue.timeValueSeconds(30), requestCaptor.getValue().getWaitForChangeTimeout());
+        assertSame(workflowState, requestCaptor.getValue().getInitialState());
+
+        handlerCaptor.getValue().handleResponse(new GetWorkflowStateResponse(workflowState, false));
+        verify(listener, times(1)).onResponse(any(GetWorkflowStateResponse.class));
+    }
+
+    public void testWaitForChangeFromForwardedState() {
+        String workflowId = "test-workflow";
+        workflowExecutionRegistry.register(workflowId, null, Instant.now());
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        // The state changed between the read on the forwarding node and the read on this node
+        WorkflowState initialState = WorkflowState.builder()
+            .workflowId(workflowId)
+            .state(State.NOT_STARTED.name())
+            .provisioningProgress(ProvisioningProgress.NOT_STARTED.name())
+            .build();
+        TimeValue timeout = TimeValue.timeValueSeconds(30);
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest(workflowId, false, null, timeout, initialState);
+        getWorkflowStateTransportAction.doExecute(null, request, listener);
+
+        ArgumentCaptor<GetWorkflowStateResponse> responseCaptor = ArgumentCaptor.forClass(GetWorkflowStateResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals(State.PROVISIONING.name(), responseCaptor.getValue().getWorkflowState().getState());
+    }
+
+    private void stubWorkflowState(WorkflowState workflowState) {
+        doAnswer(invocation -> {
+            ActionListener<WorkflowState> stateListener = invocation.getArgument(2);
+            stateListener.onResponse(workflowState);
+            return null;
+        }).when(flowFrameworkIndicesHandler).getWorkflowState(eq(workflowState.getWorkflowId()), any(), any(), any());
+    }
+
+    public void testWaitForChangeRequestSerialization() throws IOException {
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest("1234", false, null, TimeValue.timeValueSeconds(10));
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+        GetWorkflowStateRequest newRequest = new GetWorkflowStateRequest(out.bytes().streamInput());
+        assertEquals(TimeValue.timeValueSeconds(10), newRequest.getWaitForChangeTimeout());
+        assertNull(newRequest.getInitialState());
+
+        WorkflowState initialState = WorkflowState.builder().workflowId("1234").state(State.PROVISIONING.name()).build();
+        request = new GetWorkflowStateRequest("1234", false, null, TimeValue.timeValueSeconds(10), initialState);
+        out = new BytesStreamOutput();
+        request.writeTo(out);
+        newRequest = new GetWorkflowStateRequest(out.bytes().streamInput());
+        assertEquals("1234", newRequest.getInitialState().getWorkflowId());
+        assertEquals(State.PROVISIONING.name(), newRequest.getInitialState().getState());
+        assertEquals(TimeValue.MINUS_ONE, new GetWorkflowStateRequest("1234", false, null).getWaitForChangeTimeout());
+    }
 }
@@ -12,11 +12,14 @@ import org.opensearch.Version;
 import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.support.ActionFilters;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.ConfigConstants;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
@@ -29,6 +32,7 @@ import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowEdge;
 import org.opensearch.flowframework.model.WorkflowNode;
 import org.opensearch.flowframework.util.EncryptorUtils;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
 import org.opensearch.index.get.GetResult;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
@@ -52,6 +56,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -83,7 +88,15 @@ public class GetWorkflowTransportActionTests extends OpenSearchTestCase {
         );
         when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
         this.flowFrameworkIndicesHandler = spy(
-            new FlowFrameworkIndicesHandler(client, sdkClient, clusterService, encryptorUtils, xContentRegistry)
+            new FlowFrameworkIndicesHandler(
+                client,
+                sdkClient,
+                clusterService,
+                encryptorUtils,
+                flowFrameworkSettings,
+                new WorkflowExecutionRegistry(),
+                xContentRegistry
+            )
         );
 
         this.getTemplateTransportAction = new GetWorkflowTransportAction(
@@ -170,6 +183,59 @@ public class GetWorkflowTransportActionTests extends OpenSearchTestCase {
         assertEquals(this.template.name(), templateCaptor.getValue().getTemplate().name());
     }
 
+    public void testGetWorkflowReadOnceToCheckAccess() {
+        String workflowId = "12345";
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null);
+        doReturn(true).when(flowFrameworkIndicesHandler).doesIndexExist(anyString());
+
+        // Filtering by backend roles reads the template to check access
+        Settings settings = Settings.builder().put(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES.getKey(), true).build();
+        client.threadPool()
+            .getThreadContext()
+            .putTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT, "alice|odfe,aes|all_access");
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(
+            new ClusterSettings(settings, Collections.singleton(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES))
+        );
+        ClusterState clusterState = mock(ClusterState.class);
+        Metadata metadata = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(clusterState);
+        when(clusterState.metadata()).thenReturn(metadata);
+        when(metadata.hasIndex(GLOBAL_CONTEXT_INDEX)).thenReturn(true);
+        GetWorkflowTransportAction filteringTransportAction = new GetWorkflowTransportAction(
+            mock(TransportService.class),
+            mock(ActionFilters.class),
+            flowFrameworkIndicesHandler,
+            flowFrameworkSettings,
+            client,
+            sdkClient,
+            encryptorUtils,
+            clusterService,
+            xContentRegistry,
+            settings
+        );
+
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            this.template.toXContent(builder, null);
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, workflowId, 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        filteringTransportAction.doExecute(mock(Task.class), workflowRequest, listener);
+
+        ArgumentCaptor<GetWorkflowResponse> templateCaptor = ArgumentCaptor.forClass(GetWorkflowResponse.class);
+        verify(listener, times(1)).onResponse(templateCaptor.capture());
+        assertEquals(this.template.name(), templateCaptor.getValue().getTemplate().name());
+        // The template read to check access is not read again
+        verify(client, times(1)).get(any(GetRequest.class), any());
+        verify(flowFrameworkIndicesHandler, never()).getTemplate(anyString(), any(), any(), any());
+    }
+
     public void testGetWorkflowFailure() {
         String workflowId = "12345";
         @SuppressWarnings("unchecked")
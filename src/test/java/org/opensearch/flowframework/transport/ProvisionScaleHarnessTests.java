@@ -0,0 +1,497 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.Version;
+import org.opensearch.action.admin.cluster.node.info.PluginsAndModules;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.flowframework.FlowFrameworkPlugin;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.model.ProvisioningProgress;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.StepExecution;
+import org.opensearch.flowframework.model.Template;
+import org.opensearch.flowframework.model.Workflow;
+import org.opensearch.flowframework.model.WorkflowEdge;
+import org.opensearch.flowframework.model.WorkflowNode;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
+import org.opensearch.flowframework.util.EncryptorUtils;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
+import org.opensearch.flowframework.util.ParseUtils;
+import org.opensearch.flowframework.workflow.NoOpStep;
+import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
+import org.opensearch.flowframework.workflow.WorkflowJobQueue;
+import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
+import org.opensearch.flowframework.workflow.WorkflowStepFactory;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.ml.client.MachineLearningNodeClient;
+import org.opensearch.ml.common.MLTask;
+import org.opensearch.ml.common.MLTaskState;
+import org.opensearch.plugins.PluginsService;
+import org.opensearch.remote.metadata.client.SdkClient;
+import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskManager;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.threadpool.ThreadPoolStats;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.opensearch.flowframework.common.CommonValue.DELAY_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
+import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STEP_EXECUTIONS_FIELD;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOW_STEPS_LIMIT;
+import static org.opensearch.flowframework.common.WorkflowResources.MODEL_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Scale harness provisioning random workflow graphs through the real {@link ProvisionWorkflowTransportAction}, process nodes and
+ * thread pools, with the system indices and ML Commons mocked.
+ * <p>
+ * Each step waits on an ML task of a mock {@link MachineLearningNodeClient}, which completes after the latency injected in the step's
+ * {@code delay} input, so the harness measures the scheduling overhead of the provisioning path without a live ML node. Every run
+ * logs the makespan against the ideal critical path time, the peak threads used and the throughput.
+ * <p>
+ * The defaults run quickly in the unit test suite. Larger runs are configured with system properties, for example
+ * {@code ./gradlew test --tests "*ProvisionScaleHarnessTests" -Dtests.flow_framework.scale.concurrency=64
+ * -Dtests.flow_framework.scale.max_latency_ms=200}.
+ */
+public class ProvisionScaleHarnessTests extends OpenSearchTestCase {
+
+    private static final Logger logger = LogManager.getLogger(ProvisionScaleHarnessTests.class);
+
+    private static final String PROPERTY_PREFIX = "tests.flow_framework.scale.";
+    private static final long COMPLETION_TIMEOUT_SECONDS = 120;
+
+    private TestThreadPool threadPool;
+    private FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+    private ProvisionWorkflowTransportAction provisionWorkflowTransportAction;
+    private final Map<String, Long> simulatedLatencies = new ConcurrentHashMap<>();
+    private final AtomicInteger activeInvocations = new AtomicInteger();
+    private final AtomicInteger peakActiveInvocations = new AtomicInteger();
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        List<ExecutorBuilder<?>> executorBuilders = new FlowFrameworkPlugin().getExecutorBuilders(Settings.EMPTY);
+        this.threadPool = new TestThreadPool(
+            ProvisionScaleHarnessTests.class.getName(),
+            executorBuilders.toArray(new ExecutorBuilder<?>[0])
+        );
+
+        Client client = mock(Client.class);
+        when(client.threadPool()).thenReturn(threadPool);
+        SdkClient sdkClient = SdkClientFactory.createSdkClient(client, NamedXContentRegistry.EMPTY, Collections.emptyMap());
+
+        // ML Commons completes each task after the latency injected by its step
+        MachineLearningNodeClient mlClient = mock(MachineLearningNodeClient.class);
+        doAnswer(invocation -> {
+            String taskId = invocation.getArgument(0);
+            ActionListener<MLTask> listener = invocation.getArgument(2);
+            MLTask task = MLTask.builder().taskId(taskId).modelId("model-" + taskId).state(MLTaskState.COMPLETED).async(false).build();
+            long latency = Optional.ofNullable(simulatedLatencies.remove(taskId)).orElse(0L);
+            threadPool.schedule(() -> listener.onResponse(task), TimeValue.timeValueMillis(latency), ThreadPool.Names.GENERIC);
+            return null;
+        }).when(mlClient).getTask(anyString(), nullable(String.class), any());
+
+        WorkflowStepFactory workflowStepFactory = mock(WorkflowStepFactory.class);
+        when(workflowStepFactory.createStep(NoOpStep.NAME)).thenAnswer(invocation -> new SimulatedMLStep(mlClient));
+
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.isFlowFrameworkEnabled()).thenReturn(true);
+        when(flowFrameworkSettings.getMaxWorkflowSteps()).thenReturn(MAX_WORKFLOW_STEPS_LIMIT);
+        WorkflowProcessSorter workflowProcessSorter = new WorkflowProcessSorter(workflowStepFactory, threadPool, flowFrameworkSettings);
+
+        PluginsService pluginsService = mock(PluginsService.class);
+        when(pluginsService.info()).thenReturn(new PluginsAndModules(Collections.emptyList(), Collections.emptyList()));
+
+        EncryptorUtils encryptorUtils = mock(EncryptorUtils.class);
+        doAnswer(invocation -> {
+            ActionListener<Template> decryptListener = invocation.getArgument(1);
+            decryptListener.onResponse(invocation.getArgument(0));
+            return null;
+        }).when(encryptorUtils).decryptTemplateCredentials(any(Template.class), any());
+
+        this.flowFrameworkIndicesHandler = mock(FlowFrameworkIndicesHandler.class);
+        doAnswer(invocation -> {
+            Consumer<Optional<ProvisioningProgress>> progressConsumer = invocation.getArgument(2);
+            progressConsumer.accept(Optional.of(ProvisioningProgress.NOT_STARTED));
+            return null;
+        }).when(flowFrameworkIndicesHandler).getProvisioningProgress(any(), any(), any(), any());
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> responseListener = invocation.getArgument(2);
+            responseListener.onResponse(new IndexResponse(new ShardId("index", "", 1), invocation.getArgument(0), 1L, 1L, 1L, true));
+            return null;
+        }).when(flowFrameworkIndicesHandler).updateTemplateInGlobalContext(any(), any(Template.class), any(), anyBoolean());
+
+        ClusterService clusterService = mock(ClusterService.class);
+        ClusterSettings clusterSettings = new ClusterSettings(Settings.EMPTY, Set.of(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES));
+        when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
+        when(clusterService.localNode()).thenReturn(new DiscoveryNode("node", buildNewFakeTransportAddress(), Version.CURRENT));
+
+        TransportService transportService = mock(TransportService.class);
+        when(transportService.getTaskManager()).thenReturn(new TaskManager(Settings.EMPTY, threadPool, Collections.emptySet()));
+
+        this.provisionWorkflowTransportAction = new ProvisionWorkflowTransportAction(
+            transportService,
+            mock(ActionFilters.class),
+            client,
+            sdkClient,
+            workflowProcessSorter,
+            flowFrameworkIndicesHandler,
+            new WorkflowExecutionRegistry(),
+            mock(WorkflowJobQueue.class),
+            new FlowFrameworkStats(),
+            flowFrameworkSettings,
+            encryptorUtils,
+            pluginsService,
+            clusterService,
+            xContentRegistry(),
+            Settings.EMPTY
+        );
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        ThreadPool.terminate(threadPool, 30, TimeUnit.SECONDS);
+        super.tearDown();
+    }
+
+    public void testProvisionLargeWorkflow() throws Exception {
+        SyntheticGraph graph = randomGraph(
+            intProperty("nodes", MAX_WORKFLOW_STEPS_LIMIT),
+            intProperty("width", 50),
+            intProperty("depth", 20),
+            intProperty("max_latency_ms", 5)
+        );
+        ScaleReport report = provision(graph, intProperty("concurrency", 1));
+        logger.info(report);
+        assertTrue(report.minMakespanMillis >= graph.criticalPathMillis);
+    }
+
+    public void testProvisionConcurrentWorkflows() throws Exception {
+        SyntheticGraph graph = randomGraph(
+            intProperty("nodes", 100),
+            intProperty("width", 10),
+            intProperty("depth", 10),
+            intProperty("max_latency_ms", 5)
+        );
+        ScaleReport report = provision(graph, intProperty("concurrency", 8));
+        logger.info(report);
+        assertTrue(report.minMakespanMillis >= graph.criticalPathMillis);
+    }
+
+    /**
+     * Provisions concurrent workflows of the same graph, and waits for all of them to complete
+     * @param graph the graph of the workflows
+     * @param concurrency the number of workflows provisioned concurrently
+     * @return the measurements of the run
+     * @throws Exception if a workflow fails or does not complete in time
+     */
+    private ScaleReport provision(SyntheticGraph graph, int concurrency) throws Exception {
+        BytesReference templateSource = BytesReference.bytes(
+            graph.template.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)
+        );
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(2);
+            String workflowId = invocation.getArgument(0);
+            GetResult getResult = new GetResult("index", workflowId, 1, 1, 1, true, templateSource, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(flowFrameworkIndicesHandler).getTemplate(anyString(), nullable(String.class), any(), any());
+
+        // The workflow completes when its final state is written
+        Map<String, CompletableFuture<Map<String, Object>>> completions = new ConcurrentHashMap<>();
+        Map<String, Long> completionNanos = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            String workflowId = invocation.getArgument(0);
+            Map<String, Object> updatedFields = invocation.getArgument(2);
+            ActionListener<UpdateResponse> listener = invocation.getArgument(3);
+            Object state = updatedFields.get(STATE_FIELD);
+            if (state == State.COMPLETED || state == State.FAILED) {
+                completionNanos.put(workflowId, System.nanoTime());
+                completions.get(workflowId).complete(updatedFields);
+            }
+            listener.onResponse(mock(UpdateResponse.class));
+            return null;
+        }).when(flowFrameworkIndicesHandler).updateFlowFrameworkSystemIndexDoc(anyString(), nullable(String.class), anyMap(), any());
+
+        List<String> workflowIds = new ArrayList<>();
+        Map<String, Long> submitNanos = new HashMap<>();
+        List<PlainActionFuture<WorkflowResponse>> responses = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            String workflowId = "scale-" + i;
+            workflowIds.add(workflowId);
+            completions.put(workflowId, new CompletableFuture<>());
+            submitNanos.put(workflowId, System.nanoTime());
+            PlainActionFuture<WorkflowResponse> response = PlainActionFuture.newFuture();
+            provisionWorkflowTransportAction.doExecute(mock(Task.class), new WorkflowRequest(workflowId, null), response);
+            responses.add(response);
+        }
+
+        ScaleReport report = new ScaleReport(graph, concurrency);
+        for (String workflowId : workflowIds) {
+            Map<String, Object> finalState = completions.get(workflowId).get(COMPLETION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(State.COMPLETED, finalState.get(STATE_FIELD));
+            @SuppressWarnings("unchecked")
+            List<StepExecution> stepExecutions = (List<StepExecution>) finalState.get(STEP_EXECUTIONS_FIELD);
+            assertEquals(graph.template.workflows().get(PROVISION_WORKFLOW).nodes().size(), stepExecutions.size());
+            long makespanMillis = TimeUnit.NANOSECONDS.toMillis(completionNanos.get(workflowId) - submitNanos.get(workflowId));
+            report.recordMakespan(makespanMillis);
+        }
+        report.elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        for (PlainActionFuture<WorkflowResponse> response : responses) {
+            assertNotNull(response.actionGet(COMPLETION_TIMEOUT_SECONDS, TimeUnit.SECONDS).getWorkflowId());
+        }
+
+        report.peakActiveInvocations = peakActiveInvocations.get();
+        int maxProvisionThreads = threadPool.info(PROVISION_WORKFLOW_THREAD_POOL).getMax();
+        for (ThreadPoolStats.Stats stats : threadPool.stats()) {
+            if (PROVISION_WORKFLOW_THREAD_POOL.equals(stats.getName())) {
+                report.peakProvisionThreads = stats.getLargest();
+            }
+        }
+        assertTrue(report.peakProvisionThreads <= maxProvisionThreads);
+        return report;
+    }
+
+    /**
+     * Generates a random layered graph of steps with random latencies
+     * @param nodeCount the number of nodes, at least the depth and at most the width times the depth
+     * @param width the maximum number of nodes in a layer
+     * @param depth the number of layers
+     * @param maxLatencyMillis the maximum latency injected in a step
+     * @return the graph, with its critical path time
+     */
+    private SyntheticGraph randomGraph(int nodeCount, int width, int depth, int maxLatencyMillis) {
+        if (nodeCount > MAX_WORKFLOW_STEPS_LIMIT || nodeCount < depth || nodeCount > width * depth) {
+            throw new IllegalArgumentException(
+                String.format(
+                    Locale.ROOT,
+                    "Can not generate %d nodes in %d layers of at most %d nodes, up to %d nodes",
+                    nodeCount,
+                    depth,
+                    width,
+                    MAX_WORKFLOW_STEPS_LIMIT
+                )
+            );
+        }
+        // Every layer has a node, the remaining nodes are spread randomly
+        int[] layerSizes = new int[depth];
+        Arrays.fill(layerSizes, 1);
+        for (int remaining = nodeCount - depth; remaining > 0;) {
+            int layer = randomIntBetween(0, depth - 1);
+            if (layerSizes[layer] < width) {
+                layerSizes[layer]++;
+                remaining--;
+            }
+        }
+
+        List<WorkflowNode> nodes = new ArrayList<>();
+        List<WorkflowEdge> edges = new ArrayList<>();
+        Map<String, Long> finishMillis = new HashMap<>();
+        List<List<String>> layers = new ArrayList<>();
+        for (int layer = 0; layer < depth; layer++) {
+            List<String> layerNodes = new ArrayList<>();
+            for (int i = 0; i < layerSizes[layer]; i++) {
+                String nodeId = "step_" + layer + "_" + i;
+                long latencyMillis = randomIntBetween(0, maxLatencyMillis);
+                // Each node depends on up to three nodes of the previous layer, and sometimes on a node of an earlier layer
+                List<String> predecessors = new ArrayList<>();
+                if (layer > 0) {
+                    List<String> previousLayer = layers.get(layer - 1);
+                    predecessors.addAll(randomSubsetOf(randomIntBetween(1, Math.min(3, previousLayer.size())), previousLayer));
+                    if (layer > 1 && randomInt(4) == 0) {
+                        predecessors.add(randomFrom(layers.get(randomIntBetween(0, layer - 2))));
+                    }
+                }
+                long startMillis = 0;
+                for (String predecessor : predecessors) {
+                    edges.add(new WorkflowEdge(predecessor, nodeId));
+                    startMillis = Math.max(startMillis, finishMillis.get(predecessor));
+                }
+                finishMillis.put(nodeId, startMillis + latencyMillis);
+                nodes.add(new WorkflowNode(nodeId, NoOpStep.NAME, Collections.emptyMap(), Map.of(DELAY_FIELD, latencyMillis + "ms")));
+                layerNodes.add(nodeId);
+            }
+            layers.add(layerNodes);
+        }
+
+        Template template = Template.builder()
+            .name("scale-harness")
+            .useCase("SCALE_HARNESS")
+            .templateVersion(Version.fromString("1.0.0"))
+            .compatibilityVersion(List.of(Version.fromString("3.0.0")))
+            .workflows(Map.of(PROVISION_WORKFLOW, new Workflow(Collections.emptyMap(), nodes, edges)))
+            .lastUpdatedTime(Instant.now())
+            .build();
+        long criticalPathMillis = finishMillis.values().stream().mapToLong(Long::longValue).max().orElse(0L);
+        return new SyntheticGraph(template, width, depth, criticalPathMillis);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger(PROPERTY_PREFIX + name, defaultValue);
+    }
+
+    /**
+     * A step waiting on an ML task, like the model registration steps. Reads the latency to inject from its {@code delay} input like
+     * the {@link NoOpStep}, but instead of sleeping on the thread, the ML task completes once the latency has elapsed.
+     */
+    private class SimulatedMLStep extends NoOpStep {
+
+        private final MachineLearningNodeClient mlClient;
+
+        SimulatedMLStep(MachineLearningNodeClient mlClient) {
+            this.mlClient = mlClient;
+        }
+
+        @Override
+        public PlainActionFuture<WorkflowData> execute(
+            String currentNodeId,
+            WorkflowData currentNodeInputs,
+            Map<String, WorkflowData> outputs,
+            Map<String, String> previousNodeInputs,
+            Map<String, String> params,
+            String tenantId
+        ) {
+            peakActiveInvocations.accumulateAndGet(activeInvocations.incrementAndGet(), Math::max);
+            try {
+                PlainActionFuture<WorkflowData> future = ListenablePlainActionFuture.newListenableFuture();
+                Map<String, Object> inputs = ParseUtils.getInputsFromPreviousSteps(
+                    Collections.emptySet(),
+                    Set.of(DELAY_FIELD),
+                    currentNodeInputs,
+                    outputs,
+                    previousNodeInputs,
+                    params
+                );
+                String taskId = currentNodeInputs.getWorkflowId() + "." + currentNodeId;
+                if (inputs.containsKey(DELAY_FIELD)) {
+                    simulatedLatencies.put(taskId, TimeValue.parseTimeValue(inputs.get(DELAY_FIELD).toString(), DELAY_FIELD).millis());
+                }
+                mlClient.getTask(taskId, tenantId, ActionListener.wrap(task -> {
+                    Map<String, Object> content = Map.of(MODEL_ID, task.getModelId());
+                    future.onResponse(new WorkflowData(content, currentNodeInputs.getWorkflowId(), currentNodeId));
+                }, future::onFailure));
+                return future;
+            } finally {
+                activeInvocations.decrementAndGet();
+            }
+        }
+    }
+
+    private static class SyntheticGraph {
+        private final Template template;
+        private final int width;
+        private final int depth;
+        private final long criticalPathMillis;
+
+        SyntheticGraph(Template template, int width, int depth, long criticalPathMillis) {
+            this.template = template;
+            this.width = width;
+            this.depth = depth;
+            this.criticalPathMillis = criticalPathMillis;
+        }
+    }
+
+    private static class ScaleReport {
+        private final SyntheticGraph graph;
+        private final int concurrency;
+        private long minMakespanMillis = Long.MAX_VALUE;
+        private long maxMakespanMillis = 0;
+        private long totalMakespanMillis = 0;
+        private long elapsedMillis;
+        private int peakProvisionThreads;
+        private int peakActiveInvocations;
+
+        ScaleReport(SyntheticGraph graph, int concurrency) {
+            this.graph = graph;
+            this.concurrency = concurrency;
+        }
+
+        void recordMakespan(long makespanMillis) {
+            minMakespanMillis = Math.min(minMakespanMillis, makespanMillis);
+            maxMakespanMillis = Math.max(maxMakespanMillis, makespanMillis);
+            totalMakespanMillis += makespanMillis;
+        }
+
+        @Override
+        public String toString() {
+            int nodeCount = graph.template.workflows().get(PROVISION_WORKFLOW).nodes().size();
+            double elapsedSeconds = Math.max(elapsedMillis, 1) / 1000.0;
+            return String.format(
+                Locale.ROOT,
+                "Provisioned %d workflows of %d nodes (width %d, depth %d): critical path %d ms, makespan min %d ms, mean %d ms, max %d ms"
+                    + " (%.2fx the critical path); peak provision threads %d, peak concurrent step invocations %d;"
+                    + " throughput %.1f workflows/s, %.1f steps/s",
+                concurrency,
+                nodeCount,
+                graph.width,
+                graph.depth,
+                graph.criticalPathMillis,
+                minMakespanMillis,
+                totalMakespanMillis / concurrency,
+                maxMakespanMillis,
+                (double) totalMakespanMillis / concurrency / Math.max(graph.criticalPathMillis, 1),
+                peakProvisionThreads,
+                peakActiveInvocations,
+                concurrency / elapsedSeconds,
+                concurrency * nodeCount / elapsedSeconds
+            );
+        }
+    }
+}
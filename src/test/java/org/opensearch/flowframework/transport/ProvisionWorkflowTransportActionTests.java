@@ -15,6 +15,9 @@ import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
@@ -22,6 +25,8 @@ import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.ConfigConstants;
+import org.opensearch.commons.authuser.User;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.index.shard.ShardId;
@@ -34,19 +39,28 @@ import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.ProvisioningProgress;
+import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.StepExecution;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowEdge;
+import org.opensearch.flowframework.model.WorkflowJob;
 import org.opensearch.flowframework.model.WorkflowNode;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
 import org.opensearch.flowframework.util.EncryptorUtils;
 import org.opensearch.flowframework.workflow.ProcessNode;
 import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
+import org.opensearch.flowframework.workflow.WorkflowJobQueue;
 import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
 import org.opensearch.index.get.GetResult;
 import org.opensearch.plugins.PluginsService;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
 import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskManager;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
@@ -62,14 +76,25 @@ import java.util.function.Consumer;
 
 import org.mockito.ArgumentCaptor;
 
+import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_PROGRESS_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCES_CREATED_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.RESUME_PROVISION;
+import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -85,6 +110,8 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
     private FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
     private FlowFrameworkSettings flowFrameworkSettings;
     private EncryptorUtils encryptorUtils;
+    private WorkflowExecutionRegistry workflowExecutionRegistry;
+    private WorkflowJobQueue workflowJobQueue;
     private PluginsService pluginsService;
 
     @Override
@@ -95,6 +122,8 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
         this.workflowProcessSorter = mock(WorkflowProcessSorter.class);
         this.flowFrameworkSettings = mock(FlowFrameworkSettings.class);
         this.encryptorUtils = mock(EncryptorUtils.class);
+        this.workflowExecutionRegistry = new WorkflowExecutionRegistry();
+        this.workflowJobQueue = mock(WorkflowJobQueue.class);
         this.pluginsService = mock(PluginsService.class);
         ClusterService clusterService = mock(ClusterService.class);
         ClusterSettings clusterSettings = new ClusterSettings(
@@ -102,17 +131,39 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             Collections.unmodifiableSet(new HashSet<>(Arrays.asList(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES)))
         );
         when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
+        when(clusterService.localNode()).thenReturn(new DiscoveryNode("node", buildNewFakeTransportAddress(), Version.CURRENT));
         this.flowFrameworkIndicesHandler = spy(
-            new FlowFrameworkIndicesHandler(client, sdkClient, clusterService, encryptorUtils, xContentRegistry())
+            new FlowFrameworkIndicesHandler(
+                client,
+                sdkClient,
+                clusterService,
+                encryptorUtils,
+                flowFrameworkSettings,
+                workflowExecutionRegistry,
+                xContentRegistry()
+            )
         );
 
+        ThreadPool clientThreadPool = mock(ThreadPool.class);
+        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+
+        when(client.threadPool()).thenReturn(clientThreadPool);
+        when(clientThreadPool.getThreadContext()).thenReturn(threadContext);
+        when(clientThreadPool.executor(anyString())).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+
+        TransportService transportService = mock(TransportService.class);
+        when(transportService.getTaskManager()).thenReturn(new TaskManager(Settings.EMPTY, clientThreadPool, Collections.emptySet()));
+
         this.provisionWorkflowTransportAction = new ProvisionWorkflowTransportAction(
-            mock(TransportService.class),
+            transportService,
             mock(ActionFilters.class),
             client,
             sdkClient,
             workflowProcessSorter,
             flowFrameworkIndicesHandler,
+            workflowExecutionRegistry,
+            workflowJobQueue,
+            new FlowFrameworkStats(),
             flowFrameworkSettings,
             encryptorUtils,
             pluginsService,
@@ -144,13 +195,6 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             null,
             null
         );
-
-        ThreadPool clientThreadPool = mock(ThreadPool.class);
-        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
-
-        when(client.threadPool()).thenReturn(clientThreadPool);
-        when(clientThreadPool.getThreadContext()).thenReturn(threadContext);
-        when(clientThreadPool.executor(anyString())).thenReturn(OpenSearchExecutors.newDirectExecutorService());
     }
 
     public void testProvisionWorkflow() {
@@ -172,7 +216,11 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             return null;
         }).when(client).get(any(GetRequest.class), any());
 
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(template);
+        doAnswer(invocation -> {
+            ActionListener<Template> decryptListener = invocation.getArgument(1);
+            decryptListener.onResponse(template);
+            return null;
+        }).when(encryptorUtils).decryptTemplateCredentials(any(Template.class), any());
 
         // Bypass isWorkflowNotStarted and force true response
         doAnswer(invocation -> {
@@ -201,6 +249,131 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
         assertEquals(workflowId, responseCaptor.getValue().getWorkflowId());
     }
 
+    public void testProvisionWorkflowReadOnceToCheckAccess() {
+        String workflowId = "1";
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null);
+
+        // Filter by backend roles so the template is read to check access
+        Settings settings = Settings.builder().put(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES.getKey(), true).build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(
+            new ClusterSettings(settings, Collections.singleton(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES))
+        );
+        when(clusterService.localNode()).thenReturn(new DiscoveryNode("node", buildNewFakeTransportAddress(), Version.CURRENT));
+        ClusterState clusterState = mock(ClusterState.class);
+        Metadata metadata = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(clusterState);
+        when(clusterState.metadata()).thenReturn(metadata);
+        when(metadata.hasIndex(GLOBAL_CONTEXT_INDEX)).thenReturn(true);
+        TransportService transportService = mock(TransportService.class);
+        when(transportService.getTaskManager()).thenReturn(new TaskManager(Settings.EMPTY, client.threadPool(), Collections.emptySet()));
+        ProvisionWorkflowTransportAction filteringAction = new ProvisionWorkflowTransportAction(
+            transportService,
+            mock(ActionFilters.class),
+            client,
+            sdkClient,
+            workflowProcessSorter,
+            flowFrameworkIndicesHandler,
+            workflowExecutionRegistry,
+            workflowJobQueue,
+            new FlowFrameworkStats(),
+            flowFrameworkSettings,
+            encryptorUtils,
+            pluginsService,
+            clusterService,
+            xContentRegistry(),
+            settings
+        );
+        client.threadPool()
+            .getThreadContext()
+            .putTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT, "alice|odfe,aes|all_access");
+
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            this.template.toXContent(builder, null);
+            BytesReference templateBytesRef = BytesReference.bytes(builder);
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, workflowId, 1, 1, 1, true, templateBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        doAnswer(invocation -> {
+            ActionListener<Template> decryptListener = invocation.getArgument(1);
+            decryptListener.onResponse(template);
+            return null;
+        }).when(encryptorUtils).decryptTemplateCredentials(any(Template.class), any());
+
+        doAnswer(invocation -> {
+            Consumer<Optional<ProvisioningProgress>> progressConsumer = invocation.getArgument(2);
+            progressConsumer.accept(Optional.of(ProvisioningProgress.NOT_STARTED));
+            return null;
+        }).when(flowFrameworkIndicesHandler).getProvisioningProgress(any(), any(), any(), any());
+
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> actionListener = invocation.getArgument(3);
+            actionListener.onResponse(mock(UpdateResponse.class));
+            return null;
+        }).when(flowFrameworkIndicesHandler).updateFlowFrameworkSystemIndexDoc(any(), nullable(String.class), anyMap(), any());
+
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> responseListener = invocation.getArgument(2);
+            responseListener.onResponse(new IndexResponse(new ShardId(GLOBAL_CONTEXT_INDEX, "", 1), "1", 1L, 1L, 1L, true));
+            return null;
+        }).when(flowFrameworkIndicesHandler).updateTemplateInGlobalContext(any(), any(Template.class), any(), anyBoolean());
+
+        filteringAction.doExecute(mock(Task.class), workflowRequest, listener);
+
+        ArgumentCaptor<WorkflowResponse> responseCaptor = ArgumentCaptor.forClass(WorkflowResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals(workflowId, responseCaptor.getValue().getWorkflowId());
+        // The template read to check access is provisioned without reading it again
+        verify(client, times(1)).get(any(GetRequest.class), any());
+        verify(flowFrameworkIndicesHandler, never()).getTemplate(anyString(), any(), any(), any());
+    }
+
+    public void testProvisionWorkflowQueued() {
+        String workflowId = "1";
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null, Map.of("foo", "bar"));
+
+        when(workflowJobQueue.shouldQueue(workflowRequest)).thenReturn(true);
+        doAnswer(invocation -> {
+            ActionListener<String> jobIdListener = invocation.getArgument(5);
+            jobIdListener.onResponse("job");
+            return null;
+        }).when(workflowJobQueue)
+            .enqueue(any(WorkflowJob.Type.class), anyString(), nullable(String.class), anyMap(), nullable(User.class), any());
+        client.threadPool()
+            .getThreadContext()
+            .putTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT, "alice|odfe,aes|all_access");
+
+        provisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, listener);
+
+        // The job executes with the permissions of the user who queued it
+        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+        verify(workflowJobQueue, times(1)).enqueue(
+            eq(WorkflowJob.Type.PROVISION),
+            eq(workflowId),
+            isNull(),
+            eq(Map.of("foo", "bar")),
+            userCaptor.capture(),
+            any()
+        );
+        assertEquals("alice", userCaptor.getValue().getName());
+        assertEquals(List.of("all_access"), userCaptor.getValue().getRoles());
+        ArgumentCaptor<WorkflowResponse> responseCaptor = ArgumentCaptor.forClass(WorkflowResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals(workflowId, responseCaptor.getValue().getWorkflowId());
+        assertEquals("job", responseCaptor.getValue().getJobId());
+        // The workflow is provisioned by the node claiming the job
+        verify(client, never()).get(any(GetRequest.class), any());
+    }
+
     public void testProvisionWorkflowTwice() {
 
         String workflowId = "2";
@@ -219,7 +392,11 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             responseListener.onResponse(new GetResponse(getResult));
             return null;
         }).when(client).get(any(GetRequest.class), any());
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(template);
+        doAnswer(invocation -> {
+            ActionListener<Template> decryptListener = invocation.getArgument(1);
+            decryptListener.onResponse(template);
+            return null;
+        }).when(encryptorUtils).decryptTemplateCredentials(any(Template.class), any());
 
         // Bypass isWorkflowNotStarted and force false response
         doAnswer(invocation -> {
@@ -245,6 +422,176 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
         );
     }
 
+    public void testResumeFailedProvisioning() throws Exception {
+        String workflowId = "1";
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null, Map.of(RESUME_PROVISION, "true"));
+        stubTemplate(workflowId);
+
+        ResourceCreated connector = new ResourceCreated("create_connector", "A", "connector_id", "connector");
+        ResourceCreated model = new ResourceCreated("register_remote_model", "B", "model_id", "model");
+        WorkflowState failedState = WorkflowState.builder()
+            .workflowId(workflowId)
+            .state(State.FAILED.name())
+            .provisioningProgress(ProvisioningProgress.FAILED.name())
+            .resourcesCreated(List.of(connector, model))
+            .stepExecutions(List.of(new StepExecution("B", "register_remote_model", State.FAILED.name(), null, null, 0, 1)))
+            .build();
+        stubStateDocument(failedState);
+
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> actionListener = invocation.getArgument(3);
+            actionListener.onResponse(mock(UpdateResponse.class));
+            return null;
+        }).when(flowFrameworkIndicesHandler).updateFlowFrameworkSystemIndexDoc(any(), nullable(String.class), anyMap(), any());
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> actionListener = invocation.getArgument(5);
+            actionListener.onResponse(mock(UpdateResponse.class));
+            return null;
+        }).when(flowFrameworkIndicesHandler)
+            .updateFlowFrameworkSystemIndexDoc(any(), nullable(String.class), anyMap(), anyLong(), anyLong(), any());
+
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> responseListener = invocation.getArgument(2);
+            responseListener.onResponse(new IndexResponse(new ShardId(GLOBAL_CONTEXT_INDEX, "", 1), "1", 1L, 1L, 1L, true));
+            return null;
+        }).when(flowFrameworkIndicesHandler).updateTemplateInGlobalContext(any(), any(Template.class), any(), anyBoolean());
+
+        provisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, listener);
+
+        // The resource recorded by the failed step is reused rather than created a second time
+        verify(workflowProcessSorter, times(1)).createResumeSequence(
+            eq(workflowId),
+            any(Template.class),
+            anyMap(),
+            eq(List.of(connector, model)),
+            isNull(),
+            any()
+        );
+        verify(workflowProcessSorter, never()).createProvisionSequence(any(), any(), anyMap(), any(), any());
+        // The state is only updated if it is still the failed state which was read
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> updateCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(flowFrameworkIndicesHandler, times(1)).updateFlowFrameworkSystemIndexDoc(
+            eq(workflowId),
+            isNull(),
+            updateCaptor.capture(),
+            eq(7L),
+            eq(2L),
+            any()
+        );
+        // The resources created are kept and the error of the failed provisioning is cleared
+        Map<String, Object> resumeUpdate = updateCaptor.getValue();
+        assertEquals(State.PROVISIONING, resumeUpdate.get(STATE_FIELD));
+        assertEquals(ProvisioningProgress.IN_PROGRESS, resumeUpdate.get(PROVISIONING_PROGRESS_FIELD));
+        assertTrue(resumeUpdate.containsKey(ERROR_FIELD));
+        assertNull(resumeUpdate.get(ERROR_FIELD));
+        assertFalse(resumeUpdate.containsKey(RESOURCES_CREATED_FIELD));
+
+        ArgumentCaptor<WorkflowResponse> responseCaptor = ArgumentCaptor.forClass(WorkflowResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals(workflowId, responseCaptor.getValue().getWorkflowId());
+    }
+
+    public void testResumeNotFailedProvisioning() throws Exception {
+        String workflowId = "1";
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null, Map.of(RESUME_PROVISION, "true"));
+        stubTemplate(workflowId);
+
+        WorkflowState doneState = WorkflowState.builder()
+            .workflowId(workflowId)
+            .state(State.COMPLETED.name())
+            .provisioningProgress(ProvisioningProgress.DONE.name())
+            .build();
+        stubStateDocument(doneState);
+
+        provisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, listener);
+
+        ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(listener, times(1)).onFailure(exceptionCaptor.capture());
+        assertEquals(
+            "The workflow provisioning state is DONE and can not be resumed unless its state is FAILED: 1",
+            exceptionCaptor.getValue().getMessage()
+        );
+        assertEquals(RestStatus.BAD_REQUEST, ((FlowFrameworkException) exceptionCaptor.getValue()).getRestStatus());
+        verify(workflowProcessSorter, never()).createResumeSequence(any(), any(), anyMap(), any(), any(), any());
+        verify(flowFrameworkIndicesHandler, never()).updateFlowFrameworkSystemIndexDoc(any(), any(), anyMap(), any());
+        verify(flowFrameworkIndicesHandler, never()).updateFlowFrameworkSystemIndexDoc(any(), any(), anyMap(), any(), any(), any());
+    }
+
+    public void testResumeProvisioningConflict() throws Exception {
+        String workflowId = "1";
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null, Map.of(RESUME_PROVISION, "true"));
+        stubTemplate(workflowId);
+        stubStateDocument(
+            WorkflowState.builder()
+                .workflowId(workflowId)
+                .state(State.FAILED.name())
+                .provisioningProgress(ProvisioningProgress.FAILED.name())
+                .build()
+        );
+
+        // Another request resumed the provisioning since the failed state was read
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> actionListener = invocation.getArgument(5);
+            actionListener.onFailure(new FlowFrameworkException("Failed to update the workflow state", RestStatus.CONFLICT));
+            return null;
+        }).when(flowFrameworkIndicesHandler)
+            .updateFlowFrameworkSystemIndexDoc(any(), nullable(String.class), anyMap(), anyLong(), anyLong(), any());
+
+        provisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, listener);
+
+        ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(listener, times(1)).onFailure(exceptionCaptor.capture());
+        assertEquals(RestStatus.CONFLICT, ((FlowFrameworkException) exceptionCaptor.getValue()).getRestStatus());
+        // The remaining nodes are left to the request which resumed the provisioning
+        assertTrue(workflowExecutionRegistry.getWorkflowState(workflowId, null).isEmpty());
+        verify(flowFrameworkIndicesHandler, never()).updateTemplateInGlobalContext(any(), any(Template.class), any(), anyBoolean());
+    }
+
+    private void stubStateDocument(WorkflowState workflowState) {
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(2);
+            String stateId = workflowState.getWorkflowId();
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            BytesReference stateBytesRef = BytesReference.bytes(workflowState.toXContent(builder, null));
+            // The state was read at sequence number 7 with primary term 2
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, stateId, 7, 2, 1, true, stateBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(flowFrameworkIndicesHandler).getWorkflowStateDocument(eq(workflowState.getWorkflowId()), isNull(), any(), any());
+        // No resources are stored as separate documents
+        doAnswer(invocation -> {
+            ActionListener<WorkflowState> stateListener = invocation.getArgument(3);
+            stateListener.onResponse(invocation.getArgument(2));
+            return null;
+        }).when(flowFrameworkIndicesHandler).addResourceDocuments(eq(workflowState.getWorkflowId()), isNull(), any(), any());
+    }
+
+    private void stubTemplate(String workflowId) {
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            this.template.toXContent(builder, null);
+            BytesReference templateBytesRef = BytesReference.bytes(builder);
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, workflowId, 1, 1, 1, true, templateBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        doAnswer(invocation -> {
+            ActionListener<Template> decryptListener = invocation.getArgument(1);
+            decryptListener.onResponse(template);
+            return null;
+        }).when(encryptorUtils).decryptTemplateCredentials(any(Template.class), any());
+    }
+
     public void testFailedToRetrieveTemplateFromGlobalContext() {
         @SuppressWarnings("unchecked")
         ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
@@ -264,7 +611,7 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
         assertEquals("Failed to get template 1", exceptionCaptor.getValue().getMessage());
     }
 
-    public void testProvisionWorkflowExecutionException() {
+    public void testProvisionWorkflowExecutionException() throws Exception {
 
         String workflowId = "1";
         @SuppressWarnings("unchecked")
@@ -283,7 +630,11 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             return null;
         }).when(client).get(any(GetRequest.class), any());
 
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(template);
+        doAnswer(invocation -> {
+            ActionListener<Template> decryptListener = invocation.getArgument(1);
+            decryptListener.onResponse(template);
+            return null;
+        }).when(encryptorUtils).decryptTemplateCredentials(any(Template.class), any());
 
         // Bypass isWorkflowNotStarted and force true response
         doAnswer(invocation -> {
@@ -310,7 +661,9 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
         failedFuture.onFailure(new RuntimeException("Simulated failure during workflow execution"));
         ProcessNode failedProcessNode = mock(ProcessNode.class);
         when(failedProcessNode.execute()).thenReturn(failedFuture);
-        when(workflowProcessSorter.sortProcessNodes(any(), any(), any(), any())).thenReturn(Collections.singletonList(failedProcessNode));
+        when(workflowProcessSorter.createProvisionSequence(any(), any(), any(), any(), any())).thenReturn(
+            Collections.singletonList(failedProcessNode)
+        );
 
         provisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, listener);
 
@@ -8,9 +8,11 @@
  */
 package org.opensearch.flowframework.transport;
 
+import org.opensearch.Version;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
@@ -26,9 +28,11 @@ import org.opensearch.flowframework.model.State;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
 import org.opensearch.flowframework.util.EncryptorUtils;
 import org.opensearch.flowframework.workflow.ProcessNode;
 import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.flowframework.workflow.WorkflowExecutionRegistry;
 import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
 import org.opensearch.flowframework.workflow.WorkflowStep;
 import org.opensearch.flowframework.workflow.WorkflowStepFactory;
@@ -36,6 +40,7 @@ import org.opensearch.plugins.PluginsService;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
 import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskManager;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
@@ -98,6 +103,7 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
             Collections.unmodifiableSet(new HashSet<>(Arrays.asList(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES)))
         );
         when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
+        when(clusterService.localNode()).thenReturn(new DiscoveryNode("node", buildNewFakeTransportAddress(), Version.CURRENT));
 
         ThreadPool clientThreadPool = mock(ThreadPool.class);
         ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
@@ -105,6 +111,7 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
         when(client.threadPool()).thenReturn(clientThreadPool);
         when(clientThreadPool.getThreadContext()).thenReturn(threadContext);
         when(clientThreadPool.executor(anyString())).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(transportService.getTaskManager()).thenReturn(new TaskManager(Settings.EMPTY, clientThreadPool, Collections.emptySet()));
 
         this.reprovisionWorkflowTransportAction = new ReprovisionWorkflowTransportAction(
             transportService,
@@ -115,6 +122,8 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
             workflowStepFactory,
             workflowProcessSorter,
             flowFrameworkIndicesHandler,
+            new WorkflowExecutionRegistry(),
+            new FlowFrameworkStats(),
             flowFrameworkSettings,
             encryptorUtils,
             pluginsService,
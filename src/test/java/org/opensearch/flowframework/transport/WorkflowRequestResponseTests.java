@@ -212,6 +212,24 @@ public class WorkflowRequestResponseTests extends OpenSearchTestCase {
         assertEquals("{\"workflow_id\":\"123\"}", builder.toString());
     }
 
+    public void testWorkflowResponseWithJobId() throws IOException {
+        WorkflowResponse response = new WorkflowResponse("123", "job");
+        assertEquals("123", response.getWorkflowId());
+        assertEquals("job", response.getJobId());
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+        BytesStreamInput in = new BytesStreamInput(BytesReference.toBytes(out.bytes()));
+
+        WorkflowResponse streamInputResponse = new WorkflowResponse(in);
+        assertEquals(response.getWorkflowId(), streamInputResponse.getWorkflowId());
+        assertEquals(response.getJobId(), streamInputResponse.getJobId());
+
+        XContentBuilder builder = MediaTypeRegistry.contentBuilder(XContentType.JSON);
+        response.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        assertEquals("{\"workflow_id\":\"123\",\"job_id\":\"job\"}", builder.toString());
+    }
+
     public void testWorkflowResponseWithWaitForCompletionTimeOut() throws IOException {
         WorkflowState workFlowState = new WorkflowState(
             "123",
@@ -13,6 +13,7 @@ import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
@@ -252,6 +253,67 @@ public class EncryptorUtilsTests extends OpenSearchTestCase {
         assertEquals(testCredentialValue, decryptedCredential);
     }
 
+    public void testEncryptDecryptTemplateCredentialAsync() throws Exception {
+        encryptorUtils.setMasterKey(null, testMasterKey);
+
+        PlainActionFuture<Template> encryptFuture = PlainActionFuture.newFuture();
+        encryptorUtils.encryptTemplateCredentials(testTemplate, encryptFuture);
+        Template encryptedTemplate = encryptFuture.actionGet(5, TimeUnit.SECONDS);
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> encryptedCredentialMap = (Map<String, String>) encryptedTemplate.workflows()
+            .get("provision")
+            .nodes()
+            .get(0)
+            .userInputs()
+            .get(CREDENTIAL_FIELD);
+        assertNotEquals(testCredentialValue, encryptedCredentialMap.get(testCredentialKey));
+
+        PlainActionFuture<Template> decryptFuture = PlainActionFuture.newFuture();
+        encryptorUtils.decryptTemplateCredentials(encryptedTemplate, decryptFuture);
+        Template decryptedTemplate = decryptFuture.actionGet(5, TimeUnit.SECONDS);
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> decryptedCredentialMap = (Map<String, String>) decryptedTemplate.workflows()
+            .get("provision")
+            .nodes()
+            .get(0)
+            .userInputs()
+            .get(CREDENTIAL_FIELD);
+        assertEquals(testCredentialValue, decryptedCredentialMap.get(testCredentialKey));
+    }
+
+    public void testTemplateWithoutCredentialsSkipsMasterKey() {
+        Workflow workflow = new Workflow(
+            Collections.emptyMap(),
+            List.of(new WorkflowNode("A", "a-type", Collections.emptyMap(), Map.of("key", "value"))),
+            Collections.emptyList()
+        );
+        Template template = Template.builder(testTemplate).workflows(Map.of("provision", workflow)).build();
+
+        // No master key is set and the config index is never queried
+        PlainActionFuture<Template> future = PlainActionFuture.newFuture();
+        encryptorUtils.encryptTemplateCredentials(template, future);
+        assertSame(template, future.actionGet(5, TimeUnit.SECONDS));
+        assertSame(template, encryptorUtils.decryptTemplateCredentials(template));
+        assertNull(encryptorUtils.getMasterKey(null));
+    }
+
+    public void testEncryptTemplateCredentialAsyncFailure() throws IOException {
+        doAnswer(invocation -> {
+            GetResponse getResponse = TestHelpers.createGetResponse(null, MASTER_KEY, CONFIG_INDEX);
+            ActionListener<GetResponse> getRequestActionListener = invocation.getArgument(1);
+            getRequestActionListener.onResponse(getResponse);
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        PlainActionFuture<Template> future = PlainActionFuture.newFuture();
+        encryptorUtils.encryptTemplateCredentials(testTemplate, future);
+        FlowFrameworkException exception = assertThrows(FlowFrameworkException.class, () -> future.actionGet(5, TimeUnit.SECONDS));
+        assertEquals("Master key has not been initialized in config index", exception.getMessage());
+        assertEquals(RestStatus.NOT_FOUND, exception.getRestStatus());
+    }
+
     public void testRedactTemplateCredential() {
         // Confirm credentials are present in the non-redacted template
         WorkflowNode node = testTemplate.workflows().get("provision").nodes().get(0);
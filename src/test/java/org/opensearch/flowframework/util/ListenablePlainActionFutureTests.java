@@ -0,0 +1,66 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ListenablePlainActionFutureTests extends OpenSearchTestCase {
+
+    public void testListenerNotifiedOnResponse() {
+        ListenablePlainActionFuture<String> future = ListenablePlainActionFuture.newListenableFuture();
+        AtomicReference<String> result = new AtomicReference<>();
+        future.addListener(ActionListener.wrap(result::set, e -> fail("Should not fail")));
+        assertNull(result.get());
+
+        future.onResponse("done");
+        assertEquals("done", result.get());
+
+        // Listeners added after completion are notified immediately
+        AtomicReference<String> lateResult = new AtomicReference<>();
+        future.addListener(ActionListener.wrap(lateResult::set, e -> fail("Should not fail")));
+        assertEquals("done", lateResult.get());
+    }
+
+    public void testListenerNotifiedOnFailure() {
+        ListenablePlainActionFuture<String> future = ListenablePlainActionFuture.newListenableFuture();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        future.addListener(ActionListener.wrap(r -> fail("Should not succeed"), failure::set));
+
+        future.onFailure(new IllegalArgumentException("test"));
+        assertTrue(failure.get() instanceof IllegalArgumentException);
+        assertEquals("test", failure.get().getMessage());
+    }
+
+    public void testStaticAddListenerWithPlainFuture() {
+        PlainActionFuture<String> completed = PlainActionFuture.newFuture();
+        completed.onResponse("done");
+        AtomicReference<String> result = new AtomicReference<>();
+        ListenablePlainActionFuture.addListener(
+            completed,
+            ActionListener.wrap(result::set, e -> fail("Should not fail")),
+            OpenSearchExecutors.newDirectExecutorService()
+        );
+        assertEquals("done", result.get());
+
+        PlainActionFuture<String> failed = PlainActionFuture.newFuture();
+        failed.onFailure(new IllegalStateException("failed"));
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ListenablePlainActionFuture.addListener(
+            failed,
+            ActionListener.wrap(r -> fail("Should not succeed"), failure::set),
+            OpenSearchExecutors.newDirectExecutorService()
+        );
+        assertTrue(failure.get() instanceof IllegalStateException);
+    }
+}
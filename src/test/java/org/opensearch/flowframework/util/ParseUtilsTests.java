@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.opensearch.flowframework.util.ParseUtils.isAdmin;
 
@@ -294,6 +295,32 @@ public class ParseUtilsTests extends OpenSearchTestCase {
         assertEquals(RestStatus.BAD_REQUEST, e.getRestStatus());
     }
 
+    public void testGetInputsFromPreviousStepsFallsBackToOtherOutputs() {
+        WorkflowData currentNodeInputs = new WorkflowData(Map.of("content1", "${{step2.output2}}"), "workflowId", "nodeId");
+        Map<String, WorkflowData> outputs = Map.ofEntries(
+            Map.entry("step1", new WorkflowData(Map.of("output0", "step1outputvalue0"), "workflowId", "step1")),
+            Map.entry(
+                "step2",
+                new WorkflowData(Map.of("output1", "step2outputvalue1", "output2", "step2outputvalue2"), "workflowId", "step2")
+            )
+        );
+        // step1 is named for output1 but does not provide it
+        Map<String, String> previousNodeInputs = Map.of("step1", "output1");
+        Map<String, Object> inputs = ParseUtils.getInputsFromPreviousSteps(
+            Set.of("output1", "content1"),
+            Set.of("output0", "missing"),
+            currentNodeInputs,
+            outputs,
+            previousNodeInputs,
+            Collections.emptyMap()
+        );
+
+        assertEquals(3, inputs.size());
+        assertEquals("step2outputvalue1", inputs.get("output1"));
+        assertEquals("step1outputvalue0", inputs.get("output0"));
+        assertEquals("step2outputvalue2", inputs.get("content1"));
+    }
+
     public void testParseIfExistsWithBooleanClass() {
         Map<String, Object> inputs = new HashMap<>();
         inputs.put("key1", "true");
@@ -439,4 +466,27 @@ public class ParseUtilsTests extends OpenSearchTestCase {
     public void testIsAdminNull() {
         assertFalse(isAdmin(null));
     }
+
+    public void testResolveUserAndExecuteWithoutAccessCheck() {
+        // Without security or multitenancy the workflow is not read, so no document is handed to the function
+        AtomicBoolean executed = new AtomicBoolean(false);
+        ParseUtils.resolveUserAndExecute(
+            null,
+            "workflow_id",
+            null,
+            true,
+            false,
+            false,
+            null,
+            (FetchedDocument fetchedDocument) -> {
+                assertNull(fetchedDocument);
+                executed.set(true);
+            },
+            null,
+            null,
+            null,
+            null
+        );
+        assertTrue(executed.get());
+    }
 }
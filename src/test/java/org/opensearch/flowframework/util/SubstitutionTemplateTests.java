@@ -0,0 +1,53 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Map;
+
+public class SubstitutionTemplateTests extends OpenSearchTestCase {
+
+    public void testCompileSegments() {
+        assertEquals(0, SubstitutionTemplate.compile("no placeholders").getPlaceholderCount());
+        assertEquals(0, SubstitutionTemplate.compile("unclosed ${{ placeholder").getPlaceholderCount());
+        assertEquals(2, SubstitutionTemplate.compile("${{a}} and ${{ b.c }}").getPlaceholderCount());
+        // Only the last of several openings delimits the placeholder
+        SubstitutionTemplate template = SubstitutionTemplate.compile("${{ ${{a}}");
+        assertEquals(1, template.getPlaceholderCount());
+        assertEquals("${{ A", template.render(null, Map.of("a", "A")));
+    }
+
+    public void testRenderStepOutputsAndParams() {
+        Map<String, WorkflowData> outputs = Map.of(
+            "step_1",
+            new WorkflowData(Map.of("model_id", "abc", "config", Map.of("k", "v")), "workflowId", "step_1")
+        );
+        Map<String, String> params = Map.of("name", "my \"model\"\nwith \\ and $1", "step_1.config", "param");
+        SubstitutionTemplate template = SubstitutionTemplate.compile(
+            "${{step_1.model_id}} ${{\tstep_1.model_id }} ${{name}} ${{step_1.config}} ${{step_2.model_id}} ${{missing}}"
+        );
+
+        assertEquals(
+            "abc abc my \\\"model\\\"\\nwith \\\\ and $1 param ${{step_2.model_id}} ${{missing}}",
+            template.render(outputs, params)
+        );
+        // Rendering is repeatable with different values
+        assertEquals(
+            "${{step_1.model_id}} ${{\tstep_1.model_id }} x ${{step_1.config}} ${{step_2.model_id}} ${{missing}}",
+            template.render(null, Map.of("name", "x"))
+        );
+    }
+
+    public void testSubstituteWithoutPlaceholdersReturnsSameString() {
+        String source = "plain ${ string }";
+        assertSame(source, SubstitutionTemplate.substitute(source, null, Map.of("string", "x")));
+    }
+}
@@ -11,6 +11,7 @@ package org.opensearch.flowframework.util;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.flowframework.common.CommonValue;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.transport.WorkflowResponse;
 import org.opensearch.rest.RestRequest;
@@ -19,6 +20,7 @@ import org.opensearch.test.rest.FakeRestRequest;
 import org.junit.Assert;
 import org.junit.Before;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -28,10 +30,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 public class TenantAwareHelperTests extends OpenSearchTestCase {
 
@@ -163,28 +167,6 @@ public class TenantAwareHelperTests extends OpenSearchTestCase {
         assertEquals("", actualTenantID);
     }
 
-    public void testTryAcquireProvision_BelowLimit() {
-        String tenantId = "test-tenant1";
-        int maxExecutions = 2;
-
-        assertTrue(TenantAwareHelper.tryAcquireProvision(maxExecutions, tenantId, workflowListener));
-        assertTrue(TenantAwareHelper.tryAcquireProvision(maxExecutions, tenantId, workflowListener));
-    }
-
-    public void testTryAcquireProvision_AtLimit() {
-        String tenantId = "test-tenant2";
-        int maxExecutions = 1;
-
-        assertTrue(TenantAwareHelper.tryAcquireProvision(maxExecutions, tenantId, workflowListener));
-        assertFalse(TenantAwareHelper.tryAcquireProvision(maxExecutions, tenantId, workflowListener));
-
-        ArgumentCaptor<FlowFrameworkException> captor = ArgumentCaptor.forClass(FlowFrameworkException.class);
-        verify(workflowListener).onFailure(captor.capture());
-        FlowFrameworkException exception = captor.getValue();
-        assertEquals(RestStatus.TOO_MANY_REQUESTS, exception.status());
-        assertEquals("Exceeded max simultaneous provisioning requests: 1", exception.getMessage());
-    }
-
     public void testTryAcquireDeprovision_BelowLimit() {
         String tenantId = "test-tenant3";
         int maxExecutions = 2;
@@ -209,14 +191,53 @@ public class TenantAwareHelperTests extends OpenSearchTestCase {
 
     public void testReleaseProvision() {
         String tenantId = "test-tenant5";
-        int maxExecutions = 1;
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.getMaxActiveProvisionsPerTenant()).thenReturn(1);
+        when(flowFrameworkSettings.getMaxActiveProvisions()).thenReturn(100);
+        when(flowFrameworkSettings.getMaxQueuedProvisionsPerTenant()).thenReturn(0);
+        when(flowFrameworkSettings.getProvisionTenantWeight(anyString())).thenReturn(1);
+        List<String> started = new ArrayList<>();
+
+        TenantAwareHelper.admitProvision(flowFrameworkSettings, tenantId, workflowListener, () -> started.add("first"));
+        TenantAwareHelper.admitProvision(flowFrameworkSettings, tenantId, workflowListener, () -> started.add("second"));
+        assertEquals(List.of("first"), started);
+
+        TenantAwareHelper.releaseProvision(tenantId);
+
+        TenantAwareHelper.admitProvision(flowFrameworkSettings, tenantId, workflowListener, () -> started.add("third"));
+        assertEquals(List.of("first", "third"), started);
+        TenantAwareHelper.releaseProvision(tenantId);
+    }
 
-        assertTrue(TenantAwareHelper.tryAcquireProvision(maxExecutions, tenantId, workflowListener));
-        assertFalse(TenantAwareHelper.tryAcquireProvision(maxExecutions, tenantId, workflowListener));
+    public void testAdmitProvision_QueuesAtLimit() {
+        String tenantId = "test-tenant7";
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.getMaxActiveProvisionsPerTenant()).thenReturn(1);
+        when(flowFrameworkSettings.getMaxActiveProvisions()).thenReturn(100);
+        when(flowFrameworkSettings.getMaxQueuedProvisionsPerTenant()).thenReturn(1);
+        when(flowFrameworkSettings.getProvisionTenantWeight(anyString())).thenReturn(1);
+        List<String> started = new ArrayList<>();
+
+        TenantAwareHelper.admitProvision(flowFrameworkSettings, tenantId, workflowListener, () -> started.add("first"));
+        TenantAwareHelper.admitProvision(flowFrameworkSettings, tenantId, workflowListener, () -> started.add("second"));
+        TenantAwareHelper.admitProvision(flowFrameworkSettings, tenantId, workflowListener, () -> started.add("third"));
+
+        // The second provision waits for the first, the third finds the queue full
+        assertEquals(List.of("first"), started);
+        assertEquals(Integer.valueOf(1), TenantAwareHelper.getQueuedProvisionsPerTenant().get(tenantId));
+        ArgumentCaptor<FlowFrameworkException> captor = ArgumentCaptor.forClass(FlowFrameworkException.class);
+        verify(workflowListener).onFailure(captor.capture());
+        FlowFrameworkException exception = captor.getValue();
+        assertEquals(RestStatus.TOO_MANY_REQUESTS, exception.status());
+        assertEquals("Exceeded max queued provisioning requests: 1", exception.getMessage());
 
         TenantAwareHelper.releaseProvision(tenantId);
+        assertEquals(List.of("first", "second"), started);
+        assertNull(TenantAwareHelper.getQueuedProvisionsPerTenant().get(tenantId));
+        assertEquals(Integer.valueOf(1), TenantAwareHelper.getActiveProvisionsPerTenant().get(tenantId));
 
-        assertTrue(TenantAwareHelper.tryAcquireProvision(maxExecutions, tenantId, workflowListener));
+        TenantAwareHelper.releaseProvision(tenantId);
+        assertNull(TenantAwareHelper.getActiveProvisionsPerTenant().get(tenantId));
     }
 
     public void testReleaseDeprovision() {
@@ -235,8 +256,12 @@ public class TenantAwareHelperTests extends OpenSearchTestCase {
         int maxExecutions = 1;
 
         // Doesn't limit with null tenant id
-        assertTrue(TenantAwareHelper.tryAcquireProvision(maxExecutions, null, workflowListener));
-        assertTrue(TenantAwareHelper.tryAcquireProvision(maxExecutions, null, workflowListener));
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.getMaxActiveProvisionsPerTenant()).thenReturn(maxExecutions);
+        List<String> started = new ArrayList<>();
+        TenantAwareHelper.admitProvision(flowFrameworkSettings, null, workflowListener, () -> started.add("first"));
+        TenantAwareHelper.admitProvision(flowFrameworkSettings, null, workflowListener, () -> started.add("second"));
+        assertEquals(List.of("first", "second"), started);
         assertTrue(TenantAwareHelper.tryAcquireDeprovision(maxExecutions, null, workflowListener));
         assertTrue(TenantAwareHelper.tryAcquireDeprovision(maxExecutions, null, workflowListener));
 
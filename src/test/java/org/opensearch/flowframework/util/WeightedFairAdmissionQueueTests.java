@@ -0,0 +1,94 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class WeightedFairAdmissionQueueTests extends OpenSearchTestCase {
+
+    public void testAdmitsWithinLimits() {
+        WeightedFairAdmissionQueue queue = new WeightedFairAdmissionQueue();
+        List<String> started = new ArrayList<>();
+
+        assertTrue(queue.submit("tenant_a", () -> started.add("a1"), 2, 10, 0, 1));
+        assertTrue(queue.submit("tenant_a", () -> started.add("a2"), 2, 10, 0, 1));
+        // Over the per-tenant limit with no room to queue
+        assertFalse(queue.submit("tenant_a", () -> started.add("a3"), 2, 10, 0, 1));
+
+        assertEquals(List.of("a1", "a2"), started);
+        assertEquals(Map.of("tenant_a", 2), queue.getActivePerTenant());
+        assertTrue(queue.getQueuedPerTenant().isEmpty());
+
+        queue.release("tenant_a");
+        queue.release("tenant_a");
+        assertTrue(queue.getActivePerTenant().isEmpty());
+        // Releasing an unknown tenant is a no-op
+        queue.release("tenant_b");
+    }
+
+    public void testQueuesOverNodeLimit() {
+        WeightedFairAdmissionQueue queue = new WeightedFairAdmissionQueue();
+        List<String> started = new ArrayList<>();
+
+        assertTrue(queue.submit("tenant_a", () -> started.add("a1"), 5, 1, 5, 1));
+        // A different tenant still waits for the node-wide slot
+        assertTrue(queue.submit("tenant_b", () -> started.add("b1"), 5, 1, 5, 1));
+        assertEquals(List.of("a1"), started);
+        assertEquals(Map.of("tenant_b", 1), queue.getQueuedPerTenant());
+
+        queue.release("tenant_a");
+        assertEquals(List.of("a1", "b1"), started);
+        assertEquals(Map.of("tenant_b", 1), queue.getActivePerTenant());
+        assertTrue(queue.getQueuedPerTenant().isEmpty());
+    }
+
+    public void testWeightedRoundRobin() {
+        WeightedFairAdmissionQueue queue = new WeightedFairAdmissionQueue();
+        List<String> started = new ArrayList<>();
+
+        // Occupy the only slot, then queue a backlog for a heavy and a light tenant
+        assertTrue(queue.submit("tenant_c", () -> started.add("c"), 10, 1, 10, 1));
+        for (int i = 0; i < 6; i++) {
+            String heavy = "heavy" + i;
+            String light = "light" + i;
+            assertTrue(queue.submit("tenant_heavy", () -> started.add(heavy), 10, 1, 10, 3));
+            assertTrue(queue.submit("tenant_light", () -> started.add(light), 10, 1, 10, 1));
+        }
+        assertEquals(Map.of("tenant_heavy", 6, "tenant_light", 6), queue.getQueuedPerTenant());
+
+        // Each finished execution frees the slot for the next one
+        queue.release("tenant_c");
+        for (int i = 0; i < 8; i++) {
+            String last = started.get(started.size() - 1);
+            queue.release(last.startsWith("heavy") ? "tenant_heavy" : "tenant_light");
+        }
+        assertEquals(List.of("c", "heavy0", "heavy1", "heavy2", "light0", "heavy3", "heavy4", "heavy5", "light1", "light2"), started);
+    }
+
+    public void testTenantLimitDoesNotBlockOthers() {
+        WeightedFairAdmissionQueue queue = new WeightedFairAdmissionQueue();
+        List<String> started = new ArrayList<>();
+
+        assertTrue(queue.submit("tenant_a", () -> started.add("a1"), 1, 2, 5, 1));
+        assertTrue(queue.submit("tenant_b", () -> started.add("b1"), 1, 2, 5, 1));
+        assertTrue(queue.submit("tenant_a", () -> started.add("a2"), 1, 2, 5, 1));
+        assertTrue(queue.submit("tenant_b", () -> started.add("b2"), 1, 2, 5, 1));
+        assertEquals(List.of("a1", "b1"), started);
+
+        // The slot freed by tenant b goes to tenant b's queued execution, tenant a is still at its own limit
+        queue.release("tenant_b");
+        assertEquals(List.of("a1", "b1", "b2"), started);
+        queue.release("tenant_a");
+        assertEquals(List.of("a1", "b1", "b2", "a2"), started);
+    }
+}
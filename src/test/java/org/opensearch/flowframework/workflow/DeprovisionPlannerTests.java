@@ -0,0 +1,60 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.flowframework.model.Workflow;
+import org.opensearch.flowframework.model.WorkflowEdge;
+import org.opensearch.flowframework.model.WorkflowNode;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DeprovisionPlannerTests extends OpenSearchTestCase {
+
+    public void testDependenciesFromWorkflowEdges() {
+        // connector -> noop -> model -> agent, with an independent index
+        Workflow workflow = new Workflow(
+            Collections.emptyMap(),
+            List.of(node("connector"), node("noop"), node("model"), node("agent"), node("index")),
+            List.of(new WorkflowEdge("connector", "noop"), new WorkflowEdge("noop", "model"), new WorkflowEdge("model", "agent"))
+        );
+
+        Map<String, Set<String>> dependencies = DeprovisionPlanner.getDeprovisionDependencies(
+            workflow,
+            List.of("connector", "model", "index", "agent")
+        );
+
+        assertEquals(4, dependencies.size());
+        // Edges are followed through nodes without resources
+        assertEquals(Set.of("model"), dependencies.get("connector"));
+        assertEquals(Set.of("agent"), dependencies.get("model"));
+        assertEquals(Collections.emptySet(), dependencies.get("agent"));
+        assertEquals(Collections.emptySet(), dependencies.get("index"));
+    }
+
+    public void testReverseCreationOrderWithoutWorkflow() {
+        List<String> resourceNodeIds = List.of("first", "second", "third");
+
+        Map<String, Set<String>> dependencies = DeprovisionPlanner.getDeprovisionDependencies(null, resourceNodeIds);
+        assertEquals(Set.of("second"), dependencies.get("first"));
+        assertEquals(Set.of("third"), dependencies.get("second"));
+        assertEquals(Collections.emptySet(), dependencies.get("third"));
+
+        // A workflow missing any of the nodes is not used
+        Workflow workflow = new Workflow(Collections.emptyMap(), List.of(node("first"), node("second")), Collections.emptyList());
+        assertEquals(dependencies, DeprovisionPlanner.getDeprovisionDependencies(workflow, resourceNodeIds));
+    }
+
+    private static WorkflowNode node(String id) {
+        return new WorkflowNode(id, "noop", Collections.emptyMap(), Collections.emptyMap());
+    }
+}
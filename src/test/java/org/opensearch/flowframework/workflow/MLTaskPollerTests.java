@@ -0,0 +1,184 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import com.carrotsearch.randomizedtesting.annotations.ThreadLeakScope;
+
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.ml.client.MachineLearningNodeClient;
+import org.opensearch.ml.common.MLTask;
+import org.opensearch.ml.common.MLTaskState;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ScalingExecutorBuilder;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+import org.junit.AfterClass;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THREAD_POOL_PREFIX;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_THREAD_POOL;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ThreadLeakScope(ThreadLeakScope.Scope.NONE)
+public class MLTaskPollerTests extends OpenSearchTestCase {
+
+    private static TestThreadPool testThreadPool;
+
+    private MachineLearningNodeClient machineLearningNodeClient;
+    private MLTaskPoller mlTaskPoller;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        machineLearningNodeClient = mock(MachineLearningNodeClient.class);
+
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.getRetryDuration()).thenReturn(TimeValue.timeValueSeconds(1));
+
+        testThreadPool = new TestThreadPool(
+            MLTaskPollerTests.class.getName(),
+            new ScalingExecutorBuilder(
+                WORKFLOW_THREAD_POOL,
+                1,
+                Math.max(1, OpenSearchExecutors.allocatedProcessors(Settings.EMPTY) - 1),
+                TimeValue.timeValueMinutes(1),
+                FLOW_FRAMEWORK_THREAD_POOL_PREFIX + WORKFLOW_THREAD_POOL
+            )
+        );
+        mlTaskPoller = new MLTaskPoller(testThreadPool, machineLearningNodeClient, flowFrameworkSettings);
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        ThreadPool.terminate(testThreadPool, 500, TimeUnit.MILLISECONDS);
+    }
+
+    public void testPollUntilCompleted() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            ActionListener<MLTask> actionListener = invocation.getArgument(2);
+            MLTaskState state = calls.incrementAndGet() < 3 ? MLTaskState.RUNNING : MLTaskState.COMPLETED;
+            actionListener.onResponse(MLTask.builder().taskId("taskId").modelId("modelId").state(state).async(false).build());
+            return null;
+        }).when(machineLearningNodeClient).getTask(eq("taskId"), nullable(String.class), any());
+
+        PlainActionFuture<MLTask> future = PlainActionFuture.newFuture();
+        mlTaskPoller.pollTask("taskId", null, future);
+
+        MLTask task = future.get(10, TimeUnit.SECONDS);
+        assertEquals(MLTaskState.COMPLETED, task.getState());
+        assertEquals("modelId", task.getModelId());
+        verify(machineLearningNodeClient, times(3)).getTask(eq("taskId"), nullable(String.class), any());
+        assertEquals(0, mlTaskPoller.getPolledTaskCount());
+    }
+
+    public void testCoalescePollsForSameTask() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            ActionListener<MLTask> actionListener = invocation.getArgument(2);
+            calls.incrementAndGet();
+            MLTaskState state = release.getCount() > 0 ? MLTaskState.RUNNING : MLTaskState.COMPLETED;
+            actionListener.onResponse(MLTask.builder().taskId("taskId").state(state).async(false).build());
+            return null;
+        }).when(machineLearningNodeClient).getTask(eq("taskId"), nullable(String.class), any());
+
+        PlainActionFuture<MLTask> first = PlainActionFuture.newFuture();
+        PlainActionFuture<MLTask> second = PlainActionFuture.newFuture();
+        mlTaskPoller.pollTask("taskId", null, first);
+        mlTaskPoller.pollTask("taskId", null, second);
+        assertEquals(1, mlTaskPoller.getPolledTaskCount());
+
+        release.countDown();
+        assertEquals(MLTaskState.COMPLETED, first.get(10, TimeUnit.SECONDS).getState());
+        assertEquals(MLTaskState.COMPLETED, second.get(10, TimeUnit.SECONDS).getState());
+        // Both registrations are served by the same polls, at most one running and one completed
+        assertTrue(calls.get() <= 2);
+        assertEquals(0, mlTaskPoller.getPolledTaskCount());
+    }
+
+    public void testStopPolling() throws Exception {
+        CountDownLatch polled = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            ActionListener<MLTask> actionListener = invocation.getArgument(2);
+            polled.countDown();
+            actionListener.onResponse(MLTask.builder().taskId("taskId").state(MLTaskState.RUNNING).async(false).build());
+            return null;
+        }).when(machineLearningNodeClient).getTask(eq("taskId"), nullable(String.class), any());
+
+        PlainActionFuture<MLTask> first = PlainActionFuture.newFuture();
+        PlainActionFuture<MLTask> second = PlainActionFuture.newFuture();
+        Runnable stopFirst = mlTaskPoller.pollTask("taskId", null, first);
+        Runnable stopSecond = mlTaskPoller.pollTask("taskId", null, second);
+        assertTrue(polled.await(10, TimeUnit.SECONDS));
+
+        // The task is polled until no listener waits for it
+        stopFirst.run();
+        assertEquals(1, mlTaskPoller.getPolledTaskCount());
+        stopSecond.run();
+        assertEquals(0, mlTaskPoller.getPolledTaskCount());
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+    }
+
+    public void testPollFailure() {
+        doAnswer(invocation -> {
+            ActionListener<MLTask> actionListener = invocation.getArgument(2);
+            actionListener.onFailure(new IllegalStateException("get task failed"));
+            return null;
+        }).when(machineLearningNodeClient).getTask(eq("taskId"), nullable(String.class), any());
+
+        PlainActionFuture<MLTask> future = PlainActionFuture.newFuture();
+        mlTaskPoller.pollTask("taskId", "tenantId", future);
+
+        ExecutionException ex = expectThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof IllegalStateException);
+        assertEquals("get task failed", ex.getCause().getMessage());
+        verify(machineLearningNodeClient, times(1)).getTask(eq("taskId"), eq("tenantId"), any());
+        assertEquals(0, mlTaskPoller.getPolledTaskCount());
+    }
+
+    public void testPollThrows() throws Exception {
+        doThrow(new IllegalStateException("request not sent")).when(machineLearningNodeClient)
+            .getTask(eq("failingTaskId"), nullable(String.class), any());
+        doAnswer(invocation -> {
+            ActionListener<MLTask> actionListener = invocation.getArgument(2);
+            actionListener.onResponse(MLTask.builder().taskId("taskId").state(MLTaskState.COMPLETED).async(false).build());
+            return null;
+        }).when(machineLearningNodeClient).getTask(eq("taskId"), nullable(String.class), any());
+
+        PlainActionFuture<MLTask> failing = PlainActionFuture.newFuture();
+        PlainActionFuture<MLTask> completing = PlainActionFuture.newFuture();
+        mlTaskPoller.pollTask("failingTaskId", null, failing);
+        mlTaskPoller.pollTask("taskId", null, completing);
+
+        ExecutionException ex = expectThrows(ExecutionException.class, () -> failing.get(10, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof IllegalStateException);
+        assertEquals("request not sent", ex.getCause().getMessage());
+        assertEquals(MLTaskState.COMPLETED, completing.get(10, TimeUnit.SECONDS).getState());
+        assertEquals(0, mlTaskPoller.getPolledTaskCount());
+    }
+}
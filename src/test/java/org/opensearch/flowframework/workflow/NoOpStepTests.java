@@ -9,22 +9,53 @@
 package org.opensearch.flowframework.workflow;
 
 import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.FutureUtils;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ScalingExecutorBuilder;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
 
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 import static org.opensearch.flowframework.common.CommonValue.DELAY_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THREAD_POOL_PREFIX;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_THREAD_POOL;
 
 public class NoOpStepTests extends OpenSearchTestCase {
 
+    private static TestThreadPool testThreadPool;
+
+    @BeforeClass
+    public static void setup() {
+        testThreadPool = new TestThreadPool(
+            NoOpStepTests.class.getName(),
+            new ScalingExecutorBuilder(
+                WORKFLOW_THREAD_POOL,
+                1,
+                Math.max(1, OpenSearchExecutors.allocatedProcessors(Settings.EMPTY) - 1),
+                TimeValue.timeValueMinutes(1),
+                FLOW_FRAMEWORK_THREAD_POOL_PREFIX + WORKFLOW_THREAD_POOL
+            )
+        );
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        ThreadPool.terminate(testThreadPool, 500, TimeUnit.MILLISECONDS);
+    }
+
     public void testNoOpStep() throws IOException {
-        NoOpStep noopStep = new NoOpStep();
+        NoOpStep noopStep = new NoOpStep(testThreadPool);
         assertEquals(NoOpStep.NAME, noopStep.getName());
         PlainActionFuture<WorkflowData> future = noopStep.execute(
             "nodeId",
@@ -37,8 +68,8 @@ public class NoOpStepTests extends OpenSearchTestCase {
         assertTrue(future.isDone());
     }
 
-    public void testNoOpStepDelay() throws IOException, InterruptedException {
-        NoOpStep noopStep = new NoOpStep();
+    public void testNoOpStepDelay() throws IOException {
+        NoOpStep noopStep = new NoOpStep(testThreadPool);
         WorkflowData delayData = new WorkflowData(Map.of(DELAY_FIELD, "1s"), null, null);
 
         long start = System.nanoTime();
@@ -50,57 +81,37 @@ public class NoOpStepTests extends OpenSearchTestCase {
             Collections.emptyMap(),
             null
         );
-        assertTrue(future.isDone());
-        // Sleep isn't exactly accurate so leave 100ms of roundoff
+        // The delay is scheduled rather than slept on the calling thread
+        assertFalse(future.isDone());
+        assertEquals(WorkflowData.EMPTY, future.actionGet(5, TimeUnit.SECONDS));
+        // Scheduling isn't exactly accurate so leave 100ms of roundoff
         assertTrue(System.nanoTime() - start > 900_000_000L);
     }
 
-    public void testNoOpStepInterrupt() throws IOException, InterruptedException {
-        NoOpStep noopStep = new NoOpStep();
-        WorkflowData delayData = new WorkflowData(Map.of(DELAY_FIELD, "5s"), null, null);
-
-        CountDownLatch latch = new CountDownLatch(1);
-        // Fetch errors from the separate thread
-        AtomicReference<AssertionError> assertionError = new AtomicReference<>();
-
-        Thread testThread = new Thread(() -> {
-            try {
-                PlainActionFuture<WorkflowData> future = noopStep.execute(
-                    "nodeId",
-                    delayData,
-                    Collections.emptyMap(),
-                    Collections.emptyMap(),
-                    Collections.emptyMap(),
-                    null
-                );
-                try {
-                    future.actionGet();
-                } catch (Exception e) {
-                    // Ignore the IllegalStateExcption/InterruptedExcpetion
-                }
-                assertTrue(future.isDone());
-                assertTrue(future.isCancelled());
-                assertTrue(Thread.currentThread().isInterrupted());
-            } catch (AssertionError e) {
-                assertionError.set(e);
-            } finally {
-                latch.countDown();
-            }
-        });
+    public void testNoOpStepCancel() throws Exception {
+        NoOpStep noopStep = new NoOpStep(testThreadPool);
+        WorkflowData delayData = new WorkflowData(Map.of(DELAY_FIELD, "200ms"), null, null);
 
-        testThread.start();
-        Thread.sleep(100);
-        testThread.interrupt();
-
-        latch.await(1, TimeUnit.SECONDS);
+        PlainActionFuture<WorkflowData> future = noopStep.execute(
+            "nodeId",
+            delayData,
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            null
+        );
+        assertFalse(future.isDone());
+        FutureUtils.cancel(future);
+        assertTrue(future.isCancelled());
 
-        if (assertionError.get() != null) {
-            throw assertionError.get();
-        }
+        // The scheduled response is a no-op once the future is cancelled
+        Thread.sleep(400);
+        assertTrue(future.isCancelled());
+        expectThrows(CancellationException.class, future::actionGet);
     }
 
     public void testNoOpStepParse() throws IOException {
-        NoOpStep noopStep = new NoOpStep();
+        NoOpStep noopStep = new NoOpStep(testThreadPool);
         WorkflowData delayData = new WorkflowData(Map.of(DELAY_FIELD, "foo"), null, null);
 
         Exception ex = assertThrows(
@@ -13,6 +13,9 @@ import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.StepExecution;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ScalingExecutorBuilder;
 import org.opensearch.threadpool.TestThreadPool;
@@ -20,6 +23,7 @@ import org.opensearch.threadpool.ThreadPool;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -155,9 +159,31 @@ public class ProcessNodeTests extends OpenSearchTestCase {
         assertEquals(Collections.emptyList(), nodeB.predecessors());
         assertEquals("B", nodeB.toString());
 
+        assertNull(nodeB.stepExecution());
+
         PlainActionFuture<WorkflowData> f = nodeB.execute();
         assertEquals(f, nodeB.future());
         assertEquals(WorkflowData.EMPTY, f.actionGet(1, TimeUnit.MINUTES));
+
+        StepExecution stepExecution = nodeB.stepExecution();
+        assertEquals("B", stepExecution.workflowStepId());
+        assertEquals("test", stepExecution.workflowStepName());
+        assertEquals(State.COMPLETED.name(), stepExecution.status());
+        assertNotNull(stepExecution.startTime());
+        assertFalse(stepExecution.endTime().isBefore(stepExecution.startTime()));
+        assertTrue(stepExecution.queueTimeInMillis() >= 0);
+        assertEquals(1, stepExecution.attempts());
+        assertTrue(stepExecution.predecessors().isEmpty());
+        // The step returns its future before the scheduled response completes it
+        assertFalse(stepExecution.invokeEndTime().isBefore(stepExecution.startTime()));
+        assertFalse(stepExecution.endTime().isBefore(stepExecution.invokeEndTime()));
+        assertNull(stepExecution.stateWriteStartTime());
+        assertEquals(1, ProcessNode.stepExecutions(List.of(nodeB)).size());
+        Instant stateWriteStartTime = Instant.now();
+        assertEquals(
+            stateWriteStartTime,
+            ProcessNode.stepExecutions(List.of(nodeB), Map.of("B", stateWriteStartTime)).get(0).stateWriteStartTime()
+        );
     }
 
     public void testNodeTimeout() throws InterruptedException, ExecutionException {
@@ -205,6 +231,7 @@ public class ProcessNodeTests extends OpenSearchTestCase {
         OpenSearchTimeoutException exception = assertThrows(OpenSearchTimeoutException.class, () -> f.actionGet());
         assertTrue(f.isDone());
         assertEquals(TimeoutException.class, exception.getCause().getClass());
+        assertEquals(State.FAILED.name(), nodeZ.stepExecution().status());
     }
 
     public void testExceptions() {
@@ -250,4 +277,76 @@ public class ProcessNodeTests extends OpenSearchTestCase {
         // Tests where we already called execute
         assertThrows(IllegalStateException.class, () -> nodeE.execute());
     }
+
+    public void testNodeChainedOnPredecessor() {
+        // Tests where a node is only started once its predecessor's step future completes
+        ProcessNode predecessor = new ProcessNode("P", new WorkflowStep() {
+            @Override
+            public PlainActionFuture<WorkflowData> execute(
+                String currentNodeId,
+                WorkflowData currentNodeInputs,
+                Map<String, WorkflowData> outputs,
+                Map<String, String> previousNodeInputs,
+                Map<String, String> params,
+                String tenantId
+            ) {
+                PlainActionFuture<WorkflowData> future = ListenablePlainActionFuture.newListenableFuture();
+                testThreadPool.schedule(
+                    () -> future.onResponse(new WorkflowData(Map.of("pred", "output"), "test-id", "P")),
+                    TimeValue.timeValueMillis(100),
+                    PROVISION_WORKFLOW_THREAD_POOL
+                );
+                return future;
+            }
+
+            @Override
+            public String getName() {
+                return "test";
+            }
+        },
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            WorkflowData.EMPTY,
+            Collections.emptyList(),
+            testThreadPool,
+            PROVISION_WORKFLOW_THREAD_POOL,
+            TimeValue.timeValueSeconds(15),
+            null
+        );
+        ProcessNode successor = new ProcessNode("S", new WorkflowStep() {
+            @Override
+            public PlainActionFuture<WorkflowData> execute(
+                String currentNodeId,
+                WorkflowData currentNodeInputs,
+                Map<String, WorkflowData> outputs,
+                Map<String, String> previousNodeInputs,
+                Map<String, String> params,
+                String tenantId
+            ) {
+                PlainActionFuture<WorkflowData> f = ListenablePlainActionFuture.newListenableFuture();
+                f.onResponse(new WorkflowData(Map.of("succ", outputs.get("P").getContent().get("pred")), "test-id", "S"));
+                return f;
+            }
+
+            @Override
+            public String getName() {
+                return "test";
+            }
+        },
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            WorkflowData.EMPTY,
+            List.of(predecessor),
+            testThreadPool,
+            PROVISION_WORKFLOW_THREAD_POOL,
+            TimeValue.timeValueSeconds(15),
+            null
+        );
+
+        // Executing the successor first only registers a continuation on the predecessor
+        PlainActionFuture<WorkflowData> successorFuture = successor.execute();
+        assertFalse(successorFuture.isDone());
+        predecessor.execute();
+        assertEquals("output", successorFuture.actionGet(1, TimeUnit.MINUTES).getContent().get("succ"));
+    }
 }
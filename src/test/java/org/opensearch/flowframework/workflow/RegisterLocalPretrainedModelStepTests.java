@@ -100,10 +100,9 @@ public class RegisterLocalPretrainedModelStepTests extends OpenSearchTestCase {
             )
         );
         this.registerLocalPretrainedModelStep = new RegisterLocalPretrainedModelStep(
-            testThreadPool,
             machineLearningNodeClient,
             flowFrameworkIndicesHandler,
-            flowFrameworkSettings
+            new MLTaskPoller(testThreadPool, machineLearningNodeClient, flowFrameworkSettings)
         );
 
         this.workflowData = new WorkflowData(
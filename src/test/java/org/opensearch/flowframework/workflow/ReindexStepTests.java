@@ -10,16 +10,22 @@ package org.opensearch.flowframework.workflow;
 
 import org.apache.lucene.tests.util.LuceneTestCase;
 import org.opensearch.OpenSearchException;
+import org.opensearch.action.admin.cluster.node.tasks.cancel.CancelTasksRequest;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.common.Randomness;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.FutureUtils;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.tasks.TaskId;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.index.reindex.BulkByScrollResponse;
 import org.opensearch.index.reindex.BulkByScrollTask;
+import org.opensearch.index.reindex.ReindexAction;
 import org.opensearch.index.reindex.ReindexRequest;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.AdminClient;
 import org.opensearch.transport.client.Client;
+import org.opensearch.transport.client.ClusterAdminClient;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -41,8 +47,10 @@ import static org.opensearch.flowframework.workflow.ReindexStep.NAME;
 import static org.apache.lucene.tests.util.TestUtil.randomSimpleString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class ReindexStepTests extends OpenSearchTestCase {
     private WorkflowData inputData = WorkflowData.EMPTY;
@@ -139,6 +147,41 @@ public class ReindexStepTests extends OpenSearchTestCase {
         assertEquals("Failed to reindex from source demo to dest", ex.getCause().getMessage());
     }
 
+    public void testReindexStepCancel() {
+        AdminClient adminClient = mock(AdminClient.class);
+        ClusterAdminClient clusterAdminClient = mock(ClusterAdminClient.class);
+        when(client.admin()).thenReturn(adminClient);
+        when(adminClient.cluster()).thenReturn(clusterAdminClient);
+
+        TaskId stepTaskId = new TaskId("node", 5L);
+        WorkflowData stepInputData = new WorkflowData(
+            inputData.getContent(),
+            inputData.getParams(),
+            inputData.getWorkflowId(),
+            inputData.getNodeId(),
+            stepTaskId
+        );
+        ArgumentCaptor<ReindexRequest> reindexRequestCaptor = ArgumentCaptor.forClass(ReindexRequest.class);
+        PlainActionFuture<WorkflowData> future = reIndexStep.execute(
+            stepInputData.getNodeId(),
+            stepInputData,
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            null
+        );
+        verify(client, times(1)).execute(any(), reindexRequestCaptor.capture(), any());
+        assertEquals(stepTaskId, reindexRequestCaptor.getValue().getParentTask());
+        verify(clusterAdminClient, never()).cancelTasks(any(CancelTasksRequest.class), any());
+
+        FutureUtils.cancel(future);
+
+        ArgumentCaptor<CancelTasksRequest> cancelRequestCaptor = ArgumentCaptor.forClass(CancelTasksRequest.class);
+        verify(clusterAdminClient, times(1)).cancelTasks(cancelRequestCaptor.capture(), any());
+        assertEquals(stepTaskId, cancelRequestCaptor.getValue().getTargetParentTaskId());
+        assertArrayEquals(new String[] { ReindexAction.NAME }, cancelRequestCaptor.getValue().getActions());
+    }
+
     private static BulkByScrollTask.Status randomStatus() {
         if (randomBoolean()) {
             return randomWorkingStatus(null);
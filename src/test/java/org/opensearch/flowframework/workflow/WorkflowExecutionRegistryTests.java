@@ -0,0 +1,108 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.flowframework.model.ProvisioningProgress;
+import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class WorkflowExecutionRegistryTests extends OpenSearchTestCase {
+
+    public void testExecutionLifecycle() {
+        WorkflowExecutionRegistry registry = new WorkflowExecutionRegistry();
+        Instant startTime = Instant.now();
+        assertTrue(registry.register("workflow_id", "tenant_id", startTime));
+        Instant stateWriteStartTime = Instant.now();
+        ResourceCreated resource = new ResourceCreated("create_connector", "step_1", "connector_id", "connector");
+        registry.addResource("workflow_id", resource, stateWriteStartTime);
+        // Resources of workflows not running on this node are ignored
+        registry.addResource("other_id", new ResourceCreated("create_connector", "step_1", "connector_id", "other"), Instant.now());
+        assertEquals(Map.of("step_1", stateWriteStartTime), registry.getStateWriteStartTimes("workflow_id"));
+        assertTrue(registry.getStateWriteStartTimes("other_id").isEmpty());
+
+        WorkflowState state = registry.getWorkflowState("workflow_id", "tenant_id").orElseThrow();
+        assertEquals("workflow_id", state.getWorkflowId());
+        assertEquals(State.PROVISIONING.name(), state.getState());
+        assertEquals(ProvisioningProgress.IN_PROGRESS.name(), state.getProvisioningProgress());
+        assertEquals(startTime, state.getProvisionStartTime());
+        assertNull(state.getProvisionEndTime());
+        assertEquals(1, state.resourcesCreated().size());
+        assertEquals("connector", state.resourcesCreated().get(0).resourceId());
+        assertTrue(registry.getWorkflowState("other_id", "tenant_id").isEmpty());
+
+        Instant endTime = Instant.now();
+        registry.end("workflow_id", State.FAILED, ProvisioningProgress.FAILED, "error", endTime);
+        state = registry.getWorkflowState("workflow_id", "tenant_id").orElseThrow();
+        assertEquals(State.FAILED.name(), state.getState());
+        assertEquals(ProvisioningProgress.FAILED.name(), state.getProvisioningProgress());
+        assertEquals("error", state.getError());
+        assertEquals(endTime, state.getProvisionEndTime());
+
+        registry.remove("workflow_id");
+        assertTrue(registry.getWorkflowState("workflow_id", "tenant_id").isEmpty());
+        assertEquals(0, registry.size());
+    }
+
+    public void testResumedExecution() {
+        WorkflowExecutionRegistry registry = new WorkflowExecutionRegistry();
+        ResourceCreated resource = new ResourceCreated("create_connector", "step_1", "connector_id", "connector");
+        assertTrue(registry.register("workflow_id", null, Instant.now(), List.of(resource)));
+        registry.addResource("workflow_id", new ResourceCreated("register_remote_model", "step_2", "model_id", "model"), Instant.now());
+
+        // The resources created before the resume are reported with the new ones
+        WorkflowState state = registry.getWorkflowState("workflow_id", null).orElseThrow();
+        assertEquals(2, state.resourcesCreated().size());
+        assertEquals("connector", state.resourcesCreated().get(0).resourceId());
+        assertEquals("model", state.resourcesCreated().get(1).resourceId());
+        // Only the resources written by this run are waiting for the state index
+        assertEquals(Set.of("step_2"), registry.getStateWriteStartTimes("workflow_id").keySet());
+    }
+
+    public void testTenantMismatch() {
+        WorkflowExecutionRegistry registry = new WorkflowExecutionRegistry();
+        registry.register("workflow_id", "tenant_id", Instant.now());
+        Optional<WorkflowState> state = registry.getWorkflowState("workflow_id", "other_tenant");
+        assertTrue(state.isEmpty());
+        assertTrue(registry.getWorkflowState("workflow_id", null).isEmpty());
+    }
+
+    public void testRegistryIsBounded() {
+        WorkflowExecutionRegistry registry = new WorkflowExecutionRegistry();
+        for (int i = 0; i < WorkflowExecutionRegistry.MAX_TRACKED_EXECUTIONS; i++) {
+            assertTrue(registry.register("workflow_" + i, null, Instant.now()));
+        }
+        assertFalse(registry.register("one_too_many", null, Instant.now()));
+        assertTrue(registry.getWorkflowState("one_too_many", null).isEmpty());
+        // Registering a tracked workflow again replaces its execution
+        assertTrue(registry.register("workflow_0", null, Instant.now()));
+        assertEquals(WorkflowExecutionRegistry.MAX_TRACKED_EXECUTIONS, registry.size());
+    }
+
+    public void testRuns() {
+        WorkflowExecutionRegistry registry = new WorkflowExecutionRegistry();
+        registry.addRun("workflow_1", "tenant_id");
+        registry.addRun("workflow_2", null);
+        Map<String, String> runs = registry.getRuns();
+        assertEquals(2, runs.size());
+        assertEquals("tenant_id", runs.get("workflow_1"));
+        assertTrue(runs.containsKey("workflow_2"));
+        assertNull(runs.get("workflow_2"));
+
+        registry.removeRun("workflow_1");
+        assertEquals(Set.of("workflow_2"), registry.getRuns().keySet());
+    }
+}
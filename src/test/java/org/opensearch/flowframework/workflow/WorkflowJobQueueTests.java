@@ -0,0 +1,499 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.Version;
+import org.opensearch.action.DocWriteResponse.Result;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchResponseSections;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.ConfigConstants;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.WorkflowJob;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.flowframework.transport.DeprovisionWorkflowAction;
+import org.opensearch.flowframework.transport.ProvisionWorkflowAction;
+import org.opensearch.flowframework.transport.WorkflowRequest;
+import org.opensearch.flowframework.transport.WorkflowResponse;
+import org.opensearch.flowframework.util.ParseUtils;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.remote.metadata.client.SdkClient;
+import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.InternalAggregations;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_JOBS_INDEX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorkflowJobQueueTests extends OpenSearchTestCase {
+
+    private static final String JOB_ID = "job_id";
+    private static final String WORKFLOW_ID = "workflow_id";
+
+    private Client client;
+    private ThreadPool threadPool;
+    private ThreadContext threadContext;
+    private ClusterService clusterService;
+    private FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+    private WorkflowExecutionRegistry workflowExecutionRegistry;
+    private WorkflowJobQueue workflowJobQueue;
+    // The job updates written, and the sequence number of the last one
+    private List<UpdateRequest> jobUpdates;
+    private AtomicLong seqNo;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        client = mock(Client.class);
+        threadPool = mock(ThreadPool.class);
+        threadContext = new ThreadContext(Settings.EMPTY);
+        when(client.threadPool()).thenReturn(threadPool);
+        when(threadPool.getThreadContext()).thenReturn(threadContext);
+        when(threadPool.generic()).thenReturn(mock(ExecutorService.class));
+        SdkClient sdkClient = SdkClientFactory.createSdkClient(client, NamedXContentRegistry.EMPTY, Collections.emptyMap());
+
+        clusterService = mock(ClusterService.class);
+        when(clusterService.localNode()).thenReturn(new DiscoveryNode("local", buildNewFakeTransportAddress(), Version.CURRENT));
+        flowFrameworkIndicesHandler = mock(FlowFrameworkIndicesHandler.class);
+        when(flowFrameworkIndicesHandler.doesIndexExist(WORKFLOW_JOBS_INDEX)).thenReturn(true);
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.isJobQueueEnabled()).thenReturn(true);
+        when(flowFrameworkSettings.getMaxRunningJobsPerNode()).thenReturn(2);
+        workflowExecutionRegistry = new WorkflowExecutionRegistry();
+        workflowJobQueue = new WorkflowJobQueue(
+            client,
+            sdkClient,
+            threadPool,
+            clusterService,
+            flowFrameworkIndicesHandler,
+            flowFrameworkSettings,
+            workflowExecutionRegistry
+        );
+
+        jobUpdates = new CopyOnWriteArrayList<>();
+        seqNo = new AtomicLong(5);
+        stubUpdates();
+    }
+
+    public void testCloseStopsPolling() {
+        Scheduler.Cancellable poller = mock(Scheduler.Cancellable.class);
+        when(threadPool.scheduleWithFixedDelay(any(), eq(WorkflowJobQueue.POLL_INTERVAL), eq(ThreadPool.Names.GENERIC))).thenReturn(poller);
+        DiscoveryNode localNode = new DiscoveryNode("local", buildNewFakeTransportAddress(), Version.CURRENT);
+        ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+        when(event.state()).thenReturn(
+            ClusterState.builder(new ClusterName("test"))
+                .nodes(DiscoveryNodes.builder().add(localNode).localNodeId("local").build())
+                .build()
+        );
+
+        workflowJobQueue.clusterChanged(event);
+        verify(threadPool, times(1)).scheduleWithFixedDelay(any(), any(), any());
+
+        workflowJobQueue.close();
+        verify(poller, times(1)).cancel();
+        verify(clusterService, times(1)).removeListener(workflowJobQueue);
+
+        // A closed queue doesn't poll again
+        workflowJobQueue.clusterChanged(event);
+        verify(threadPool, times(1)).scheduleWithFixedDelay(any(), any(), any());
+    }
+
+    public void testClaimQueuedProvisionJob() throws Exception {
+        stubSearch(new WorkflowJob(WorkflowJob.Type.PROVISION, WORKFLOW_ID, null, Map.of(), null, Instant.now()));
+        AtomicReference<Object> jobIdTransient = new AtomicReference<>();
+        doAnswer(invocation -> {
+            jobIdTransient.set(threadContext.getTransient(WorkflowJobQueue.JOB_ID_TRANSIENT));
+            ActionListener<WorkflowResponse> listener = invocation.getArgument(2);
+            listener.onResponse(new WorkflowResponse(WORKFLOW_ID));
+            return null;
+        }).when(client).execute(eq(ProvisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any());
+
+        workflowJobQueue.poll();
+
+        // The claim is a compare-and-set of the job document read by the search
+        assertBusy(() -> verify(client, times(1)).execute(eq(ProvisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any()));
+        assertEquals(1, jobUpdates.size());
+        assertEquals(5L, jobUpdates.get(0).ifSeqNo());
+        assertEquals(1L, jobUpdates.get(0).ifPrimaryTerm());
+        WorkflowJob claimedJob = job(jobUpdates.get(0));
+        assertEquals(WorkflowJob.Status.RUNNING, claimedJob.getStatus());
+        assertEquals("local", claimedJob.getOwnerNode());
+        assertEquals(1, claimedJob.getAttempts());
+        // The request is executed as the job, so it is not queued again
+        assertEquals(JOB_ID, jobIdTransient.get());
+    }
+
+    public void testJobExecutedAsQueuingUser() throws Exception {
+        User user = new User("alice", List.of("odfe", "aes"), List.of("all_access"), List.of());
+        stubSearch(new WorkflowJob(WorkflowJob.Type.DEPROVISION, WORKFLOW_ID, null, Map.of(), user, Instant.now()));
+        AtomicReference<Object> injectedRoles = new AtomicReference<>();
+        AtomicReference<User> requestUser = new AtomicReference<>();
+        doAnswer(invocation -> {
+            injectedRoles.set(threadContext.getTransient(ConfigConstants.OPENSEARCH_SECURITY_INJECTED_ROLES));
+            requestUser.set(ParseUtils.getUserContext(client));
+            ActionListener<WorkflowResponse> listener = invocation.getArgument(2);
+            listener.onResponse(new WorkflowResponse(WORKFLOW_ID));
+            return null;
+        }).when(client).execute(eq(DeprovisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any());
+
+        workflowJobQueue.poll();
+
+        // The security plugin authorizes the request with the roles of the user, who owns the resources it creates
+        assertBusy(() -> verify(client, times(1)).execute(eq(DeprovisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any()));
+        assertEquals("alice|all_access", injectedRoles.get());
+        assertEquals("alice", requestUser.get().getName());
+        assertEquals(List.of("odfe", "aes"), requestUser.get().getBackendRoles());
+        assertEquals(List.of("all_access"), requestUser.get().getRoles());
+        // The user is stored in the job document, so any node claiming the job executes it as the user
+        assertEquals("alice", job(jobUpdates.get(0)).getUser().getName());
+        // The injected user does not leak into the context of the poll
+        assertNull(threadContext.getTransient(ConfigConstants.OPENSEARCH_SECURITY_INJECTED_ROLES));
+    }
+
+    public void testClaimConflict() throws Exception {
+        stubSearch(new WorkflowJob(WorkflowJob.Type.PROVISION, WORKFLOW_ID, null, Map.of(), null, Instant.now()));
+        // Another node claimed the job first
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new VersionConflictEngineException(new ShardId(WORKFLOW_JOBS_INDEX, "", 1), JOB_ID, "conflict"));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+
+        workflowJobQueue.poll();
+        assertBusy(() -> verify(client, times(1)).update(any(UpdateRequest.class), any()));
+
+        // The job is left to the other node and the slot of the claim is free again
+        pollUntil(Instant.now(), () -> {
+            ArgumentCaptor<SearchRequest> searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+            verify(client, atLeastOnce()).search(searchCaptor.capture(), any());
+            assertEquals(4, searchCaptor.getValue().source().size());
+        });
+        verify(client, never()).execute(any(), any(), any());
+    }
+
+    public void testJobFailedAfterMaxAttempts() throws Exception {
+        WorkflowJob job = new WorkflowJob(WorkflowJob.Type.PROVISION, WORKFLOW_ID, null, Map.of(), null, Instant.now());
+        for (int i = 0; i < WorkflowJobQueue.MAX_ATTEMPTS; i++) {
+            job = job.claim("lost", Instant.now().minusSeconds(1), Instant.now());
+        }
+        stubSearch(job);
+
+        workflowJobQueue.poll();
+
+        assertBusy(() -> assertEquals(1, jobUpdates.size()));
+        WorkflowJob failedJob = job(jobUpdates.get(0));
+        assertEquals(WorkflowJob.Status.FAILED, failedJob.getStatus());
+        assertEquals("Job was claimed 3 times without completing", failedJob.getError());
+        verify(client, never()).execute(any(), any(), any());
+    }
+
+    public void testTooManyRequestsRequeuesJob() throws Exception {
+        stubSearch(new WorkflowJob(WorkflowJob.Type.PROVISION, WORKFLOW_ID, null, Map.of(), null, Instant.now()));
+        doAnswer(invocation -> {
+            ActionListener<WorkflowResponse> listener = invocation.getArgument(2);
+            listener.onFailure(new FlowFrameworkException("Exceeded", RestStatus.TOO_MANY_REQUESTS));
+            return null;
+        }).when(client).execute(eq(ProvisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any());
+
+        workflowJobQueue.poll();
+
+        // The job is queued again for any node to claim, without counting the claim as an attempt
+        assertBusy(() -> assertEquals(2, jobUpdates.size()));
+        assertEquals(6L, jobUpdates.get(1).ifSeqNo());
+        WorkflowJob requeuedJob = job(jobUpdates.get(1));
+        assertEquals(WorkflowJob.Status.QUEUED, requeuedJob.getStatus());
+        assertEquals(0, requeuedJob.getAttempts());
+    }
+
+    public void testDeprovisionJobCompletes() throws Exception {
+        stubSearch(new WorkflowJob(WorkflowJob.Type.DEPROVISION, WORKFLOW_ID, null, Map.of(), null, Instant.now()));
+        doAnswer(invocation -> {
+            ActionListener<WorkflowResponse> listener = invocation.getArgument(2);
+            listener.onResponse(new WorkflowResponse(WORKFLOW_ID));
+            return null;
+        }).when(client).execute(eq(DeprovisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any());
+
+        workflowJobQueue.poll();
+
+        assertBusy(() -> assertEquals(2, jobUpdates.size()));
+        assertEquals(WorkflowJob.Status.COMPLETED, job(jobUpdates.get(1)).getStatus());
+        // The freed slot is used to claim another job without waiting for the next poll
+        assertBusy(() -> verify(threadPool.generic(), times(1)).execute(any(Runnable.class)));
+    }
+
+    public void testDeprovisionJobFailureRecordedInWorkflowState() throws Exception {
+        stubSearch(new WorkflowJob(WorkflowJob.Type.DEPROVISION, WORKFLOW_ID, null, Map.of(), null, Instant.now()));
+        doAnswer(invocation -> {
+            ActionListener<WorkflowResponse> listener = invocation.getArgument(2);
+            listener.onFailure(new FlowFrameworkException("Failed to deprovision some resources", RestStatus.FORBIDDEN));
+            return null;
+        }).when(client).execute(eq(DeprovisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any());
+
+        workflowJobQueue.poll();
+
+        assertBusy(() -> assertEquals(2, jobUpdates.size()));
+        assertEquals(WorkflowJob.Status.FAILED, job(jobUpdates.get(1)).getStatus());
+        // The caller which queued the request reads the outcome from the workflow state
+        assertBusy(
+            () -> verify(flowFrameworkIndicesHandler, times(1)).updateFlowFrameworkSystemIndexDoc(
+                eq(WORKFLOW_ID),
+                isNull(),
+                eq(Map.<String, Object>of(ERROR_FIELD, "Failed to deprovision some resources")),
+                any()
+            )
+        );
+    }
+
+    public void testLeaseRenewalAndLoss() throws Exception {
+        stubSearch(new WorkflowJob(WorkflowJob.Type.PROVISION, WORKFLOW_ID, null, Map.of(), null, Instant.now()));
+        stubProvisionStarted();
+        // The workflow is executing on this node
+        workflowExecutionRegistry.register(WORKFLOW_ID, null, Instant.now());
+
+        workflowJobQueue.poll();
+        assertBusy(() -> verify(client, times(1)).execute(eq(ProvisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any()));
+        assertEquals(1, jobUpdates.size());
+
+        // The lease is renewed once the renewal interval elapsed, with a compare-and-set of the document written by the claim
+        Instant renewalTime = Instant.now().plusMillis(WorkflowJobQueue.LEASE_RENEWAL_INTERVAL.millis() + 1000);
+        pollUntil(renewalTime, () -> assertEquals(2, jobUpdates.size()));
+        assertEquals(6L, jobUpdates.get(1).ifSeqNo());
+        WorkflowJob renewedJob = job(jobUpdates.get(1));
+        assertEquals(WorkflowJob.Status.RUNNING, renewedJob.getStatus());
+        assertEquals(
+            renewalTime.plusMillis(WorkflowJobQueue.LEASE_DURATION.millis()).toEpochMilli(),
+            renewedJob.getLeaseExpiryTime().toEpochMilli()
+        );
+
+        // The next renewal conflicts: the lease expired and another node claimed the job
+        doAnswer(invocation -> {
+            jobUpdates.add(invocation.getArgument(0));
+            ActionListener<UpdateResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new VersionConflictEngineException(new ShardId(WORKFLOW_JOBS_INDEX, "", 1), JOB_ID, "conflict"));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+        Instant lostTime = renewalTime.plusMillis(WorkflowJobQueue.LEASE_DURATION.millis() + 1000);
+        pollUntil(lostTime, () -> assertEquals(3, jobUpdates.size()));
+        assertEquals(7L, jobUpdates.get(2).ifSeqNo());
+
+        // The lost job no longer counts against the slots of this node, and is not renewed again
+        pollUntil(lostTime.plusMillis(WorkflowJobQueue.LEASE_RENEWAL_INTERVAL.millis() + 1000), () -> {
+            ArgumentCaptor<SearchRequest> searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+            verify(client, atLeastOnce()).search(searchCaptor.capture(), any());
+            assertEquals(4, searchCaptor.getValue().source().size());
+        });
+        assertEquals(3, jobUpdates.size());
+    }
+
+    public void testReleaseWaitsForRenewalInFlight() throws Exception {
+        stubSearch(new WorkflowJob(WorkflowJob.Type.PROVISION, WORKFLOW_ID, null, Map.of(), null, Instant.now()));
+        AtomicReference<ActionListener<WorkflowResponse>> provisionListener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            provisionListener.set(invocation.getArgument(2));
+            return null;
+        }).when(client).execute(eq(ProvisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any());
+
+        workflowJobQueue.poll();
+        assertBusy(() -> assertNotNull(provisionListener.get()));
+
+        // The renewal of the lease does not complete yet
+        AtomicReference<Runnable> completeRenewal = new AtomicReference<>();
+        doAnswer(invocation -> {
+            UpdateRequest request = invocation.getArgument(0);
+            jobUpdates.add(request);
+            ActionListener<UpdateResponse> listener = invocation.getArgument(1);
+            completeRenewal.set(() -> listener.onResponse(updateResponse(request)));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+        Instant renewalTime = Instant.now().plusMillis(WorkflowJobQueue.LEASE_RENEWAL_INTERVAL.millis() + 1000);
+        pollUntil(renewalTime, () -> assertNotNull(completeRenewal.get()));
+
+        // The job fails while the renewal is in flight, its final update waits for the renewal
+        provisionListener.get().onFailure(new FlowFrameworkException("Failed", RestStatus.BAD_REQUEST));
+        verify(threadPool, times(1)).schedule(any(Runnable.class), any(), eq(ThreadPool.Names.GENERIC));
+        assertEquals(2, jobUpdates.size());
+
+        stubUpdates();
+        completeRenewal.get().run();
+
+        // The final update is a compare-and-set of the document written by the renewal
+        assertBusy(() -> {
+            ArgumentCaptor<Runnable> latestRetryCaptor = ArgumentCaptor.forClass(Runnable.class);
+            verify(threadPool, atLeastOnce()).schedule(latestRetryCaptor.capture(), any(), eq(ThreadPool.Names.GENERIC));
+            latestRetryCaptor.getValue().run();
+            assertEquals(3, jobUpdates.size());
+        });
+        assertEquals(7L, jobUpdates.get(2).ifSeqNo());
+        WorkflowJob failedJob = job(jobUpdates.get(2));
+        assertEquals(WorkflowJob.Status.FAILED, failedJob.getStatus());
+        assertEquals("Failed", failedJob.getError());
+    }
+
+    public void testReclaimedJobOfInterruptedProvisioning() throws Exception {
+        assertReclaimedProvisionJob(State.PROVISIONING, WorkflowJob.Status.FAILED, WorkflowStateReconciler.INTERRUPTED_ERROR);
+        verify(client, never()).execute(any(), any(), any());
+    }
+
+    public void testReclaimedJobOfCompletedProvisioning() throws Exception {
+        assertReclaimedProvisionJob(State.COMPLETED, WorkflowJob.Status.COMPLETED, null);
+        verify(client, never()).execute(any(), any(), any());
+    }
+
+    public void testReclaimedJobOfFailedProvisioning() throws Exception {
+        assertReclaimedProvisionJob(State.FAILED, WorkflowJob.Status.FAILED, "step failed");
+        verify(client, never()).execute(any(), any(), any());
+    }
+
+    public void testReclaimedJobOfProvisioningNotStarted() throws Exception {
+        stubProvisionStarted();
+        assertReclaimedProvisionJob(State.NOT_STARTED, null, null);
+        assertBusy(() -> verify(client, times(1)).execute(eq(ProvisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any()));
+    }
+
+    /**
+     * Claims a provision job whose previous owner node left, and checks how it ends given the state of its workflow
+     * @param state the state of the workflow
+     * @param expectedStatus the expected final status of the job, or null if the job is executed
+     * @param expectedError the expected error of the job
+     */
+    private void assertReclaimedProvisionJob(State state, WorkflowJob.Status expectedStatus, String expectedError) throws Exception {
+        WorkflowJob job = new WorkflowJob(WorkflowJob.Type.PROVISION, WORKFLOW_ID, null, Map.of(), null, Instant.now());
+        stubSearch(job.claim("lost", Instant.now().minusSeconds(1), Instant.now()));
+        doAnswer(invocation -> {
+            ActionListener<WorkflowState> listener = invocation.getArgument(2);
+            listener.onResponse(WorkflowState.builder().workflowId(WORKFLOW_ID).state(state.name()).error("step failed").build());
+            return null;
+        }).when(flowFrameworkIndicesHandler).getWorkflowState(eq(WORKFLOW_ID), isNull(), any(), any());
+
+        workflowJobQueue.poll();
+
+        if (expectedStatus == null) {
+            assertBusy(() -> assertEquals(1, jobUpdates.size()));
+            return;
+        }
+        assertBusy(() -> assertEquals(2, jobUpdates.size()));
+        assertEquals(2, job(jobUpdates.get(0)).getAttempts());
+        WorkflowJob finishedJob = job(jobUpdates.get(1));
+        assertEquals(expectedStatus, finishedJob.getStatus());
+        assertEquals(expectedError, finishedJob.getError());
+    }
+
+    // Polls at the given time until the assertion holds, each poll waiting for the search of the previous one
+    private void pollUntil(Instant now, Runnable assertion) throws Exception {
+        assertBusy(() -> {
+            workflowJobQueue.poll(now);
+            assertion.run();
+        });
+    }
+
+    private void stubUpdates() {
+        doAnswer(invocation -> {
+            UpdateRequest request = invocation.getArgument(0);
+            jobUpdates.add(request);
+            ActionListener<UpdateResponse> listener = invocation.getArgument(1);
+            listener.onResponse(updateResponse(request));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+    }
+
+    private void stubProvisionStarted() {
+        doAnswer(invocation -> {
+            ActionListener<WorkflowResponse> listener = invocation.getArgument(2);
+            listener.onResponse(new WorkflowResponse(WORKFLOW_ID));
+            return null;
+        }).when(client).execute(eq(ProvisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any());
+    }
+
+    // The search returns the job once, then nothing
+    private void stubSearch(WorkflowJob job) throws IOException {
+        SearchHit hit = new SearchHit(0, JOB_ID, Collections.emptyMap(), Collections.emptyMap());
+        hit.sourceRef(BytesReference.bytes(job.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)));
+        hit.setSeqNo(5);
+        hit.setPrimaryTerm(1);
+        AtomicReference<SearchHit> nextHit = new AtomicReference<>(hit);
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            SearchHit searchHit = nextHit.getAndSet(null);
+            listener.onResponse(searchHit == null ? searchResponse() : searchResponse(searchHit));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+    }
+
+    private UpdateResponse updateResponse(UpdateRequest request) {
+        return new UpdateResponse(new ShardId(WORKFLOW_JOBS_INDEX, "", 1), request.id(), seqNo.incrementAndGet(), 1, 1, Result.UPDATED);
+    }
+
+    private static WorkflowJob job(UpdateRequest updateRequest) throws IOException {
+        return WorkflowJob.parse(updateRequest.doc().source());
+    }
+
+    private static SearchResponse searchResponse(SearchHit... hits) {
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+        SearchResponseSections searchSections = new SearchResponseSections(
+            searchHits,
+            InternalAggregations.EMPTY,
+            null,
+            false,
+            false,
+            null,
+            1
+        );
+        return new SearchResponse(searchSections, null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+}
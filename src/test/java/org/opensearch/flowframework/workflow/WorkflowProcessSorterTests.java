@@ -9,6 +9,7 @@
 package org.opensearch.flowframework.workflow;
 
 import org.opensearch.Version;
+import org.opensearch.action.admin.cluster.node.info.PluginsAndModules;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Setting;
@@ -26,6 +27,7 @@ import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowEdge;
 import org.opensearch.flowframework.model.WorkflowNode;
 import org.opensearch.ml.client.MachineLearningNodeClient;
+import org.opensearch.plugins.PluginsService;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ScalingExecutorBuilder;
 import org.opensearch.threadpool.TestThreadPool;
@@ -37,6 +39,7 @@ import org.junit.BeforeClass;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -50,6 +53,7 @@ import static org.opensearch.flowframework.common.CommonValue.CONFIGURATIONS;
 import static org.opensearch.flowframework.common.CommonValue.DEPROVISION_WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THREAD_POOL_PREFIX;
 import static org.opensearch.flowframework.common.CommonValue.PIPELINE_ID;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_ENABLED;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOWS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOW_STEPS;
@@ -66,6 +70,8 @@ import static org.opensearch.flowframework.model.TemplateTestJsonUtil.nodeWithTy
 import static org.opensearch.flowframework.model.TemplateTestJsonUtil.workflow;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class WorkflowProcessSorterTests extends OpenSearchTestCase {
@@ -247,6 +253,109 @@ public class WorkflowProcessSorterTests extends OpenSearchTestCase {
         assertEquals(4, workflow.indexOf("E"));
     }
 
+    public void testLargeWorkflowOrdering() {
+        FlowFrameworkSettings largeWorkflowSettings = mock(FlowFrameworkSettings.class);
+        when(largeWorkflowSettings.getMaxWorkflowSteps()).thenReturn(FlowFrameworkSettings.MAX_WORKFLOW_STEPS_LIMIT);
+        WorkflowProcessSorter sorter = new WorkflowProcessSorter(workflowStepFactory, testThreadPool, largeWorkflowSettings);
+
+        // Each node depends on its previous node and on the first node, listed in reverse order
+        int size = FlowFrameworkSettings.MAX_WORKFLOW_STEPS_LIMIT;
+        List<WorkflowNode> nodes = new ArrayList<>();
+        List<WorkflowEdge> edges = new ArrayList<>();
+        for (int i = size - 1; i >= 0; i--) {
+            nodes.add(new WorkflowNode("node" + i, "noop", Collections.emptyMap(), Collections.emptyMap()));
+            if (i > 0) {
+                edges.add(new WorkflowEdge("node" + (i - 1), "node" + i));
+            }
+            if (i > 1) {
+                edges.add(new WorkflowEdge("node0", "node" + i));
+            }
+        }
+        Workflow workflow = new Workflow(Collections.emptyMap(), nodes, edges);
+        List<ProcessNode> sorted = sorter.sortProcessNodes(workflow, "123", Collections.emptyMap(), null);
+
+        assertEquals(size, sorted.size());
+        for (int i = 0; i < size; i++) {
+            ProcessNode processNode = sorted.get(i);
+            assertEquals("node" + i, processNode.id());
+            assertEquals(Math.min(i, 2), processNode.predecessors().size());
+        }
+    }
+
+    public void testCachedProvisionPlan() throws Exception {
+        PluginsService pluginsService = mock(PluginsService.class);
+        when(pluginsService.info()).thenReturn(new PluginsAndModules(Collections.emptyList(), Collections.emptyList()));
+        WorkflowProcessSorter sorter = new WorkflowProcessSorter(workflowStepFactory, testThreadPool, flowFrameworkSettings);
+
+        Workflow workflow = new Workflow(
+            Collections.emptyMap(),
+            List.of(
+                new WorkflowNode("A", "noop", Collections.emptyMap(), Collections.emptyMap()),
+                new WorkflowNode("B", "noop", Collections.emptyMap(), Map.of("node_timeout", "5s"))
+            ),
+            List.of(new WorkflowEdge("A", "B"))
+        );
+        Instant lastUpdatedTime = Instant.now();
+        Template template = Template.builder()
+            .name("test")
+            .workflows(Map.of(PROVISION_WORKFLOW, workflow))
+            .lastUpdatedTime(lastUpdatedTime)
+            .build();
+
+        List<ProcessNode> first = sorter.createProvisionSequence("123", template, Collections.emptyMap(), null, pluginsService);
+        assertEquals(1, sorter.getCachedPlanCount());
+        List<ProcessNode> second = sorter.createProvisionSequence("123", template, Map.of("key", "value"), null, pluginsService);
+        // Validation is skipped for the cached plan
+        verify(pluginsService, times(1)).info();
+
+        assertEquals(2, second.size());
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals("A", second.get(0).id());
+        assertEquals("B", second.get(1).id());
+        assertEquals(List.of(second.get(0)), second.get(1).predecessors());
+        assertEquals(TimeValue.timeValueSeconds(5), second.get(1).nodeTimeout());
+        assertEquals(Map.of("key", "value"), second.get(1).params());
+
+        // A new template version is compiled again
+        Template updated = Template.builder(template).lastUpdatedTime(lastUpdatedTime.plusMillis(1)).build();
+        sorter.createProvisionSequence("123", updated, Collections.emptyMap(), null, pluginsService);
+        verify(pluginsService, times(2)).info();
+
+        sorter.evictProvisionPlan("123");
+        assertEquals(0, sorter.getCachedPlanCount());
+    }
+
+    public void testCreateResumeSequence() throws Exception {
+        PluginsService pluginsService = mock(PluginsService.class);
+        when(pluginsService.info()).thenReturn(new PluginsAndModules(Collections.emptyList(), Collections.emptyList()));
+        WorkflowProcessSorter sorter = new WorkflowProcessSorter(workflowStepFactory, testThreadPool, flowFrameworkSettings);
+
+        // The search pipeline was created before the index creation failed
+        List<ProcessNode> resumeSequence = sorter.createResumeSequence(
+            "1",
+            reprovisionTemplate,
+            Map.of("key", "value"),
+            List.of(pipelineResource),
+            null,
+            pluginsService
+        );
+
+        assertEquals(2, resumeSequence.size());
+        ProcessNode pipelineNode = resumeSequence.get(0);
+        assertEquals("workflow_step_1", pipelineNode.id());
+        assertEquals(WorkflowDataStep.NAME, pipelineNode.workflowStep().getName());
+        assertEquals(Collections.emptyMap(), pipelineNode.params());
+        ProcessNode indexNode = resumeSequence.get(1);
+        assertEquals("workflow_step_2", indexNode.id());
+        assertEquals(CreateIndexStep.NAME, indexNode.workflowStep().getName());
+        assertEquals(List.of(pipelineNode), indexNode.predecessors());
+        assertEquals(Map.of("key", "value"), indexNode.params());
+
+        // The proxy passes the created resource to its successors
+        WorkflowData pipelineOutput = pipelineNode.execute().actionGet(1, TimeUnit.MINUTES);
+        assertEquals(pipelineResource.resourceId(), pipelineOutput.getContent().get(PIPELINE_ID));
+    }
+
     public void testCycles() {
         Exception ex;
 
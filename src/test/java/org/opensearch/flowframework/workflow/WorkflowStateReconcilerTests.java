@@ -0,0 +1,363 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.Version;
+import org.opensearch.action.DocWriteResponse.Result;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchResponseSections;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.ConfigConstants;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.Template;
+import org.opensearch.flowframework.stats.FlowFrameworkStats;
+import org.opensearch.flowframework.transport.ProvisionWorkflowAction;
+import org.opensearch.flowframework.transport.WorkflowRequest;
+import org.opensearch.flowframework.transport.WorkflowResponse;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.remote.metadata.client.SdkClient;
+import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.InternalAggregations;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.LAST_HEARTBEAT_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_NODE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_START_TIME_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.RESUME_PROVISION;
+import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorkflowStateReconcilerTests extends OpenSearchTestCase {
+
+    private Client client;
+    private ClusterService clusterService;
+    private FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+    private FlowFrameworkSettings flowFrameworkSettings;
+    private WorkflowExecutionRegistry workflowExecutionRegistry;
+    private FlowFrameworkStats flowFrameworkStats;
+    private WorkflowStateReconciler workflowStateReconciler;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        client = mock(Client.class);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(client.threadPool()).thenReturn(threadPool);
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+        SdkClient sdkClient = SdkClientFactory.createSdkClient(client, NamedXContentRegistry.EMPTY, Collections.emptyMap());
+        clusterService = mock(ClusterService.class);
+        flowFrameworkIndicesHandler = mock(FlowFrameworkIndicesHandler.class);
+        when(flowFrameworkIndicesHandler.doesIndexExist(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        workflowExecutionRegistry = new WorkflowExecutionRegistry();
+        flowFrameworkStats = new FlowFrameworkStats();
+        workflowStateReconciler = new WorkflowStateReconciler(
+            client,
+            sdkClient,
+            threadPool,
+            clusterService,
+            flowFrameworkIndicesHandler,
+            flowFrameworkSettings,
+            workflowExecutionRegistry,
+            flowFrameworkStats
+        );
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> listener = invocation.getArgument(1);
+            UpdateRequest request = invocation.getArgument(0);
+            listener.onResponse(new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), request.id(), 1, 1, 2, Result.UPDATED));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+    }
+
+    public void testCloseStopsScheduler() {
+        ThreadPool threadPool = client.threadPool();
+        Scheduler.Cancellable scheduler = mock(Scheduler.Cancellable.class);
+        when(threadPool.scheduleWithFixedDelay(any(), eq(WorkflowStateReconciler.HEARTBEAT_INTERVAL), eq(ThreadPool.Names.GENERIC)))
+            .thenReturn(scheduler);
+        DiscoveryNode localNode = new DiscoveryNode("local", buildNewFakeTransportAddress(), Version.CURRENT);
+        ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+        when(event.state()).thenReturn(
+            ClusterState.builder(new ClusterName("test"))
+                .nodes(DiscoveryNodes.builder().add(localNode).localNodeId("local").build())
+                .build()
+        );
+
+        workflowStateReconciler.clusterChanged(event);
+        verify(threadPool, times(1)).scheduleWithFixedDelay(any(), any(), any());
+
+        workflowStateReconciler.close();
+        verify(scheduler, times(1)).cancel();
+        verify(clusterService, times(1)).removeListener(workflowStateReconciler);
+
+        // A closed reconciler doesn't schedule again
+        workflowStateReconciler.clusterChanged(event);
+        verify(threadPool, times(1)).scheduleWithFixedDelay(any(), any(), any());
+    }
+
+    public void testHeartbeatWithoutReconcile() throws Exception {
+        stubClusterState(false);
+        workflowExecutionRegistry.addRun("workflow_1", null);
+
+        workflowStateReconciler.run();
+
+        assertBusy(() -> verify(client, times(1)).update(any(UpdateRequest.class), any()));
+        ArgumentCaptor<UpdateRequest> updateCaptor = ArgumentCaptor.forClass(UpdateRequest.class);
+        verify(client, times(1)).update(updateCaptor.capture(), any());
+        assertEquals("workflow_1", updateCaptor.getValue().id());
+        assertTrue(updateCaptor.getValue().doc().sourceAsMap().containsKey(LAST_HEARTBEAT_TIME_FIELD));
+        // Only the elected cluster manager reconciles the states
+        verify(client, never()).search(any(SearchRequest.class), any());
+    }
+
+    public void testReconcileFailsOrphanedStatesByPage() throws Exception {
+        stubClusterState(true);
+        SearchHit[] fullPage = new SearchHit[WorkflowStateReconciler.PAGE_SIZE];
+        for (int i = 0; i < fullPage.length; i++) {
+            fullPage[i] = stateHit(String.format(Locale.ROOT, "workflow_%04d", i));
+        }
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            SearchRequest request = invocation.getArgument(0);
+            listener.onResponse(request.source().searchAfter() == null ? searchResponse(fullPage) : searchResponse());
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+
+        workflowStateReconciler.reconcile(Instant.now());
+
+        assertBusy(() -> verify(client, times(2)).search(any(SearchRequest.class), any()));
+        ArgumentCaptor<SearchRequest> searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(client, times(2)).search(searchCaptor.capture(), any());
+        List<SearchRequest> searchRequests = searchCaptor.getAllValues();
+        assertEquals(WorkflowStateReconciler.PAGE_SIZE, searchRequests.get(0).source().size());
+        // The second page is read after the last workflow of the first page
+        assertArrayEquals(new Object[] { "workflow_0499" }, searchRequests.get(1).source().searchAfter());
+        assertBusy(() -> assertEquals((long) WorkflowStateReconciler.PAGE_SIZE, flowFrameworkStats.orphanedProvisioning().get("failed")));
+
+        ArgumentCaptor<UpdateRequest> updateCaptor = ArgumentCaptor.forClass(UpdateRequest.class);
+        verify(client, atLeastOnce()).update(updateCaptor.capture(), any());
+        UpdateRequest updateRequest = updateCaptor.getValue();
+        assertEquals(3L, updateRequest.ifSeqNo());
+        assertEquals(1L, updateRequest.ifPrimaryTerm());
+        Map<String, Object> updatedFields = updateRequest.doc().sourceAsMap();
+        assertEquals(State.FAILED.name(), updatedFields.get(STATE_FIELD));
+        verify(client, never()).execute(any(), any(), any());
+    }
+
+    public void testReconcileResumesOrphanedStateOnce() throws Exception {
+        stubClusterState(true);
+        when(flowFrameworkSettings.isResumeOrphanedProvisioningEnabled()).thenReturn(true);
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(searchResponse(stateHit("workflow_1")));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        User user = new User("alice", List.of("odfe"), List.of("all_access"), List.of());
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> listener = invocation.getArgument(2);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            Template.builder().name("test").user(user).build().toXContent(builder, ToXContent.EMPTY_PARAMS);
+            BytesReference templateBytesRef = BytesReference.bytes(builder);
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, "workflow_1", 1, 1, 1, true, templateBytesRef, null, null);
+            listener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(flowFrameworkIndicesHandler).getTemplate(eq("workflow_1"), isNull(), any(), any());
+        AtomicReference<Object> injectedRoles = new AtomicReference<>();
+        doAnswer(invocation -> {
+            injectedRoles.set(client.threadPool().getThreadContext().getTransient(ConfigConstants.OPENSEARCH_SECURITY_INJECTED_ROLES));
+            ActionListener<WorkflowResponse> listener = invocation.getArgument(2);
+            listener.onResponse(new WorkflowResponse("workflow_1"));
+            return null;
+        }).when(client).execute(eq(ProvisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any());
+
+        workflowStateReconciler.reconcile(Instant.now());
+        assertBusy(() -> assertEquals(1L, flowFrameworkStats.orphanedProvisioning().get("resumed")));
+        ArgumentCaptor<WorkflowRequest> requestCaptor = ArgumentCaptor.forClass(WorkflowRequest.class);
+        verify(client, times(1)).execute(eq(ProvisionWorkflowAction.INSTANCE), requestCaptor.capture(), any());
+        assertEquals("workflow_1", requestCaptor.getValue().getWorkflowId());
+        assertEquals("true", requestCaptor.getValue().getParams().get(RESUME_PROVISION));
+        // The provisioning is resumed as the user who owns the workflow
+        assertEquals("alice|all_access", injectedRoles.get());
+
+        // A provisioning interrupted again is only failed
+        workflowStateReconciler.reconcile(Instant.now());
+        assertBusy(() -> assertEquals(2L, flowFrameworkStats.orphanedProvisioning().get("failed")));
+        verify(client, times(1)).execute(eq(ProvisionWorkflowAction.INSTANCE), any(WorkflowRequest.class), any());
+        assertEquals(1L, flowFrameworkStats.orphanedProvisioning().get("resumed"));
+    }
+
+    public void testReconcileSkipsUpdatedState() throws Exception {
+        stubClusterState(true);
+        when(flowFrameworkSettings.isResumeOrphanedProvisioningEnabled()).thenReturn(true);
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(searchResponse(stateHit("workflow_1")));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        // The run recorded a heartbeat since the state was read
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new VersionConflictEngineException(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "workflow_1", "conflict"));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+
+        workflowStateReconciler.reconcile(Instant.now());
+
+        assertBusy(() -> verify(client, times(1)).update(any(UpdateRequest.class), any()));
+        assertEquals(0L, flowFrameworkStats.orphanedProvisioning().get("failed"));
+        verify(client, never()).execute(any(), any(), any());
+    }
+
+    public void testReconcileSkipsLiveStateWithUnmappedHeartbeat() throws Exception {
+        stubClusterState(true);
+        Instant now = Instant.now();
+        // Without the heartbeat fields mapped, the query matches a live provisioning which started more than the timeout ago
+        SearchHit liveHit = stateHit(
+            "workflow_1",
+            Map.of(
+                PROVISIONING_NODE_FIELD,
+                "local",
+                LAST_HEARTBEAT_TIME_FIELD,
+                now.toEpochMilli(),
+                PROVISION_START_TIME_FIELD,
+                now.minusSeconds(600).toEpochMilli()
+            )
+        );
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(searchResponse(liveHit));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+
+        workflowStateReconciler.reconcile(now);
+        assertBusy(() -> {
+            // A new reconciliation only starts once the previous one ended
+            workflowStateReconciler.reconcile(now);
+            verify(client, atLeast(2)).search(any(SearchRequest.class), any());
+        });
+        verify(client, never()).update(any(UpdateRequest.class), any());
+        assertEquals(0L, flowFrameworkStats.orphanedProvisioning().get("failed"));
+    }
+
+    public void testIsOrphaned() {
+        Instant now = Instant.now();
+        long recent = now.minusSeconds(60).toEpochMilli();
+        long stale = now.minusSeconds(600).toEpochMilli();
+        Set<String> liveNodeIds = Set.of("local");
+
+        // The provisioning node left the cluster
+        assertTrue(WorkflowStateReconciler.isOrphaned(Map.of(PROVISIONING_NODE_FIELD, "lost"), liveNodeIds, now));
+        // The provisioning node stopped recording heartbeats
+        Map<String, Object> staleHeartbeat = Map.of(PROVISIONING_NODE_FIELD, "local", LAST_HEARTBEAT_TIME_FIELD, stale);
+        assertTrue(WorkflowStateReconciler.isOrphaned(staleHeartbeat, liveNodeIds, now));
+        Map<String, Object> recentHeartbeat = Map.of(PROVISIONING_NODE_FIELD, "local", LAST_HEARTBEAT_TIME_FIELD, recent);
+        assertFalse(WorkflowStateReconciler.isOrphaned(recentHeartbeat, liveNodeIds, now));
+        // A live provisioning node without heartbeat is left alone
+        Map<String, Object> noHeartbeat = Map.of(PROVISIONING_NODE_FIELD, "local", PROVISION_START_TIME_FIELD, stale);
+        assertFalse(WorkflowStateReconciler.isOrphaned(noHeartbeat, liveNodeIds, now));
+        // Provisioning started before nodes recorded their provisioning
+        assertTrue(WorkflowStateReconciler.isOrphaned(Map.of(PROVISION_START_TIME_FIELD, stale), liveNodeIds, now));
+        assertFalse(WorkflowStateReconciler.isOrphaned(Map.of(PROVISION_START_TIME_FIELD, recent), liveNodeIds, now));
+    }
+
+    private void stubClusterState(boolean clusterManager) {
+        DiscoveryNode localNode = new DiscoveryNode("local", buildNewFakeTransportAddress(), Version.CURRENT);
+        DiscoveryNode otherNode = new DiscoveryNode("other", buildNewFakeTransportAddress(), Version.CURRENT);
+        DiscoveryNodes nodes = DiscoveryNodes.builder()
+            .add(localNode)
+            .add(otherNode)
+            .localNodeId(localNode.getId())
+            .clusterManagerNodeId(clusterManager ? localNode.getId() : otherNode.getId())
+            .build();
+        ClusterState clusterState = mock(ClusterState.class);
+        when(clusterState.nodes()).thenReturn(nodes);
+        when(clusterService.state()).thenReturn(clusterState);
+    }
+
+    private static SearchHit stateHit(String workflowId) throws IOException {
+        return stateHit(workflowId, Map.of(PROVISIONING_NODE_FIELD, "lost"));
+    }
+
+    private static SearchHit stateHit(String workflowId, Map<String, Object> fields) throws IOException {
+        SearchHit hit = new SearchHit(0, workflowId, Collections.emptyMap(), Collections.emptyMap());
+        XContentBuilder source = XContentFactory.jsonBuilder().startObject().field(WORKFLOW_ID_FIELD, workflowId);
+        hit.sourceRef(BytesReference.bytes(source.mapContents(fields).endObject()));
+        hit.setSeqNo(3);
+        hit.setPrimaryTerm(1);
+        hit.sortValues(new Object[] { workflowId }, new DocValueFormat[] { DocValueFormat.RAW });
+        return hit;
+    }
+
+    private static SearchResponse searchResponse(SearchHit... hits) {
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+        SearchResponseSections searchSections = new SearchResponseSections(
+            searchHits,
+            InternalAggregations.EMPTY,
+            null,
+            false,
+            false,
+            null,
+            1
+        );
+        return new SearchResponse(searchSections, null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.tasks.TaskCancelledException;
+import org.opensearch.core.tasks.TaskId;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.flowframework.util.ListenablePlainActionFuture;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskManager;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ScalingExecutorBuilder;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THREAD_POOL_PREFIX;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
+
+public class WorkflowTaskTests extends OpenSearchTestCase {
+
+    private static TestThreadPool testThreadPool;
+    private TaskManager taskManager;
+
+    @BeforeClass
+    public static void setup() {
+        testThreadPool = new TestThreadPool(
+            WorkflowTaskTests.class.getName(),
+            new ScalingExecutorBuilder(
+                PROVISION_WORKFLOW_THREAD_POOL,
+                1,
+                Math.max(2, OpenSearchExecutors.allocatedProcessors(Settings.EMPTY) - 1),
+                TimeValue.timeValueMinutes(5),
+                FLOW_FRAMEWORK_THREAD_POOL_PREFIX + PROVISION_WORKFLOW_THREAD_POOL
+            )
+        );
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        ThreadPool.terminate(testThreadPool, 500, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        this.taskManager = new TaskManager(Settings.EMPTY, testThreadPool, Collections.emptySet());
+    }
+
+    public void testStatus() throws IOException {
+        WorkflowTask.Status status = new WorkflowTask.Status(3, 1, List.of("deploy_model"));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        status.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        WorkflowTask.Status statusTwo = new WorkflowTask.Status(in);
+        assertEquals(status, statusTwo);
+        assertEquals(WorkflowTask.Status.NAME, statusTwo.getWriteableName());
+
+        XContentBuilder builder = XContentFactory.jsonBuilder();
+        status.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        assertEquals("{\"total_steps\":3,\"completed_steps\":1,\"current_steps\":[\"deploy_model\"]}", builder.toString());
+    }
+
+    public void testRegisterTrackAndCancel() throws Exception {
+        WorkflowTask task = WorkflowTask.register(taskManager, "node", "cluster:admin/test", "workflow");
+        assertEquals("cluster:admin/test" + WorkflowTask.RUN_ACTION_SUFFIX, task.getAction());
+        assertEquals("workflow", task.getWorkflowId());
+
+        PlainActionFuture<WorkflowData> stepFuture = ListenablePlainActionFuture.newListenableFuture();
+        ProcessNode nodeA = createProcessNode("A", stepFuture, Collections.emptyList());
+        ProcessNode nodeB = createProcessNode("B", ListenablePlainActionFuture.newListenableFuture(), List.of(nodeA));
+        task.track(List.of(nodeA, nodeB));
+        nodeA.execute();
+        nodeB.execute();
+
+        // The executing step is reported and registered as a child task of the run
+        assertBusy(() -> assertEquals(List.of("A"), task.getStatus().getCurrentSteps()));
+        assertEquals(2, task.getStatus().getTotalSteps());
+        assertEquals(0, task.getStatus().getCompletedSteps());
+        Task stepTask = taskManager.getTasks()
+            .values()
+            .stream()
+            .filter(t -> t.getAction().endsWith(WorkflowTask.STEP_ACTION_SUFFIX))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(new TaskId("node", task.getId()), stepTask.getParentTaskId());
+
+        taskManager.cancel(task, "test", () -> {});
+
+        // The step future is cancelled and the nodes fail without waiting for the step
+        assertTrue(stepFuture.isCancelled());
+        ExecutionException ex = expectThrows(ExecutionException.class, () -> nodeA.future().get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof TaskCancelledException);
+        expectThrows(ExecutionException.class, () -> nodeB.future().get(5, TimeUnit.SECONDS));
+        assertEquals(2, task.getStatus().getCompletedSteps());
+        assertBusy(() -> assertEquals(1, taskManager.getTasks().size()));
+
+        // Nodes tracked after the cancellation are cancelled immediately
+        ProcessNode nodeC = createProcessNode("C", ListenablePlainActionFuture.newListenableFuture(), Collections.emptyList());
+        task.track(List.of(nodeC));
+        assertTrue(nodeC.future().isDone());
+
+        AtomicBoolean unregistered = new AtomicBoolean(false);
+        task.addUnregisterListener(() -> unregistered.set(true));
+        task.unregister();
+        assertTrue(taskManager.getTasks().isEmpty());
+        assertTrue(unregistered.get());
+    }
+
+    private static ProcessNode createProcessNode(String id, PlainActionFuture<WorkflowData> stepFuture, List<ProcessNode> predecessors) {
+        return new ProcessNode(id, new WorkflowStep() {
+            @Override
+            public PlainActionFuture<WorkflowData> execute(
+                String currentNodeId,
+                WorkflowData currentNodeInputs,
+                Map<String, WorkflowData> outputs,
+                Map<String, String> previousNodeInputs,
+                Map<String, String> params,
+                String tenantId
+            ) {
+                return stepFuture;
+            }
+
+            @Override
+            public String getName() {
+                return "test";
+            }
+        },
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            new WorkflowData(Collections.emptyMap(), "workflow", id),
+            predecessors,
+            testThreadPool,
+            PROVISION_WORKFLOW_THREAD_POOL,
+            TimeValue.timeValueSeconds(10),
+            null
+        );
+    }
+}